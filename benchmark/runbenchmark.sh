@@ -0,0 +1,27 @@
+#!/usr/bin/env bash
+# Cold-start and end-to-end latency benchmark.
+#
+#   ./runbenchmark.sh [--sizes 1000,10000] [--runs 3] [--baseline baseline.json]
+#
+# Results go to results.json. To include the GUI, point VINCE_FX_CP at the
+# JavaFX jars plus a matching openjfx-monocle jar, e.g.
+#   VINCE_FX_CP="$HOME/fx/lib/*:$HOME/fx/openjfx-monocle.jar" ./runbenchmark.sh
+
+cd "$(dirname "$0")"
+
+# create bin directory if it doesn't exist
+if [ ! -d "../bin" ]
+then
+    mkdir ../bin
+fi
+
+# compile the code and the harness into the bin folder, terminates if error occurred
+if ! javac -cp "../src/main/java:${VINCE_FX_CP}" -Xlint:none -encoding UTF-8 -d ../bin \
+    ../src/main/java/vince/*.java ../src/main/java/vince/*/*.java src/vince/bench/*.java
+then
+    echo "********** BUILD FAILURE **********"
+    exit 1
+fi
+cp -r ../src/main/resources/* ../bin/
+
+java -cp ../bin vince.bench.StartupBenchmark --classpath ../bin --out results.json "$@"
@@ -0,0 +1,23 @@
+#!/usr/bin/env bash
+# Measures command-line parse throughput per command type, and the add
+# path from command line to new task, on a seeded generated stream.
+#
+#   ./runparse.sh [--seed 1] [--lines 20000] [--rounds 5]
+
+cd "$(dirname "$0")"
+
+# create bin directory if it doesn't exist
+if [ ! -d "../bin" ]
+then
+    mkdir ../bin
+fi
+
+# compile the code and the harness into the bin folder, terminates if error occurred
+if ! javac -cp "../src/main/java:${VINCE_FX_CP}" -Xlint:none -encoding UTF-8 -d ../bin \
+    ../src/main/java/vince/*.java ../src/main/java/vince/*/*.java src/vince/bench/*.java
+then
+    echo "********** BUILD FAILURE **********"
+    exit 1
+fi
+
+java -cp ../bin vince.bench.ParseBenchmark "$@"
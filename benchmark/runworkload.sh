@@ -0,0 +1,25 @@
+#!/usr/bin/env bash
+# Replays a seeded, realistic command stream in-process and reports
+# throughput, latency percentiles and allocation per command type.
+#
+#   ./runworkload.sh [--seed 1] [--commands 20000] [--preload 1000]
+#                    [--mix todo=20,deadline=10,event=5,mark=10,delete=5,find=25,on=15,schedule=10]
+#                    [--save stream.txt | --replay stream.txt]
+
+cd "$(dirname "$0")"
+
+# create bin directory if it doesn't exist
+if [ ! -d "../bin" ]
+then
+    mkdir ../bin
+fi
+
+# compile the code and the harness into the bin folder, terminates if error occurred
+if ! javac -cp "../src/main/java:${VINCE_FX_CP}" -Xlint:none -encoding UTF-8 -d ../bin \
+    ../src/main/java/vince/*.java ../src/main/java/vince/*/*.java src/vince/bench/*.java
+then
+    echo "********** BUILD FAILURE **********"
+    exit 1
+fi
+
+java -cp ../bin vince.bench.WorkloadReplay "$@"
@@ -0,0 +1,408 @@
+package vince.bench;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import vince.command.ListCommand;
+import vince.metrics.LatencyHistogram;
+import vince.query.OrderStatisticTree;
+import vince.query.Query;
+import vince.reminder.TimingWheel;
+import vince.reminder.TimingWheel.Timeout;
+import vince.server.VinceServer;
+import vince.storage.PersistentList;
+import vince.storage.Storage;
+import vince.storage.TaskList;
+import vince.task.Recurrence;
+import vince.task.Task;
+import vince.util.DateTimeParser;
+import vince.util.QueryParser;
+
+/**
+ * In-process micro-benchmarks of single components on synthetic data, kept
+ * out of the unit tests so those stay fast. Each case prints one or more
+ * lines of timings; none of them asserts anything.
+ * <p>
+ * Lists that start empty save to {@code /dev/null}, so the figures leave out
+ * disk I/O. Lists loaded from generated data read a temporary file that is
+ * deleted once loaded; cases do not change them afterwards unless they keep
+ * their own file.
+ * <p>
+ * Usage: {@code MicroBenchmark [--only <case>,...]}, where the cases are the
+ * keys of {@link #CASES}, run in that order by default.
+ */
+public class MicroBenchmark {
+    private static final Map<String, Case> CASES = new LinkedHashMap<>();
+
+    private static volatile Object sink;
+
+    static {
+        CASES.put("server", MicroBenchmark::server);
+        CASES.put("filter", MicroBenchmark::filter);
+        CASES.put("sorted-page", MicroBenchmark::sortedPage);
+        CASES.put("persistent-list", MicroBenchmark::persistentList);
+        CASES.put("recurrence", MicroBenchmark::recurrence);
+        CASES.put("timing-wheel", MicroBenchmark::timingWheel);
+        CASES.put("histogram", MicroBenchmark::histogram);
+        CASES.put("date-parse", MicroBenchmark::dateParse);
+        CASES.put("background-load", MicroBenchmark::backgroundLoad);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        List<String> only = options.containsKey("only")
+                ? Arrays.asList(options.get("only").split(","))
+                : new ArrayList<>(CASES.keySet());
+        for (Map.Entry<String, Case> entry : CASES.entrySet()) {
+            if (only.contains(entry.getKey())) {
+                entry.getValue().run();
+            }
+        }
+    }
+
+    private static TaskList newTaskList() {
+        return new TaskList(new Storage(Paths.get("/dev/null")));
+    }
+
+    /**
+     * Loads a task list from data file lines, through a temporary file that
+     * is deleted again once loaded.
+     */
+    private static TaskList loadTaskList(List<String> lines) throws IOException {
+        Path file = Files.createTempFile("vince-bench", ".txt");
+        try {
+            Files.write(file, lines, StandardCharsets.UTF_8);
+            return new TaskList(new Storage(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /** Request throughput of {@link VinceServer} under concurrent clients mixing adds, lists and finds. */
+    private static void server() throws Exception {
+        int clients = 8;
+        int requestsPerClient = 250;
+        int addsPerClient = 10;
+        TaskList tasks = newTaskList();
+        try (VinceServer server = new VinceServer(tasks, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+            server.start();
+            ExecutorService pool = Executors.newFixedThreadPool(clients);
+            List<Future<?>> results = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int c = 0; c < clients; c++) {
+                int clientId = c;
+                results.add(pool.submit(() -> {
+                    try (Client client = new Client(server.getPort())) {
+                        for (int i = 0; i < requestsPerClient; i++) {
+                            client.send(i % (requestsPerClient / addsPerClient) == 0
+                                    ? "todo report " + clientId + "-" + i
+                                    : (i % 2 == 0 ? "list" : "find report"));
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+            long elapsed = System.nanoTime() - start;
+            pool.shutdown();
+
+            int total = clients * requestsPerClient;
+            System.out.printf("server: %d requests from %d clients in %.1f ms (%.0f req/s)%n",
+                    total, clients, elapsed / 1e6, total / (elapsed / 1e9));
+        }
+    }
+
+    /**
+     * Planned filter queries against a full scan of every task, on 100k
+     * tasks of mixed types and dates around today.
+     */
+    private static void filter() throws IOException {
+        int count = 100_000;
+        LocalDate today = LocalDate.now();
+        String[] words = {"report", "read book", "team meeting", "buy groceries", "urgent fix", "maybe hobby"};
+        List<String> lines = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String description = words[i % words.length] + " " + i;
+            int done = i % 7 == 0 ? 1 : 0;
+            String due = today.plusDays(i % 397 - 200).atTime(9 + i % 8, 0).toString() + ":00";
+            if (i % 10 < 6) {
+                lines.add("T | " + done + " | " + description);
+            } else if (i % 10 < 9) {
+                lines.add("D | " + done + " | " + description + " | " + due);
+            } else {
+                lines.add("E | " + done + " | " + description + " | " + due + " | " + due);
+            }
+        }
+        TaskList tasks = loadTaskList(lines);
+
+        String[] queries = {
+            "type:deadline done:no priority>=med due<next friday text:report sort:due limit:20",
+            "type:event",
+            "due:today",
+            "due>=today due<tomorrow sort:priority",
+            "done:yes priority:high",
+            "priority>=low",
+            "text:meeting limit:50",
+            "text:report sort:due limit:10",
+        };
+        for (String text : queries) {
+            Query query = QueryParser.parse(text);
+            scan(tasks.getAllTasks(), query);
+            tasks.filter(query);
+
+            long scanStart = System.nanoTime();
+            for (int run = 0; run < 5; run++) {
+                sink = scan(tasks.getAllTasks(), query);
+            }
+            long scanNanos = (System.nanoTime() - scanStart) / 5;
+
+            long planStart = System.nanoTime();
+            List<String> planned = null;
+            for (int run = 0; run < 5; run++) {
+                planned = tasks.filter(query);
+            }
+            long planNanos = (System.nanoTime() - planStart) / 5;
+
+            System.out.printf("filter %-82s %6d rows  scan %7.2f ms  planned %7.2f ms  via %s%n",
+                    text, planned.size(), scanNanos / 1e6, planNanos / 1e6, tasks.explain(query));
+        }
+    }
+
+    /**
+     * Reference evaluation for {@link #filter()}: tests every task, then sorts and limits.
+     */
+    private static List<String> scan(List<Task> all, Query query) {
+        List<Integer> matches = new ArrayList<>();
+        for (int i = 0; i < all.size(); i++) {
+            if (query.getCondition().test(all.get(i))) {
+                matches.add(i);
+            }
+        }
+        matches.sort((a, b) -> query.getSortKey().getComparator().compare(all.get(a), all.get(b)));
+        List<String> lines = new ArrayList<>();
+        for (int i : matches.subList(0, Math.min(matches.size(), query.getLimit()))) {
+            lines.add((i + 1) + ". " + all.get(i));
+        }
+        return lines;
+    }
+
+    /** Reading one page at a random rank of an {@link OrderStatisticTree} of 1M elements. */
+    private static void sortedPage() {
+        Random random = new Random(7);
+        OrderStatisticTree<Long> tree = new OrderStatisticTree<>();
+        for (int i = 0; i < 1_000_000; i++) {
+            long key = random.nextLong();
+            tree.put(key, 0, key);
+        }
+        for (int page = 0; page < 1000; page++) {
+            sink = tree.range(random.nextInt(tree.size()), ListCommand.PAGE_SIZE);
+        }
+
+        long start = System.nanoTime();
+        for (int page = 0; page < 1000; page++) {
+            sink = tree.range(random.nextInt(tree.size()), ListCommand.PAGE_SIZE);
+        }
+        System.out.printf("sorted-page: random %d-row page of %d in %.1f us%n",
+                ListCommand.PAGE_SIZE, tree.size(), (System.nanoTime() - start) / 1000 / 1e3);
+    }
+
+    /**
+     * Deriving versions of a {@link PersistentList}, and the two ways of
+     * scanning a fresh version: walking the tree, or copying it flat first
+     * as a parallel scan does.
+     */
+    private static void persistentList() {
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            values.add(i);
+        }
+        PersistentList<Integer> version = PersistentList.of(values);
+        long start = System.nanoTime();
+        for (int i = 0; i < 10_000; i++) {
+            version = version.removeAt((i * 7919) % version.size()).append(-i);
+        }
+        System.out.printf("persistent-list: 10000 delete+append versions of 100000 in %.1f ms%n",
+                (System.nanoTime() - start) / 1e6);
+
+        values.clear();
+        for (int i = 0; i < 1_000_000; i++) {
+            values.add(i);
+        }
+        version = PersistentList.of(values);
+        long walkNanos = Long.MAX_VALUE;
+        long copyNanos = Long.MAX_VALUE;
+        for (int round = 0; round < 10; round++) {
+            version = version.removeAt(round).append(-round);
+            long[] sum = new long[1];
+            start = System.nanoTime();
+            version.forEach(value -> sum[0] += value);
+            walkNanos = Math.min(walkNanos, System.nanoTime() - start);
+
+            version = version.removeAt(round).append(-round);
+            start = System.nanoTime();
+            List<Integer> flat = version.flatView();
+            for (int i = 0; i < flat.size(); i++) {
+                sum[0] += flat.get(i);
+            }
+            copyNanos = Math.min(copyNanos, System.nanoTime() - start);
+            sink = sum[0];
+        }
+        System.out.printf("persistent-list: scan of a fresh 1M version, walked %.1f ms, copied flat %.1f ms%n",
+                walkNanos / 1e6, copyNanos / 1e6);
+    }
+
+    /** Occurrence lookups close to and far from the start of a daily series. */
+    private static void recurrence() {
+        Recurrence daily = Recurrence.parse("day");
+        LocalDate anchor = LocalDate.of(2000, 1, 31);
+        timeLookups(daily, anchor, anchor.plusDays(30));
+        long near = timeLookups(daily, anchor, anchor.plusDays(30));
+        long far = timeLookups(daily, anchor, anchor.plusYears(1000));
+        System.out.printf("recurrence: 10000 lookups 30 days in %.1f ms, 1000 years in %.1f ms%n",
+                near / 1e6, far / 1e6);
+    }
+
+    private static long timeLookups(Recurrence recurrence, LocalDate anchor, LocalDate date) {
+        long start = System.nanoTime();
+        for (int i = 0; i < 10_000; i++) {
+            sink = recurrence.occursOn(anchor, date.plusDays(i % 7));
+        }
+        return System.nanoTime() - start;
+    }
+
+    /** Scheduling and cancelling a million reminders a year ahead, then a year of ticks. */
+    private static void timingWheel() {
+        Random random = new Random(3);
+        TimingWheel<Integer> wheel = new TimingWheel<>(0);
+        List<Timeout<Integer>> timeouts = new ArrayList<>(1_000_000);
+        long start = System.nanoTime();
+        for (int i = 0; i < 1_000_000; i++) {
+            timeouts.add(wheel.schedule(i, 1 + random.nextInt(365 * 24 * 3600)));
+        }
+        long inserted = System.nanoTime();
+        for (int i = 0; i < 1_000_000; i += 2) {
+            wheel.cancel(timeouts.get(i));
+        }
+        long cancelled = System.nanoTime();
+        int[] fired = new int[1];
+        wheel.advanceTo(365L * 24 * 3600, value -> fired[0]++);
+        long advanced = System.nanoTime();
+
+        System.out.printf("timing-wheel: 1M inserts %.0f ns/op, 500k cancels %.0f ns/op, "
+                + "one year of ticks in %.1f ms (%d fired)%n",
+                (inserted - start) / 1e6, (cancelled - inserted) / 5e5, (advanced - cancelled) / 1e6, fired[0]);
+    }
+
+    /** Recording into one {@link LatencyHistogram} from four threads at once. */
+    private static void histogram() throws InterruptedException {
+        LatencyHistogram shared = new LatencyHistogram();
+        Thread[] threads = new Thread[4];
+        long start = System.nanoTime();
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 250_000; i++) {
+                    shared.record(i);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        System.out.printf("histogram: %d records from %d threads in %.1f ms%n",
+                shared.getCount(), threads.length, (System.nanoTime() - start) / 1e6);
+    }
+
+    /** Cost of one date parse, date parse event included, while no Flight Recorder recording is on. */
+    private static void dateParse() {
+        for (int i = 0; i < 10_000; i++) {
+            sink = DateTimeParser.parseDateTime("02/12/2024 1700");
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < 100_000; i++) {
+            sink = DateTimeParser.parseDateTime("02/12/2024 1700");
+        }
+        System.out.printf("date-parse: %.0f ns/parse with recording off%n", (System.nanoTime() - start) / 1e5);
+    }
+
+    /**
+     * How soon {@link TaskList#loadInBackground} returns a usable list for a
+     * 200k-task file, and how long until a change can be applied after the
+     * load. The list is changed here, so it keeps its own temporary file.
+     */
+    private static void backgroundLoad() throws IOException {
+        Path file = Files.createTempFile("vince-bench", ".txt");
+        try {
+            List<String> lines = new ArrayList<>();
+            for (int i = 0; i < 200_000; i++) {
+                lines.add("T | 0 | todo " + i);
+            }
+            Files.write(file, lines, StandardCharsets.UTF_8);
+
+            long start = System.nanoTime();
+            TaskList tasks = TaskList.loadInBackground(new Storage(file), (chunk, bytesRead, totalBytes) -> { });
+            long returned = System.nanoTime();
+            tasks.addTask("todo after load");
+            long added = System.nanoTime();
+            System.out.printf("background-load: returned in %.2f ms, %d tasks loaded and one added in %.1f ms%n",
+                    (returned - start) / 1e6, lines.size(), (added - start) / 1e6);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /** One benchmark case. */
+    @FunctionalInterface
+    private interface Case {
+        void run() throws Exception;
+    }
+
+    /**
+     * Minimal blocking client for the server's line protocol.
+     */
+    private static class Client implements AutoCloseable {
+        private final Socket socket;
+        private final BufferedReader in;
+        private final PrintWriter out;
+
+        Client(int port) throws IOException {
+            socket = new Socket(InetAddress.getLoopbackAddress(), port);
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+        }
+
+        List<String> send(String request) throws IOException {
+            out.println(request);
+            return VinceServer.readResponse(in);
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+}
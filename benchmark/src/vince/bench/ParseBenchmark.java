@@ -0,0 +1,111 @@
+package vince.bench;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import vince.command.Command;
+import vince.exception.VinceException;
+import vince.storage.Storage;
+import vince.storage.TaskList;
+import vince.util.Parser;
+
+/**
+ * Measures parse throughput: {@link Parser#parse} alone, validation included,
+ * for each command type of a generated stream, and the add path from the
+ * command line to the new task, parsing and executing the add command.
+ * <p>
+ * The add path saves to {@code /dev/null} and the list is emptied every
+ * {@value #ADDS_PER_RESET} adds, so the cost of saving stays small and
+ * constant and the figure is dominated by tokenizing and building the task.
+ * Each figure is the best of {@code --rounds} timed rounds, after as many
+ * untimed rounds over the whole stream for the JIT.
+ * <p>
+ * Usage: {@code ParseBenchmark [--seed 1] [--lines 20000] [--rounds 5]}
+ */
+public class ParseBenchmark {
+    private static final int ADDS_PER_RESET = 64;
+    private static final String ADD_MIX = "todo=2,deadline=1,event=1";
+
+    private static volatile Object sink;
+
+    public static void main(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        long seed = Long.parseLong(options.getOrDefault("seed", "1"));
+        int lines = Integer.parseInt(options.getOrDefault("lines", "20000"));
+        int rounds = Integer.parseInt(options.getOrDefault("rounds", "5"));
+
+        List<String> stream = new WorkloadGenerator(seed, WorkloadGenerator.parseMix(WorkloadGenerator.DEFAULT_MIX),
+                lines).generate(lines);
+        Map<String, List<String>> byType = new LinkedHashMap<>();
+        for (String line : stream) {
+            byType.computeIfAbsent(line.substring(0, line.indexOf(' ')), key -> new ArrayList<>()).add(line);
+        }
+        byType.put("all", stream);
+        for (int round = 0; round < rounds; round++) {
+            parseAll(stream);
+        }
+
+        System.out.printf("%-9s %7s %12s %9s%n", "parse", "lines", "lines/s", "ns/line");
+        for (Map.Entry<String, List<String>> entry : byType.entrySet()) {
+            List<String> sample = entry.getValue();
+            long best = Long.MAX_VALUE;
+            for (int round = 0; round < rounds; round++) {
+                best = Math.min(best, parseAll(sample));
+            }
+            printRow(entry.getKey(), sample.size(), best);
+        }
+
+        List<String> adds = new WorkloadGenerator(seed, WorkloadGenerator.parseMix(ADD_MIX), 0).generate(lines);
+        TaskList tasks = new TaskList(new Storage(Paths.get("/dev/null")));
+        addAll(tasks, adds);
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < rounds; round++) {
+            best = Math.min(best, addAll(tasks, adds));
+        }
+        System.out.printf("%-9s %7s %12s %9s%n", "add path", "lines", "lines/s", "ns/line");
+        printRow("add", adds.size(), best);
+    }
+
+    /** Parses every line once and returns the elapsed nanoseconds. */
+    private static long parseAll(List<String> sample) {
+        long start = System.nanoTime();
+        for (String line : sample) {
+            try {
+                sink = Parser.parse(line);
+            } catch (VinceException e) {
+                sink = e;
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    /** Parses and adds every line once and returns the elapsed nanoseconds. */
+    private static long addAll(TaskList tasks, List<String> adds) {
+        long start = System.nanoTime();
+        int added = 0;
+        for (String line : adds) {
+            try {
+                Command command = Parser.parse(line);
+                sink = command.execute(tasks);
+            } catch (VinceException e) {
+                sink = e;
+            }
+            if (++added % ADDS_PER_RESET == 0) {
+                tasks.deleteAll();
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static void printRow(String type, int count, long nanos) {
+        System.out.printf(Locale.ROOT, "%-9s %7d %12.0f %9.0f%n", type, count, count / (nanos / 1e9),
+                (double) nanos / count);
+    }
+}
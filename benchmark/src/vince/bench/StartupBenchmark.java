@@ -0,0 +1,362 @@
+package vince.bench;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Cold-start and end-to-end latency benchmark for Vince.
+ * <p>
+ * For each task count it writes a synthetic, seeded {@code data/vince.txt}
+ * and launches fresh JVMs against it:
+ * <ul>
+ * <li>the CLI ({@code vince.Vince}), timing process launch to the end of the
+ *     welcome banner, then every command of a scripted session from sending
+ *     the line to the end of its reply;</li>
+ * <li>the GUI ({@code vince.Launcher}), headless under Monocle, timing launch
+ *     to the first laid-out frame and to the end of the background load. It
+ *     is skipped unless a JavaFX + Monocle classpath is given.</li>
+ * </ul>
+ * Medians of every measurement are written as JSON, keyed like
+ * {@code cli.firstPrompt.10000} or {@code cli.command[find].10000}. Given a
+ * previous result as a baseline, the run fails if any median regressed.
+ * <p>
+ * Usage: {@code StartupBenchmark [--sizes 1000,10000,100000,1000000] [--runs 3]
+ * [--out results.json] [--baseline old.json] [--tolerance 0.25]
+ * [--classpath <vince classes>] [--gui-classpath <javafx and monocle jars>]}
+ */
+public class StartupBenchmark {
+    private static final String DIVIDER_LINE = "____________________________________________________________";
+    private static final long PROCESS_TIMEOUT_SECONDS = 300;
+    // Regressions smaller than this are noise on any machine.
+    private static final double NOISE_FLOOR_MS = 20;
+    private static final String[] WORDS = {
+        "read", "book", "groceries", "laundry", "invoice", "garden", "piano", "dentist",
+        "taxes", "bike", "library", "gym", "passport", "car", "rent", "birthday"
+    };
+
+    private final List<Integer> sizes;
+    private final int runs;
+    private final String classpath;
+    private final String guiClasspath;
+    private final Map<String, List<Double>> samples = new LinkedHashMap<>();
+
+    StartupBenchmark(List<Integer> sizes, int runs, String classpath, String guiClasspath) {
+        this.sizes = sizes;
+        this.runs = runs;
+        this.classpath = classpath;
+        this.guiClasspath = guiClasspath;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        List<Integer> sizes = Arrays.stream(options.getOrDefault("sizes", "1000,10000,100000,1000000").split(","))
+                .map(String::trim)
+                .map(Integer::parseInt)
+                .collect(Collectors.toList());
+        int runs = Integer.parseInt(options.getOrDefault("runs", "3"));
+        String classpath = options.getOrDefault("classpath", System.getProperty("java.class.path"));
+        String guiClasspath = options.getOrDefault("gui-classpath", System.getenv("VINCE_FX_CP"));
+        Path out = Paths.get(options.getOrDefault("out", "results.json"));
+
+        StartupBenchmark benchmark = new StartupBenchmark(sizes, runs, classpath, guiClasspath);
+        benchmark.run();
+        String json = benchmark.toJson();
+        Files.writeString(out, json);
+        System.out.println("Results written to " + out.toAbsolutePath());
+
+        if (options.containsKey("baseline")) {
+            double tolerance = Double.parseDouble(options.getOrDefault("tolerance", "0.25"));
+            List<String> regressions = compare(readMedians(Files.readString(Paths.get(options.get("baseline")))),
+                    benchmark.medians(), tolerance);
+            regressions.forEach(System.out::println);
+            if (!regressions.isEmpty()) {
+                System.exit(1);
+            }
+            System.out.println("No regressions against " + options.get("baseline"));
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Expected an option but got " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+
+    /**
+     * Runs every measurement for every size, printing each median as it goes.
+     */
+    void run() throws IOException, InterruptedException {
+        for (int size : sizes) {
+            Path workDir = Files.createTempDirectory("vince-bench-" + size);
+            Path pristine = workDir.resolve("pristine.txt");
+            writeTasks(pristine, size);
+            Path dataFile = workDir.resolve("data").resolve("vince.txt");
+            Files.createDirectories(dataFile.getParent());
+            for (int run = 0; run < runs; run++) {
+                Files.copy(pristine, dataFile, StandardCopyOption.REPLACE_EXISTING);
+                measureCli(workDir, size);
+                if (guiClasspath != null && !guiClasspath.isBlank()) {
+                    Files.copy(pristine, dataFile, StandardCopyOption.REPLACE_EXISTING);
+                    measureGui(workDir, size);
+                }
+            }
+            for (Map.Entry<String, Double> median : medians().entrySet()) {
+                if (median.getKey().endsWith("." + size)) {
+                    System.out.printf(Locale.ROOT, "%-40s %10.1f ms%n", median.getKey(), median.getValue());
+                }
+            }
+            deleteRecursively(workDir);
+        }
+    }
+
+    /**
+     * Writes a seeded mix of todos, deadlines and events, all in the past so
+     * no reminder fires during a run.
+     */
+    static void writeTasks(Path file, int count) throws IOException {
+        Random random = new Random(42);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < count; i++) {
+                String description = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                        + " " + i;
+                int done = random.nextInt(10) == 0 ? 1 : 0;
+                String day = String.format("2024-%02d-%02d", 1 + random.nextInt(12), 1 + random.nextInt(28));
+                int hour = 8 + random.nextInt(10);
+                String from = String.format("%sT%02d:00:00", day, hour);
+                switch (random.nextInt(3)) {
+                    case 0:
+                        writer.write("T | " + done + " | " + description);
+                        break;
+                    case 1:
+                        writer.write("D | " + done + " | " + description + " | " + from);
+                        break;
+                    default:
+                        writer.write("E | " + done + " | " + description + " | " + from + " | "
+                                + String.format("%sT%02d:00:00", day, hour + 1));
+                        break;
+                }
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Commands of the scripted CLI session, run in order against a list of
+     * {@code size} tasks. The session leaves the task count as it found it.
+     */
+    static List<String> script(int size) {
+        return List.of(
+                "list --sort due --page 1",
+                "find piano",
+                "filter type:deadline done:no sort:due limit:10",
+                "on 15/06/2024",
+                "schedule 15/06/2024",
+                "todo benchmark probe",
+                "mark 1",
+                "unmark 1",
+                "delete " + (size + 1),
+                "undo",
+                "redo",
+                "list");
+    }
+
+    private void measureCli(Path workDir, int size) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(javaExecutable(), "-cp", classpath, "vince.Vince")
+                .directory(workDir.toFile())
+                .redirectErrorStream(true)
+                .start();
+        try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+                BufferedWriter writer = new BufferedWriter(
+                    new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8))) {
+            awaitDividers(reader, 2);
+            record("cli.firstPrompt." + size, System.nanoTime() - start);
+            for (String command : script(size)) {
+                long sent = System.nanoTime();
+                writer.write(command);
+                writer.newLine();
+                writer.flush();
+                awaitDividers(reader, 2);
+                record("cli.command[" + command.split(" ")[0] + "]." + size, System.nanoTime() - sent);
+            }
+            writer.write("bye");
+            writer.newLine();
+            writer.flush();
+            awaitExit(process);
+        } finally {
+            process.destroyForcibly();
+        }
+    }
+
+    private void measureGui(Path workDir, int size) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(javaExecutable(),
+                "-Dglass.platform=Monocle", "-Dmonocle.platform=Headless", "-Dprism.order=sw",
+                "-Dvince.startupProbe=true",
+                "-cp", guiClasspath + File.pathSeparator + classpath, "vince.Launcher")
+                .directory(workDir.toFile())
+                .redirectErrorStream(true)
+                .start();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            boolean framed = false;
+            boolean loaded = false;
+            while (!framed || !loaded) {
+                String line = reader.readLine();
+                if (line == null) {
+                    throw new IOException("GUI exited before starting up; is Monocle on the GUI classpath?");
+                }
+                long elapsed = System.nanoTime() - start;
+                if (line.equals("vince: first frame")) {
+                    record("gui.firstFrame." + size, elapsed);
+                    framed = true;
+                } else if (line.equals("vince: tasks loaded")) {
+                    record("gui.tasksLoaded." + size, elapsed);
+                    loaded = true;
+                }
+            }
+        } finally {
+            process.destroyForcibly();
+            process.waitFor(PROCESS_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Reads output until the given number of divider lines has gone by, i.e.
+     * until one framed reply has been printed completely.
+     */
+    private static void awaitDividers(BufferedReader reader, int count) throws IOException {
+        int seen = 0;
+        while (seen < count) {
+            String line = reader.readLine();
+            if (line == null) {
+                throw new IOException("Vince exited unexpectedly");
+            }
+            if (line.equals(DIVIDER_LINE)) {
+                seen++;
+            }
+        }
+    }
+
+    private static void awaitExit(Process process) throws InterruptedException, IOException {
+        if (!process.waitFor(PROCESS_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            throw new IOException("Vince did not exit after bye");
+        }
+    }
+
+    private static String javaExecutable() {
+        return Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+    }
+
+    private void record(String metric, long nanos) {
+        samples.computeIfAbsent(metric, key -> new ArrayList<>()).add(nanos / 1e6);
+    }
+
+    /**
+     * Returns the median of every metric, in milliseconds.
+     */
+    Map<String, Double> medians() {
+        Map<String, Double> medians = new LinkedHashMap<>();
+        samples.forEach((metric, values) -> {
+            List<Double> sorted = values.stream().sorted().collect(Collectors.toList());
+            int middle = sorted.size() / 2;
+            medians.put(metric, sorted.size() % 2 == 1 ? sorted.get(middle)
+                    : (sorted.get(middle - 1) + sorted.get(middle)) / 2);
+        });
+        return medians;
+    }
+
+    /**
+     * Renders the environment, the medians and every raw sample as JSON.
+     */
+    String toJson() {
+        StringBuilder json = new StringBuilder("{\n");
+        json.append("  \"timestamp\": \"").append(Instant.now()).append("\",\n");
+        json.append("  \"java\": \"").append(System.getProperty("java.version")).append("\",\n");
+        json.append("  \"os\": \"").append(System.getProperty("os.name")).append(' ')
+                .append(System.getProperty("os.arch")).append("\",\n");
+        json.append("  \"cpus\": ").append(Runtime.getRuntime().availableProcessors()).append(",\n");
+        json.append("  \"runs\": ").append(runs).append(",\n");
+        json.append("  \"gui\": ").append(guiClasspath != null && !guiClasspath.isBlank()).append(",\n");
+        json.append("  \"medians\": {\n");
+        json.append(medians().entrySet().stream()
+                .map(entry -> String.format(Locale.ROOT, "    \"%s\": %.3f", entry.getKey(), entry.getValue()))
+                .collect(Collectors.joining(",\n")));
+        json.append("\n  },\n");
+        json.append("  \"samples\": {\n");
+        json.append(samples.entrySet().stream()
+                .map(entry -> String.format(Locale.ROOT, "    \"%s\": [%s]", entry.getKey(),
+                        entry.getValue().stream()
+                                .map(value -> String.format(Locale.ROOT, "%.3f", value))
+                                .collect(Collectors.joining(", "))))
+                .collect(Collectors.joining(",\n")));
+        json.append("\n  }\n}\n");
+        return json.toString();
+    }
+
+    /**
+     * Reads the medians back from a result written by {@link #toJson()}.
+     */
+    static Map<String, Double> readMedians(String json) {
+        int from = json.indexOf("\"medians\"");
+        int to = json.indexOf('}', from);
+        Map<String, Double> medians = new LinkedHashMap<>();
+        Matcher matcher = Pattern.compile("\"([^\"]+)\":\\s*([0-9.]+)").matcher(json.substring(from, to));
+        while (matcher.find()) {
+            medians.put(matcher.group(1), Double.parseDouble(matcher.group(2)));
+        }
+        return medians;
+    }
+
+    /**
+     * Lists every metric whose median grew by more than the tolerance (and
+     * the noise floor) over its baseline. Metrics missing from either side
+     * are ignored.
+     */
+    static List<String> compare(Map<String, Double> baseline, Map<String, Double> current, double tolerance) {
+        List<String> regressions = new ArrayList<>();
+        current.forEach((metric, value) -> {
+            Double before = baseline.get(metric);
+            if (before != null && value > before * (1 + tolerance) && value - before > NOISE_FLOOR_MS) {
+                regressions.add(String.format(Locale.ROOT, "REGRESSION %s: %.1f ms -> %.1f ms (+%.0f%%)",
+                        metric, before, value, (value / before - 1) * 100));
+            }
+        });
+        return regressions;
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (var paths = Files.walk(dir)) {
+            for (Path path : paths.sorted((a, b) -> b.compareTo(a)).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package vince.bench;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates seeded command streams that look like real use: a configurable
+ * mix of command types, task keywords drawn from a Zipfian distribution so a
+ * few words dominate as they do in real lists, and dates written in every
+ * form {@code DateTimeParser} understands, natural language included.
+ * <p>
+ * The generator tracks how many tasks the stream has added and removed, so
+ * {@code mark} and {@code delete} always name a task that exists when the
+ * stream is replayed against a list of the given starting size.
+ */
+public class WorkloadGenerator {
+    /** Default mix, roughly one change for every read. */
+    public static final String DEFAULT_MIX = "todo=20,deadline=10,event=5,mark=10,delete=5,find=25,on=15,schedule=10";
+
+    // Ordered by rank: the first word is the most frequent.
+    private static final String[] VOCABULARY = {
+        "buy", "milk", "call", "mum", "email", "boss", "read", "book", "pay", "rent", "gym", "clean", "room",
+        "submit", "report", "team", "meeting", "review", "code", "dentist", "laundry", "groceries", "project",
+        "plan", "trip", "fix", "bike", "water", "plants", "walk", "dog", "tax", "return", "library", "piano",
+        "lesson", "birthday", "gift", "doctor", "passport", "renew", "insurance", "car", "service", "garden",
+        "paint", "fence", "backup", "photos", "invoice", "client", "draft", "essay", "lecture", "notes", "exam",
+        "revise", "chapter", "lab", "tutorial"
+    };
+    private static final String[] BASE_DAYS = {"today", "tomorrow", "yesterday"};
+    private static final String[] WEEKDAYS = {"monday", "tuesday", "wednesday", "thursday", "friday", "saturday",
+        "sunday", "mon", "fri"};
+    private static final double ZIPF_EXPONENT = 1.1;
+
+    private final Random random;
+    private final Map<String, Integer> mix;
+    private final int totalWeight;
+    private final double[] zipfCumulative;
+    private int taskCount;
+
+    /**
+     * Creates a generator.
+     *
+     * @param seed random seed; equal seeds give equal streams
+     * @param mix relative weight of each command type
+     * @param initialTaskCount tasks in the list the stream will be replayed against
+     */
+    public WorkloadGenerator(long seed, Map<String, Integer> mix, int initialTaskCount) {
+        this.random = new Random(seed);
+        this.mix = new LinkedHashMap<>(mix);
+        this.totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        this.taskCount = initialTaskCount;
+        this.zipfCumulative = new double[VOCABULARY.length];
+        double sum = 0;
+        for (int rank = 0; rank < VOCABULARY.length; rank++) {
+            sum += 1 / Math.pow(rank + 1, ZIPF_EXPONENT);
+            zipfCumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < VOCABULARY.length; rank++) {
+            zipfCumulative[rank] /= sum;
+        }
+        if (totalWeight <= 0) {
+            throw new IllegalArgumentException("The mix needs at least one positive weight");
+        }
+    }
+
+    /**
+     * Parses a mix such as {@code todo=20,find=25}.
+     *
+     * @param spec comma separated {@code type=weight} pairs
+     * @return weight per command type, in the order given
+     */
+    public static Map<String, Integer> parseMix(String spec) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String pair : spec.split(",")) {
+            String[] parts = pair.trim().split("=");
+            mix.put(parts[0], Integer.parseInt(parts[1]));
+        }
+        return mix;
+    }
+
+    /**
+     * Generates the next {@code count} commands.
+     *
+     * @param count number of command lines
+     * @return the command lines, ready for {@code Parser.parse}
+     */
+    public List<String> generate(int count) {
+        List<String> commands = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            commands.add(next());
+        }
+        return commands;
+    }
+
+    /**
+     * Generates one command line.
+     *
+     * @return the command line
+     */
+    public String next() {
+        String type = pickType();
+        if ((type.equals("mark") || type.equals("delete")) && taskCount == 0) {
+            type = "todo";
+        }
+        switch (type) {
+            case "todo":
+                taskCount++;
+                return "todo " + description();
+            case "deadline":
+                taskCount++;
+                return "deadline " + description() + " /by " + deadlineDate();
+            case "event":
+                taskCount++;
+                return "event " + description() + " /from " + eventRange();
+            case "mark":
+                return "mark " + (1 + random.nextInt(taskCount));
+            case "delete":
+                return "delete " + (1 + random.nextInt(taskCount--));
+            case "find":
+                return "find " + keyword();
+            case "on":
+                return "on " + lookupDate();
+            case "schedule":
+                return "schedule " + lookupDate();
+            default:
+                throw new IllegalArgumentException("Unknown command type in mix: " + type);
+        }
+    }
+
+    private String pickType() {
+        int ticket = random.nextInt(totalWeight);
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            ticket -= entry.getValue();
+            if (ticket < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("unreachable");
+    }
+
+    /** Returns a word with probability proportional to 1 / rank^s. */
+    private String keyword() {
+        int rank = Arrays.binarySearch(zipfCumulative, random.nextDouble());
+        return VOCABULARY[Math.min(rank < 0 ? -rank - 1 : rank, VOCABULARY.length - 1)];
+    }
+
+    private String description() {
+        int words = 1 + random.nextInt(4);
+        StringBuilder description = new StringBuilder(keyword());
+        for (int i = 1; i < words; i++) {
+            description.append(' ').append(keyword());
+        }
+        return description.toString();
+    }
+
+    private String deadlineDate() {
+        switch (random.nextInt(8)) {
+            case 0:
+                return pick(BASE_DAYS);
+            case 1:
+                return pick(BASE_DAYS) + " " + naturalTime(random.nextInt(24));
+            case 2:
+                return (random.nextBoolean() ? "next " : "this ") + pick(WEEKDAYS);
+            case 3:
+                return "in " + (1 + random.nextInt(10)) + (random.nextBoolean() ? " days" : " weeks");
+            case 4:
+                return random.nextBoolean() ? "next week" : "next month";
+            case 5:
+                return LocalDate.now().plusDays(random.nextInt(60)).toString();
+            default:
+                return numericDate(random.nextInt(60)) + String.format(" %02d%02d",
+                        random.nextInt(24), 15 * random.nextInt(4));
+        }
+    }
+
+    private String eventRange() {
+        int hour = 8 + random.nextInt(12);
+        if (random.nextBoolean()) {
+            String day = random.nextBoolean() ? "today" : "tomorrow";
+            return day + " " + naturalTime(hour) + " /to " + day + " " + naturalTime(hour + 1);
+        }
+        String day = numericDate(random.nextInt(60));
+        return String.format("%s %02d00 /to %s %02d30", day, hour, day, hour + 1);
+    }
+
+    private String lookupDate() {
+        switch (random.nextInt(4)) {
+            case 0:
+                return pick(BASE_DAYS);
+            case 1:
+                return "next " + pick(WEEKDAYS);
+            case 2:
+                return "in " + (1 + random.nextInt(14)) + " days";
+            default:
+                return numericDate(random.nextInt(60));
+        }
+    }
+
+    /** Writes an hour the way people type it: 5pm, 11am, 2:30pm or 1700. */
+    private String naturalTime(int hour) {
+        switch (random.nextInt(3)) {
+            case 0:
+                return String.format("%02d00", hour);
+            case 1:
+                return (hour % 12 == 0 ? 12 : hour % 12) + ":30" + (hour < 12 ? "am" : "pm");
+            default:
+                return (hour % 12 == 0 ? 12 : hour % 12) + (hour < 12 ? "am" : "pm");
+        }
+    }
+
+    private static String numericDate(int daysAhead) {
+        LocalDate date = LocalDate.now().plusDays(daysAhead);
+        return String.format("%02d/%02d/%04d", date.getDayOfMonth(), date.getMonthValue(), date.getYear());
+    }
+
+    private String pick(String[] options) {
+        return options[random.nextInt(options.length)];
+    }
+}
@@ -0,0 +1,159 @@
+package vince.bench;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import vince.command.Command;
+import vince.exception.VinceException;
+import vince.metrics.LatencyHistogram;
+import vince.storage.Storage;
+import vince.storage.TaskList;
+import vince.ui.Ui;
+import vince.util.Parser;
+
+/**
+ * Replays a command stream in-process, through {@link Parser#parse} and
+ * {@link Command#execute(TaskList, Ui)} with a Ui that discards its output,
+ * and reports throughput, latency percentiles and allocation per command type.
+ * <p>
+ * The stream is either generated by {@link WorkloadGenerator} or read from a
+ * file of command lines. The list starts from a fresh data file in a
+ * temporary directory, preloaded with {@code --preload} generated tasks, and
+ * the first {@code --warmup} commands run unmeasured so the JIT settles.
+ * <p>
+ * Usage: {@code WorkloadReplay [--seed 1] [--commands 20000] [--warmup 2000]
+ * [--preload 1000] [--mix todo=20,find=25,...] [--save stream.txt] [--replay stream.txt]}
+ */
+public class WorkloadReplay {
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final Map<String, Stats> statsByType = new LinkedHashMap<>();
+    private final Stats total = new Stats();
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        long seed = Long.parseLong(options.getOrDefault("seed", "1"));
+        int commands = Integer.parseInt(options.getOrDefault("commands", "20000"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "2000"));
+        int preload = Integer.parseInt(options.getOrDefault("preload", "1000"));
+        Map<String, Integer> mix = WorkloadGenerator.parseMix(
+                options.getOrDefault("mix", WorkloadGenerator.DEFAULT_MIX));
+
+        Path dataFile = Files.createTempDirectory("vince-workload").resolve("vince.txt");
+        List<String> preloaded = new ArrayList<>();
+        for (String line : new WorkloadGenerator(seed, Map.of("todo", 1), 0).generate(preload)) {
+            preloaded.add("T | 0 | " + line.substring("todo ".length()));
+        }
+        Files.write(dataFile, preloaded, StandardCharsets.UTF_8);
+        TaskList tasks = new TaskList(new Storage(dataFile));
+
+        List<String> stream;
+        if (options.containsKey("replay")) {
+            stream = Files.readAllLines(Paths.get(options.get("replay")), StandardCharsets.UTF_8);
+        } else {
+            stream = new WorkloadGenerator(seed, mix, preload).generate(warmup + commands);
+        }
+        if (options.containsKey("save")) {
+            Files.write(Paths.get(options.get("save")), stream, StandardCharsets.UTF_8);
+        }
+
+        WorkloadReplay replay = new WorkloadReplay();
+        Ui ui = new Ui(InputStream.nullInputStream(), new PrintStream(OutputStream.nullOutputStream()));
+        int measuredFrom = Math.min(warmup, stream.size());
+        for (String line : stream.subList(0, measuredFrom)) {
+            replay.execute(line, tasks, ui, false);
+        }
+        long start = System.nanoTime();
+        for (String line : stream.subList(measuredFrom, stream.size())) {
+            replay.execute(line, tasks, ui, true);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("Replayed %d commands (after %d warm-up) against %d to %d tasks in %.1f ms%n",
+                stream.size() - measuredFrom, measuredFrom, preload, tasks.size(), elapsed / 1e6);
+        replay.printReport(elapsed);
+    }
+
+    /**
+     * Parses and executes one command line, timing it and counting the bytes
+     * the current thread allocated for it.
+     */
+    void execute(String line, TaskList tasks, Ui ui, boolean measure) {
+        String type = line.split(" ", 2)[0];
+        long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        boolean failed = false;
+        try {
+            Command command = Parser.parse(line);
+            if (command != null) {
+                command.execute(tasks, ui);
+            }
+        } catch (VinceException e) {
+            failed = true;
+        }
+        long nanos = System.nanoTime() - start;
+        long allocated = THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        if (measure) {
+            statsByType.computeIfAbsent(type, key -> new Stats()).add(nanos, allocated, failed);
+            total.add(nanos, allocated, failed);
+        }
+    }
+
+    private void printReport(long elapsedNanos) {
+        System.out.printf("%-9s %7s %9s %9s %9s %9s %9s %11s %10s %6s%n",
+                "command", "count", "ops/s", "p50 us", "p90 us", "p99 us", "max us", "alloc B/op", "alloc MB/s",
+                "errors");
+        statsByType.forEach(WorkloadReplay::printRow);
+        printRow("all", total);
+        System.out.printf(Locale.ROOT, "Throughput %.0f commands/s, allocation rate %.1f MB/s%n",
+                total.latency.getCount() / (elapsedNanos / 1e9), total.allocatedBytes / 1e6 / (elapsedNanos / 1e9));
+    }
+
+    private static void printRow(String type, Stats stats) {
+        LatencyHistogram latency = stats.latency;
+        long count = latency.getCount();
+        double busySeconds = stats.totalNanos / 1e9;
+        System.out.printf(Locale.ROOT, "%-9s %7d %9.0f %9.1f %9.1f %9.1f %9.1f %11d %10.1f %6d%n",
+                type, count, count / busySeconds,
+                latency.getPercentile(50) / 1e3, latency.getPercentile(90) / 1e3,
+                latency.getPercentile(99) / 1e3, latency.getMax() / 1e3,
+                stats.allocatedBytes / Math.max(count, 1), stats.allocatedBytes / 1e6 / busySeconds,
+                stats.errors);
+    }
+
+    /**
+     * Measurements of one command type. Throughput and allocation rate are
+     * per second spent in that type, not per second of the whole replay.
+     */
+    private static class Stats {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private long totalNanos;
+        private long allocatedBytes;
+        private long errors;
+
+        void add(long nanos, long allocated, boolean failed) {
+            latency.record(nanos);
+            totalNanos += nanos;
+            allocatedBytes += allocated;
+            if (failed) {
+                errors++;
+            }
+        }
+    }
+}
@@ -50,6 +50,15 @@ public class DialogBox extends HBox {
         setAlignment(Pos.CENTER_LEFT);
     }
 
+    /**
+     * Replaces the text shown, e.g. to update a status message in place.
+     *
+     * @param text the new text
+     */
+    public void setText(String text) {
+        dialog.setText(text);
+    }
+
     public static DialogBox getUserDialog(Label l, ImageView iv) {
         return new DialogBox(l.getText(), iv.getImage());
     }
@@ -8,6 +8,9 @@ import javafx.scene.Scene;
 import javafx.scene.image.Image;
 import javafx.scene.layout.AnchorPane;
 import javafx.stage.Stage;
+import vince.metrics.MetricsRegistry;
+import vince.reminder.ReminderScheduler;
+import vince.storage.Storage;
 import vince.storage.TaskList;
 
 /**
@@ -15,11 +18,15 @@ import vince.storage.TaskList;
  * Follows the MVC pattern with FXML-based view separation.
  */
 public class Main extends Application {
+    /** Set to true to print startup milestones for the benchmark in {@code benchmark/}. */
+    public static final String STARTUP_PROBE_PROPERTY = "vince.startupProbe";
 
-    private TaskList tasks = new TaskList();
+    private TaskList tasks;
+    private ReminderScheduler reminders;
 
     @Override
     public void start(Stage stage) {
+        MetricsRegistry.registerMBean();
         try {
             FXMLLoader fxmlLoader = new FXMLLoader(Main.class.getResource("/view/MainWindow.fxml"));
             AnchorPane ap = fxmlLoader.load();
@@ -27,9 +34,7 @@ public class Main extends Application {
             stage.setScene(scene);
             stage.setTitle("Vince AI Assistant");
             
-            // Initialize and inject dependencies
             MainWindow controller = fxmlLoader.<MainWindow>getController();
-            controller.setTaskList(tasks);
             
             // Initialize images
             Image userImage = loadImageWithFallback("/images/DaUser.png");
@@ -38,13 +43,48 @@ public class Main extends Application {
             
             // Show welcome message
             controller.showWelcomeMessage();
+
+            // Load tasks in the background so the window never waits on the data file
+            tasks = TaskList.loadInBackground(new Storage(), controller::showLoadProgress);
+            controller.setTaskList(tasks);
+
+            reminders = new ReminderScheduler(controller::showReminder);
+            reminders.watch(tasks);
+            reminders.start();
             
             stage.show();
+            if (Boolean.getBoolean(STARTUP_PROBE_PROPERTY)) {
+                reportStartup(scene);
+            }
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
     
+    @Override
+    public void stop() {
+        if (reminders != null) {
+            reminders.close();
+        }
+    }
+
+    /**
+     * Prints a line when the first frame has been laid out and another when
+     * the tasks have finished loading, so a harness can time both.
+     *
+     * @param scene the scene just shown
+     */
+    private void reportStartup(Scene scene) {
+        scene.addPostLayoutPulseListener(new Runnable() {
+            @Override
+            public void run() {
+                System.out.println("vince: first frame");
+                scene.removePostLayoutPulseListener(this);
+            }
+        });
+        tasks.whenLoaded().thenRun(() -> System.out.println("vince: tasks loaded"));
+    }
+
     /**
      * Loads an image with fallback to placeholder if resource not found.
      * 
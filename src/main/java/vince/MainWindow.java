@@ -1,22 +1,38 @@
 package vince;
 
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.collections.transformation.FilteredList;
+import javafx.collections.transformation.SortedList;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.ScrollPane;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.AnchorPane;
 import javafx.scene.layout.VBox;
 import javafx.geometry.Pos;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.function.Function;
+import vince.query.TaskIndex;
 import vince.storage.TaskList;
+import vince.task.Priority;
+import vince.task.Task;
+import vince.task.TaskType;
 import vince.command.Command;
+import vince.command.CommandResult;
+import vince.util.DateTimeParser;
 import vince.util.Parser;
 import vince.exception.VinceException;
-import vince.task.Task;
-import vince.ai.TaskSuggestionEngine;
-import java.util.stream.Collectors;
 
 /**
  * Controller for the main GUI window.
@@ -31,10 +47,31 @@ public class MainWindow extends AnchorPane {
     private TextField userInput;
     @FXML
     private Button sendButton;
+    @FXML
+    private TextField taskFilter;
+    @FXML
+    private TableView<Task> taskTable;
+    @FXML
+    private TableColumn<Task, Task> numberColumn;
+    @FXML
+    private TableColumn<Task, TaskType> typeColumn;
+    @FXML
+    private TableColumn<Task, Boolean> doneColumn;
+    @FXML
+    private TableColumn<Task, String> descriptionColumn;
+    @FXML
+    private TableColumn<Task, LocalDateTime> dueColumn;
+    @FXML
+    private TableColumn<Task, Priority> priorityColumn;
 
     private TaskList tasks;
     private Image userImage;
     private Image vinceImage;
+    // Loading state is only touched on the FX thread.
+    private boolean loading;
+    private DialogBox loadStatus;
+    private final Queue<Command> pendingCommands = new ArrayDeque<>();
+    private final TaskTableModel taskModel = new TaskTableModel();
 
     /**
      * Initializes the controller after FXML loading.
@@ -44,15 +81,111 @@ public class MainWindow extends AnchorPane {
     public void initialize() {
         // Auto-scroll to bottom when new content is added
         scrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
+        initializeTaskTable();
+    }
+
+    /**
+     * Shows the task model in the table, sorted by the clicked column and
+     * filtered by the text in the filter box. Sorting happens before
+     * filtering, so typing in the filter box only re-filters, and the table
+     * renders only the rows in view.
+     */
+    private void initializeTaskTable() {
+        SortedList<Task> sorted = new SortedList<>(taskModel.getTasks());
+        FilteredList<Task> filtered = new FilteredList<>(sorted);
+        taskTable.setItems(filtered);
+        taskTable.setSortPolicy(table -> {
+            sorted.setComparator(table.getComparator());
+            return true;
+        });
+        taskFilter.textProperty().addListener((observable, oldText, newText) ->
+                filtered.setPredicate(TaskTableModel.descriptionContains(newText)));
+        // Task numbers after an insert or delete shift; redraw the rows in view.
+        taskModel.setOnPositionsShifted(taskTable::refresh);
+
+        numberColumn.setCellValueFactory(row -> new ReadOnlyObjectWrapper<>(row.getValue()));
+        numberColumn.setCellFactory(column -> textCell(task -> String.valueOf(taskModel.numberOf(task))));
+        typeColumn.setCellValueFactory(row -> new ReadOnlyObjectWrapper<>(TaskType.of(row.getValue())));
+        typeColumn.setCellFactory(column -> textCell(TaskType::getCommand));
+        doneColumn.setCellValueFactory(row -> new ReadOnlyObjectWrapper<>(row.getValue().isDone()));
+        doneColumn.setCellFactory(column -> textCell(done -> done ? "✓" : ""));
+        descriptionColumn.setCellValueFactory(row -> new ReadOnlyObjectWrapper<>(row.getValue().getDescription()));
+        dueColumn.setCellValueFactory(row -> new ReadOnlyObjectWrapper<>(TaskIndex.dueOf(row.getValue())));
+        dueColumn.setCellFactory(column -> textCell(DateTimeParser::formatDateTime));
+        dueColumn.setComparator(Comparator.nullsLast(Comparator.naturalOrder()));
+        priorityColumn.setCellValueFactory(row -> new ReadOnlyObjectWrapper<>(row.getValue().getPriority()));
+        priorityColumn.setCellFactory(column -> textCell(priority -> priority.getEmoji() + " " + priority.getShortName()));
+        priorityColumn.setComparator(Comparator.comparingInt(Priority::getValue));
+    }
+
+    /**
+     * Returns a table cell showing its value as formatted text, and nothing when empty.
+     */
+    private static <T> TableCell<Task, T> textCell(Function<T, String> format) {
+        return new TableCell<>() {
+            @Override
+            protected void updateItem(T item, boolean empty) {
+                super.updateItem(item, empty);
+                setText(empty || item == null ? null : format.apply(item));
+            }
+        };
     }
 
     /**
      * Injects the TaskList instance for task management.
+     * If it is still loading, a status bubble tracks the load, and commands
+     * that change tasks are queued until it finishes. The task table follows
+     * every change to the list, the load included.
      * 
      * @param tasks the task list to use
      */
     public void setTaskList(TaskList tasks) {
         this.tasks = tasks;
+        tasks.addObserver(taskModel);
+        if (!tasks.isLoaded()) {
+            loading = true;
+            loadStatus = addVinceDialog("Loading your tasks...");
+        }
+        tasks.whenLoaded().whenComplete((ignored, error) -> Platform.runLater(() -> finishLoading(error)));
+    }
+
+    /**
+     * Updates the loading status bubble. Safe to call from any thread.
+     *
+     * @param chunk the tasks just loaded
+     * @param bytesRead bytes of the data file read so far
+     * @param totalBytes size of the data file
+     */
+    public void showLoadProgress(List<Task> chunk, long bytesRead, long totalBytes) {
+        long percent = totalBytes == 0 ? 100 : bytesRead * 100 / totalBytes;
+        int loaded = tasks == null ? 0 : tasks.size();
+        Platform.runLater(() -> {
+            if (loading && loadStatus != null) {
+                loadStatus.setText(String.format("Loading your tasks... %d%% (%d so far)", percent, loaded));
+            }
+        });
+    }
+
+    /**
+     * Ends the loading state and runs, in order, the commands that were
+     * waiting for it.
+     *
+     * @param error why loading failed, or null
+     */
+    private void finishLoading(Throwable error) {
+        if (!loading) {
+            return;
+        }
+        loading = false;
+        if (error != null) {
+            Throwable cause = error.getCause() != null ? error.getCause() : error;
+            loadStatus.setText("Oops! " + cause.getMessage());
+        } else {
+            loadStatus.setText(String.format("Loaded %d tasks.", tasks.size()));
+        }
+        while (!pendingCommands.isEmpty()) {
+            addVinceDialog(respondTo(pendingCommands.poll()));
+        }
     }
 
     /**
@@ -66,6 +199,16 @@ public class MainWindow extends AnchorPane {
         this.vinceImage = vinceImage;
     }
 
+    /**
+     * Shows a reminder that a deadline is due or an event is starting.
+     * Safe to call from any thread; the dialog is added on the FX thread.
+     *
+     * @param occurrence the task or occurrence that is due
+     */
+    public void showReminder(Task occurrence) {
+        Platform.runLater(() -> addVinceDialog("⏰ Reminder! This is due now:\n" + occurrence));
+    }
+
     /**
      * Shows the welcome message when the application starts.
      */
@@ -105,12 +248,15 @@ public class MainWindow extends AnchorPane {
      * Adds a Vince dialog box to the conversation.
      * 
      * @param text Vince's response text
+     * @return the dialog box, for later updates
      */
-    private void addVinceDialog(String text) {
+    private DialogBox addVinceDialog(String text) {
         Label vinceText = new Label(text);
-        VBox vinceContainer = new VBox(DialogBox.getVinceDialog(vinceText, new ImageView(vinceImage)));
+        DialogBox dialogBox = DialogBox.getVinceDialog(vinceText, new ImageView(vinceImage));
+        VBox vinceContainer = new VBox(dialogBox);
         vinceContainer.setAlignment(Pos.CENTER_LEFT);
         dialogContainer.getChildren().add(vinceContainer);
+        return dialogBox;
     }
 
     /**
@@ -131,6 +277,14 @@ public class MainWindow extends AnchorPane {
                 return "Oops! It's an invalid command :-(";
             }
 
+            if (loading && !command.isExit()) {
+                if (!command.isReadOnly()) {
+                    pendingCommands.add(command);
+                    return "Your tasks are still loading. I'll do that as soon as they're ready.";
+                }
+                return executeCommandAndGetResponse(command)
+                        + String.format("\n(Still loading: this covers the first %d tasks.)", tasks.size());
+            }
             return executeCommandAndGetResponse(command);
 
         } catch (VinceException e) {
@@ -138,6 +292,20 @@ public class MainWindow extends AnchorPane {
         }
     }
 
+    /**
+     * Executes a parsed command, turning a failure into an error message.
+     *
+     * @param command the command to run
+     * @return response string for display in GUI
+     */
+    private String respondTo(Command command) {
+        try {
+            return executeCommandAndGetResponse(command);
+        } catch (VinceException e) {
+            return "Oops! " + e.getMessage();
+        }
+    }
+
     /**
      * Checks if the input string is null or empty after trimming.
      * 
@@ -155,48 +323,89 @@ public class MainWindow extends AnchorPane {
      * @return response string for the executed command
      */
     private String executeCommandAndGetResponse(Command command) {
-        if (command instanceof vince.command.ExitCommand) {
-            return handleExitCommand();
-        } else if (command instanceof vince.command.ListCommand) {
-            return handleListCommand();
-        } else if (command instanceof vince.command.AddCommand) {
-            return handleAddCommand((vince.command.AddCommand) command);
-        } else if (command instanceof vince.command.MarkCommand) {
-            return handleMarkCommand((vince.command.MarkCommand) command);
-        } else if (command instanceof vince.command.UnmarkCommand) {
-            return handleUnmarkCommand((vince.command.UnmarkCommand) command);
-        } else if (command instanceof vince.command.DeleteCommand) {
-            return handleDeleteCommand((vince.command.DeleteCommand) command);
-        } else if (command instanceof vince.command.FindCommand) {
-            return handleFindCommand((vince.command.FindCommand) command);
-        } else if (command instanceof vince.command.OnDateCommand) {
-            return handleOnDateCommand((vince.command.OnDateCommand) command);
-        } else if (command instanceof vince.command.ScheduleCommand) {
-            return handleScheduleCommand((vince.command.ScheduleCommand) command);
-        } else if (command instanceof vince.command.HelpCommand) {
-            return handleHelpCommand();
+        CommandResult result = command.run(tasks);
+        if (command.isExit()) {
+            javafx.application.Platform.exit();
         }
+        return renderResult(result);
+    }
 
-        return "Unknown command type";
+    /**
+     * Renders a command result as the text shown in Vince's dialog bubble.
+     * 
+     * @param result the structured result of a command
+     * @return response string for display in GUI
+     */
+    private String renderResult(CommandResult result) {
+        switch (result.getKind()) {
+            case GOODBYE:
+                return "Bye. Hope to see you again soon!";
+            case TASK_LIST:
+                return renderTaskList(result);
+            case TASK_ADDED:
+                return renderTaskAdded(result);
+            case TASK_MARKED:
+                return String.format("Nice! I've marked this task as done:\n%s", result.getTask());
+            case TASK_UNMARKED:
+                return String.format("OK, I've marked this task as not done yet:\n%s", result.getTask());
+            case OCCURRENCE_SKIPPED:
+                return String.format("OK, I've skipped this occurrence:\n%s", result.getTask());
+            case TASK_DELETED:
+                return String.format("Noted. I've removed this task:\n%s\nNow you have %d tasks in the list.",
+                        result.getTask(), result.getTaskCount());
+            case MATCHING_TASKS:
+                return renderMatchingTasks(result);
+            case TASKS_ON_DATE:
+                return renderTasksOnDate(result);
+            case SCHEDULE:
+                return renderSchedule(result);
+            case UPCOMING_TASKS:
+                return renderTaskLines("Coming up next:", "Nothing is due.", result);
+            case OVERDUE_TASKS:
+                return renderTaskLines("These are past due:", "Nothing is overdue.", result);
+            case CONFLICTS:
+                return renderTaskLines("Overlapping events, " + result.getLabel() + ":",
+                        "No overlapping events, " + result.getLabel() + ".", result);
+            case HELP:
+                return renderHelp(result);
+            case STATS:
+                return renderStats(result);
+            case UNDONE:
+                return "Undone " + result.getLabel();
+            case REDONE:
+                return "Redone " + result.getLabel();
+            default:
+                return "Unknown command type";
+        }
     }
 
     /**
-     * Handles the exit command by terminating the application.
+     * Renders an added task, warning about any events it overlaps.
      * 
-     * @return goodbye message
+     * @param result the add result carrying the overlapping events as its lines
+     * @return confirmation text
      */
-    private String handleExitCommand() {
-        javafx.application.Platform.exit();
-        return "Bye. Hope to see you again soon!";
+    private String renderTaskAdded(CommandResult result) {
+        StringBuilder response = new StringBuilder(String.format(
+                "Got it. I've added this task:\n%s\nNow you have %d tasks in the list.",
+                result.getTask(), result.getTaskCount()));
+        if (!result.getLines().isEmpty()) {
+            response.append("\n⚠️  It overlaps with:");
+            for (String line : result.getLines()) {
+                response.append("\n").append(line);
+            }
+        }
+        return response.toString();
     }
 
     /**
-     * Handles the list command by displaying all tasks.
+     * Renders all tasks in the list.
      * 
+     * @param result the list result
      * @return formatted list of tasks or empty message
      */
-    private String handleListCommand() {
-        var taskLines = tasks.list();
+    private String renderTaskList(CommandResult result) {
+        var taskLines = result.getLines();
         if (taskLines.isEmpty()) {
             return "Your task list is empty!";
         }
@@ -209,63 +418,32 @@ public class MainWindow extends AnchorPane {
     }
 
     /**
-     * Handles the add command by creating a new task.
-     * 
-     * @param addCommand the add command containing task details
-     * @return confirmation message with task details
-     */
-    private String handleAddCommand(vince.command.AddCommand addCommand) {
-        Task newTask = tasks.addTask(addCommand.getInput());
-        return String.format("Got it. I've added this task:\n%s\nNow you have %d tasks in the list.",
-                newTask, tasks.size());
-    }
-
-    /**
-     * Handles the mark command by marking a task as done.
-     * 
-     * @param markCommand the mark command with task index
-     * @return confirmation message with marked task
-     */
-    private String handleMarkCommand(vince.command.MarkCommand markCommand) {
-        tasks.mark(markCommand.getIndex());
-        Task markedTask = tasks.get(markCommand.getIndex());
-        return String.format("Nice! I've marked this task as done:\n%s", markedTask);
-    }
-
-    /**
-     * Handles the unmark command by marking a task as not done.
-     * 
-     * @param unmarkCommand the unmark command with task index
-     * @return confirmation message with unmarked task
-     */
-    private String handleUnmarkCommand(vince.command.UnmarkCommand unmarkCommand) {
-        tasks.unmark(unmarkCommand.getIndex());
-        Task unmarkedTask = tasks.get(unmarkCommand.getIndex());
-        return String.format("OK, I've marked this task as not done yet:\n%s", unmarkedTask);
-    }
-
-    /**
-     * Handles the delete command by removing a task.
-     * 
-     * @param deleteCommand the delete command with task index
-     * @return confirmation message with deleted task
+     * Renders the latency percentiles and counters recorded so far.
+     *
+     * @param result the stats result
      */
-    private String handleDeleteCommand(vince.command.DeleteCommand deleteCommand) {
-        Task deletedTask = tasks.delete(deleteCommand.getIndex());
-        return String.format("Noted. I've removed this task:\n%s\nNow you have %d tasks in the list.",
-                deletedTask, tasks.size());
+    private String renderStats(CommandResult result) {
+        StringBuilder response = new StringBuilder(
+                String.format("Performance stats with %d tasks:\n", result.getTaskCount()));
+        if (result.getLines().isEmpty()) {
+            response.append("Nothing measured yet.");
+        }
+        for (String line : result.getLines()) {
+            response.append(line).append("\n");
+        }
+        return response.toString().trim();
     }
 
     /**
-     * Handles the find command by searching for tasks with matching keywords.
+     * Renders the tasks matching a find keyword.
      * 
-     * @param findCommand the find command with search keyword
+     * @param result the find result carrying the keyword as its label
      * @return formatted list of matching tasks or no results message
      */
-    private String handleFindCommand(vince.command.FindCommand findCommand) {
-        var matchingLines = tasks.findTasks(findCommand.getKeyword());
+    private String renderMatchingTasks(CommandResult result) {
+        var matchingLines = result.getLines();
         if (matchingLines.isEmpty()) {
-            return String.format("No tasks found matching '%s'.", findCommand.getKeyword());
+            return String.format("No tasks found matching '%s'.", result.getLabel());
         }
 
         StringBuilder response = new StringBuilder("Here are the matching tasks in your list:\n");
@@ -276,14 +454,14 @@ public class MainWindow extends AnchorPane {
     }
 
     /**
-     * Handles the on date command by showing tasks on a specific date.
+     * Renders the tasks occurring on a specific date.
      * 
-     * @param onDateCommand the on date command with date string
+     * @param result the on-date result carrying the date label
      * @return formatted list of tasks on the date or no results message
      */
-    private String handleOnDateCommand(vince.command.OnDateCommand onDateCommand) {
-        var taskLines = tasks.tasksOnDateLines(onDateCommand.getDateStr());
-        String dateLabel = tasks.tasksOnDateLabel(onDateCommand.getDateStr());
+    private String renderTasksOnDate(CommandResult result) {
+        var taskLines = result.getLines();
+        String dateLabel = result.getLabel();
 
         if (taskLines.isEmpty()) {
             return String.format("No tasks found on %s.", dateLabel);
@@ -297,28 +475,47 @@ public class MainWindow extends AnchorPane {
     }
 
     /**
-     * Handles the schedule command by showing a timeline view of tasks on a specific date.
+     * Renders task lines under a heading, such as the tasks due next or the
+     * overlapping events, or a message if there are none.
      * 
-     * @param scheduleCommand the schedule command with date string
-     * @return formatted schedule with timeline or no results message
+     * @param heading line shown above the lines
+     * @param emptyMessage text shown when there are none
+     * @param result the upcoming, overdue or conflicts result
+     * @return formatted lines or the empty message
      */
-    private String handleScheduleCommand(vince.command.ScheduleCommand scheduleCommand) {
-        var scheduleLines = tasks.getScheduleForDate(scheduleCommand.getDateStr());
-        String dateLabel = tasks.tasksOnDateLabel(scheduleCommand.getDateStr());
+    private String renderTaskLines(String heading, String emptyMessage, CommandResult result) {
+        if (result.getLines().isEmpty()) {
+            return emptyMessage;
+        }
+
+        StringBuilder response = new StringBuilder(heading).append("\n");
+        for (String line : result.getLines()) {
+            response.append(line).append("\n");
+        }
+        return response.toString().trim();
+    }
 
-        StringBuilder response = new StringBuilder(String.format("📅 Schedule for %s:\n\n", dateLabel));
-        for (String line : scheduleLines) {
+    /**
+     * Renders a timeline view of tasks on a specific date.
+     * 
+     * @param result the schedule result carrying the date label
+     * @return formatted schedule with timeline or no results message
+     */
+    private String renderSchedule(CommandResult result) {
+        StringBuilder response = new StringBuilder(String.format("📅 Schedule for %s:\n\n", result.getLabel()));
+        for (String line : result.getLines()) {
             response.append(line).append("\n");
         }
         return response.toString().trim();
     }
 
     /**
-     * Handles the help command by showing AI-enhanced help and suggestions.
+     * Renders AI-enhanced help followed by the result's suggestions.
      * 
+     * @param result the help result carrying personalized suggestions
      * @return formatted help text with personalized suggestions
      */
-    private String handleHelpCommand() {
+    private String renderHelp(CommandResult result) {
         StringBuilder response = new StringBuilder();
 
         // Add help content
@@ -326,16 +523,25 @@ public class MainWindow extends AnchorPane {
         response.append("📝 Task Management:\n");
         response.append("  • todo <description> - Add a simple task\n");
         response.append("  • deadline <description> /by <date> - Add a task with deadline\n");
-        response.append("  • event <description> /from <start> /to <end> - Add a scheduled event\n\n");
+        response.append("  • event <description> /from <start> /to <end> - Add a scheduled event\n");
+        response.append("  • add /every week or /every 2 days until <date> to repeat a deadline or event\n\n");
         response.append("📋 Task Operations:\n");
         response.append("  • list - Show all tasks\n");
-        response.append("  • mark <number> - Mark task as completed\n");
-        response.append("  • unmark <number> - Mark task as incomplete\n");
-        response.append("  • delete <number> - Remove a task\n\n");
+        response.append("  • list --sort due|priority|created [--page <n>] - Show tasks in order, a page at a time\n");
+        response.append("  • mark <number> [date] - Mark task (or one occurrence of a repeating task) as completed\n");
+        response.append("  • unmark <number> [date] - Mark task (or one occurrence) as incomplete\n");
+        response.append("  • skip <number> <date> - Skip one occurrence of a repeating task\n");
+        response.append("  • delete <number> - Remove a task\n");
+        response.append("  • undo / redo - Revert or re-apply your last change\n\n");
         response.append("🔍 Smart Features:\n");
         response.append("  • find <keyword> - Search tasks by keyword\n");
+        response.append("  • filter <terms> - Combine conditions, e.g. type:deadline done:no due<next friday sort:due\n");
         response.append("  • schedule <date> - View timeline for a specific date\n");
-        response.append("  • on <date> - List tasks on a specific date\n\n");
+        response.append("  • on <date> - List tasks on a specific date\n");
+        response.append("  • upcoming [n] - Show the next n open deadlines and events (default 5)\n");
+        response.append("  • overdue - Show open deadlines that are past due\n");
+        response.append("  • conflicts [<date> [/to <date>]] - Find overlapping events (default next 30 days)\n");
+        response.append("  • stats - Show p50/p99/max latency per command and stage\n\n");
         response.append("🧠 Natural Language Support:\n");
         response.append("  • Use 'today', 'tomorrow', 'next friday'\n");
         response.append("  • Use '3pm', '1400', '2:30pm' for times\n");
@@ -346,7 +552,7 @@ public class MainWindow extends AnchorPane {
         response.append("  • schedule next monday\n\n");
 
         // Add AI suggestions
-        var suggestions = TaskSuggestionEngine.generateSuggestions(tasks.getAllTasks());
+        var suggestions = result.getLines();
         if (!suggestions.isEmpty()) {
             response.append("🧠 AI Suggestions for You:\n");
             for (String suggestion : suggestions) {
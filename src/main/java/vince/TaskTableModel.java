@@ -0,0 +1,181 @@
+package vince;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import vince.storage.TaskChange;
+import vince.storage.TaskList;
+import vince.storage.TaskObserver;
+import vince.task.Task;
+
+/**
+ * The tasks of a {@link TaskList}, in list order, as an {@link ObservableList}
+ * for the task table. It is kept in step by applying the list's
+ * {@link TaskChange} batches on the FX thread, so a command patches only the
+ * rows it touches, and runs of adds or removes, such as a load or
+ * {@code deleteAll}, become one range change.
+ */
+class TaskTableModel implements TaskObserver {
+    private final ObservableList<Task> tasks;
+    // Batches arrive on whichever thread mutated the list; the FX thread applies them in order.
+    private final Queue<List<TaskChange>> batches = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private Runnable onPositionsShifted = () -> { };
+
+    TaskTableModel() {
+        this(FXCollections.observableArrayList());
+    }
+
+    /**
+     * Creates a model that keeps the given list in step.
+     *
+     * @param tasks the list to patch, initially empty
+     */
+    TaskTableModel(ObservableList<Task> tasks) {
+        this.tasks = tasks;
+    }
+
+    /**
+     * Returns the tasks, in list order. Only read it on the FX thread.
+     *
+     * @return the live list of tasks
+     */
+    ObservableList<Task> getTasks() {
+        return tasks;
+    }
+
+    /**
+     * Sets what to run after tasks were inserted or removed other than at the
+     * end, which renumbers the tasks after them.
+     *
+     * @param onPositionsShifted called on the FX thread
+     */
+    void setOnPositionsShifted(Runnable onPositionsShifted) {
+        this.onPositionsShifted = onPositionsShifted;
+    }
+
+    @Override
+    public void tasksChanged(List<TaskChange> changes) {
+        batches.add(changes);
+        if (Platform.isFxApplicationThread()) {
+            drain();
+        } else if (drainScheduled.compareAndSet(false, true)) {
+            Platform.runLater(this::drain);
+        }
+    }
+
+    /**
+     * Applies every queued batch, in the order the changes were made.
+     */
+    private void drain() {
+        drainScheduled.set(false);
+        boolean shifted = false;
+        List<TaskChange> batch;
+        while ((batch = batches.poll()) != null) {
+            shifted |= apply(batch);
+        }
+        if (shifted) {
+            onPositionsShifted.run();
+        }
+    }
+
+    /**
+     * Applies one batch, turning each run of adds at consecutive positions,
+     * or of removes counting down, into a single range change. Only call it
+     * on the FX thread; {@link #tasksChanged} gets batches there.
+     *
+     * @param changes a batch delivered by the task list
+     * @return whether any task changed position
+     */
+    boolean apply(List<TaskChange> changes) {
+        boolean shifted = false;
+        int i = 0;
+        while (i < changes.size()) {
+            TaskChange first = changes.get(i);
+            int position = first.getPosition();
+            int end = i + 1;
+            switch (first.getKind()) {
+                case ADDED: {
+                    while (end < changes.size() && changes.get(end).getKind() == TaskChange.Kind.ADDED
+                            && changes.get(end).getPosition() == position + end - i) {
+                        end++;
+                    }
+                    List<Task> added = new ArrayList<>(end - i);
+                    for (TaskChange change : changes.subList(i, end)) {
+                        added.add(change.getTask());
+                    }
+                    shifted |= position < tasks.size();
+                    tasks.addAll(position, added);
+                    break;
+                }
+                case REMOVED: {
+                    while (end < changes.size() && changes.get(end).getKind() == TaskChange.Kind.REMOVED
+                            && changes.get(end).getPosition() == position - (end - i)) {
+                        end++;
+                    }
+                    int from = position - (end - i - 1);
+                    tasks.remove(from, position + 1);
+                    shifted |= from < tasks.size();
+                    break;
+                }
+                default:
+                    tasks.set(position, first.getTask());
+            }
+            i = end;
+        }
+        return shifted;
+    }
+
+    /**
+     * Finds a task's 1-based number, as used by commands such as
+     * {@code mark}, by binary search on its sequence number.
+     *
+     * @param task a task in the list
+     * @return its number, or 0 if it is not in the list
+     */
+    int numberOf(Task task) {
+        long sequence = task.getSequence();
+        int low = 0;
+        int high = tasks.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midSequence = tasks.get(mid).getSequence();
+            if (midSequence < sequence) {
+                low = mid + 1;
+            } else if (midSequence > sequence) {
+                high = mid - 1;
+            } else {
+                return mid + 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns a filter on descriptions, ignoring case.
+     *
+     * @param text the text typed into the filter box
+     * @return the filter, or null to show every task
+     */
+    static Predicate<Task> descriptionContains(String text) {
+        String key = text == null ? "" : text.trim();
+        if (key.isEmpty()) {
+            return null;
+        }
+        return task -> {
+            String description = task.getDescription();
+            for (int i = 0; i + key.length() <= description.length(); i++) {
+                if (description.regionMatches(true, i, key, 0, key.length())) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+}
@@ -1,6 +1,14 @@
 package vince;
 
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.UnixDomainSocketAddress;
+import vince.metrics.MetricsRegistry;
+import vince.reminder.ReminderScheduler;
 import vince.ui.Ui;
+import vince.server.VinceServer;
 import vince.storage.TaskList;
 import vince.command.Command;
 import vince.util.Parser;
@@ -25,9 +33,13 @@ public class Vince {
     
     /**
      * Runs the main interaction loop until an exit command is issued.
+     * Reminders for due deadlines and starting events are printed as they fire.
      */
     public void run() {
         ui.showWelcome();
+        ReminderScheduler reminders = new ReminderScheduler(ui::showReminder);
+        reminders.watch(tasks);
+        reminders.start();
         boolean isExit = false;
         while (!isExit) {
             String input = ui.readCommand();
@@ -47,13 +59,50 @@ public class Vince {
                 ui.showError(e.getMessage());
             }
         }
+        reminders.close();
     }
     
+    /**
+     * Runs Vince headless, serving the line protocol of {@link VinceServer}
+     * until the process is terminated.
+     *
+     * @param address loopback TCP address or Unix domain socket path to listen on
+     * @throws IOException if the server socket cannot be bound
+     * @throws InterruptedException if interrupted while serving
+     */
+    public void serve(SocketAddress address) throws IOException, InterruptedException {
+        try (VinceServer server = new VinceServer(tasks, address)) {
+            server.start();
+            System.out.println("Vince server listening on " + address);
+            server.awaitTermination();
+        }
+    }
+
     /**
      * Launches the Vince application.
-     * @param args CLI args (unused)
+     * Pass {@code --server [port|unix:<path>]} to run the headless server instead of the CLI.
+     * @param args CLI args
      */
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException, InterruptedException {
+        MetricsRegistry.registerMBean();
+        if (args.length > 0 && args[0].equals("--server")) {
+            new Vince().serve(parseServerAddress(args.length > 1 ? args[1] : null));
+            return;
+        }
         new Vince().run();
     }
+
+    /**
+     * Resolves the listening address from the optional --server argument.
+     * Defaults to the loopback interface on {@link VinceServer#DEFAULT_PORT}.
+     */
+    private static SocketAddress parseServerAddress(String arg) {
+        if (arg == null) {
+            return new InetSocketAddress(InetAddress.getLoopbackAddress(), VinceServer.DEFAULT_PORT);
+        }
+        if (arg.startsWith("unix:")) {
+            return UnixDomainSocketAddress.of(arg.substring("unix:".length()));
+        }
+        return new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(arg));
+    }
 }
@@ -1,6 +1,5 @@
 package vince.ai;
 
-import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -20,9 +19,10 @@ public class TaskSuggestionEngine {
      * Generates intelligent suggestions based on current task list.
      * 
      * @param tasks the current list of tasks
+     * @param overdueTasks number of open deadlines already past due
      * @return list of helpful suggestions
      */
-    public static List<String> generateSuggestions(List<Task> tasks) {
+    public static List<String> generateSuggestions(List<Task> tasks, int overdueTasks) {
         List<String> suggestions = new ArrayList<>();
         
         if (tasks.isEmpty()) {
@@ -42,13 +42,6 @@ public class TaskSuggestionEngine {
                 .filter(task -> !task.isDone())
                 .count();
         
-        long overdueTasks = tasks.stream()
-                .filter(task -> task instanceof Deadline)
-                .filter(task -> !task.isDone())
-                .map(task -> (Deadline) task)
-                .filter(deadline -> deadline.getBy().isBefore(LocalDateTime.now()))
-                .count();
-        
         // Generate contextual suggestions
         if (overdueTasks > 0) {
             suggestions.add(String.format("⚠️  You have %d overdue task%s! Consider reviewing your priorities.", 
@@ -1,24 +1,28 @@
 package vince.command;
 
 import vince.storage.TaskList;
-import vince.ui.Ui;
 import vince.task.Task;
 import vince.exception.VinceException;
+import vince.util.CommandTokens;
 
 public class AddCommand extends Command {
-    private final String rawInput;
+    private final CommandTokens tokens;
 
     public AddCommand(String rawInput) {
-        this.rawInput = rawInput;
+        this(CommandTokens.of(rawInput));
+    }
+
+    public AddCommand(CommandTokens tokens) {
+        this.tokens = tokens;
     }
 
     @Override
-    public void execute(TaskList tasks, Ui ui) throws VinceException {
-        Task added = tasks.addTask(rawInput);
-        ui.showTaskAdded(added, tasks.size());
+    public CommandResult execute(TaskList tasks) throws VinceException {
+        Task added = tasks.addTask(tokens);
+        return CommandResult.taskAdded(added, tasks.size(), tasks.eventsOverlapping(added));
     }
 
     public String getInput() {
-        return rawInput;
+        return tokens.toString();
     }
 }
@@ -1,10 +1,92 @@
 package vince.command;
 
+import vince.metrics.CommandEvent;
+import vince.metrics.LatencyHistogram;
+import vince.metrics.MetricsRegistry;
 import vince.storage.TaskList;
 import vince.ui.Ui;
 import vince.exception.VinceException;
 
 public abstract class Command {
-    public abstract void execute(TaskList tasks, Ui ui) throws VinceException;
+    // One histogram per command class, e.g. command.find for FindCommand.
+    private static final ClassValue<LatencyHistogram> LATENCY = new ClassValue<>() {
+        @Override
+        protected LatencyHistogram computeValue(Class<?> type) {
+            String name = type.getSimpleName().replace("Command", "").toLowerCase();
+            return MetricsRegistry.global().histogram("command." + name);
+        }
+    };
+
+    private int argsLength;
+
+    /**
+     * Executes this command against the task list without producing any output.
+     *
+     * @param tasks the task list to operate on
+     * @return the structured outcome, rendered separately by each front end
+     * @throws VinceException if the command cannot be carried out
+     */
+    public abstract CommandResult execute(TaskList tasks) throws VinceException;
+
+    /**
+     * Executes this command, recording its latency under {@code command.<name>}
+     * and counting failures under {@code command.errors}. Front ends call this
+     * rather than {@link #execute(TaskList)}. A command that is not read-only
+     * runs as one {@link TaskList#batch}, so observers of the list see its
+     * changes together. While Flight Recorder is recording, each run is also
+     * emitted as a {@link CommandEvent}.
+     *
+     * @param tasks the task list to operate on
+     * @return the structured outcome
+     * @throws VinceException if the command cannot be carried out
+     */
+    public final CommandResult run(TaskList tasks) throws VinceException {
+        CommandEvent event = new CommandEvent();
+        event.begin();
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            CommandResult result = isReadOnly() ? execute(tasks) : tasks.batch(() -> execute(tasks));
+            failed = false;
+            return result;
+        } catch (VinceException e) {
+            MetricsRegistry.global().counter("command.errors").increment();
+            throw e;
+        } finally {
+            LATENCY.get(getClass()).record(System.nanoTime() - start);
+            event.end();
+            if (event.shouldCommit()) {
+                event.command = getClass().getSimpleName();
+                event.argsLength = argsLength;
+                event.taskCount = tasks.size();
+                event.failed = failed;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Records how many characters followed the command word, for diagnostics.
+     *
+     * @param argsLength length of the arguments as typed
+     */
+    public void setArgsLength(int argsLength) {
+        this.argsLength = argsLength;
+    }
+
+    /**
+     * Executes this command and renders its result through the given Ui.
+     */
+    public void execute(TaskList tasks, Ui ui) throws VinceException {
+        ui.showResult(run(tasks));
+    }
+
     public boolean isExit() { return false; }
+
+    /**
+     * Returns whether this command only reads the task list.
+     * Read-only commands may run concurrently with each other; all others
+     * must be serialized against every other command.
+     */
+    public boolean isReadOnly() { return false; }
 }
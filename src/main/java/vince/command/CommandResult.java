@@ -0,0 +1,164 @@
+package vince.command;
+
+import java.util.List;
+import vince.task.Task;
+
+/**
+ * Structured outcome of executing a {@link Command}.
+ * Commands only compute results; the CLI {@link vince.ui.Ui}, the GUI and the
+ * server each decide how to render them. Results are immutable, so they can be
+ * cached or batched without re-running the command.
+ */
+public class CommandResult {
+    /**
+     * Identifies which fields of a result are meaningful and how it should be rendered.
+     */
+    public enum Kind {
+        TASK_ADDED,
+        TASK_MARKED,
+        TASK_UNMARKED,
+        OCCURRENCE_SKIPPED,
+        TASK_DELETED,
+        TASK_LIST,
+        MATCHING_TASKS,
+        TASKS_ON_DATE,
+        SCHEDULE,
+        UPCOMING_TASKS,
+        OVERDUE_TASKS,
+        CONFLICTS,
+        HELP,
+        STATS,
+        UNDONE,
+        REDONE,
+        GOODBYE
+    }
+
+    private final Kind kind;
+    private final Task task;
+    private final int taskCount;
+    private final String label;
+    private final List<String> lines;
+
+    private CommandResult(Kind kind, Task task, int taskCount, String label, List<String> lines) {
+        this.kind = kind;
+        this.task = task;
+        this.taskCount = taskCount;
+        this.label = label;
+        // Free for lines that are already immutable, such as a cached query result.
+        this.lines = lines != null ? List.copyOf(lines) : List.of();
+    }
+
+    /** A task was added; {@code taskCount} is the new size of the list. */
+    public static CommandResult taskAdded(Task task, int taskCount) {
+        return taskAdded(task, taskCount, null);
+    }
+
+    /** A task was added; {@code overlapping} are the lines of the events it overlaps, if any. */
+    public static CommandResult taskAdded(Task task, int taskCount, List<String> overlapping) {
+        return new CommandResult(Kind.TASK_ADDED, task, taskCount, null, overlapping);
+    }
+
+    /** A task was marked as done. */
+    public static CommandResult taskMarked(Task task) {
+        return new CommandResult(Kind.TASK_MARKED, task, 0, null, null);
+    }
+
+    /** A task was marked as not done. */
+    public static CommandResult taskUnmarked(Task task) {
+        return new CommandResult(Kind.TASK_UNMARKED, task, 0, null, null);
+    }
+
+    /** One occurrence of a recurring task was skipped. */
+    public static CommandResult occurrenceSkipped(Task occurrence) {
+        return new CommandResult(Kind.OCCURRENCE_SKIPPED, occurrence, 0, null, null);
+    }
+
+    /** A task was deleted; {@code taskCount} is the remaining size of the list. */
+    public static CommandResult taskDeleted(Task task, int taskCount) {
+        return new CommandResult(Kind.TASK_DELETED, task, taskCount, null, null);
+    }
+
+    /** Numbered lines for every task in the list. */
+    public static CommandResult taskList(List<String> lines) {
+        return new CommandResult(Kind.TASK_LIST, null, 0, null, lines);
+    }
+
+    /** Numbered lines for the tasks matching {@code keyword}. */
+    public static CommandResult matchingTasks(String keyword, List<String> lines) {
+        return new CommandResult(Kind.MATCHING_TASKS, null, 0, keyword, lines);
+    }
+
+    /** Numbered lines for the tasks on the date described by {@code dateLabel}. */
+    public static CommandResult tasksOnDate(String dateLabel, List<String> lines) {
+        return new CommandResult(Kind.TASKS_ON_DATE, null, 0, dateLabel, lines);
+    }
+
+    /** Timeline lines for the date described by {@code dateLabel}. */
+    public static CommandResult schedule(String dateLabel, List<String> lines) {
+        return new CommandResult(Kind.SCHEDULE, null, 0, dateLabel, lines);
+    }
+
+    /** Numbered lines for the open tasks due next, nearest first. */
+    public static CommandResult upcomingTasks(List<String> lines) {
+        return new CommandResult(Kind.UPCOMING_TASKS, null, 0, null, lines);
+    }
+
+    /** Numbered lines for the open deadlines already past due. */
+    public static CommandResult overdueTasks(List<String> lines) {
+        return new CommandResult(Kind.OVERDUE_TASKS, null, 0, null, lines);
+    }
+
+    /** One line per pair of overlapping events in the range described by {@code rangeLabel}. */
+    public static CommandResult conflicts(String rangeLabel, List<String> lines) {
+        return new CommandResult(Kind.CONFLICTS, null, 0, rangeLabel, lines);
+    }
+
+    /** Help requested; {@code suggestions} are the personalised tips to show after it. */
+    public static CommandResult help(List<String> suggestions) {
+        return new CommandResult(Kind.HELP, null, 0, null, suggestions);
+    }
+
+    /** Metric report lines, measured with {@code taskCount} tasks in the list. */
+    public static CommandResult stats(int taskCount, List<String> lines) {
+        return new CommandResult(Kind.STATS, null, taskCount, null, lines);
+    }
+
+    /** A change was undone; {@code description} says what it was. */
+    public static CommandResult undone(String description) {
+        return new CommandResult(Kind.UNDONE, null, 0, description, null);
+    }
+
+    /** An undone change was re-applied; {@code description} says what it was. */
+    public static CommandResult redone(String description) {
+        return new CommandResult(Kind.REDONE, null, 0, description, null);
+    }
+
+    /** The session is ending. */
+    public static CommandResult goodbye() {
+        return new CommandResult(Kind.GOODBYE, null, 0, null, null);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /** Returns the affected task for add, mark, unmark, skip and delete results. */
+    public Task getTask() {
+        return task;
+    }
+
+    /** Returns the list size after an add or delete, or when stats were taken. */
+    public int getTaskCount() {
+        return taskCount;
+    }
+
+    /** Returns the search keyword, formatted date or range label or change description, depending on the kind. */
+    public String getLabel() {
+        return label;
+    }
+
+    /** Returns the preformatted lines (tasks, schedule, conflicts, suggestions or stats). */
+    public List<String> getLines() {
+        return lines;
+    }
+}
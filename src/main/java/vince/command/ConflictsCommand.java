@@ -0,0 +1,65 @@
+package vince.command;
+
+import java.time.LocalDate;
+import java.util.List;
+import vince.storage.TaskList;
+import vince.exception.VinceException;
+import vince.util.DateTimeParser;
+
+/**
+ * Lists every pair of overlapping events in a range of days
+ * ({@code conflicts today /to next friday}). A single date checks that day;
+ * with no dates, the next {@value #DEFAULT_DAYS} days are checked.
+ */
+public class ConflictsCommand extends Command {
+    /** Number of days checked, starting today, when no range is given. */
+    public static final int DEFAULT_DAYS = 30;
+
+    private final String fromStr;
+    private final String toStr;
+
+    /**
+     * Creates a command checking the days from one date to another, inclusive.
+     *
+     * @param fromStr first day, or null or empty for today
+     * @param toStr last day, or null for the first day itself (or the default range if neither is given)
+     */
+    public ConflictsCommand(String fromStr, String toStr) {
+        this.fromStr = fromStr;
+        this.toStr = toStr;
+    }
+
+    @Override
+    public CommandResult execute(TaskList tasks) throws VinceException {
+        boolean hasFrom = fromStr != null && !fromStr.isEmpty();
+        LocalDate first = hasFrom ? DateTimeParser.parseDateTime(fromStr).toLocalDate() : LocalDate.now();
+        LocalDate last;
+        if (toStr != null) {
+            last = DateTimeParser.parseDateTime(toStr).toLocalDate();
+        } else {
+            last = hasFrom ? first : first.plusDays(DEFAULT_DAYS - 1);
+        }
+        if (last.isBefore(first)) {
+            throw new VinceException("The range cannot end before it starts!");
+        }
+        List<String> lines = tasks.conflicts(first.atStartOfDay(), last.plusDays(1).atStartOfDay());
+        String label = DateTimeParser.formatDate(first.atStartOfDay());
+        if (!last.equals(first)) {
+            label += " to " + DateTimeParser.formatDate(last.atStartOfDay());
+        }
+        return CommandResult.conflicts(label, lines);
+    }
+
+    public String getFromStr() {
+        return fromStr;
+    }
+
+    public String getToStr() {
+        return toStr;
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+}
@@ -1,7 +1,6 @@
 package vince.command;
 
 import vince.storage.TaskList;
-import vince.ui.Ui;
 import vince.task.Task;
 import vince.exception.VinceException;
 
@@ -13,9 +12,9 @@ public class DeleteCommand extends Command {
     }
 
     @Override
-    public void execute(TaskList tasks, Ui ui) throws VinceException {
+    public CommandResult execute(TaskList tasks) throws VinceException {
         Task deleted = tasks.delete(index);
-        ui.showTaskDeleted(deleted, tasks.size());
+        return CommandResult.taskDeleted(deleted, tasks.size());
     }
 
     public String getIndex() {
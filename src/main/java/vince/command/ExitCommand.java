@@ -1,17 +1,21 @@
 package vince.command;
 
 import vince.storage.TaskList;
-import vince.ui.Ui;
 import vince.exception.VinceException;
 
 public class ExitCommand extends Command {
     @Override
-    public void execute(TaskList tasks, Ui ui) throws VinceException {
-        ui.showGoodbye();
+    public CommandResult execute(TaskList tasks) throws VinceException {
+        return CommandResult.goodbye();
     }
     
     @Override
     public boolean isExit() {
         return true;
     }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
 }
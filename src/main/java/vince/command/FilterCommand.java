@@ -0,0 +1,33 @@
+package vince.command;
+
+import java.util.List;
+import vince.query.Query;
+import vince.storage.TaskList;
+import vince.exception.VinceException;
+
+/**
+ * Lists the tasks matching a compound filter query such as
+ * {@code type:deadline done:no due<next friday sort:due limit:20}.
+ */
+public class FilterCommand extends Command {
+    private final Query query;
+
+    public FilterCommand(Query query) {
+        this.query = query;
+    }
+
+    @Override
+    public CommandResult execute(TaskList tasks) throws VinceException {
+        List<String> lines = tasks.filter(query);
+        return CommandResult.matchingTasks(query.toString(), lines);
+    }
+
+    public Query getQuery() {
+        return query;
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+}
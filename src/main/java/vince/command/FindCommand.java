@@ -2,7 +2,6 @@ package vince.command;
 
 import java.util.List;
 import vince.storage.TaskList;
-import vince.ui.Ui;
 import vince.exception.VinceException;
 
 /**
@@ -16,12 +15,17 @@ public class FindCommand extends Command {
     }
 
     @Override
-    public void execute(TaskList tasks, Ui ui) throws VinceException {
+    public CommandResult execute(TaskList tasks) throws VinceException {
         List<String> lines = tasks.findTasks(keyword);
-        ui.showTaskList(lines);
+        return CommandResult.matchingTasks(keyword, lines);
     }
 
     public String getKeyword() {
         return keyword;
     }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
 }
@@ -1,8 +1,8 @@
 package vince.command;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import vince.storage.TaskList;
-import vince.ui.Ui;
 import vince.ai.TaskSuggestionEngine;
 import vince.exception.VinceException;
 
@@ -12,13 +12,15 @@ import vince.exception.VinceException;
 public class HelpCommand extends Command {
     
     @Override
-    public void execute(TaskList tasks, Ui ui) throws VinceException {
-        ui.showHelp();
-        
-        // Show AI-powered suggestions based on current context
-        List<String> suggestions = TaskSuggestionEngine.generateSuggestions(tasks.getAllTasks());
-        if (!suggestions.isEmpty()) {
-            ui.showSuggestions(suggestions);
-        }
+    public CommandResult execute(TaskList tasks) throws VinceException {
+        // Attach AI-powered suggestions based on current context
+        List<String> suggestions = TaskSuggestionEngine.generateSuggestions(tasks.getAllTasks(),
+                tasks.countOverdue(LocalDateTime.now()));
+        return CommandResult.help(suggestions);
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
     }
 }
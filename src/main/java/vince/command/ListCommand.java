@@ -1,14 +1,62 @@
 package vince.command;
 
 import java.util.List;
+import vince.query.SortKey;
 import vince.storage.TaskList;
-import vince.ui.Ui;
 import vince.exception.VinceException;
 
+/**
+ * Lists tasks, optionally sorted ({@code list --sort due}) and paged
+ * ({@code list --sort priority --page 2}).
+ */
 public class ListCommand extends Command {
+    /** Number of tasks shown per page with {@code --page}. */
+    public static final int PAGE_SIZE = 20;
+
+    private final SortKey sortKey;
+    private final int page;
+
+    /**
+     * Creates a command listing every task in list order.
+     */
+    public ListCommand() {
+        this(SortKey.CREATED, 0);
+    }
+
+    /**
+     * Creates a command listing tasks in the given order.
+     *
+     * @param sortKey order to list tasks in
+     * @param page 1-based page to show, or 0 for all tasks
+     */
+    public ListCommand(SortKey sortKey, int page) {
+        this.sortKey = sortKey;
+        this.page = page;
+    }
+
+    @Override
+    public CommandResult execute(TaskList tasks) throws VinceException {
+        List<String> lines;
+        if (sortKey == SortKey.CREATED && page == 0) {
+            lines = tasks.list();
+        } else if (page == 0) {
+            lines = tasks.list(sortKey, 0, Integer.MAX_VALUE);
+        } else {
+            lines = tasks.list(sortKey, (page - 1) * PAGE_SIZE, PAGE_SIZE);
+        }
+        return CommandResult.taskList(lines);
+    }
+
+    public SortKey getSortKey() {
+        return sortKey;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
     @Override
-    public void execute(TaskList tasks, Ui ui) throws VinceException {
-        List<String> lines = tasks.list();
-        ui.showTaskList(lines);
+    public boolean isReadOnly() {
+        return true;
     }
 }
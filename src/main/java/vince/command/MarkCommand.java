@@ -1,25 +1,38 @@
 package vince.command;
 
 import vince.storage.TaskList;
-import vince.ui.Ui;
 import vince.task.Task;
 import vince.exception.VinceException;
 
 public class MarkCommand extends Command {
     private final String index;
+    private final String date;
 
     public MarkCommand(String index) {
+        this(index, null);
+    }
+
+    /**
+     * Creates a command that marks one occurrence of a recurring task.
+     * @param index 1-based index of the task
+     * @param date a date the occurrence falls on, or null to mark the whole task
+     */
+    public MarkCommand(String index, String date) {
         this.index = index;
+        this.date = date;
     }
 
     @Override
-    public void execute(TaskList tasks, Ui ui) throws VinceException {
-        Task task = tasks.get(index);
-        tasks.mark(index);
-        ui.showTaskMarked(task);
+    public CommandResult execute(TaskList tasks) throws VinceException {
+        Task task = date == null ? tasks.mark(index) : tasks.mark(index, date);
+        return CommandResult.taskMarked(task);
     }
 
     public String getIndex() {
         return index;
     }
+
+    public String getDate() {
+        return date;
+    }
 }
@@ -2,7 +2,6 @@ package vince.command;
 
 import java.util.List;
 import vince.storage.TaskList;
-import vince.ui.Ui;
 import vince.exception.VinceException;
 
 public class OnDateCommand extends Command {
@@ -13,13 +12,18 @@ public class OnDateCommand extends Command {
     }
 
     @Override
-    public void execute(TaskList tasks, Ui ui) throws VinceException {
+    public CommandResult execute(TaskList tasks) throws VinceException {
         String label = tasks.tasksOnDateLabel(dateStr);
         List<String> lines = tasks.tasksOnDateLines(dateStr);
-        ui.showTasksOnDate(label, lines);
+        return CommandResult.tasksOnDate(label, lines);
     }
 
     public String getDateStr() {
         return dateStr;
     }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
 }
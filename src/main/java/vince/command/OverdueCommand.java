@@ -0,0 +1,23 @@
+package vince.command;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import vince.storage.TaskList;
+import vince.exception.VinceException;
+
+/**
+ * Lists the open deadlines that are already past due.
+ */
+public class OverdueCommand extends Command {
+
+    @Override
+    public CommandResult execute(TaskList tasks) throws VinceException {
+        List<String> lines = tasks.overdue(LocalDateTime.now());
+        return CommandResult.overdueTasks(lines);
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+}
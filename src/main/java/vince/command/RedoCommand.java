@@ -0,0 +1,14 @@
+package vince.command;
+
+import vince.storage.TaskList;
+import vince.exception.VinceException;
+
+/**
+ * Re-applies the most recently undone change.
+ */
+public class RedoCommand extends Command {
+    @Override
+    public CommandResult execute(TaskList tasks) throws VinceException {
+        return CommandResult.redone(tasks.redo());
+    }
+}
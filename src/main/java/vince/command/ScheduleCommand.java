@@ -2,7 +2,6 @@ package vince.command;
 
 import java.util.List;
 import vince.storage.TaskList;
-import vince.ui.Ui;
 import vince.exception.VinceException;
 
 /**
@@ -17,13 +16,18 @@ public class ScheduleCommand extends Command {
     }
 
     @Override
-    public void execute(TaskList tasks, Ui ui) throws VinceException {
+    public CommandResult execute(TaskList tasks) throws VinceException {
         String dateLabel = tasks.tasksOnDateLabel(dateStr);
         List<String> scheduleLines = tasks.getScheduleForDate(dateStr);
-        ui.showSchedule(dateLabel, scheduleLines);
+        return CommandResult.schedule(dateLabel, scheduleLines);
     }
 
     public String getDateStr() {
         return dateStr;
     }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
 }
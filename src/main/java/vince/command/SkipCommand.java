@@ -0,0 +1,36 @@
+package vince.command;
+
+import vince.storage.TaskList;
+import vince.task.Task;
+import vince.exception.VinceException;
+
+/**
+ * Skips one occurrence of a recurring task without changing the rest of the series.
+ */
+public class SkipCommand extends Command {
+    private final String index;
+    private final String date;
+
+    /**
+     * @param index 1-based index of the recurring task
+     * @param date a date the occurrence to skip falls on
+     */
+    public SkipCommand(String index, String date) {
+        this.index = index;
+        this.date = date;
+    }
+
+    @Override
+    public CommandResult execute(TaskList tasks) throws VinceException {
+        Task occurrence = tasks.skipOccurrence(index, date);
+        return CommandResult.occurrenceSkipped(occurrence);
+    }
+
+    public String getIndex() {
+        return index;
+    }
+
+    public String getDate() {
+        return date;
+    }
+}
@@ -0,0 +1,21 @@
+package vince.command;
+
+import vince.metrics.MetricsRegistry;
+import vince.storage.TaskList;
+import vince.exception.VinceException;
+
+/**
+ * Shows latency percentiles for every command type and pipeline stage
+ * measured so far, together with the metric counters.
+ */
+public class StatsCommand extends Command {
+    @Override
+    public CommandResult execute(TaskList tasks) throws VinceException {
+        return CommandResult.stats(tasks.size(), MetricsRegistry.global().getReport());
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+}
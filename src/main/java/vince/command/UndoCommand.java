@@ -0,0 +1,14 @@
+package vince.command;
+
+import vince.storage.TaskList;
+import vince.exception.VinceException;
+
+/**
+ * Reverts the most recent change to the task list.
+ */
+public class UndoCommand extends Command {
+    @Override
+    public CommandResult execute(TaskList tasks) throws VinceException {
+        return CommandResult.undone(tasks.undo());
+    }
+}
@@ -1,25 +1,38 @@
 package vince.command;
 
 import vince.storage.TaskList;
-import vince.ui.Ui;
 import vince.task.Task;
 import vince.exception.VinceException;
 
 public class UnmarkCommand extends Command {
     private final String index;
+    private final String date;
 
     public UnmarkCommand(String index) {
+        this(index, null);
+    }
+
+    /**
+     * Creates a command that unmarks one occurrence of a recurring task.
+     * @param index 1-based index of the task
+     * @param date a date the occurrence falls on, or null to unmark the whole task
+     */
+    public UnmarkCommand(String index, String date) {
         this.index = index;
+        this.date = date;
     }
 
     @Override
-    public void execute(TaskList tasks, Ui ui) throws VinceException {
-        Task task = tasks.get(index);
-        tasks.unmark(index);
-        ui.showTaskUnmarked(task);
+    public CommandResult execute(TaskList tasks) throws VinceException {
+        Task task = date == null ? tasks.unmark(index) : tasks.unmark(index, date);
+        return CommandResult.taskUnmarked(task);
     }
 
     public String getIndex() {
         return index;
     }
+
+    public String getDate() {
+        return date;
+    }
 }
@@ -0,0 +1,40 @@
+package vince.command;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import vince.storage.TaskList;
+import vince.exception.VinceException;
+
+/**
+ * Lists the open deadlines and events due next ({@code upcoming 10}).
+ */
+public class UpcomingCommand extends Command {
+    /** Number of tasks shown when no count is given. */
+    public static final int DEFAULT_COUNT = 5;
+
+    private final int count;
+
+    /**
+     * Creates a command listing the given number of tasks due next.
+     *
+     * @param count maximum number of tasks to show
+     */
+    public UpcomingCommand(int count) {
+        this.count = count;
+    }
+
+    @Override
+    public CommandResult execute(TaskList tasks) throws VinceException {
+        List<String> lines = tasks.upcoming(LocalDateTime.now(), count);
+        return CommandResult.upcomingTasks(lines);
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+}
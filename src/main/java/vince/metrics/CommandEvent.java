@@ -0,0 +1,31 @@
+package vince.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event spanning one command, from {@code Command.run} entry
+ * to its result or failure.
+ */
+@Name("vince.Command")
+@Label("Command")
+@Category({"Vince", "Commands"})
+@Description("Execution of one user command")
+public class CommandEvent extends Event {
+    @Label("Command")
+    public String command;
+
+    @Label("Arguments Length")
+    @Description("Characters typed after the command word")
+    public int argsLength;
+
+    @Label("Task Count")
+    @Description("Tasks in the list once the command finished")
+    public int taskCount;
+
+    @Label("Failed")
+    public boolean failed;
+}
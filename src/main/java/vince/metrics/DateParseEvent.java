@@ -0,0 +1,25 @@
+package vince.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event spanning one {@code DateTimeParser.parseDateTime}
+ * call. Disabled by default in {@code vince.jfc}; it fires several times per
+ * command and is only worth recording when chasing date parsing itself.
+ */
+@Name("vince.DateParse")
+@Label("Date Parse")
+@Category({"Vince", "Parsing"})
+@Description("Parsing of a user supplied date/time")
+public class DateParseEvent extends Event {
+    @Label("Input Form")
+    @Description("natural, yyyy-MM-dd, dd/MM/yyyy HHmm, dd/MM/yyyy, HHmm or invalid")
+    public String form;
+
+    @Label("Input Length")
+    public int inputLength;
+}
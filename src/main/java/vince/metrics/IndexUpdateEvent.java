@@ -0,0 +1,30 @@
+package vince.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event spanning one round of index maintenance, i.e. one
+ * mutation, undo or redo applied to the task index and its observer.
+ */
+@Name("vince.IndexUpdate")
+@Label("Index Update")
+@Category({"Vince", "Index"})
+@Description("Task index maintenance after a change")
+public class IndexUpdateEvent extends Event {
+    @Label("Added")
+    public int added;
+
+    @Label("Removed")
+    public int removed;
+
+    @Label("Changed")
+    public int changed;
+
+    @Label("Task Count")
+    @Description("Tasks in the list after the change")
+    public int taskCount;
+}
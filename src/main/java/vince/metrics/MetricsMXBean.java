@@ -0,0 +1,31 @@
+package vince.metrics;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JMX view of the {@link MetricsRegistry}, readable from jconsole or any
+ * JMX client under {@value MetricsRegistry#OBJECT_NAME}.
+ */
+public interface MetricsMXBean {
+    /** Returns the same lines as the {@code stats} command. */
+    List<String> getReport();
+
+    /** Returns the current value of every counter. */
+    Map<String, Long> getCounters();
+
+    /** Returns the names of every latency histogram. */
+    List<String> getHistogramNames();
+
+    /** Returns how many measurements a histogram holds. */
+    long getCount(String name);
+
+    /** Returns a percentile (0-100) of a histogram, in milliseconds. */
+    double getPercentileMillis(String name, double percentile);
+
+    /** Returns the largest measurement of a histogram, in milliseconds. */
+    double getMaxMillis(String name);
+
+    /** Clears every histogram and counter. */
+    void reset();
+}
@@ -0,0 +1,155 @@
+package vince.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Named counters and latency histograms for the whole process. Lookups are
+ * lock-free once a metric exists, so hot paths may look metrics up by name
+ * on every call; the hottest ones keep the returned instance in a field.
+ * <p>
+ * Histograms are named by pipeline stage, e.g. {@code stage.parse},
+ * {@code command.find} or {@code storage.save}. The registry is exposed to
+ * the {@code stats} command and, once {@link #registerMBean()} is called, over
+ * JMX as {@value #OBJECT_NAME}.
+ */
+public class MetricsRegistry implements MetricsMXBean {
+    /** JMX name the global registry is registered under. */
+    public static final String OBJECT_NAME = "vince:type=Metrics";
+
+    private static final MetricsRegistry GLOBAL = new MetricsRegistry();
+
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the registry shared by the whole process.
+     *
+     * @return global registry
+     */
+    public static MetricsRegistry global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Returns the histogram with the given name, creating it on first use.
+     *
+     * @param name metric name
+     * @return the histogram
+     */
+    public LatencyHistogram histogram(String name) {
+        LatencyHistogram histogram = histograms.get(name);
+        return histogram != null ? histogram : histograms.computeIfAbsent(name, key -> new LatencyHistogram());
+    }
+
+    /**
+     * Returns the counter with the given name, creating it on first use.
+     *
+     * @param name metric name
+     * @return the counter
+     */
+    public LongAdder counter(String name) {
+        LongAdder counter = counters.get(name);
+        return counter != null ? counter : counters.computeIfAbsent(name, key -> new LongAdder());
+    }
+
+    /**
+     * Records the time elapsed since {@code startNanos} in the named histogram.
+     *
+     * @param name metric name
+     * @param startNanos a {@link System#nanoTime()} reading taken at the start
+     */
+    public void recordSince(String name, long startNanos) {
+        histogram(name).record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Formats one line per histogram and counter, sorted by name, e.g.
+     * {@code command.find  n=12  p50=0.21 ms  p99=1.30 ms  max=2.05 ms}.
+     *
+     * @return report lines; empty if nothing was recorded
+     */
+    @Override
+    public List<String> getReport() {
+        List<String> lines = new ArrayList<>();
+        new TreeMap<>(histograms).forEach((name, histogram) -> {
+            if (histogram.getCount() > 0) {
+                lines.add(String.format("%-24s n=%-7d p50=%s  p99=%s  max=%s", name, histogram.getCount(),
+                        formatNanos(histogram.getPercentile(50)), formatNanos(histogram.getPercentile(99)),
+                        formatNanos(histogram.getMax())));
+            }
+        });
+        new TreeMap<>(counters).forEach((name, counter) -> lines.add(String.format("%-24s %d", name, counter.sum())));
+        return lines;
+    }
+
+    @Override
+    public Map<String, Long> getCounters() {
+        Map<String, Long> values = new TreeMap<>();
+        counters.forEach((name, counter) -> values.put(name, counter.sum()));
+        return values;
+    }
+
+    @Override
+    public List<String> getHistogramNames() {
+        return new ArrayList<>(new TreeMap<>(histograms).keySet());
+    }
+
+    @Override
+    public long getCount(String name) {
+        LatencyHistogram histogram = histograms.get(name);
+        return histogram == null ? 0 : histogram.getCount();
+    }
+
+    @Override
+    public double getPercentileMillis(String name, double percentile) {
+        LatencyHistogram histogram = histograms.get(name);
+        return histogram == null ? 0 : histogram.getPercentile(percentile) / 1e6;
+    }
+
+    @Override
+    public double getMaxMillis(String name) {
+        LatencyHistogram histogram = histograms.get(name);
+        return histogram == null ? 0 : histogram.getMax() / 1e6;
+    }
+
+    @Override
+    public void reset() {
+        histograms.values().forEach(LatencyHistogram::reset);
+        counters.values().forEach(LongAdder::reset);
+    }
+
+    /**
+     * Registers the global registry with the platform MBean server, if it is
+     * not registered yet.
+     *
+     * @return true if the registry is registered after the call
+     */
+    public static boolean registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(GLOBAL, name);
+            }
+            return true;
+        } catch (JMException | SecurityException e) {
+            return false;
+        }
+    }
+
+    private static String formatNanos(long nanos) {
+        if (nanos < 1_000_000) {
+            return String.format("%.1f us", nanos / 1e3);
+        }
+        return String.format("%.2f ms", nanos / 1e6);
+    }
+}
@@ -0,0 +1,31 @@
+package vince.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event spanning one load or save of the data file.
+ */
+@Name("vince.Storage")
+@Label("Storage")
+@Category({"Vince", "Storage"})
+@Description("Load or save of the task data file")
+public class StorageEvent extends Event {
+    @Label("Operation")
+    @Description("load or save")
+    public String operation;
+
+    @Label("File")
+    public String path;
+
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+
+    @Label("Task Count")
+    public int taskCount;
+}
@@ -0,0 +1,86 @@
+package vince.query;
+
+import java.util.List;
+import java.util.function.Supplier;
+import vince.task.Task;
+
+/**
+ * A way of producing candidate tasks for a query, together with an estimate
+ * of how many it yields. Candidates are a superset of the matches; the full
+ * predicate is always re-checked on each of them. A path that yields its
+ * candidates already in some {@link SortKey} order lets a query sorted the
+ * same way skip sorting and stop as soon as its limit is reached.
+ */
+public class AccessPath {
+    private final String description;
+    private final int estimatedRows;
+    private final SortKey order;
+    private final Supplier<Iterable<Task>> rows;
+
+    /**
+     * Creates an access path whose candidates come in no particular order.
+     *
+     * @param description short human-readable name, e.g. {@code "type index (deadline)"}
+     * @param estimatedRows number of candidates the path is expected to yield
+     * @param rows supplies the candidates when the plan runs
+     */
+    public AccessPath(String description, int estimatedRows, Supplier<Iterable<Task>> rows) {
+        this(description, estimatedRows, null, rows);
+    }
+
+    /**
+     * Creates an access path whose candidates come in the given order.
+     *
+     * @param description short human-readable name, e.g. {@code "type index (deadline)"}
+     * @param estimatedRows number of candidates the path is expected to yield
+     * @param order order of the candidates, or null if unordered
+     * @param rows supplies the candidates when the plan runs
+     */
+    public AccessPath(String description, int estimatedRows, SortKey order, Supplier<Iterable<Task>> rows) {
+        this.description = description;
+        this.estimatedRows = estimatedRows;
+        this.order = order;
+        this.rows = rows;
+    }
+
+    /**
+     * Returns the path that visits every task in the list.
+     *
+     * @param tasks all tasks
+     * @return full scan access path
+     */
+    public static AccessPath fullScan(List<Task> tasks) {
+        return new AccessPath("full scan", tasks.size(), SortKey.CREATED, () -> tasks);
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public int getEstimatedRows() {
+        return estimatedRows;
+    }
+
+    /**
+     * Returns the order the candidates are produced in.
+     *
+     * @return sort order, or null if unordered
+     */
+    public SortKey getOrder() {
+        return order;
+    }
+
+    /**
+     * Produces the candidate tasks.
+     *
+     * @return candidates, in {@link #getOrder()} order if there is one
+     */
+    public Iterable<Task> rows() {
+        return rows.get();
+    }
+
+    @Override
+    public String toString() {
+        return description + " (~" + estimatedRows + " rows)";
+    }
+}
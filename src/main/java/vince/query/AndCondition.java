@@ -0,0 +1,52 @@
+package vince.query;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import vince.task.Task;
+
+/**
+ * Matches tasks that satisfy every child condition. An empty conjunction
+ * matches all tasks.
+ */
+public class AndCondition implements Condition {
+    private final List<Condition> children;
+
+    public AndCondition(List<Condition> children) {
+        this.children = List.copyOf(children);
+    }
+
+    public List<Condition> getChildren() {
+        return children;
+    }
+
+    @Override
+    public boolean test(Task task) {
+        for (Condition child : children) {
+            if (!child.test(task)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Any child's candidates are a superset of the conjunction's matches, so
+     * the child with the smallest estimate wins.
+     */
+    @Override
+    public AccessPath accessPath(TaskIndex index, int limit) {
+        AccessPath best = null;
+        for (Condition child : children) {
+            AccessPath path = child.accessPath(index, best == null ? limit : best.getEstimatedRows());
+            if (path != null) {
+                best = path;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public String toString() {
+        return children.stream().map(Object::toString).collect(Collectors.joining(" "));
+    }
+}
@@ -0,0 +1,64 @@
+package vince.query;
+
+/**
+ * Comparison operators usable in filter terms such as {@code priority>=med}.
+ * {@code :} and {@code =} both mean equality.
+ */
+public enum Comparison {
+    LESS("<"),
+    LESS_OR_EQUAL("<="),
+    EQUAL(":"),
+    GREATER_OR_EQUAL(">="),
+    GREATER(">");
+
+    private final String symbol;
+
+    Comparison(String symbol) {
+        this.symbol = symbol;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    /**
+     * Returns the operator written as {@code symbol}.
+     *
+     * @param symbol one of {@code < <= : = >= >}
+     * @return the operator, or null if the symbol is not recognized
+     */
+    public static Comparison fromSymbol(String symbol) {
+        if (symbol.equals("=")) {
+            return EQUAL;
+        }
+        for (Comparison comparison : values()) {
+            if (comparison.symbol.equals(symbol)) {
+                return comparison;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Applies the operator to the result of a {@code compareTo} call.
+     *
+     * @param order negative, zero or positive as the left side is less, equal or greater
+     * @return whether the comparison holds
+     */
+    public boolean test(int order) {
+        switch (this) {
+            case LESS:
+                return order < 0;
+            case LESS_OR_EQUAL:
+                return order <= 0;
+            case EQUAL:
+                return order == 0;
+            case GREATER_OR_EQUAL:
+                return order >= 0;
+            case GREATER:
+                return order > 0;
+            default:
+                throw new IllegalStateException("Unhandled comparison: " + this);
+        }
+    }
+}
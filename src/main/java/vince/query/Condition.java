@@ -0,0 +1,31 @@
+package vince.query;
+
+import vince.task.Task;
+
+/**
+ * A node in a compiled filter predicate tree.
+ * Besides testing single tasks, a condition may offer an index-backed
+ * {@link AccessPath} that yields every task it could match, which lets the
+ * {@link QueryPlanner} avoid scanning the whole list.
+ */
+public interface Condition {
+    /**
+     * Returns whether the task satisfies this condition.
+     *
+     * @param task the task to test
+     * @return true if the task matches
+     */
+    boolean test(Task task);
+
+    /**
+     * Returns an index-backed access path yielding a superset of the matching
+     * tasks, provided it is estimated to produce fewer than {@code limit} rows.
+     *
+     * @param index the indexes to read from
+     * @param limit row count the path must beat to be worth using
+     * @return a cheaper access path, or null if this condition has none
+     */
+    default AccessPath accessPath(TaskIndex index, int limit) {
+        return null;
+    }
+}
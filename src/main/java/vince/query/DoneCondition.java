@@ -0,0 +1,34 @@
+package vince.query;
+
+import vince.task.Task;
+
+/**
+ * Matches tasks by completion state, e.g. {@code done:no}.
+ */
+public class DoneCondition implements Condition {
+    private final boolean isDone;
+
+    public DoneCondition(boolean isDone) {
+        this.isDone = isDone;
+    }
+
+    @Override
+    public boolean test(Task task) {
+        return task.isDone() == isDone;
+    }
+
+    @Override
+    public AccessPath accessPath(TaskIndex index, int limit) {
+        int rows = index.withDone(isDone).size();
+        if (rows >= limit) {
+            return null;
+        }
+        return new AccessPath("done index (" + (isDone ? "yes" : "no") + ")", rows, SortKey.CREATED,
+                () -> index.withDone(isDone));
+    }
+
+    @Override
+    public String toString() {
+        return "done:" + (isDone ? "yes" : "no");
+    }
+}
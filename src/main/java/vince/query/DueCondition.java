@@ -0,0 +1,118 @@
+package vince.query;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import vince.task.Task;
+
+/**
+ * Matches tasks whose due date compares to a day, e.g. {@code due<next friday}.
+ * Comparisons are by calendar day, so the condition reduces to the half-open
+ * date-time range {@code [from, to)} that the due index can serve directly;
+ * several due terms are combined with {@link #and(DueCondition)} into one range.
+ * Tasks without a due date never match; a recurring task matches if any of
+ * its occurrences is due in the range.
+ */
+public class DueCondition implements Condition {
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+    private final String text;
+
+    /**
+     * Creates the condition {@code due<comparison><date>}.
+     *
+     * @param comparison how the due day compares to {@code date}
+     * @param date the day to compare against
+     */
+    public DueCondition(Comparison comparison, LocalDate date) {
+        LocalDateTime startOfDay = date.atStartOfDay();
+        LocalDateTime startOfNextDay = date.plusDays(1).atStartOfDay();
+        switch (comparison) {
+            case LESS:
+                this.from = null;
+                this.to = startOfDay;
+                break;
+            case LESS_OR_EQUAL:
+                this.from = null;
+                this.to = startOfNextDay;
+                break;
+            case EQUAL:
+                this.from = startOfDay;
+                this.to = startOfNextDay;
+                break;
+            case GREATER_OR_EQUAL:
+                this.from = startOfDay;
+                this.to = null;
+                break;
+            case GREATER:
+                this.from = startOfNextDay;
+                this.to = null;
+                break;
+            default:
+                throw new IllegalStateException("Unhandled comparison: " + comparison);
+        }
+        this.text = "due" + comparison.getSymbol() + date;
+    }
+
+    private DueCondition(LocalDateTime from, LocalDateTime to, String text) {
+        this.from = from;
+        this.to = to;
+        this.text = text;
+    }
+
+    /**
+     * Returns the condition matching tasks due in both ranges.
+     *
+     * @param other another due condition
+     * @return the intersection of the two ranges
+     */
+    public DueCondition and(DueCondition other) {
+        LocalDateTime lower = from == null || (other.from != null && other.from.isAfter(from)) ? other.from : from;
+        LocalDateTime upper = to == null || (other.to != null && other.to.isBefore(to)) ? other.to : to;
+        return new DueCondition(lower, upper, text + " " + other.text);
+    }
+
+    @Override
+    public boolean test(Task task) {
+        LocalDateTime due = TaskIndex.dueOf(task);
+        if (due != null && task.isRecurring()) {
+            due = task.getRecurrence().nextOccurrence(due, from);
+        }
+        return due != null
+                && (from == null || !due.isBefore(from))
+                && (to == null || due.isBefore(to));
+    }
+
+    /**
+     * Range counts are not free, so counting stops at {@code limit}. Every
+     * recurring task is a candidate too, which leaves the candidates unordered.
+     */
+    @Override
+    public AccessPath accessPath(TaskIndex index, int limit) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            return new AccessPath("empty due range", 0, List::of);
+        }
+        int recurring = index.recurring().size();
+        if (recurring >= limit) {
+            return null;
+        }
+        int rows = index.countDueIn(from, to, limit - recurring);
+        if (rows + recurring >= limit) {
+            return null;
+        }
+        if (recurring == 0) {
+            return new AccessPath("due index (" + text + ")", rows, SortKey.DUE, () -> index.withDueIn(from, to));
+        }
+        return new AccessPath("due index (" + text + ") + " + recurring + " recurring", rows + recurring, () -> {
+            List<Task> candidates = new ArrayList<>(index.withDueIn(from, to));
+            candidates.addAll(index.recurring());
+            return candidates;
+        });
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
@@ -0,0 +1,96 @@
+package vince.query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Balanced search tree (a {@link Treap}) of half-open intervals {@code [start, end)},
+ * ordered by start, whose nodes also know the latest end in their subtree.
+ * That lets a search skip every subtree that ends before the query begins,
+ * so finding the k intervals that overlap a range costs O(log n + k), and
+ * insert and remove stay O(log n).
+ * <p>
+ * Intervals are keyed by their start and an id that breaks ties, so every
+ * key is unique. Not thread-safe.
+ *
+ * @param <V> element type
+ */
+public class IntervalTree<V> extends Treap<V, IntervalTree.Node<V>> {
+    /**
+     * Inserts an interval, replacing any interval with the same start and id.
+     *
+     * @param start inclusive start
+     * @param end exclusive end; an interval ending before it starts overlaps nothing
+     * @param id tie-breaking key component
+     * @param value the element
+     */
+    public void put(long start, long end, long id, V value) {
+        insert(new Node<>(start, end, id, value));
+    }
+
+    /**
+     * Removes the interval with the given start and id, if present.
+     *
+     * @param start start the interval was inserted with
+     * @param id id the interval was inserted with
+     */
+    public void remove(long start, long id) {
+        delete(start, id);
+    }
+
+    /**
+     * Returns the elements whose intervals overlap {@code [from, to)}, that
+     * is, start before {@code to} and end after {@code from}.
+     *
+     * @param from inclusive start of the range
+     * @param to exclusive end of the range
+     * @return the elements, in start order
+     */
+    public List<V> overlapping(long from, long to) {
+        List<V> result = new ArrayList<>();
+        collect(root, from, to, result);
+        return result;
+    }
+
+    private void collect(Node<V> node, long from, long to, List<V> result) {
+        if (node == null || node.maxEnd <= from) {
+            return;
+        }
+        collect(node.left, from, to, result);
+        if (node.primary >= to) {
+            // Everything to the right starts later still.
+            return;
+        }
+        if (node.end > from) {
+            result.add(node.value);
+        }
+        collect(node.right, from, to, result);
+    }
+
+    @Override
+    protected Node<V> update(Node<V> node) {
+        long maxEnd = node.end;
+        if (node.left != null) {
+            maxEnd = Math.max(maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            maxEnd = Math.max(maxEnd, node.right.maxEnd);
+        }
+        node.maxEnd = maxEnd;
+        return node;
+    }
+
+    /**
+     * Tree node keyed by its start and id, knowing the latest end in its subtree.
+     */
+    static class Node<V> extends Treap.Node<V, Node<V>> {
+        private final long end;
+        private long maxEnd;
+
+        Node(long start, long end, long id, V value) {
+            super(start, id, value);
+            this.end = end;
+            this.maxEnd = end;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package vince.query;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Balanced search tree (a {@link Treap}) whose nodes also know the size of
+ * their subtree, so besides O(log n) insert and remove it can find the element at
+ * any rank in O(log n). Reading {@code count} elements from a rank therefore
+ * costs O(log n + count), which is what paging through a sorted view needs.
+ * <p>
+ * Keys are pairs of longs compared lexicographically; the second component
+ * breaks ties so every key is unique. Not thread-safe.
+ *
+ * @param <V> element type
+ */
+public class OrderStatisticTree<V> extends Treap<V, OrderStatisticTree.Node<V>> implements Iterable<V> {
+    /**
+     * Inserts an element, replacing any element with the same key.
+     *
+     * @param primary first key component
+     * @param secondary tie-breaking key component
+     * @param value the element
+     */
+    public void put(long primary, long secondary, V value) {
+        insert(new Node<>(primary, secondary, value));
+    }
+
+    /**
+     * Removes the element with the given key, if present.
+     *
+     * @param primary first key component
+     * @param secondary tie-breaking key component
+     */
+    public void remove(long primary, long secondary) {
+        delete(primary, secondary);
+    }
+
+    /**
+     * Returns up to {@code count} elements in key order, starting at rank {@code from}.
+     *
+     * @param from 0-based rank of the first element
+     * @param count maximum number of elements
+     * @return the elements, in key order
+     */
+    public List<V> range(int from, int count) {
+        List<V> result = new ArrayList<>(Math.max(0, Math.min(count, size() - from)));
+        Iterator<V> iterator = iterator(from);
+        while (result.size() < count && iterator.hasNext()) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+
+    @Override
+    public Iterator<V> iterator() {
+        return iterator(0);
+    }
+
+    /**
+     * Returns an in-order iterator positioned at rank {@code from}.
+     */
+    private Iterator<V> iterator(int from) {
+        Deque<Node<V>> path = new ArrayDeque<>();
+        Node<V> node = root;
+        int rank = from;
+        // Descend to the node at the rank, remembering ancestors still to be visited.
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (rank < leftSize) {
+                path.push(node);
+                node = node.left;
+            } else if (rank > leftSize) {
+                rank -= leftSize + 1;
+                node = node.right;
+            } else {
+                path.push(node);
+                break;
+            }
+        }
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !path.isEmpty();
+            }
+
+            @Override
+            public V next() {
+                if (path.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                Node<V> current = path.pop();
+                for (Node<V> next = current.right; next != null; next = next.left) {
+                    path.push(next);
+                }
+                return current.value;
+            }
+        };
+    }
+
+    @Override
+    protected Node<V> update(Node<V> node) {
+        node.size = 1 + size(node.left) + size(node.right);
+        return node;
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * Tree node that knows the size of its subtree.
+     */
+    static class Node<V> extends Treap.Node<V, Node<V>> {
+        private int size = 1;
+
+        Node(long primary, long secondary, V value) {
+            super(primary, secondary, value);
+        }
+    }
+}
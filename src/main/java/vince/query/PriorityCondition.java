@@ -0,0 +1,60 @@
+package vince.query;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import vince.task.Priority;
+import vince.task.Task;
+
+/**
+ * Matches tasks whose priority compares to a level, e.g. {@code priority>=med}.
+ */
+public class PriorityCondition implements Condition {
+    private final Comparison comparison;
+    private final Priority priority;
+    private final Set<Priority> accepted = EnumSet.noneOf(Priority.class);
+
+    public PriorityCondition(Comparison comparison, Priority priority) {
+        this.comparison = comparison;
+        this.priority = priority;
+        for (Priority candidate : Priority.values()) {
+            if (comparison.test(Integer.compare(candidate.getValue(), priority.getValue()))) {
+                accepted.add(candidate);
+            }
+        }
+    }
+
+    @Override
+    public boolean test(Task task) {
+        return accepted.contains(task.getPriority());
+    }
+
+    /**
+     * Unions the priority partitions of every accepted level.
+     */
+    @Override
+    public AccessPath accessPath(TaskIndex index, int limit) {
+        int rows = 0;
+        for (Priority level : accepted) {
+            rows += index.withPriority(level).size();
+        }
+        if (rows >= limit) {
+            return null;
+        }
+        int estimate = rows;
+        return new AccessPath("priority index (" + accepted + ")", estimate, () -> {
+            List<Task> union = new ArrayList<>(estimate);
+            for (Priority level : accepted) {
+                union.addAll(index.withPriority(level));
+            }
+            return union;
+        });
+    }
+
+    @Override
+    public String toString() {
+        String name = priority == Priority.NONE ? "none" : priority.getShortName().toLowerCase();
+        return "priority" + comparison.getSymbol() + name;
+    }
+}
@@ -0,0 +1,51 @@
+package vince.query;
+
+/**
+ * A compiled filter query: a predicate tree plus result ordering and limit.
+ * Built by {@link vince.util.QueryParser}.
+ */
+public class Query {
+    /** Limit value meaning "return every match". */
+    public static final int NO_LIMIT = Integer.MAX_VALUE;
+
+    private final Condition condition;
+    private final SortKey sortKey;
+    private final int limit;
+
+    /**
+     * Creates a query.
+     *
+     * @param condition predicate every result must satisfy
+     * @param sortKey result ordering
+     * @param limit maximum number of results, or {@link #NO_LIMIT}
+     */
+    public Query(Condition condition, SortKey sortKey, int limit) {
+        this.condition = condition;
+        this.sortKey = sortKey;
+        this.limit = limit;
+    }
+
+    public Condition getCondition() {
+        return condition;
+    }
+
+    public SortKey getSortKey() {
+        return sortKey;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public String toString() {
+        String text = condition.toString();
+        if (sortKey != SortKey.CREATED) {
+            text += " sort:" + sortKey.getName();
+        }
+        if (limit != NO_LIMIT) {
+            text += " limit:" + limit;
+        }
+        return text.trim();
+    }
+}
@@ -0,0 +1,96 @@
+package vince.query;
+
+import java.util.ArrayList;
+import java.util.List;
+import vince.task.Task;
+
+/**
+ * Chooses how to evaluate a {@link Query}: through the most selective index
+ * any of its conditions can use, or by scanning every task when no index
+ * narrows the list enough to be cheaper. Without a selective index, a sorted,
+ * limited query walks the matching sorted view instead, so it can stop after
+ * {@code limit} matches rather than sorting every match.
+ */
+public class QueryPlanner {
+    // Index paths cost more per row than a scan (tree iteration, then sorting
+    // back into list order), so one must cut the list to this fraction to win.
+    private static final int MIN_SELECTIVITY_DIVISOR = 3;
+
+    /**
+     * Plans a query against the current indexes.
+     *
+     * @param query the query to plan
+     * @param index indexes over {@code tasks}
+     * @param tasks every task, in list order
+     * @return the chosen plan
+     */
+    public static QueryPlan plan(Query query, TaskIndex index, List<Task> tasks) {
+        int limit = tasks.size() / MIN_SELECTIVITY_DIVISOR;
+        AccessPath path = query.getCondition().accessPath(index, limit);
+        if (path != null) {
+            return new QueryPlan(query, path);
+        }
+        SortKey sortKey = query.getSortKey();
+        if (query.getLimit() != Query.NO_LIMIT && index.hasSortedView(sortKey)) {
+            return new QueryPlan(query, new AccessPath(sortKey.getName() + " sorted view", tasks.size(), sortKey,
+                    () -> index.sortedBy(sortKey)));
+        }
+        return new QueryPlan(query, AccessPath.fullScan(tasks));
+    }
+
+    /**
+     * A query bound to the access path that produces its candidates.
+     */
+    public static class QueryPlan {
+        private final Query query;
+        private final AccessPath accessPath;
+
+        QueryPlan(Query query, AccessPath accessPath) {
+            this.query = query;
+            this.accessPath = accessPath;
+        }
+
+        public AccessPath getAccessPath() {
+            return accessPath;
+        }
+
+        /**
+         * Runs the plan: filters the candidates, sorts them and applies the limit.
+         *
+         * @return matching tasks in result order
+         */
+        public List<Task> execute() {
+            Condition condition = query.getCondition();
+            boolean isSorted = accessPath.getOrder() == query.getSortKey();
+            List<Task> matches = new ArrayList<>();
+            for (Task task : accessPath.rows()) {
+                if (condition.test(task)) {
+                    matches.add(task);
+                    if (isSorted && matches.size() == query.getLimit()) {
+                        return matches;
+                    }
+                }
+            }
+            if (!isSorted) {
+                matches.sort(query.getSortKey().getComparator());
+            }
+            if (matches.size() > query.getLimit()) {
+                return new ArrayList<>(matches.subList(0, query.getLimit()));
+            }
+            return matches;
+        }
+
+        /**
+         * Describes the plan, e.g. {@code "type index (deadline) (~120 rows), sort:due, limit:20"}.
+         *
+         * @return plan description
+         */
+        public String explain() {
+            String text = accessPath + ", sort:" + query.getSortKey().getName();
+            if (query.getLimit() != Query.NO_LIMIT) {
+                text += ", limit:" + query.getLimit();
+            }
+            return text;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package vince.query;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.function.ToLongFunction;
+import vince.task.Task;
+
+/**
+ * Orders filter results and sorted lists, e.g. {@code sort:due}. Each key maps
+ * a task to a {@code long} rank; ties, and tasks that lack the sort field,
+ * fall back to list order.
+ */
+public enum SortKey {
+    CREATED("created", task -> 0L),
+    DUE("due", task -> {
+        LocalDateTime due = TaskIndex.dueOf(task);
+        return due == null ? Long.MAX_VALUE : due.toEpochSecond(ZoneOffset.UTC);
+    }),
+    PRIORITY("priority", task -> -task.getPriority().getValue());
+
+    private final String name;
+    private final ToLongFunction<Task> rank;
+    private final Comparator<Task> comparator;
+
+    SortKey(String name, ToLongFunction<Task> rank) {
+        this.name = name;
+        this.rank = rank;
+        this.comparator = Comparator.comparingLong(rank).thenComparingLong(Task::getSequence);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the primary sort value of a task; smaller values sort first.
+     *
+     * @param task the task
+     * @return rank of the task under this key
+     */
+    public long rankOf(Task task) {
+        return rank.applyAsLong(task);
+    }
+
+    public Comparator<Task> getComparator() {
+        return comparator;
+    }
+
+    /**
+     * Returns the sort key with the given name.
+     *
+     * @param name one of {@code created}, {@code due} or {@code priority}
+     * @return the sort key, or null if the name is not recognized
+     */
+    public static SortKey fromName(String name) {
+        for (SortKey key : values()) {
+            if (key.name.equals(name)) {
+                return key;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,404 @@
+package vince.query;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import vince.task.Deadline;
+import vince.task.Event;
+import vince.task.Priority;
+import vince.task.Task;
+import vince.task.TaskType;
+
+/**
+ * Secondary indexes over a task list, used by the {@link QueryPlanner} to
+ * find candidates without a full scan. Tasks are partitioned by type, by
+ * completion state and by priority, and ordered by due date (a deadline's
+ * {@code by}, an event's {@code from}). Every task is also kept in a sorted
+ * view per {@link SortKey} other than creation order (which is list order),
+ * so sorted listings and pages are read off a tree instead of re-sorting.
+ * Every update is O(log n).
+ * <p>
+ * A recurring task is due on many days, so it is kept out of the due index
+ * and listed separately instead; due-range lookups must check each of them.
+ * In the due sorted view it is ranked by its first occurrence.
+ * <p>
+ * Open deadlines and events are also kept by due date on their own, so the
+ * nearest ones after a time, and the deadlines already missed, are read off
+ * without stepping over completed tasks. Events that do not repeat are also
+ * kept in an {@link IntervalTree}, so the events overlapping a time range are
+ * found in O(log n + k).
+ * <p>
+ * Tasks are keyed by {@link Task#getSequence()}, so they must have been given
+ * a sequence number before being added. The index records the values it filed
+ * each task under; call {@link #update(Task)} after mutating an indexed task.
+ * Not thread-safe; the owning task list guards it with its lock.
+ */
+public class TaskIndex {
+    private final Map<TaskType, NavigableMap<Long, Task>> byType = new EnumMap<>(TaskType.class);
+    private final Map<Priority, NavigableMap<Long, Task>> byPriority = new EnumMap<>(Priority.class);
+    private final NavigableMap<Long, Task> open = new TreeMap<>();
+    private final NavigableMap<Long, Task> done = new TreeMap<>();
+    private final NavigableMap<DueKey, Task> byDue = new TreeMap<>();
+    private final NavigableMap<Long, Task> recurring = new TreeMap<>();
+    private final NavigableMap<DueKey, Task> openDeadlines = new TreeMap<>();
+    private final NavigableMap<DueKey, Task> openEvents = new TreeMap<>();
+    private final IntervalTree<Task> events = new IntervalTree<>();
+    private final Map<SortKey, OrderStatisticTree<Task>> sortedViews = new EnumMap<>(SortKey.class);
+    // What each task was filed under, so it can be removed after it changed.
+    private final Map<Long, Entry> entries = new HashMap<>();
+
+    /**
+     * Creates an empty index.
+     */
+    public TaskIndex() {
+        for (TaskType type : TaskType.values()) {
+            byType.put(type, new TreeMap<>());
+        }
+        for (Priority priority : Priority.values()) {
+            byPriority.put(priority, new TreeMap<>());
+        }
+        sortedViews.put(SortKey.DUE, new OrderStatisticTree<>());
+        sortedViews.put(SortKey.PRIORITY, new OrderStatisticTree<>());
+    }
+
+    /**
+     * Returns the due date a task is ordered by: a deadline's {@code by} or an
+     * event's {@code from}.
+     *
+     * @param task the task
+     * @return due date-time, or null for tasks without one
+     */
+    public static LocalDateTime dueOf(Task task) {
+        if (task instanceof Deadline) {
+            return ((Deadline) task).getBy();
+        }
+        if (task instanceof Event) {
+            return ((Event) task).getFrom();
+        }
+        return null;
+    }
+
+    /**
+     * Returns the number of indexed tasks.
+     *
+     * @return task count
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Files a task under its current values.
+     *
+     * @param task the task to index
+     */
+    public void add(Task task) {
+        long sequence = task.getSequence();
+        Entry entry = new Entry(TaskType.of(task), task.getPriority(), task.isDone(), dueOf(task),
+                task.isRecurring());
+        entries.put(sequence, entry);
+        for (Map.Entry<SortKey, OrderStatisticTree<Task>> view : sortedViews.entrySet()) {
+            long rank = view.getKey().rankOf(task);
+            entry.ranks.put(view.getKey(), rank);
+            view.getValue().put(rank, sequence, task);
+        }
+        byType.get(entry.type).put(sequence, task);
+        byPriority.get(entry.priority).put(sequence, task);
+        (entry.isDone ? done : open).put(sequence, task);
+        if (entry.isRecurring) {
+            recurring.put(sequence, task);
+        } else if (entry.due != null) {
+            byDue.put(new DueKey(entry.due, sequence), task);
+            if (!entry.isDone) {
+                openDue(entry.type).put(new DueKey(entry.due, sequence), task);
+            }
+            if (task instanceof Event) {
+                events.put(epochSecond(entry.due), epochSecond(((Event) task).getTo()), sequence, task);
+            }
+        }
+    }
+
+    /**
+     * Removes a task from every index.
+     *
+     * @param task the task to remove
+     */
+    public void remove(Task task) {
+        long sequence = task.getSequence();
+        Entry entry = entries.remove(sequence);
+        if (entry == null) {
+            return;
+        }
+        entry.ranks.forEach((key, rank) -> sortedViews.get(key).remove(rank, sequence));
+        byType.get(entry.type).remove(sequence);
+        byPriority.get(entry.priority).remove(sequence);
+        (entry.isDone ? done : open).remove(sequence);
+        if (entry.isRecurring) {
+            recurring.remove(sequence);
+        } else if (entry.due != null) {
+            byDue.remove(new DueKey(entry.due, sequence));
+            if (!entry.isDone) {
+                openDue(entry.type).remove(new DueKey(entry.due, sequence));
+            }
+            if (entry.type == TaskType.EVENT) {
+                events.remove(epochSecond(entry.due), sequence);
+            }
+        }
+    }
+
+    /**
+     * Re-files a task after its completion state or priority changed.
+     *
+     * @param task the mutated task
+     */
+    public void update(Task task) {
+        remove(task);
+        add(task);
+    }
+
+    /**
+     * Removes every task.
+     */
+    public void clear() {
+        byType.values().forEach(Map::clear);
+        byPriority.values().forEach(Map::clear);
+        open.clear();
+        done.clear();
+        byDue.clear();
+        recurring.clear();
+        openDeadlines.clear();
+        openEvents.clear();
+        events.clear();
+        sortedViews.values().forEach(OrderStatisticTree::clear);
+        entries.clear();
+    }
+
+    /**
+     * Returns the tasks of the given type, in list order.
+     *
+     * @param type task type
+     * @return live read-only view
+     */
+    public Collection<Task> withType(TaskType type) {
+        return Collections.unmodifiableCollection(byType.get(type).values());
+    }
+
+    /**
+     * Returns the tasks with the given completion state, in list order.
+     *
+     * @param isDone completion state
+     * @return live read-only view
+     */
+    public Collection<Task> withDone(boolean isDone) {
+        return Collections.unmodifiableCollection((isDone ? done : open).values());
+    }
+
+    /**
+     * Returns the tasks with the given priority, in list order.
+     *
+     * @param priority priority level
+     * @return live read-only view
+     */
+    public Collection<Task> withPriority(Priority priority) {
+        return Collections.unmodifiableCollection(byPriority.get(priority).values());
+    }
+
+    /**
+     * Returns the recurring tasks, in list order. They are not part of the due index.
+     *
+     * @return live read-only view
+     */
+    public Collection<Task> recurring() {
+        return Collections.unmodifiableCollection(recurring.values());
+    }
+
+    /**
+     * Returns the tasks that are not recurring and are due in {@code [from, to)}, in due order.
+     *
+     * @param from inclusive lower bound, or null for unbounded
+     * @param to exclusive upper bound, or null for unbounded
+     * @return live read-only view
+     */
+    public Collection<Task> withDueIn(LocalDateTime from, LocalDateTime to) {
+        return Collections.unmodifiableCollection(dueRange(from, to).values());
+    }
+
+    /**
+     * Counts the tasks that are not recurring and are due in {@code [from, to)},
+     * stopping once {@code cap} is reached.
+     *
+     * @param from inclusive lower bound, or null for unbounded
+     * @param to exclusive upper bound, or null for unbounded
+     * @param cap maximum count of interest
+     * @return number of tasks due in the range, at most {@code cap}
+     */
+    public int countDueIn(LocalDateTime from, LocalDateTime to, int cap) {
+        int count = 0;
+        for (DueKey ignored : dueRange(from, to).keySet()) {
+            if (++count >= cap) {
+                break;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the open tasks that are not recurring and are due at or after
+     * {@code from}, nearest first, in O(log n + count).
+     *
+     * @param from inclusive lower bound
+     * @param count maximum number of tasks
+     * @return the tasks, in due order
+     */
+    public List<Task> nextOpenDue(LocalDateTime from, int count) {
+        DueKey bound = new DueKey(from, Long.MIN_VALUE);
+        Iterator<Map.Entry<DueKey, Task>> deadlines = openDeadlines.tailMap(bound, true).entrySet().iterator();
+        Iterator<Map.Entry<DueKey, Task>> events = openEvents.tailMap(bound, true).entrySet().iterator();
+        Map.Entry<DueKey, Task> deadline = deadlines.hasNext() ? deadlines.next() : null;
+        Map.Entry<DueKey, Task> event = events.hasNext() ? events.next() : null;
+        List<Task> next = new ArrayList<>(Math.min(count, 64));
+        while (next.size() < count && (deadline != null || event != null)) {
+            if (event == null || (deadline != null && deadline.getKey().compareTo(event.getKey()) < 0)) {
+                next.add(deadline.getValue());
+                deadline = deadlines.hasNext() ? deadlines.next() : null;
+            } else {
+                next.add(event.getValue());
+                event = events.hasNext() ? events.next() : null;
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Returns the open deadlines that are not recurring and are due before {@code to}, in due order.
+     *
+     * @param to exclusive upper bound
+     * @return live read-only view
+     */
+    public Collection<Task> openDeadlinesDueBefore(LocalDateTime to) {
+        return Collections.unmodifiableCollection(openDeadlines.headMap(new DueKey(to, Long.MIN_VALUE), false).values());
+    }
+
+    /**
+     * Returns the events that do not repeat and overlap {@code [from, to)},
+     * in O(log n + k). An event overlaps the range if it starts before
+     * {@code to} and ends after {@code from}.
+     *
+     * @param from inclusive start of the range
+     * @param to exclusive end of the range
+     * @return the events, in start order
+     */
+    public List<Task> eventsOverlapping(LocalDateTime from, LocalDateTime to) {
+        return events.overlapping(epochSecond(from), epochSecond(to));
+    }
+
+    /**
+     * Returns whether tasks are kept sorted by the given key. Creation order is
+     * not, as it is the order of the list itself.
+     *
+     * @param sortKey sort key
+     * @return true if {@link #sortedBy(SortKey)} supports the key
+     */
+    public boolean hasSortedView(SortKey sortKey) {
+        return sortedViews.containsKey(sortKey);
+    }
+
+    /**
+     * Returns every task in the order of a sorted view.
+     *
+     * @param sortKey a key for which {@link #hasSortedView(SortKey)} holds
+     * @return live iterable over the view
+     */
+    public Iterable<Task> sortedBy(SortKey sortKey) {
+        return sortedViews.get(sortKey);
+    }
+
+    /**
+     * Returns one page of a sorted view in O(log n + count).
+     *
+     * @param sortKey a key for which {@link #hasSortedView(SortKey)} holds
+     * @param from 0-based rank of the first task
+     * @param count maximum number of tasks
+     * @return the tasks, in view order
+     */
+    public List<Task> sortedRange(SortKey sortKey, int from, int count) {
+        return sortedViews.get(sortKey).range(from, count);
+    }
+
+    private static long epochSecond(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private NavigableMap<DueKey, Task> openDue(TaskType type) {
+        return type == TaskType.EVENT ? openEvents : openDeadlines;
+    }
+
+    private NavigableMap<DueKey, Task> dueRange(LocalDateTime from, LocalDateTime to) {
+        NavigableMap<DueKey, Task> range = byDue;
+        if (from != null) {
+            range = range.tailMap(new DueKey(from, Long.MIN_VALUE), true);
+        }
+        if (to != null) {
+            range = range.headMap(new DueKey(to, Long.MIN_VALUE), false);
+        }
+        return range;
+    }
+
+    /**
+     * Values a task was indexed under.
+     */
+    private static class Entry {
+        private final TaskType type;
+        private final Priority priority;
+        private final boolean isDone;
+        private final LocalDateTime due;
+        private final boolean isRecurring;
+        private final Map<SortKey, Long> ranks = new EnumMap<>(SortKey.class);
+
+        Entry(TaskType type, Priority priority, boolean isDone, LocalDateTime due, boolean isRecurring) {
+            this.type = type;
+            this.priority = priority;
+            this.isDone = isDone;
+            this.due = due;
+            this.isRecurring = isRecurring;
+        }
+    }
+
+    /**
+     * Due-index key; the sequence number breaks ties between equal dates.
+     */
+    private static class DueKey implements Comparable<DueKey> {
+        private final LocalDateTime due;
+        private final long sequence;
+
+        DueKey(LocalDateTime due, long sequence) {
+            this.due = due;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(DueKey other) {
+            int byDate = due.compareTo(other.due);
+            return byDate != 0 ? byDate : Long.compare(sequence, other.sequence);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof DueKey && compareTo((DueKey) o) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return due.hashCode() * 31 + Long.hashCode(sequence);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package vince.query;
+
+import vince.task.Task;
+
+/**
+ * Matches tasks whose description contains a phrase, ignoring case, like
+ * {@code find}. There is no text index, so this is only ever applied as a
+ * residual filter on candidates from another access path.
+ */
+public class TextCondition implements Condition {
+    private final String phrase;
+
+    public TextCondition(String phrase) {
+        this.phrase = phrase.trim().toLowerCase();
+    }
+
+    @Override
+    public boolean test(Task task) {
+        return task.getDescription().toLowerCase().contains(phrase);
+    }
+
+    @Override
+    public String toString() {
+        return "text:" + phrase;
+    }
+}
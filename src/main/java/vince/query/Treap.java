@@ -0,0 +1,167 @@
+package vince.query;
+
+import java.util.SplittableRandom;
+
+/**
+ * Balanced search tree (a treap) keyed by pairs of longs compared
+ * lexicographically, the second component breaking ties so every key is
+ * unique. Random heap priorities keep the expected depth logarithmic, so
+ * insert and remove are O(log n).
+ * <p>
+ * Subclasses augment the nodes with data summarizing their subtree, such as
+ * its size, and keep it current in {@link #update}, which is called on every
+ * node whose children change, children first. Not thread-safe.
+ *
+ * @param <V> element type
+ * @param <N> node type
+ */
+abstract class Treap<V, N extends Treap.Node<V, N>> {
+    private final SplittableRandom random = new SplittableRandom(42);
+    protected N root;
+    private int size;
+
+    /**
+     * Returns the number of elements.
+     *
+     * @return element count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes every element.
+     */
+    public void clear() {
+        root = null;
+        size = 0;
+    }
+
+    /**
+     * Inserts a node, replacing any node with the same key.
+     *
+     * @param fresh node to insert, not yet linked
+     */
+    protected void insert(N fresh) {
+        fresh.priority = random.nextInt();
+        root = insert(root, fresh);
+    }
+
+    /**
+     * Removes the node with the given key, if present.
+     *
+     * @param primary first key component
+     * @param secondary tie-breaking key component
+     */
+    protected void delete(long primary, long secondary) {
+        root = delete(root, primary, secondary);
+    }
+
+    /**
+     * Recomputes the node's subtree data from its own and its children's.
+     *
+     * @param node node whose children may have changed
+     * @return the node
+     */
+    protected abstract N update(N node);
+
+    private N insert(N node, N fresh) {
+        if (node == null) {
+            size++;
+            return fresh;
+        }
+        int order = compare(fresh.primary, fresh.secondary, node);
+        if (order == 0) {
+            fresh.left = node.left;
+            fresh.right = node.right;
+            fresh.priority = node.priority;
+            return update(fresh);
+        }
+        if (order < 0) {
+            node.left = insert(node.left, fresh);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, fresh);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        return update(node);
+    }
+
+    private N delete(N node, long primary, long secondary) {
+        if (node == null) {
+            return null;
+        }
+        int order = compare(primary, secondary, node);
+        if (order < 0) {
+            node.left = delete(node.left, primary, secondary);
+        } else if (order > 0) {
+            node.right = delete(node.right, primary, secondary);
+        } else {
+            size--;
+            return merge(node.left, node.right);
+        }
+        return update(node);
+    }
+
+    /**
+     * Joins two treaps where every key in {@code left} is below every key in {@code right}.
+     */
+    private N merge(N left, N right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return update(left);
+        }
+        right.left = merge(left, right.left);
+        return update(right);
+    }
+
+    private N rotateRight(N node) {
+        N pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = update(node);
+        return update(pivot);
+    }
+
+    private N rotateLeft(N node) {
+        N pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = update(node);
+        return update(pivot);
+    }
+
+    private static int compare(long primary, long secondary, Node<?, ?> node) {
+        int order = Long.compare(primary, node.primary);
+        return order != 0 ? order : Long.compare(secondary, node.secondary);
+    }
+
+    /**
+     * Tree node; {@code priority} is the random heap key that keeps the tree balanced.
+     *
+     * @param <V> element type
+     * @param <N> the concrete node type, for typed links to children
+     */
+    static class Node<V, N extends Node<V, N>> {
+        final long primary;
+        final long secondary;
+        final V value;
+        int priority;
+        N left;
+        N right;
+
+        Node(long primary, long secondary, V value) {
+            this.primary = primary;
+            this.secondary = secondary;
+            this.value = value;
+        }
+    }
+}
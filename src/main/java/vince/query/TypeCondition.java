@@ -0,0 +1,35 @@
+package vince.query;
+
+import vince.task.Task;
+import vince.task.TaskType;
+
+/**
+ * Matches tasks of one type, e.g. {@code type:deadline}.
+ */
+public class TypeCondition implements Condition {
+    private final TaskType type;
+
+    public TypeCondition(TaskType type) {
+        this.type = type;
+    }
+
+    @Override
+    public boolean test(Task task) {
+        return TaskType.of(task) == type;
+    }
+
+    @Override
+    public AccessPath accessPath(TaskIndex index, int limit) {
+        int rows = index.withType(type).size();
+        if (rows >= limit) {
+            return null;
+        }
+        return new AccessPath("type index (" + type.getCommand() + ")", rows, SortKey.CREATED,
+                () -> index.withType(type));
+    }
+
+    @Override
+    public String toString() {
+        return "type:" + type.getCommand();
+    }
+}
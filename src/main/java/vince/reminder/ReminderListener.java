@@ -0,0 +1,17 @@
+package vince.reminder;
+
+import vince.task.Task;
+
+/**
+ * Receives reminders from a {@link ReminderScheduler}. Called on the
+ * scheduler thread; front ends hand the reminder over to their own thread.
+ */
+@FunctionalInterface
+public interface ReminderListener {
+    /**
+     * A deadline has come due or an event is starting.
+     *
+     * @param occurrence the task, or for a recurring task the occurrence that is due
+     */
+    void remind(Task occurrence);
+}
@@ -0,0 +1,230 @@
+package vince.reminder;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import vince.metrics.MetricsRegistry;
+import vince.query.TaskIndex;
+import vince.reminder.TimingWheel.Timeout;
+import vince.storage.TaskChange;
+import vince.storage.TaskList;
+import vince.storage.TaskObserver;
+import vince.task.Recurrence;
+import vince.task.Task;
+
+/**
+ * Fires a reminder when a deadline's {@code by} or an event's {@code from}
+ * arrives. For a recurring task, the next occurrence that is not completed is
+ * reminded of, and the one after it is scheduled once it fires. Done tasks and
+ * times already past when a task is scheduled are not reminded of.
+ * <p>
+ * Pending reminders live in a {@link TimingWheel} owned by a single scheduler
+ * thread, which wakes once per tick. As a {@link TaskObserver} of a task list,
+ * the scheduler only queues each add, update or removal in a batch (O(1) per
+ * change on the mutating thread); the scheduler thread applies them on its
+ * next tick, replacing any reminder it already had for the task.
+ * <p>
+ * A listener that throws does not stop the other reminders; each failure is
+ * counted under {@code reminder.errors} in {@link MetricsRegistry#global()}.
+ */
+public class ReminderScheduler implements TaskObserver, AutoCloseable {
+    /** Scheduling granularity used by {@link #ReminderScheduler(ReminderListener)}. */
+    public static final long DEFAULT_TICK_MILLIS = 1000;
+
+    private static final LongAdder ERRORS = MetricsRegistry.global().counter("reminder.errors");
+
+    private final ReminderListener listener;
+    private final LongSupplier clock;
+    private final long tickMillis;
+    private final ZoneId zone;
+    private final Queue<Request> requests = new ConcurrentLinkedQueue<>();
+    // Guarded by this; only the scheduler thread polls once it is started.
+    private final TimingWheel<Pending> wheel;
+    private final Map<Task, Timeout<Pending>> pending = new IdentityHashMap<>();
+    private volatile Thread thread;
+
+    /**
+     * Creates a scheduler on the system clock and time zone with one-second ticks.
+     *
+     * @param listener receives every reminder
+     */
+    public ReminderScheduler(ReminderListener listener) {
+        this(listener, System::currentTimeMillis, DEFAULT_TICK_MILLIS, ZoneId.systemDefault());
+    }
+
+    /**
+     * Creates a scheduler on the given clock, e.g. a manual one in tests.
+     *
+     * @param listener receives every reminder
+     * @param clock current time in epoch milliseconds
+     * @param tickMillis scheduling granularity in milliseconds
+     * @param zone time zone that task times are in
+     */
+    public ReminderScheduler(ReminderListener listener, LongSupplier clock, long tickMillis, ZoneId zone) {
+        this.listener = listener;
+        this.clock = clock;
+        this.tickMillis = tickMillis;
+        this.zone = zone;
+        this.wheel = new TimingWheel<>(clock.getAsLong() / tickMillis);
+    }
+
+    /**
+     * Starts reminding of every task in the list and of every later change to it.
+     *
+     * @param tasks the list to watch
+     */
+    public void watch(TaskList tasks) {
+        tasks.addObserver(this);
+    }
+
+    /**
+     * Starts the scheduler thread, which calls {@link #poll()} once per tick.
+     */
+    public synchronized void start() {
+        if (thread != null) {
+            return;
+        }
+        thread = new Thread(this::run, "vince-reminders");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops the scheduler thread. Pending reminders are dropped.
+     */
+    @Override
+    public void close() {
+        Thread running = thread;
+        if (running != null) {
+            running.interrupt();
+        }
+    }
+
+    @Override
+    public void tasksChanged(List<TaskChange> changes) {
+        for (TaskChange change : changes) {
+            requests.add(new Request(change.getTask(), change.getKind() == TaskChange.Kind.REMOVED));
+        }
+    }
+
+    /**
+     * Applies queued task changes, then fires every reminder that has come due.
+     * Called by the scheduler thread; may be called directly when it is not started.
+     */
+    public synchronized void poll() {
+        long now = clock.getAsLong();
+        LocalDateTime nowTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(now), zone);
+        Request request;
+        while ((request = requests.poll()) != null) {
+            Timeout<Pending> previous = pending.remove(request.task);
+            if (previous != null) {
+                wheel.cancel(previous);
+            }
+            if (!request.isRemoval) {
+                schedule(request.task, nowTime);
+            }
+        }
+        wheel.advanceTo(now / tickMillis, this::fire);
+    }
+
+    /**
+     * Returns the number of reminders waiting to fire, as of the last {@link #poll()}.
+     *
+     * @return pending reminder count
+     */
+    public synchronized int size() {
+        return wheel.size();
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                poll();
+            } catch (RuntimeException e) {
+                // Whatever fails, the thread keeps reminding on later ticks.
+                ERRORS.increment();
+            }
+            try {
+                Thread.sleep(tickMillis - Math.floorMod(clock.getAsLong(), tickMillis));
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void fire(Pending due) {
+        pending.remove(due.task);
+        Task occurrence = due.task.occurrenceOn(due.at.toLocalDate());
+        try {
+            listener.remind(occurrence != null ? occurrence : due.task);
+        } catch (RuntimeException e) {
+            // A failing listener must not stop the other reminders due on this tick.
+            ERRORS.increment();
+        }
+        if (due.task.isRecurring()) {
+            schedule(due.task, due.at.plusNanos(1));
+        }
+    }
+
+    /**
+     * Schedules the next reminder for a task at or after the given time, if any.
+     */
+    private void schedule(Task task, LocalDateTime notBefore) {
+        LocalDateTime at = nextReminder(task, notBefore);
+        if (at == null) {
+            return;
+        }
+        long millis = at.atZone(zone).toInstant().toEpochMilli();
+        long tick = Math.floorDiv(millis + tickMillis - 1, tickMillis);
+        pending.put(task, wheel.schedule(new Pending(task, at), tick));
+    }
+
+    private static LocalDateTime nextReminder(Task task, LocalDateTime notBefore) {
+        LocalDateTime due = TaskIndex.dueOf(task);
+        if (due == null || task.isDone()) {
+            return null;
+        }
+        Recurrence recurrence = task.getRecurrence();
+        if (recurrence == null) {
+            return due.isBefore(notBefore) ? null : due;
+        }
+        LocalDateTime next = recurrence.nextOccurrence(due, notBefore);
+        while (next != null && recurrence.isCompleted(next.toLocalDate())) {
+            next = recurrence.nextOccurrence(due, next.plusNanos(1));
+        }
+        return next;
+    }
+
+    /**
+     * A queued change to the set of tasks to remind of.
+     */
+    private static class Request {
+        private final Task task;
+        private final boolean isRemoval;
+
+        Request(Task task, boolean isRemoval) {
+            this.task = task;
+            this.isRemoval = isRemoval;
+        }
+    }
+
+    /**
+     * A reminder waiting in the wheel.
+     */
+    private static class Pending {
+        private final Task task;
+        private final LocalDateTime at;
+
+        Pending(Task task, LocalDateTime at) {
+            this.task = task;
+            this.at = at;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package vince.reminder;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical hashed timing wheel: four wheels of 256 slots, each slot of a
+ * wheel spanning one full turn of the wheel below it. A timeout is hashed into
+ * the slot its expiry falls in on the finest wheel that reaches it, and moved
+ * down ("cascaded") one wheel when the coarser slot comes round. Slots are
+ * intrusive doubly linked lists, so scheduling and cancelling are O(1)
+ * whatever the number of pending timeouts.
+ * <p>
+ * Time is measured in abstract ticks. With one-second ticks the wheels reach
+ * 2^32 seconds (about 136 years); timeouts beyond that are parked in the last
+ * slot and re-hashed when it comes round. Advancing skips runs of empty slots
+ * using an occupancy bitmap, so catching up after a long pause costs one step
+ * per 256 ticks rather than one per tick.
+ * <p>
+ * Not thread-safe; {@link ReminderScheduler} confines it to one thread.
+ *
+ * @param <T> value carried by each timeout
+ */
+public class TimingWheel<T> {
+    private static final int LEVELS = 4;
+    private static final int SLOT_BITS = 8;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int MASK = SLOTS - 1;
+
+    private final Timeout<T>[][] heads;
+    // Bit i of occupied[level][i >> 6] is set when slot i of that level is non-empty.
+    private final long[][] occupied = new long[LEVELS][SLOTS / 64];
+    private long currentTick;
+    private int size;
+
+    /**
+     * Creates an empty wheel.
+     *
+     * @param startTick the current time, in ticks
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public TimingWheel(long startTick) {
+        this.heads = new Timeout[LEVELS][SLOTS];
+        this.currentTick = startTick;
+    }
+
+    /**
+     * Returns the time the wheel has advanced to.
+     *
+     * @return current tick
+     */
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Returns the number of pending timeouts.
+     *
+     * @return pending count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Schedules a value to expire at the given tick, or on the next tick if that
+     * is already past.
+     *
+     * @param value the value handed back on expiry
+     * @param expiryTick when to expire
+     * @return handle for {@link #cancel(Timeout)}
+     */
+    public Timeout<T> schedule(T value, long expiryTick) {
+        Timeout<T> timeout = new Timeout<>(value, Math.max(expiryTick, currentTick + 1));
+        insert(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Removes a pending timeout.
+     *
+     * @param timeout handle returned by {@link #schedule}
+     * @return false if it had already expired or been cancelled
+     */
+    public boolean cancel(Timeout<T> timeout) {
+        if (timeout.level < 0) {
+            return false;
+        }
+        unlink(timeout);
+        size--;
+        return true;
+    }
+
+    /**
+     * Advances time, handing every timeout that expires on the way to
+     * {@code expired} in expiry order. Timeouts scheduled by the consumer for
+     * a later tick are honoured in the same call.
+     *
+     * @param tick the new current time; earlier values are ignored
+     * @param expired receives each expired value
+     */
+    public void advanceTo(long tick, Consumer<T> expired) {
+        while (currentTick < tick) {
+            long next = nextInterestingTick();
+            if (next > tick) {
+                currentTick = tick;
+                return;
+            }
+            currentTick = next;
+            if ((currentTick & MASK) == 0) {
+                cascade(1);
+            }
+            int slot = (int) (currentTick & MASK);
+            Timeout<T> timeout;
+            while ((timeout = heads[0][slot]) != null) {
+                unlink(timeout);
+                size--;
+                expired.accept(timeout.value);
+            }
+        }
+    }
+
+    /**
+     * Returns the next tick at which the finest wheel has a non-empty slot, or
+     * the end of its current turn, when coarser wheels must be cascaded.
+     */
+    private long nextInterestingTick() {
+        int from = (int) (currentTick & MASK) + 1;
+        int slot = nextOccupied(0, from);
+        return slot >= 0 ? (currentTick & ~MASK) + slot : (currentTick | MASK) + 1;
+    }
+
+    private int nextOccupied(int level, int from) {
+        for (int word = from >>> 6; word < SLOTS / 64; word++) {
+            long bits = occupied[level][word];
+            if (word == from >>> 6) {
+                bits &= -1L << (from & 63);
+            }
+            if (bits != 0) {
+                return word * 64 + Long.numberOfTrailingZeros(bits);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Re-hashes the slot of {@code level} that has just come round into the
+     * finer wheels, first cascading the level above if it wrapped too.
+     */
+    private void cascade(int level) {
+        if (level >= LEVELS) {
+            return;
+        }
+        int slot = (int) ((currentTick >>> (SLOT_BITS * level)) & MASK);
+        if (slot == 0) {
+            cascade(level + 1);
+        }
+        Timeout<T> timeout;
+        while ((timeout = heads[level][slot]) != null) {
+            unlink(timeout);
+            insert(timeout);
+        }
+    }
+
+    private void insert(Timeout<T> timeout) {
+        long delta = timeout.expiryTick - currentTick;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        long ticks = delta >= 1L << (SLOT_BITS * LEVELS)
+                ? currentTick + ((long) MASK << (SLOT_BITS * (LEVELS - 1)))
+                : timeout.expiryTick;
+        int slot = (int) ((ticks >>> (SLOT_BITS * level)) & MASK);
+        Timeout<T> head = heads[level][slot];
+        timeout.level = level;
+        timeout.slot = slot;
+        timeout.prev = null;
+        timeout.next = head;
+        if (head != null) {
+            head.prev = timeout;
+        }
+        heads[level][slot] = timeout;
+        occupied[level][slot >>> 6] |= 1L << (slot & 63);
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        int level = timeout.level;
+        int slot = timeout.slot;
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            heads[level][slot] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        if (heads[level][slot] == null) {
+            occupied[level][slot >>> 6] &= ~(1L << (slot & 63));
+        }
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.level = -1;
+    }
+
+    /**
+     * A pending timeout, linked into the slot it is hashed to.
+     *
+     * @param <T> value carried by the timeout
+     */
+    public static final class Timeout<T> {
+        private final T value;
+        private final long expiryTick;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+        private int level = -1;
+        private int slot;
+
+        private Timeout(T value, long expiryTick) {
+            this.value = value;
+            this.expiryTick = expiryTick;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        public long getExpiryTick() {
+            return expiryTick;
+        }
+
+        /**
+         * Returns whether the timeout is still waiting to expire.
+         *
+         * @return false once expired or cancelled
+         */
+        public boolean isPending() {
+            return level >= 0;
+        }
+    }
+}
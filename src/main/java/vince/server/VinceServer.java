@@ -0,0 +1,230 @@
+package vince.server;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import vince.command.Command;
+import vince.exception.VinceException;
+import vince.storage.TaskList;
+import vince.ui.Ui;
+import vince.util.Parser;
+
+/**
+ * Headless line-protocol server that lets many local clients drive one shared
+ * {@link TaskList}.
+ * Each request is a single command line; the response is the text the CLI
+ * would have printed, followed by a line containing only {@link #END_OF_RESPONSE}.
+ * A response line that starts with that dot is sent with a second dot in
+ * front, so it can never end the response early; {@link #readResponse}
+ * reads a response and removes them again.
+ * Read-only commands run concurrently against the task list's current snapshot
+ * without locking; all other commands run as one {@link TaskList#batch}, which
+ * serializes them on the list's write lock.
+ */
+public class VinceServer implements Closeable {
+    /** Line that terminates every response. */
+    public static final String END_OF_RESPONSE = ".";
+    /** Port used when none is given on the command line. */
+    public static final int DEFAULT_PORT = 4242;
+
+    private final TaskList tasks;
+    private final SocketAddress address;
+    private final ExecutorService connections;
+    private ServerSocketChannel serverChannel;
+    private Thread acceptThread;
+
+    /**
+     * Creates a server for the given task list. Nothing is bound until {@link #start()}.
+     *
+     * @param tasks the shared task list every connection operates on
+     * @param address loopback TCP address or Unix domain socket path to listen on
+     */
+    public VinceServer(TaskList tasks, SocketAddress address) {
+        this.tasks = tasks;
+        this.address = address;
+        // One thread per connection; swap for Executors.newVirtualThreadPerTaskExecutor() on JDK 21+.
+        this.connections = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "vince-connection");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Binds the listening socket and starts accepting connections in the background.
+     *
+     * @throws IOException if the socket cannot be bound
+     */
+    public void start() throws IOException {
+        if (address instanceof UnixDomainSocketAddress) {
+            Files.deleteIfExists(((UnixDomainSocketAddress) address).getPath());
+            serverChannel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        } else {
+            serverChannel = ServerSocketChannel.open();
+        }
+        serverChannel.bind(address);
+        acceptThread = new Thread(this::acceptLoop, "vince-accept");
+        acceptThread.setDaemon(true);
+        acceptThread.start();
+    }
+
+    /**
+     * Returns the TCP port the server is bound to, useful when started on port 0.
+     *
+     * @return bound port, or -1 for Unix domain sockets
+     * @throws IOException if the bound address cannot be read
+     */
+    public int getPort() throws IOException {
+        SocketAddress bound = serverChannel.getLocalAddress();
+        return bound instanceof InetSocketAddress ? ((InetSocketAddress) bound).getPort() : -1;
+    }
+
+    /**
+     * Blocks until the server is closed.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void awaitTermination() throws InterruptedException {
+        acceptThread.join();
+    }
+
+    private void acceptLoop() {
+        while (serverChannel.isOpen()) {
+            try {
+                SocketChannel client = serverChannel.accept();
+                connections.execute(() -> serve(client));
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                System.err.println("Failed to accept connection: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Serves one connection until the client disconnects or sends an exit command.
+     */
+    private void serve(SocketChannel client) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        PrintStream captured = new PrintStream(buffer, true, StandardCharsets.UTF_8);
+        Ui ui = new Ui(InputStream.nullInputStream(), captured);
+        try (client;
+                BufferedReader in = new BufferedReader(Channels.newReader(client, StandardCharsets.UTF_8));
+                Writer out = Channels.newWriter(client, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                buffer.reset();
+                boolean isExit = handle(line, ui);
+                writeResponse(out, buffer.toString(StandardCharsets.UTF_8));
+                out.flush();
+                if (isExit) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            // Client went away mid-request; nothing left to answer.
+        }
+    }
+
+    /**
+     * Parses and executes a single request line, writing all output to the given Ui.
+     *
+     * @return true if the connection should be closed
+     */
+    private boolean handle(String input, Ui ui) {
+        if (input.trim().isEmpty()) {
+            ui.showEmptyCommandError();
+            return false;
+        }
+        try {
+            Command command = Parser.parse(input);
+            if (command == null) {
+                ui.showInvalidCommandError();
+                return false;
+            }
+            // Commands that mutate run as one batch, so they never interleave.
+            command.execute(tasks, ui);
+            return command.isExit();
+        } catch (VinceException e) {
+            ui.showError(e.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * Writes one response: each line of {@code text}, with a dot put in front
+     * of any that starts with one, then the line that ends the response.
+     *
+     * @param out where to write
+     * @param text the response text, one or more lines
+     * @throws IOException if writing fails
+     */
+    public static void writeResponse(Writer out, String text) throws IOException {
+        Iterator<String> lines = text.lines().iterator();
+        while (lines.hasNext()) {
+            String line = lines.next();
+            if (line.startsWith(END_OF_RESPONSE)) {
+                out.write(END_OF_RESPONSE);
+            }
+            out.write(line);
+            out.write('\n');
+        }
+        out.write(END_OF_RESPONSE + "\n");
+    }
+
+    /**
+     * Reads one response written by {@link #writeResponse}, removing the
+     * dots put in front of its lines.
+     *
+     * @param in the connection to read from
+     * @return the response lines, without the line that ends it
+     * @throws IOException if reading fails
+     */
+    public static List<String> readResponse(BufferedReader in) throws IOException {
+        List<String> lines = new ArrayList<>();
+        String line;
+        while ((line = in.readLine()) != null && !line.equals(END_OF_RESPONSE)) {
+            lines.add(line.startsWith(END_OF_RESPONSE) ? line.substring(END_OF_RESPONSE.length()) : line);
+        }
+        return lines;
+    }
+
+    /**
+     * Stops accepting connections and closes all open ones.
+     */
+    @Override
+    public void close() throws IOException {
+        if (serverChannel != null) {
+            serverChannel.close();
+        }
+        connections.shutdownNow();
+        try {
+            connections.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (address instanceof UnixDomainSocketAddress) {
+            Files.deleteIfExists(((UnixDomainSocketAddress) address).getPath());
+        }
+    }
+}
@@ -0,0 +1,404 @@
+package vince.storage;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import vince.task.Deadline;
+import vince.task.Event;
+import vince.task.Priority;
+import vince.task.Recurrence;
+import vince.task.Task;
+import vince.task.Todo;
+import vince.util.DateTimeParser;
+import vince.exception.VinceException;
+
+/**
+ * Compact, struct-of-arrays task store for very large task lists.
+ * Instead of one {@link Task} object (plus its strings and date objects) per
+ * task, every field lives in a parallel primitive array: a type byte, a done
+ * bit, a priority byte, epoch seconds for the dates and an offset into a shared
+ * character arena for the description. The {@link Recurrence} of a repeating
+ * task, with its exceptions and completed occurrences, is kept by reference in
+ * a column that is null for every other task. {@link Task} objects are only
+ * materialized when a result is rendered.
+ * <p>
+ * Experimental: this is a standalone store for bulk, read-mostly task data,
+ * not a backing for {@link TaskList}, whose undo history, query index and
+ * change notifications all rely on stable {@link Task} objects. On a million
+ * short tasks it takes about a third of the heap the equivalent {@link Task}
+ * objects do, with the UTF-16 descriptions making up most of what is left.
+ * Times are kept to the second; a task with a sub-second time is rejected
+ * rather than silently rounded.
+ * <p>
+ * Indices are 0-based. Not thread-safe; callers must synchronize externally.
+ */
+public class ColumnarTaskStore {
+    private static final byte TYPE_TASK = 0;
+    private static final byte TYPE_TODO = 1;
+    private static final byte TYPE_DEADLINE = 2;
+    private static final byte TYPE_EVENT = 3;
+
+    private static final Priority[] PRIORITIES = Priority.values();
+    private static final long SECONDS_PER_DAY = 86_400L;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int size;
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private long[] doneBits = new long[1];
+    private byte[] priorities = new byte[INITIAL_CAPACITY];
+    // Deadline "by" or event "from", in UTC epoch seconds of the local date-time.
+    private long[] starts = new long[INITIAL_CAPACITY];
+    // Event "to"; unused for other types.
+    private long[] ends = new long[INITIAL_CAPACITY];
+    private int[] descriptionOffsets = new int[INITIAL_CAPACITY];
+    private int[] descriptionLengths = new int[INITIAL_CAPACITY];
+    // Recurrences are immutable, so sharing them with the tasks they came from is safe.
+    private Recurrence[] recurrences = new Recurrence[INITIAL_CAPACITY];
+
+    private char[] arena = new char[INITIAL_CAPACITY * 16];
+    private int arenaUsed;
+    // Characters in the arena that belong to deleted tasks.
+    private int arenaGarbage;
+
+    /**
+     * Creates a store holding the given tasks in order.
+     *
+     * @param tasks tasks to copy into the store
+     * @return a new columnar store
+     */
+    public static ColumnarTaskStore of(List<Task> tasks) {
+        ColumnarTaskStore store = new ColumnarTaskStore();
+        for (Task task : tasks) {
+            store.add(task);
+        }
+        store.trimToSize();
+        return store;
+    }
+
+    /**
+     * Returns the number of tasks currently stored.
+     *
+     * @return task count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Appends a task. Only its fields are kept; the object itself is not retained.
+     *
+     * @param task the task to store
+     * @throws VinceException if one of its times has a fraction of a second
+     */
+    public void add(Task task) {
+        ensureCapacity(size + 1);
+        int i = size;
+        if (task instanceof Deadline) {
+            types[i] = TYPE_DEADLINE;
+            starts[i] = toEpochSecond(((Deadline) task).getBy());
+        } else if (task instanceof Event) {
+            Event event = (Event) task;
+            types[i] = TYPE_EVENT;
+            starts[i] = toEpochSecond(event.getFrom());
+            ends[i] = toEpochSecond(event.getTo());
+        } else if (task instanceof Todo) {
+            types[i] = TYPE_TODO;
+        } else {
+            types[i] = TYPE_TASK;
+        }
+        priorities[i] = (byte) task.getPriority().ordinal();
+        recurrences[i] = task.getRecurrence();
+        setDone(i, task.isDone());
+        appendDescription(i, task.getDescription());
+        size++;
+    }
+
+    /**
+     * Materializes the task at the given position.
+     *
+     * @param index 0-based position
+     * @return a new Task view of the stored fields
+     * @throws VinceException if index is out of bounds
+     */
+    public Task get(int index) {
+        checkIndex(index);
+        return materialize(index);
+    }
+
+    /**
+     * Marks the task at the given position as done.
+     *
+     * @param index 0-based position
+     * @throws VinceException if index is out of bounds
+     */
+    public void mark(int index) {
+        checkIndex(index);
+        setDone(index, true);
+    }
+
+    /**
+     * Marks the task at the given position as not done.
+     *
+     * @param index 0-based position
+     * @throws VinceException if index is out of bounds
+     */
+    public void unmark(int index) {
+        checkIndex(index);
+        setDone(index, false);
+    }
+
+    /**
+     * Removes the task at the given position, shifting later tasks down.
+     *
+     * @param index 0-based position
+     * @return a materialized view of the removed task
+     * @throws VinceException if index is out of bounds
+     */
+    public Task delete(int index) {
+        checkIndex(index);
+        Task removed = materialize(index);
+        arenaGarbage += descriptionLengths[index];
+
+        int tail = size - index - 1;
+        System.arraycopy(types, index + 1, types, index, tail);
+        System.arraycopy(priorities, index + 1, priorities, index, tail);
+        System.arraycopy(starts, index + 1, starts, index, tail);
+        System.arraycopy(ends, index + 1, ends, index, tail);
+        System.arraycopy(descriptionOffsets, index + 1, descriptionOffsets, index, tail);
+        System.arraycopy(descriptionLengths, index + 1, descriptionLengths, index, tail);
+        System.arraycopy(recurrences, index + 1, recurrences, index, tail);
+        recurrences[size - 1] = null;
+        for (int i = index; i < size - 1; i++) {
+            setDone(i, isDone(i + 1));
+        }
+        setDone(size - 1, false);
+        size--;
+
+        if (arenaGarbage > arenaUsed / 2) {
+            compactArena();
+        }
+        return removed;
+    }
+
+    /**
+     * Builds numbered lines for all tasks, materializing each one for rendering.
+     *
+     * @return list of lines ready for display
+     */
+    public List<String> list() {
+        List<String> lines = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            lines.add((i + 1) + ". " + materialize(i));
+        }
+        return lines;
+    }
+
+    /**
+     * Builds numbered lines for tasks whose description contains the keyword,
+     * ignoring case. Matching runs directly on the character arena; only
+     * matching tasks are materialized.
+     *
+     * @param keyword search keyword
+     * @return matching task lines
+     */
+    public List<String> findTasks(String keyword) {
+        String key = keyword == null ? "" : keyword.trim().toLowerCase();
+        List<String> lines = new ArrayList<>();
+        if (key.isEmpty()) {
+            return lines;
+        }
+        for (int i = 0; i < size; i++) {
+            if (descriptionContains(i, key)) {
+                lines.add((i + 1) + ". " + materialize(i));
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Builds numbered lines for tasks that occur on the given date, comparing
+     * epoch days without creating any date objects per task. Only recurring
+     * tasks are materialized to find their occurrence on that date.
+     *
+     * @param dateStr date string accepted by {@link DateTimeParser}
+     * @return lines for tasks matching that date
+     * @throws VinceException if the date string is invalid
+     */
+    public List<String> tasksOnDateLines(String dateStr) throws VinceException {
+        LocalDate targetDate = DateTimeParser.parseDateTime(dateStr).toLocalDate();
+        long targetDay = targetDate.toEpochDay();
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            if (recurrences[i] != null) {
+                Task occurrence = materialize(i).occurrenceOn(targetDate);
+                if (occurrence != null) {
+                    lines.add((i + 1) + ". " + occurrence);
+                }
+            } else if (isOnDay(i, targetDay)) {
+                lines.add((i + 1) + ". " + materialize(i));
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Releases spare capacity in the columns and the description arena,
+     * e.g. after a bulk load.
+     */
+    public void trimToSize() {
+        int capacity = Math.max(INITIAL_CAPACITY, size);
+        types = Arrays.copyOf(types, capacity);
+        priorities = Arrays.copyOf(priorities, capacity);
+        starts = Arrays.copyOf(starts, capacity);
+        ends = Arrays.copyOf(ends, capacity);
+        descriptionOffsets = Arrays.copyOf(descriptionOffsets, capacity);
+        descriptionLengths = Arrays.copyOf(descriptionLengths, capacity);
+        recurrences = Arrays.copyOf(recurrences, capacity);
+        doneBits = Arrays.copyOf(doneBits, Math.max(1, (capacity + 63) >>> 6));
+        compactArena();
+    }
+
+    /**
+     * Materializes every stored task, e.g. for {@link Storage#save}.
+     *
+     * @return tasks in order
+     */
+    public List<Task> toTasks() {
+        List<Task> tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            tasks.add(materialize(i));
+        }
+        return tasks;
+    }
+
+    private boolean isOnDay(int i, long targetDay) {
+        switch (types[i]) {
+            case TYPE_DEADLINE:
+                return Math.floorDiv(starts[i], SECONDS_PER_DAY) == targetDay;
+            case TYPE_EVENT:
+                return Math.floorDiv(starts[i], SECONDS_PER_DAY) <= targetDay
+                        && Math.floorDiv(ends[i], SECONDS_PER_DAY) >= targetDay;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Case-insensitive substring test against the arena. {@code key} must already be lower case.
+     */
+    private boolean descriptionContains(int i, String key) {
+        int start = descriptionOffsets[i];
+        int last = start + descriptionLengths[i] - key.length();
+        for (int from = start; from <= last; from++) {
+            int k = 0;
+            while (k < key.length() && Character.toLowerCase(arena[from + k]) == key.charAt(k)) {
+                k++;
+            }
+            if (k == key.length()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Task materialize(int i) {
+        String description = new String(arena, descriptionOffsets[i], descriptionLengths[i]);
+        Priority priority = PRIORITIES[priorities[i]];
+        Task task;
+        switch (types[i]) {
+            case TYPE_TODO:
+                task = new Todo(description, priority);
+                break;
+            case TYPE_DEADLINE:
+                task = new Deadline(description, fromEpochSecond(starts[i]), priority);
+                break;
+            case TYPE_EVENT:
+                task = new Event(description, fromEpochSecond(starts[i]), fromEpochSecond(ends[i]), priority);
+                break;
+            default:
+                task = new Task(description, priority);
+        }
+        task.setRecurrence(recurrences[i]);
+        if (isDone(i)) {
+            task.mark();
+        }
+        return task;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new VinceException(
+                    "Task index " + (index + 1) + " is out of range! You have " + size + " tasks.");
+        }
+    }
+
+    private boolean isDone(int i) {
+        return (doneBits[i >>> 6] & (1L << i)) != 0;
+    }
+
+    private void setDone(int i, boolean isDone) {
+        if (isDone) {
+            doneBits[i >>> 6] |= 1L << i;
+        } else {
+            doneBits[i >>> 6] &= ~(1L << i);
+        }
+    }
+
+    private void appendDescription(int i, String description) {
+        int length = description.length();
+        if (arenaUsed + length > arena.length) {
+            arena = Arrays.copyOf(arena, Math.max(arena.length * 2, arenaUsed + length));
+        }
+        description.getChars(0, length, arena, arenaUsed);
+        descriptionOffsets[i] = arenaUsed;
+        descriptionLengths[i] = length;
+        arenaUsed += length;
+    }
+
+    /**
+     * Rewrites the arena so it only holds descriptions of live tasks, in order.
+     */
+    private void compactArena() {
+        char[] compacted = new char[Math.max(INITIAL_CAPACITY, arenaUsed - arenaGarbage)];
+        int used = 0;
+        for (int i = 0; i < size; i++) {
+            System.arraycopy(arena, descriptionOffsets[i], compacted, used, descriptionLengths[i]);
+            descriptionOffsets[i] = used;
+            used += descriptionLengths[i];
+        }
+        arena = compacted;
+        arenaUsed = used;
+        arenaGarbage = 0;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > types.length) {
+            int capacity = Math.max(required, types.length * 2);
+            types = Arrays.copyOf(types, capacity);
+            priorities = Arrays.copyOf(priorities, capacity);
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            descriptionOffsets = Arrays.copyOf(descriptionOffsets, capacity);
+            descriptionLengths = Arrays.copyOf(descriptionLengths, capacity);
+            recurrences = Arrays.copyOf(recurrences, capacity);
+        }
+        int words = (required + 63) >>> 6;
+        if (words > doneBits.length) {
+            doneBits = Arrays.copyOf(doneBits, Math.max(words, doneBits.length * 2));
+        }
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        if (dateTime.getNano() != 0) {
+            throw new VinceException("Times are stored to the second, but " + dateTime + " has a fraction of one!");
+        }
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime fromEpochSecond(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,20 @@
+package vince.storage;
+
+import java.util.List;
+import vince.task.Task;
+
+/**
+ * Receives the tasks of a data file as {@link Storage} parses it, one chunk
+ * at a time and in file order.
+ */
+@FunctionalInterface
+public interface LoadListener {
+    /**
+     * Called on the loading thread for each chunk of the file.
+     *
+     * @param chunk the tasks parsed from the next part of the file
+     * @param bytesRead bytes of the file consumed so far, this chunk included
+     * @param totalBytes size of the file
+     */
+    void chunkLoaded(List<Task> chunk, long bytesRead, long totalBytes);
+}
@@ -0,0 +1,526 @@
+package vince.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import vince.task.Deadline;
+import vince.task.Event;
+import vince.task.Priority;
+import vince.task.Recurrence;
+import vince.task.Task;
+import vince.task.Todo;
+import vince.util.DateTimeParser;
+import vince.exception.VinceException;
+
+/**
+ * Task store that keeps every record outside the Java heap, in a direct
+ * {@link ByteBuffer} or, when opened on a file, a memory-mapped one that
+ * doubles as persistence. Heap use stays roughly constant however many tasks
+ * are stored; {@link Task} objects are only created when a result is rendered.
+ * <p>
+ * Experimental: this is a standalone store, not a backing for {@link TaskList},
+ * whose undo history, query index and change notifications all rely on
+ * stable {@link Task} objects.
+ * <p>
+ * Records are appended to an arena and never move, except through
+ * {@link #compact()}. Deleting a task only sets a tombstone flag on its record
+ * and removes it from the off-heap position index, so the order of live records
+ * in the arena is always the task order. Once tombstones take up more than
+ * half of the arena, a delete compacts it, so churn cannot grow the arena
+ * without bound. Record layout:
+ * <pre>
+ * type:1 | flags:1 | priority:1 | reserved:1 | start:8 | end:8 | length:4 | description:UTF-8
+ *     [ | recurrence length:4 | recurrence:UTF-8 ]   (only if flags has RECURRING)
+ * </pre>
+ * The recurrence, with its exceptions and completed occurrences, is kept in
+ * the form {@link Storage} writes it in. Times are kept to the second; a task
+ * with a sub-second time is rejected rather than silently rounded.
+ * Indices are 0-based. The arena is limited to 2 GB. Not thread-safe; callers
+ * must synchronize externally.
+ */
+public class OffHeapTaskStore implements Closeable {
+    private static final int MAGIC = 0x56494E43;
+    // Version 2 added recurrences; version 1 arenas are read as is and upgraded.
+    private static final int FORMAT_VERSION = 2;
+    // magic:4 | version:4 | used bytes:4 | reserved:4
+    private static final int FILE_HEADER_BYTES = 16;
+    private static final int USED_BYTES_OFFSET = 8;
+
+    private static final int TYPE_OFFSET = 0;
+    private static final int FLAGS_OFFSET = 1;
+    private static final int PRIORITY_OFFSET = 2;
+    private static final int START_OFFSET = 4;
+    private static final int END_OFFSET = 12;
+    private static final int LENGTH_OFFSET = 20;
+    private static final int RECORD_HEADER_BYTES = 24;
+
+    private static final byte TYPE_TASK = 0;
+    private static final byte TYPE_TODO = 1;
+    private static final byte TYPE_DEADLINE = 2;
+    private static final byte TYPE_EVENT = 3;
+    private static final byte FLAG_DONE = 1;
+    private static final byte FLAG_DELETED = 2;
+    private static final byte FLAG_RECURRING = 4;
+
+    private static final Priority[] PRIORITIES = Priority.values();
+    private static final long SECONDS_PER_DAY = 86_400L;
+    private static final int DEFAULT_CAPACITY = 64 * 1024;
+
+    private final FileChannel channel;
+    private ByteBuffer records;
+    // Arena offset of every live record, in task order, as 4-byte ints.
+    private ByteBuffer index;
+    private int size;
+    private int used;
+    // Bytes of the arena taken up by tombstoned records.
+    private int garbage;
+
+    private OffHeapTaskStore(FileChannel channel, ByteBuffer records) {
+        this.channel = channel;
+        this.records = records;
+        this.index = ByteBuffer.allocateDirect(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty store backed by a direct buffer.
+     *
+     * @return a new in-memory off-heap store
+     */
+    public static OffHeapTaskStore inMemory() {
+        OffHeapTaskStore store = new OffHeapTaskStore(null, ByteBuffer.allocateDirect(DEFAULT_CAPACITY));
+        store.initializeHeader();
+        return store;
+    }
+
+    /**
+     * Opens (or creates) a store mapped onto the given file. Records written to
+     * the store are persisted to that file.
+     *
+     * @param file the backing file
+     * @return a store holding any tasks already in the file
+     * @throws VinceException if the file cannot be opened or is not a task arena
+     */
+    public static OffHeapTaskStore open(Path file) {
+        try {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            boolean isNew = channel.size() == 0;
+            long capacity = Math.max(channel.size(), DEFAULT_CAPACITY);
+            OffHeapTaskStore store = new OffHeapTaskStore(channel,
+                    channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity));
+            if (isNew) {
+                store.initializeHeader();
+            } else {
+                store.readHeader();
+                store.rebuildIndex();
+            }
+            return store;
+        } catch (IOException e) {
+            throw new VinceException("Failed to open task arena " + file + "!");
+        }
+    }
+
+    /**
+     * Returns the number of live tasks.
+     *
+     * @return task count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Appends a task. Only its fields are written; the object itself is not retained.
+     *
+     * @param task the task to store
+     * @throws VinceException if one of its times has a fraction of a second
+     */
+    public void add(Task task) {
+        byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+        byte[] recurrence = task.isRecurring()
+                ? task.getRecurrence().toStorageString().getBytes(StandardCharsets.UTF_8)
+                : null;
+        int length = RECORD_HEADER_BYTES + description.length
+                + (recurrence != null ? Integer.BYTES + recurrence.length : 0);
+        ensureArenaCapacity(length);
+        int offset = used;
+
+        byte type = TYPE_TASK;
+        long start = 0;
+        long end = 0;
+        if (task instanceof Deadline) {
+            type = TYPE_DEADLINE;
+            start = toEpochSecond(((Deadline) task).getBy());
+        } else if (task instanceof Event) {
+            Event event = (Event) task;
+            type = TYPE_EVENT;
+            start = toEpochSecond(event.getFrom());
+            end = toEpochSecond(event.getTo());
+        } else if (task instanceof Todo) {
+            type = TYPE_TODO;
+        }
+
+        records.put(offset + TYPE_OFFSET, type);
+        records.put(offset + FLAGS_OFFSET,
+                (byte) ((task.isDone() ? FLAG_DONE : 0) | (recurrence != null ? FLAG_RECURRING : 0)));
+        records.put(offset + PRIORITY_OFFSET, (byte) task.getPriority().ordinal());
+        records.putLong(offset + START_OFFSET, start);
+        records.putLong(offset + END_OFFSET, end);
+        records.putInt(offset + LENGTH_OFFSET, description.length);
+        records.put(offset + RECORD_HEADER_BYTES, description);
+        if (recurrence != null) {
+            int recurrenceOffset = offset + RECORD_HEADER_BYTES + description.length;
+            records.putInt(recurrenceOffset, recurrence.length);
+            records.put(recurrenceOffset + Integer.BYTES, recurrence);
+        }
+
+        used += length;
+        records.putInt(USED_BYTES_OFFSET, used);
+        ensureIndexCapacity(size + 1);
+        index.putInt(size * Integer.BYTES, offset);
+        size++;
+    }
+
+    /**
+     * Materializes the task at the given position.
+     *
+     * @param position 0-based position
+     * @return a new Task view of the stored record
+     * @throws VinceException if position is out of bounds
+     */
+    public Task get(int position) {
+        return materialize(recordAt(position));
+    }
+
+    /**
+     * Marks the task at the given position as done, updating its record in place.
+     *
+     * @param position 0-based position
+     * @throws VinceException if position is out of bounds
+     */
+    public void mark(int position) {
+        int offset = recordAt(position);
+        records.put(offset + FLAGS_OFFSET, (byte) (records.get(offset + FLAGS_OFFSET) | FLAG_DONE));
+    }
+
+    /**
+     * Marks the task at the given position as not done, updating its record in place.
+     *
+     * @param position 0-based position
+     * @throws VinceException if position is out of bounds
+     */
+    public void unmark(int position) {
+        int offset = recordAt(position);
+        records.put(offset + FLAGS_OFFSET, (byte) (records.get(offset + FLAGS_OFFSET) & ~FLAG_DONE));
+    }
+
+    /**
+     * Deletes the task at the given position by tombstoning its record.
+     * Its space is reclaimed by {@link #compact()}, which runs here once
+     * tombstones take up more than half of the arena.
+     *
+     * @param position 0-based position
+     * @return a materialized view of the removed task
+     * @throws VinceException if position is out of bounds
+     */
+    public Task delete(int position) {
+        int offset = recordAt(position);
+        Task removed = materialize(offset);
+        records.put(offset + FLAGS_OFFSET, (byte) (records.get(offset + FLAGS_OFFSET) | FLAG_DELETED));
+        int from = (position + 1) * Integer.BYTES;
+        index.put(position * Integer.BYTES, index, from, (size - position - 1) * Integer.BYTES);
+        size--;
+        garbage += recordLength(offset);
+        if (garbage > (used - FILE_HEADER_BYTES) / 2) {
+            compact();
+        }
+        return removed;
+    }
+
+    /**
+     * Builds numbered lines for all tasks.
+     *
+     * @return list of lines ready for display
+     */
+    public List<String> list() {
+        List<String> lines = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            lines.add((i + 1) + ". " + materialize(index.getInt(i * Integer.BYTES)));
+        }
+        return lines;
+    }
+
+    /**
+     * Builds numbered lines for tasks whose description contains the keyword,
+     * ignoring case. ASCII descriptions are matched directly in the arena; only
+     * matching tasks are materialized.
+     *
+     * @param keyword search keyword
+     * @return matching task lines
+     */
+    public List<String> findTasks(String keyword) {
+        String key = keyword == null ? "" : keyword.trim().toLowerCase();
+        List<String> lines = new ArrayList<>();
+        if (key.isEmpty()) {
+            return lines;
+        }
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < size; i++) {
+            int offset = index.getInt(i * Integer.BYTES);
+            if (descriptionContains(offset, key, keyBytes)) {
+                lines.add((i + 1) + ". " + materialize(offset));
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Builds numbered lines for tasks that occur on the given date, comparing
+     * epoch days straight from the arena. Only recurring tasks are
+     * materialized to find their occurrence on that date.
+     *
+     * @param dateStr date string accepted by {@link DateTimeParser}
+     * @return lines for tasks matching that date
+     * @throws VinceException if the date string is invalid
+     */
+    public List<String> tasksOnDateLines(String dateStr) throws VinceException {
+        LocalDate targetDate = DateTimeParser.parseDateTime(dateStr).toLocalDate();
+        long targetDay = targetDate.toEpochDay();
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            int offset = index.getInt(i * Integer.BYTES);
+            if (isRecurring(offset)) {
+                Task occurrence = materialize(offset).occurrenceOn(targetDate);
+                if (occurrence != null) {
+                    lines.add((i + 1) + ". " + occurrence);
+                }
+            } else if (isOnDay(offset, targetDay)) {
+                lines.add((i + 1) + ". " + materialize(offset));
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Slides all live records to the front of the arena, dropping tombstones.
+     */
+    public void compact() {
+        int write = FILE_HEADER_BYTES;
+        for (int i = 0; i < size; i++) {
+            int offset = index.getInt(i * Integer.BYTES);
+            int length = recordLength(offset);
+            if (offset != write) {
+                records.put(write, records, offset, length);
+            }
+            index.putInt(i * Integer.BYTES, write);
+            write += length;
+        }
+        used = write;
+        garbage = 0;
+        records.putInt(USED_BYTES_OFFSET, used);
+    }
+
+    /**
+     * Flushes a file-backed arena to disk and releases the file.
+     */
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            ((MappedByteBuffer) records).force();
+            channel.close();
+        }
+    }
+
+    private void initializeHeader() {
+        records.putInt(0, MAGIC);
+        records.putInt(4, FORMAT_VERSION);
+        used = FILE_HEADER_BYTES;
+        records.putInt(USED_BYTES_OFFSET, used);
+    }
+
+    private void readHeader() {
+        int version = records.getInt(4);
+        if (records.getInt(0) != MAGIC || version < 1 || version > FORMAT_VERSION) {
+            throw new VinceException("File is not a Vince task arena!");
+        }
+        // Older records never set FLAG_RECURRING, so they read the same in the current format.
+        records.putInt(4, FORMAT_VERSION);
+        used = records.getInt(USED_BYTES_OFFSET);
+    }
+
+    /**
+     * Recreates the position index from the arena, skipping tombstoned records.
+     */
+    private void rebuildIndex() {
+        size = 0;
+        garbage = 0;
+        for (int offset = FILE_HEADER_BYTES; offset < used; offset += recordLength(offset)) {
+            if ((records.get(offset + FLAGS_OFFSET) & FLAG_DELETED) == 0) {
+                ensureIndexCapacity(size + 1);
+                index.putInt(size * Integer.BYTES, offset);
+                size++;
+            } else {
+                garbage += recordLength(offset);
+            }
+        }
+    }
+
+    private int recordAt(int position) {
+        if (position < 0 || position >= size) {
+            throw new VinceException(
+                    "Task index " + (position + 1) + " is out of range! You have " + size + " tasks.");
+        }
+        return index.getInt(position * Integer.BYTES);
+    }
+
+    private int recordLength(int offset) {
+        int length = RECORD_HEADER_BYTES + records.getInt(offset + LENGTH_OFFSET);
+        if (isRecurring(offset)) {
+            length += Integer.BYTES + records.getInt(offset + length);
+        }
+        return length;
+    }
+
+    private boolean isRecurring(int offset) {
+        return (records.get(offset + FLAGS_OFFSET) & FLAG_RECURRING) != 0;
+    }
+
+    private Recurrence readRecurrence(int offset) {
+        int recurrenceOffset = offset + RECORD_HEADER_BYTES + records.getInt(offset + LENGTH_OFFSET);
+        byte[] bytes = new byte[records.getInt(recurrenceOffset)];
+        records.get(recurrenceOffset + Integer.BYTES, bytes);
+        return Recurrence.fromStorageString(new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    private boolean isOnDay(int offset, long targetDay) {
+        long startDay = Math.floorDiv(records.getLong(offset + START_OFFSET), SECONDS_PER_DAY);
+        switch (records.get(offset + TYPE_OFFSET)) {
+            case TYPE_DEADLINE:
+                return startDay == targetDay;
+            case TYPE_EVENT:
+                return startDay <= targetDay
+                        && Math.floorDiv(records.getLong(offset + END_OFFSET), SECONDS_PER_DAY) >= targetDay;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Case-insensitive substring test. ASCII text is compared byte by byte in
+     * the arena; anything else falls back to decoding the description.
+     */
+    private boolean descriptionContains(int offset, String key, byte[] keyBytes) {
+        int start = offset + RECORD_HEADER_BYTES;
+        int length = records.getInt(offset + LENGTH_OFFSET);
+        for (int i = 0; i < length; i++) {
+            if (records.get(start + i) < 0) {
+                return readDescription(offset).toLowerCase().contains(key);
+            }
+        }
+        for (byte b : keyBytes) {
+            if (b < 0) {
+                return readDescription(offset).toLowerCase().contains(key);
+            }
+        }
+        for (int from = 0; from <= length - keyBytes.length; from++) {
+            int k = 0;
+            while (k < keyBytes.length && toLowerAscii(records.get(start + from + k)) == keyBytes[k]) {
+                k++;
+            }
+            if (k == keyBytes.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String readDescription(int offset) {
+        byte[] bytes = new byte[records.getInt(offset + LENGTH_OFFSET)];
+        records.get(offset + RECORD_HEADER_BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private Task materialize(int offset) {
+        String description = readDescription(offset);
+        long start = records.getLong(offset + START_OFFSET);
+        Priority priority = PRIORITIES[records.get(offset + PRIORITY_OFFSET)];
+        Task task;
+        switch (records.get(offset + TYPE_OFFSET)) {
+            case TYPE_TODO:
+                task = new Todo(description, priority);
+                break;
+            case TYPE_DEADLINE:
+                task = new Deadline(description, fromEpochSecond(start), priority);
+                break;
+            case TYPE_EVENT:
+                task = new Event(description, fromEpochSecond(start),
+                        fromEpochSecond(records.getLong(offset + END_OFFSET)), priority);
+                break;
+            default:
+                task = new Task(description, priority);
+        }
+        if (isRecurring(offset)) {
+            task.setRecurrence(readRecurrence(offset));
+        }
+        if ((records.get(offset + FLAGS_OFFSET) & FLAG_DONE) != 0) {
+            task.mark();
+        }
+        return task;
+    }
+
+    private void ensureArenaCapacity(int extra) {
+        long required = (long) used + extra;
+        if (required > Integer.MAX_VALUE) {
+            throw new VinceException("Task arena is full!");
+        }
+        if (required <= records.capacity()) {
+            return;
+        }
+        int capacity = (int) Math.min(Integer.MAX_VALUE, Math.max(required, (long) records.capacity() * 2));
+        if (channel != null) {
+            try {
+                records = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            } catch (IOException e) {
+                throw new VinceException("Failed to grow task arena!");
+            }
+        } else {
+            ByteBuffer grown = ByteBuffer.allocateDirect(capacity);
+            grown.put(0, records, 0, used);
+            records = grown;
+        }
+    }
+
+    private void ensureIndexCapacity(int entries) {
+        if ((long) entries * Integer.BYTES <= index.capacity()) {
+            return;
+        }
+        ByteBuffer grown = ByteBuffer.allocateDirect(Math.max(entries * Integer.BYTES, index.capacity() * 2));
+        grown.put(0, index, 0, size * Integer.BYTES);
+        index = grown;
+    }
+
+    private static byte toLowerAscii(byte b) {
+        return b >= 'A' && b <= 'Z' ? (byte) (b + ('a' - 'A')) : b;
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        if (dateTime.getNano() != 0) {
+            throw new VinceException("Times are stored to the second, but " + dateTime + " has a fraction of one!");
+        }
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime fromEpochSecond(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+}
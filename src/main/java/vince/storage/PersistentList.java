@@ -0,0 +1,263 @@
+package vince.storage;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * Immutable list in which every update returns a new version in O(log n),
+ * sharing all untouched structure with the version it was derived from.
+ * Old versions stay valid and unchanged, so keeping a history of versions
+ * costs O(log n) memory per update rather than a copy of the list.
+ * <p>
+ * The list is a treap keyed implicitly by position: each node knows the size
+ * of its subtree, and random heap priorities keep the expected depth
+ * logarithmic. Indexed access is O(log n), and iterating is O(n) in total,
+ * so a scan in order should iterate. A list kept sorted by a key can find an
+ * element's position by that key in O(log n) with {@link #indexOfKey}. For
+ * repeated random access, such as a
+ * scan split by index, {@link #flatView()} gives an array-backed copy built
+ * once per version.
+ *
+ * @param <E> element type
+ */
+public class PersistentList<E> extends AbstractList<E> {
+    // Nodes of a bulk-built list get priorities above every random priority,
+    // decreasing with depth, so the balanced shape is kept as a valid treap.
+    private static final int BUILT_PRIORITY_FLOOR = Integer.MAX_VALUE - 64;
+    private static final PersistentList<?> EMPTY = new PersistentList<>(null);
+
+    private final Node<E> root;
+    private volatile List<E> flat;
+
+    private PersistentList(Node<E> root) {
+        this.root = root;
+    }
+
+    /**
+     * Returns the empty list.
+     *
+     * @return empty list
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentList<E> empty() {
+        return (PersistentList<E>) EMPTY;
+    }
+
+    /**
+     * Builds a balanced list holding the given elements in O(n).
+     *
+     * @param elements elements in order
+     * @return a new list
+     */
+    public static <E> PersistentList<E> of(List<E> elements) {
+        Object[] array = elements.toArray();
+        return new PersistentList<>(build(array, 0, array.length, 0));
+    }
+
+    @Override
+    public int size() {
+        return size(root);
+    }
+
+    @Override
+    public E get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size());
+        }
+        Node<E> node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node.value;
+            }
+        }
+    }
+
+    /**
+     * Finds the position of an element by a key the list is sorted by,
+     * ascending and without duplicates, in one O(log n) descent of the tree.
+     *
+     * @param key the sort key of an element
+     * @param target the key to look for
+     * @return 0-based position of the element with that key, or -1 if there is none
+     */
+    public int indexOfKey(ToLongFunction<? super E> key, long target) {
+        int offset = 0;
+        Node<E> node = root;
+        while (node != null) {
+            long nodeKey = key.applyAsLong(node.value);
+            if (target < nodeKey) {
+                node = node.left;
+            } else if (target > nodeKey) {
+                offset += size(node.left) + 1;
+                node = node.right;
+            } else {
+                return offset + size(node.left);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns a new version with the element added at the end.
+     *
+     * @param element element to append
+     * @return the new version
+     */
+    public PersistentList<E> append(E element) {
+        Node<E> leaf = new Node<>(element, null, null, ThreadLocalRandom.current().nextInt(BUILT_PRIORITY_FLOOR));
+        return new PersistentList<>(merge(root, leaf));
+    }
+
+    /**
+     * Returns a new version without the element at the given position.
+     *
+     * @param index 0-based position
+     * @return the new version
+     */
+    public PersistentList<E> removeAt(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size());
+        }
+        return new PersistentList<>(remove(root, index));
+    }
+
+    /**
+     * Returns an unmodifiable, array-backed copy of this version for fast
+     * random access. It is built on first use and cached, so the first
+     * call after every update costs an O(n) copy; iterate instead when
+     * the elements are only needed in order.
+     *
+     * @return flat copy of the list
+     */
+    public List<E> flatView() {
+        List<E> view = flat;
+        if (view == null) {
+            // Racing threads may both build it; the copies are identical.
+            @SuppressWarnings("unchecked")
+            E[] array = (E[]) toArray();
+            view = Collections.unmodifiableList(Arrays.asList(array));
+            flat = view;
+        }
+        return view;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        Deque<Node<E>> path = new ArrayDeque<>();
+        for (Node<E> node = root; node != null; node = node.left) {
+            path.push(node);
+        }
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !path.isEmpty();
+            }
+
+            @Override
+            public E next() {
+                if (path.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                Node<E> current = path.pop();
+                for (Node<E> node = current.right; node != null; node = node.left) {
+                    path.push(node);
+                }
+                return current.value;
+            }
+        };
+    }
+
+    /**
+     * Visits every element in order, walking the tree directly, which is
+     * cheaper than the iterator.
+     *
+     * @param action action applied to each element
+     */
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        forEach(root, action);
+    }
+
+    private static <E> void forEach(Node<E> node, Consumer<? super E> action) {
+        while (node != null) {
+            forEach(node.left, action);
+            action.accept(node.value);
+            node = node.right;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> Node<E> build(Object[] array, int from, int to, int depth) {
+        if (from >= to) {
+            return null;
+        }
+        int mid = (from + to) >>> 1;
+        return new Node<>((E) array[mid], build(array, from, mid, depth + 1), build(array, mid + 1, to, depth + 1),
+                Integer.MAX_VALUE - depth);
+    }
+
+    private static <E> Node<E> remove(Node<E> node, int index) {
+        int leftSize = size(node.left);
+        if (index < leftSize) {
+            return new Node<>(node.value, remove(node.left, index), node.right, node.priority);
+        }
+        if (index > leftSize) {
+            return new Node<>(node.value, node.left, remove(node.right, index - leftSize - 1), node.priority);
+        }
+        return merge(node.left, node.right);
+    }
+
+    /**
+     * Concatenates two treaps, copying only the nodes along the seam.
+     */
+    private static <E> Node<E> merge(Node<E> left, Node<E> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority >= right.priority) {
+            return new Node<>(left.value, left.left, merge(left.right, right), left.priority);
+        }
+        return new Node<>(right.value, merge(left, right.left), right.right, right.priority);
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * Immutable tree node.
+     */
+    private static class Node<E> {
+        private final E value;
+        private final Node<E> left;
+        private final Node<E> right;
+        private final int priority;
+        private final int size;
+
+        Node(E value, Node<E> left, Node<E> right, int priority) {
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            this.priority = priority;
+            this.size = 1 + size(left) + size(right);
+        }
+    }
+}
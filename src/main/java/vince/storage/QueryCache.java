@@ -0,0 +1,186 @@
+package vince.storage;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import vince.metrics.MetricsRegistry;
+
+/**
+ * A bounded, least-recently-used cache of query results, keyed by the kind of
+ * query, its normalized argument and the version of the list it was computed
+ * from. A list bumps its version on every mutation, so an entry is never
+ * served for a list it was not computed from; entries of older versions are
+ * dropped as soon as a newer version is seen. An entry whose argument is
+ * relative to today, such as {@code schedule today}, also expires at midnight.
+ * <p>
+ * Hits, misses and evictions are counted under {@code cache.hits},
+ * {@code cache.misses} and {@code cache.evictions} in
+ * {@link MetricsRegistry#global()}, so the capacity can be sized from them.
+ */
+public class QueryCache {
+    /** Capacity of a task list's cache unless changed. */
+    public static final int DEFAULT_CAPACITY = 64;
+
+    /**
+     * The queries that are cached.
+     */
+    public enum Kind {
+        LIST,
+        FIND,
+        ON,
+        SCHEDULE
+    }
+
+    private static final LongAdder HITS = MetricsRegistry.global().counter("cache.hits");
+    private static final LongAdder MISSES = MetricsRegistry.global().counter("cache.misses");
+    private static final LongAdder EVICTIONS = MetricsRegistry.global().counter("cache.evictions");
+
+    private final Clock clock;
+    // Guarded by this; in access order, so the eldest entry is the least recently used.
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+            if (size() > capacity) {
+                EVICTIONS.increment();
+                return true;
+            }
+            return false;
+        }
+    };
+    private int capacity;
+    private long currentVersion;
+
+    /**
+     * Creates a cache on the given clock, e.g. a fixed one in tests.
+     *
+     * @param capacity maximum number of results kept; 0 disables caching
+     * @param clock clock that decides when date-relative entries expire
+     */
+    public QueryCache(int capacity, Clock clock) {
+        this.capacity = capacity;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the cached result of a query, computing and caching it on a
+     * miss. The computation runs without holding the cache's lock, so
+     * concurrent misses may compute the same result twice.
+     *
+     * @param kind kind of query
+     * @param argument the query's argument, normalized by the caller
+     * @param version version of the list, read before the list itself
+     * @param dateRelative whether the result depends on today's date
+     * @param compute computes the result, which is copied once into an immutable list
+     * @return the result, immutable, so {@link List#copyOf} hands it back without copying
+     */
+    public List<String> get(Kind kind, String argument, long version, boolean dateRelative,
+            Supplier<List<String>> compute) {
+        Key key = new Key(kind, argument, version);
+        LocalDate today = dateRelative ? LocalDate.now(clock) : null;
+        synchronized (this) {
+            retireOlderThan(version);
+            Entry entry = entries.get(key);
+            if (entry != null && (entry.validOn == null || entry.validOn.equals(today))) {
+                HITS.increment();
+                return entry.result;
+            }
+            if (entry != null) {
+                entries.remove(key);
+            }
+        }
+        MISSES.increment();
+        List<String> result = List.copyOf(compute.get());
+        synchronized (this) {
+            retireOlderThan(version);
+            if (version == currentVersion && capacity > 0) {
+                entries.put(key, new Entry(result, today));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Drops every entry once a newer version of the list is seen.
+     * Must be called while holding this cache's lock.
+     */
+    private void retireOlderThan(long version) {
+        if (version > currentVersion) {
+            entries.clear();
+            currentVersion = version;
+        }
+    }
+
+    /**
+     * Changes the capacity, evicting the least recently used entries beyond it.
+     *
+     * @param capacity maximum number of results kept; 0 disables caching
+     */
+    public synchronized void setCapacity(int capacity) {
+        this.capacity = capacity;
+        var eldest = entries.entrySet().iterator();
+        while (entries.size() > capacity && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+            EVICTIONS.increment();
+        }
+    }
+
+    /**
+     * Drops every entry, e.g. after a change that affects results without
+     * changing the list.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Returns the number of results currently cached.
+     *
+     * @return cached result count
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static final class Key {
+        private final Kind kind;
+        private final String argument;
+        private final long version;
+
+        Key(Kind kind, String argument, long version) {
+            this.kind = kind;
+            this.argument = argument;
+            this.version = version;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return kind == key.kind && version == key.version && argument.equals(key.argument);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(kind, argument, version);
+        }
+    }
+
+    private static final class Entry {
+        private final List<String> result;
+        // The only day the result is valid on, or null if it does not depend on the date.
+        private final LocalDate validOn;
+
+        Entry(List<String> result, LocalDate validOn) {
+            this.result = result;
+            this.validOn = validOn;
+        }
+    }
+}
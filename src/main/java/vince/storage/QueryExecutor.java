@@ -0,0 +1,193 @@
+package vince.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Runs full-scan task queries, switching from sequential to parallel
+ * evaluation once the list is large enough for parallelism to pay off.
+ * Parallel scans run on a dedicated pool rather than the common pool and
+ * always preserve encounter order, so results (and their numbering) are
+ * identical in both modes.
+ * <p>
+ * The default threshold is calibrated once, on first use, by timing a pool
+ * round trip against the cost of matching one task. It can be pinned with
+ * the {@code vince.query.parallelThreshold} system property; values that are
+ * not a positive integer are ignored.
+ */
+public class QueryExecutor {
+    private static final String THRESHOLD_PROPERTY = "vince.query.parallelThreshold";
+    private static final int MIN_THRESHOLD = 10_000;
+    private static final int MAX_THRESHOLD = 1_000_000;
+    private static final int CALIBRATION_SAMPLES = 20_000;
+    private static volatile int calibrationSink;
+
+    private final int parallelThreshold;
+
+    /**
+     * Creates an executor that runs scans of at least {@code parallelThreshold}
+     * tasks in parallel.
+     *
+     * @param parallelThreshold list size from which scans go parallel;
+     *                          {@link Integer#MAX_VALUE} keeps every scan sequential
+     */
+    public QueryExecutor(int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Returns the shared executor using the calibrated threshold.
+     *
+     * @return adaptive executor
+     */
+    public static QueryExecutor adaptive() {
+        return Adaptive.INSTANCE;
+    }
+
+    /**
+     * Returns the list size from which scans run in parallel.
+     *
+     * @return parallel threshold
+     */
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * Maps every index in {@code [0, size)} accepted by {@code filter}, keeping index order.
+     *
+     * @param size number of elements to scan
+     * @param filter selects matching indices
+     * @param mapper builds the result for a matching index
+     * @return mutable list of results in ascending index order
+     */
+    public <R> List<R> filterMap(int size, IntPredicate filter, IntFunction<R> mapper) {
+        if (size < parallelThreshold) {
+            return scan(IntStream.range(0, size), filter, mapper);
+        }
+        // A parallel stream started from inside a pool's task runs on that pool.
+        return Pool.INSTANCE.submit(() -> scan(IntStream.range(0, size).parallel(), filter, mapper)).join();
+    }
+
+    /**
+     * Maps every element of a persistent list accepted by {@code filter},
+     * keeping list order. A sequential scan walks the tree in order with
+     * {@link PersistentList#forEach}, so it does not need the list's flat copy; a parallel scan splits by index
+     * and reads the {@link PersistentList#flatView()}, which costs one O(n)
+     * copy per version, shared by every later parallel scan of it.
+     *
+     * @param list elements to scan
+     * @param filter selects matching elements
+     * @param mapper builds the result for a matching element from its 0-based index
+     * @return mutable list of results in list order
+     */
+    public <T, R> List<R> filterMap(PersistentList<T> list, Predicate<? super T> filter,
+            IndexedFunction<? super T, R> mapper) {
+        int size = list.size();
+        if (size >= parallelThreshold) {
+            List<T> flat = list.flatView();
+            return filterMap(size, i -> filter.test(flat.get(i)), i -> mapper.apply(i, flat.get(i)));
+        }
+        List<R> results = new ArrayList<>();
+        int[] index = {0};
+        list.forEach(element -> {
+            if (filter.test(element)) {
+                results.add(mapper.apply(index[0], element));
+            }
+            index[0]++;
+        });
+        return results;
+    }
+
+    private static <R> List<R> scan(IntStream indices, IntPredicate filter, IntFunction<R> mapper) {
+        return indices.filter(filter).mapToObj(mapper).collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * Derives the parallel threshold from how long a pool round trip takes
+     * compared to matching a single task description.
+     */
+    private static int calibrateThreshold() {
+        Integer override = thresholdOverride(System.getProperty(THRESHOLD_PROPERTY));
+        if (override != null) {
+            return override;
+        }
+        int parallelism = Pool.INSTANCE.getParallelism();
+        if (parallelism < 2) {
+            return Integer.MAX_VALUE;
+        }
+
+        long dispatchNanos = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            long start = System.nanoTime();
+            Pool.INSTANCE.submit(() -> { }).join();
+            dispatchNanos = Math.min(dispatchNanos, System.nanoTime() - start);
+        }
+
+        String[] samples = {"Submit quarterly Report", "read book", "Team meeting with design", "buy groceries"};
+        int hits = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < CALIBRATION_SAMPLES; i++) {
+            if (samples[i % samples.length].toLowerCase().contains("report")) {
+                hits++;
+            }
+        }
+        long perTaskNanos = Math.max(1, (System.nanoTime() - start) / CALIBRATION_SAMPLES);
+        calibrationSink = hits;
+
+        // Go parallel once a scan costs several round trips for every worker.
+        long threshold = 4L * parallelism * dispatchNanos / perTaskNanos;
+        return (int) Math.max(MIN_THRESHOLD, Math.min(MAX_THRESHOLD, threshold));
+    }
+
+    /**
+     * Builds a result from an element and its 0-based position.
+     *
+     * @param <T> element type
+     * @param <R> result type
+     */
+    @FunctionalInterface
+    public interface IndexedFunction<T, R> {
+        /**
+         * Builds the result for one element.
+         *
+         * @param index 0-based position of the element
+         * @param element the element
+         * @return the result
+         */
+        R apply(int index, T element);
+    }
+
+    /**
+     * Parses a pinned threshold, returning null if it is absent, not a
+     * number or below 1, so a bad value falls back to calibration rather
+     * than failing the first query.
+     */
+    static Integer thresholdOverride(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            int threshold = Integer.parseInt(value.trim());
+            return threshold >= 1 ? threshold : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /** Lazily created pool dedicated to query scans. */
+    private static class Pool {
+        private static final ForkJoinPool INSTANCE = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    /** Lazily calibrated shared executor. */
+    private static class Adaptive {
+        private static final QueryExecutor INSTANCE = new QueryExecutor(calibrateThreshold());
+    }
+}
@@ -1,6 +1,8 @@
 package vince.storage;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -9,11 +11,17 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 import vince.task.Task;
 import vince.task.Todo;
 import vince.task.Deadline;
 import vince.task.Event;
+import vince.task.Recurrence;
 import vince.exception.VinceException;
+import vince.metrics.LatencyHistogram;
+import vince.metrics.MetricsRegistry;
+import vince.metrics.StorageEvent;
 
 /**
  * Handles persistence of tasks to disk and loading them back into memory.
@@ -21,6 +29,10 @@ import vince.exception.VinceException;
  */
 public class Storage {
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+    private static final LatencyHistogram LOAD_LATENCY = MetricsRegistry.global().histogram("storage.load");
+    private static final LatencyHistogram SAVE_LATENCY = MetricsRegistry.global().histogram("storage.save");
+    // About 20k tasks; each chunk is one progress step of a load.
+    private static final int PROGRESS_CHUNK_BYTES = 1024 * 1024;
 
     private final Path dataFile;
 
@@ -54,6 +66,25 @@ public class Storage {
      */
     public ArrayList<Task> load() {
         ArrayList<Task> tasks = new ArrayList<Task>();
+        load((chunk, bytesRead, totalBytes) -> tasks.addAll(chunk));
+        return tasks;
+    }
+
+    /**
+     * Loads tasks from disk, handing them to the listener in file order as
+     * each chunk of about {@link #PROGRESS_CHUNK_BYTES} is parsed. Chunks are
+     * parsed in parallel on the common {@link ForkJoinPool}, so later chunks
+     * are usually ready by the time the listener has taken an earlier one.
+     * Creates the directory/file if they don't exist; lines that cannot be
+     * parsed are skipped.
+     * @param listener receives each chunk on the calling thread
+     */
+    public void load(LoadListener listener) {
+        StorageEvent event = new StorageEvent();
+        event.begin();
+        long start = System.nanoTime();
+        long bytes = 0;
+        int taskCount = 0;
         try {
             Path dataDir = dataFile.getParent();
             if (!Files.exists(dataDir)) {
@@ -61,91 +92,241 @@ public class Storage {
             }
             if (!Files.exists(dataFile)) {
                 Files.createFile(dataFile);
-                return tasks;
+                return;
             }
-            List<String> lines = Files.readAllLines(dataFile, StandardCharsets.UTF_8);
-            for (String line : lines) {
-                if (line == null || line.trim().isEmpty()) {
-                    continue;
+            byte[] contents = Files.readAllBytes(dataFile);
+            bytes = contents.length;
+            List<ChunkParser> chunks = new ArrayList<ChunkParser>();
+            int from = 0;
+            while (from < contents.length) {
+                int to = Math.min(from + PROGRESS_CHUNK_BYTES, contents.length);
+                while (to < contents.length && contents[to - 1] != '\n') {
+                    to++;
                 }
-                try {
-                    String[] parts = line.split("\\|", -1);
-                    if (parts.length < 3) {
-                        continue;
+                ChunkParser chunk = new ChunkParser(contents, from, to);
+                chunk.fork();
+                chunks.add(chunk);
+                from = to;
+            }
+            for (ChunkParser chunk : chunks) {
+                ArrayList<Task> tasks = chunk.join();
+                taskCount += tasks.size();
+                listener.chunkLoaded(tasks, chunk.to, contents.length);
+            }
+        } catch (IOException ioException) {
+            throw new VinceException("Failed to load data from disk!");
+        } finally {
+            LOAD_LATENCY.record(System.nanoTime() - start);
+            commitEvent(event, "load", bytes, taskCount);
+        }
+    }
+
+    /**
+     * Emits a {@link StorageEvent} if Flight Recorder wants it. Costs one
+     * check of a static flag when recording is off.
+     */
+    private void commitEvent(StorageEvent event, String operation, long bytes, int taskCount) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.path = dataFile.toString();
+            event.bytes = bytes;
+            event.taskCount = taskCount;
+            event.commit();
+        }
+    }
+
+    /**
+     * Parses one line of the data file.
+     * @param line a pipe-delimited task line
+     * @return the task, or null if the line is blank or cannot be parsed
+     */
+    private static Task parseLine(String line) {
+        if (line == null || line.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            String[] parts = line.split("\\|", -1);
+            if (parts.length < 3) {
+                return null;
+            }
+            String type = parts[0].trim();
+            String doneStr = parts[1].trim();
+            String description = parts[2].trim();
+            boolean isDone = doneStr.equals("1");
+
+            Task task;
+            switch (type) {
+                case "T":
+                    task = new Todo(description);
+                    break;
+                case "D":
+                    if (parts.length < 4) {
+                        return null;
                     }
-                    String type = parts[0].trim();
-                    String doneStr = parts[1].trim();
-                    String description = parts[2].trim();
-                    boolean isDone = doneStr.equals("1");
-
-                    Task task;
-                    switch (type) {
-                        case "T":
-                            task = new Todo(description);
-                            break;
-                        case "D":
-                            if (parts.length < 4) {
-                                continue;
-                            }
-                            LocalDateTime by = LocalDateTime.parse(parts[3].trim(), DATE_TIME_FORMATTER);
-                            task = new Deadline(description, by);
-                            break;
-                        case "E":
-                            if (parts.length < 5) {
-                                continue;
-                            }
-                            LocalDateTime from = LocalDateTime.parse(parts[3].trim(), DATE_TIME_FORMATTER);
-                            LocalDateTime to = LocalDateTime.parse(parts[4].trim(), DATE_TIME_FORMATTER);
-                            task = new Event(description, from, to);
-                            break;
-                        default:
-                            task = new Task(description);
+                    LocalDateTime by = LocalDateTime.parse(parts[3].trim(), DATE_TIME_FORMATTER);
+                    task = new Deadline(description, by);
+                    if (parts.length > 4) {
+                        task.setRecurrence(Recurrence.fromStorageString(parts[4]));
                     }
-                    if (isDone) {
-                        task.mark();
+                    break;
+                case "E":
+                    if (parts.length < 5) {
+                        return null;
                     }
-                    tasks.add(task);
-                } catch (Exception e) {
-                    continue;
+                    LocalDateTime from = LocalDateTime.parse(parts[3].trim(), DATE_TIME_FORMATTER);
+                    LocalDateTime to = LocalDateTime.parse(parts[4].trim(), DATE_TIME_FORMATTER);
+                    task = new Event(description, from, to);
+                    if (parts.length > 5) {
+                        task.setRecurrence(Recurrence.fromStorageString(parts[5]));
+                    }
+                    break;
+                default:
+                    task = new Task(description);
+            }
+            if (isDone) {
+                task.mark();
+            }
+            return task;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Fork/join task that parses a byte range of the data file.
+     * Ranges above {@link #CHUNK_BYTES} are split at the newline nearest their
+     * middle, so no line is ever cut in two. UTF-8 continuation bytes never
+     * equal '\n', which makes byte-level splitting safe.
+     */
+    private static class ChunkParser extends RecursiveTask<ArrayList<Task>> {
+        private static final long serialVersionUID = 1L;
+        private static final int CHUNK_BYTES = 256 * 1024;
+
+        private final byte[] contents;
+        private final int from;
+        private final int to;
+
+        ChunkParser(byte[] contents, int from, int to) {
+            this.contents = contents;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected ArrayList<Task> compute() {
+            if (to - from > CHUNK_BYTES) {
+                int split = from + (to - from) / 2;
+                while (split < to && contents[split] != '\n') {
+                    split++;
+                }
+                if (split < to) {
+                    ChunkParser left = new ChunkParser(contents, from, split + 1);
+                    left.fork();
+                    ArrayList<Task> right = new ChunkParser(contents, split + 1, to).compute();
+                    ArrayList<Task> tasks = left.join();
+                    tasks.addAll(right);
+                    return tasks;
                 }
             }
-        } catch (IOException ioException) {
-            throw new VinceException("Failed to load data from disk!");
+            ArrayList<Task> tasks = new ArrayList<Task>();
+            new String(contents, from, to - from, StandardCharsets.UTF_8).lines().forEach(line -> {
+                Task task = parseLine(line);
+                if (task != null) {
+                    tasks.add(task);
+                }
+            });
+            return tasks;
         }
-        return tasks;
     }
 
     /**
      * Saves the given tasks to disk, overwriting the existing file contents.
      * @param tasks in-memory tasks to persist
      */
-    public void save(ArrayList<Task> tasks) {
+    public void save(List<Task> tasks) {
+        StorageEvent event = new StorageEvent();
+        event.begin();
+        long start = System.nanoTime();
+        long bytes = 0;
         try {
             Path dataDir = dataFile.getParent();
             if (!Files.exists(dataDir)) {
                 Files.createDirectories(dataDir);
             }
-            ArrayList<String> lines = new ArrayList<String>();
-            for (Task task : tasks) {
-                String line;
-                if (task instanceof Todo) {
-                    line = String.format("T | %d | %s", task.isDone() ? 1 : 0, task.getDescription());
-                } else if (task instanceof Deadline) {
-                    Deadline d = (Deadline) task;
-                    line = String.format("D | %d | %s | %s", task.isDone() ? 1 : 0, task.getDescription(),
-                        d.getBy().format(DATE_TIME_FORMATTER));
-                } else if (task instanceof Event) {
-                    Event e = (Event) task;
-                    line = String.format("E | %d | %s | %s | %s", task.isDone() ? 1 : 0, task.getDescription(),
-                        e.getFrom().format(DATE_TIME_FORMATTER), e.getTo().format(DATE_TIME_FORMATTER));
-                } else {
-                    line = String.format("T | %d | %s", task.isDone() ? 1 : 0, task.getDescription());
+            try (BufferedWriter writer = Files.newBufferedWriter(dataFile, StandardCharsets.UTF_8)) {
+                for (Task task : tasks) {
+                    writeLine(writer, task);
                 }
-                lines.add(line);
             }
-            Files.write(dataFile, lines, StandardCharsets.UTF_8);
+            if (event.isEnabled()) {
+                bytes = Files.size(dataFile);
+            }
         } catch (IOException ioException) {
             throw new VinceException("Failed to save data to disk!");
+        } finally {
+            SAVE_LATENCY.record(System.nanoTime() - start);
+            commitEvent(event, "save", bytes, tasks.size());
+        }
+    }
+
+    /**
+     * Writes one task as a pipe-delimited line, e.g.
+     * {@code D | 0 | return book | 2024-12-15T18:00:00}, followed by the
+     * optional recurrence field of a deadline or event, e.g.
+     * {@code " | 1 WEEKS until 2025-03-31"}. A series is one line however many
+     * occurrences it has. Fields go straight to the writer, as the whole file
+     * is rewritten on every change.
+     */
+    private static void writeLine(BufferedWriter out, Task task) throws IOException {
+        boolean isDeadline = task instanceof Deadline;
+        boolean isEvent = task instanceof Event;
+        out.write(isDeadline ? 'D' : isEvent ? 'E' : 'T');
+        out.write(task.isDone() ? " | 1 | " : " | 0 | ");
+        out.write(task.getDescription());
+        if (isDeadline) {
+            out.write(" | ");
+            writeDateTime(out, ((Deadline) task).getBy());
+        } else if (isEvent) {
+            out.write(" | ");
+            writeDateTime(out, ((Event) task).getFrom());
+            out.write(" | ");
+            writeDateTime(out, ((Event) task).getTo());
+        }
+        Recurrence recurrence = task.getRecurrence();
+        if (recurrence != null && (isDeadline || isEvent)) {
+            out.write(" | ");
+            out.write(recurrence.toStorageString());
+        }
+        out.newLine();
+    }
+
+    /**
+     * Writes a date/time exactly as {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME}
+     * would, digit by digit, falling back to the formatter for fractional
+     * seconds and years it would sign or widen.
+     */
+    private static void writeDateTime(Writer out, LocalDateTime dateTime) throws IOException {
+        if (dateTime.getNano() != 0 || dateTime.getYear() < 0 || dateTime.getYear() > 9999) {
+            out.write(dateTime.format(DATE_TIME_FORMATTER));
+            return;
+        }
+        writeDigits(out, dateTime.getYear(), 1000);
+        out.write('-');
+        writeDigits(out, dateTime.getMonthValue(), 10);
+        out.write('-');
+        writeDigits(out, dateTime.getDayOfMonth(), 10);
+        out.write('T');
+        writeDigits(out, dateTime.getHour(), 10);
+        out.write(':');
+        writeDigits(out, dateTime.getMinute(), 10);
+        out.write(':');
+        writeDigits(out, dateTime.getSecond(), 10);
+    }
+
+    private static void writeDigits(Writer out, int value, int highestPlace) throws IOException {
+        for (int place = highestPlace; place > 0; place /= 10) {
+            out.write('0' + value / place % 10);
         }
     }
 }
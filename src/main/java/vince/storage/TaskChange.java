@@ -0,0 +1,67 @@
+package vince.storage;
+
+import vince.task.Task;
+
+/**
+ * One change to a {@link TaskList}: a task added at, removed from or updated
+ * in place at a 0-based position. Within a batch delivered to a
+ * {@link TaskObserver}, each position refers to the list as left by the
+ * changes before it, so a copy of the list stays equal to the original by
+ * applying the changes in order.
+ */
+public final class TaskChange {
+
+    /**
+     * What happened to the task.
+     */
+    public enum Kind {
+        ADDED,
+        REMOVED,
+        UPDATED
+    }
+
+    private final Kind kind;
+    private final Task task;
+    private final int position;
+
+    private TaskChange(Kind kind, Task task, int position) {
+        this.kind = kind;
+        this.task = task;
+        this.position = position;
+    }
+
+    static TaskChange added(Task task, int position) {
+        return new TaskChange(Kind.ADDED, task, position);
+    }
+
+    static TaskChange removed(Task task, int position) {
+        return new TaskChange(Kind.REMOVED, task, position);
+    }
+
+    static TaskChange updated(Task task, int position) {
+        return new TaskChange(Kind.UPDATED, task, position);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public Task getTask() {
+        return task;
+    }
+
+    /**
+     * Returns where the change happened: the new task's position, the removed
+     * task's former position, or the updated task's position.
+     *
+     * @return 0-based position in the list
+     */
+    public int getPosition() {
+        return position;
+    }
+
+    @Override
+    public String toString() {
+        return kind + " " + position + ": " + task;
+    }
+}
@@ -1,18 +1,37 @@
 package vince.storage;
 
+import java.time.Clock;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Deque;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import vince.query.Query;
+import vince.query.QueryPlanner;
+import vince.query.QueryPlanner.QueryPlan;
+import vince.query.SortKey;
+import vince.query.TaskIndex;
+import vince.metrics.IndexUpdateEvent;
+import vince.task.Priority;
+import vince.task.Recurrence;
 import vince.task.Task;
 import vince.task.Todo;
 import vince.task.Deadline;
 import vince.task.Event;
 import vince.task.TaskType;
+import vince.util.CommandTokens;
+import vince.util.CommandTokens.Clause;
 import vince.util.DateTimeParser;
 import vince.exception.VinceException;
 
@@ -21,58 +40,234 @@ import vince.exception.VinceException;
  * {@link Storage}.
  * Provides operations to add, list, query-by-date, and mutate tasks
  * (mark/unmark/delete).
+ * <p>
+ * The list is safe for concurrent use. Tasks are held in an immutable
+ * {@link PersistentList} that is replaced atomically on every mutation, so
+ * readers never lock, never copy, and never block writers. Mutators are
+ * serialized with each other.
+ * <p>
+ * Each version shares structure with the one before it, so a bounded history
+ * of versions backs {@link #undo()} and {@link #redo()}. Mark, unmark and
+ * priority changes update the task in place and record its previous state
+ * instead, so callers holding a task keep seeing its current state.
+ * <p>
+ * Every task carries an increasing sequence number in list order, and a
+ * {@link TaskIndex} is kept up to date on every mutation so that
+ * {@link #filter(Query)} can read candidates from an index instead of
+ * scanning. Filter queries take the read side of the lock, as the index is
+ * not itself thread-safe.
+ * <p>
+ * Deadlines and events may repeat ({@code /every 2 weeks}). A series is one
+ * task however long it runs; date lookups expand it only on the requested
+ * date, and completed or skipped occurrences are recorded on the series.
+ * <p>
+ * The results of list, find, on and schedule are kept in a {@link QueryCache}
+ * under the list's version, which every mutation bumps, so asking again
+ * without changing anything costs a hash lookup.
  */
 public class TaskList {
     // Constants for task parsing
-    private static final String DEADLINE_SEPARATOR = " /by ";
-    private static final String EVENT_FROM_SEPARATOR = " /from ";
-    private static final String EVENT_TO_SEPARATOR = " /to ";
-    private static final String EVENT_SEPARATOR_PATTERN = " /from | /to ";
+    private static final int DEFAULT_HISTORY_DEPTH = 100;
     
     private final Storage storage;
-    private ArrayList<Task> tasks = new ArrayList<Task>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TaskIndex index = new TaskIndex();
+    private volatile PersistentList<Task> tasks = PersistentList.empty();
+    private final CompletableFuture<Void> loaded;
+    // Guarded by the write lock.
+    private long nextSequence = 1;
+    private final Deque<Change> undoHistory = new ArrayDeque<>();
+    private final Deque<Change> redoHistory = new ArrayDeque<>();
+    private int historyDepth = DEFAULT_HISTORY_DEPTH;
+    private volatile QueryExecutor queryExecutor = QueryExecutor.adaptive();
+    private final List<TaskObserver> observers = new CopyOnWriteArrayList<>();
+    // Guarded by the write lock: changes not yet delivered, and how many batches are open.
+    private final List<TaskChange> pendingChanges = new ArrayList<>();
+    private int batchDepth;
+    // Bumped after every mutation; readers read it before the list, so a
+    // cached result is never filed under a newer version than it reflects.
+    private volatile long version;
+    private final QueryCache queryCache = new QueryCache(QueryCache.DEFAULT_CAPACITY, Clock.systemDefaultZone());
 
     /**
      * Constructs a task list, loading existing tasks from the default storage
      * location if present.
      */
     public TaskList() {
-        this.storage = new Storage();
-        this.tasks = storage.load();
+        this(new Storage());
+    }
+
+    /**
+     * Constructs a task list backed by the given storage, loading any tasks
+     * it already holds.
+     *
+     * @param storage storage used to load and persist tasks
+     */
+    public TaskList(Storage storage) {
+        this(storage, new CompletableFuture<>());
+        loadFrom(null);
+        awaitLoaded();
+    }
+
+    private TaskList(Storage storage, CompletableFuture<Void> loaded) {
+        this.storage = storage;
+        this.loaded = loaded;
+    }
+
+    /**
+     * Returns a task list that starts out empty and fills itself from storage
+     * on a background thread, so a front end can show itself at once.
+     * <p>
+     * Until the load finishes, reads see the tasks loaded so far, and every
+     * mutation waits for the load to finish first, so the tasks not yet read
+     * are never saved over.
+     *
+     * @param storage storage used to load and persist tasks
+     * @param listener told about each chunk as it is read, on the loading thread, or null
+     * @return the list, still loading
+     */
+    public static TaskList loadInBackground(Storage storage, LoadListener listener) {
+        TaskList taskList = new TaskList(storage, new CompletableFuture<>());
+        Thread loader = new Thread(() -> taskList.loadFrom(listener), "vince-loader");
+        loader.setDaemon(true);
+        loader.start();
+        return taskList;
+    }
+
+    /**
+     * Loads every task from storage and completes {@link #loaded}, exceptionally
+     * if the file cannot be read.
+     */
+    private void loadFrom(LoadListener listener) {
+        List<Task> loadedSoFar = new ArrayList<>();
+        try {
+            storage.load((chunk, bytesRead, totalBytes) -> {
+                loadedSoFar.addAll(chunk);
+                // Republishing rebuilds the list, so do it each time the list doubles.
+                if (loadedSoFar.size() >= 2 * tasks.size()) {
+                    publishLoaded(loadedSoFar);
+                }
+                if (listener != null) {
+                    listener.chunkLoaded(chunk, bytesRead, totalBytes);
+                }
+            });
+            publishLoaded(loadedSoFar);
+            loaded.complete(null);
+        } catch (RuntimeException e) {
+            loaded.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Makes the tasks loaded so far visible and indexes the ones that are new.
+     */
+    private void publishLoaded(List<Task> loadedSoFar) {
+        lock.writeLock().lock();
+        try {
+            List<Task> added = loadedSoFar.subList(tasks.size(), loadedSoFar.size());
+            if (added.isEmpty()) {
+                return;
+            }
+            for (Task task : added) {
+                task.setSequence(nextSequence++);
+            }
+            PersistentList<Task> before = tasks;
+            tasks = PersistentList.of(loadedSoFar);
+            applyToIndex(before, tasks, List.of(), added, null);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns whether every task has been read from storage.
+     *
+     * @return true once loading has finished, successfully or not
+     */
+    public boolean isLoaded() {
+        return loaded.isDone();
+    }
+
+    /**
+     * Returns a stage that completes when loading finishes, or completes
+     * exceptionally if the data file could not be read.
+     *
+     * @return completion of the load
+     */
+    public CompletionStage<Void> whenLoaded() {
+        return loaded.minimalCompletionStage();
+    }
+
+    /**
+     * Blocks until loading has finished.
+     *
+     * @throws VinceException if the data file could not be read
+     */
+    private void awaitLoaded() {
+        try {
+            loaded.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof VinceException) {
+                throw (VinceException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Takes the write lock for a mutation, first waiting for any background
+     * load: saving a partly loaded list would lose the rest of the file.
+     */
+    private void lockForUpdate() {
+        awaitLoaded();
+        lock.writeLock().lock();
     }
 
     /**
      * Parses the raw user input and adds the corresponding task.
      * Supports todo, deadline (/by) and event (/from ... /to ...) formats.
+     * Deadlines and events may end with {@code /every <n> <unit> [until <date>]}.
      * 
      * @param input raw input line
      * @return the newly added task
      * @throws VinceException if the input format is invalid
      */
     public Task addTask(String input) throws VinceException {
-        String commandType = extractCommandType(input);
-        TaskType taskType = TaskType.fromCommand(commandType);
+        return addTask(CommandTokens.of(input));
+    }
+
+    /**
+     * Adds the task described by an already tokenized input line.
+     *
+     * @param tokens the tokenized input line
+     * @return the newly added task
+     * @throws VinceException if the input format is invalid
+     * @see #addTask(String)
+     */
+    public Task addTask(CommandTokens tokens) throws VinceException {
+        TaskType taskType = TaskType.fromCommand(tokens.command());
         
+        boolean repeats = tokens.has(Clause.EVERY);
+        if (repeats && taskType != TaskType.DEADLINE && taskType != TaskType.EVENT) {
+            throw new VinceException("Only deadlines and events can repeat!");
+        }
         if (taskType == null) {
-            return addGenericTask(input);
+            return addGenericTask(tokens.toString());
         }
         
-        Task newTask = createTaskByType(input, taskType);
-        tasks.add(newTask);
-        storage.save(tasks);
+        Recurrence recurrence = repeats ? Recurrence.parse(tokens.clauseValue(Clause.EVERY)) : null;
+        Task newTask = createTaskByType(tokens, taskType);
+        if (recurrence != null) {
+            LocalDate until = recurrence.getUntil();
+            if (until != null && until.isBefore(TaskIndex.dueOf(newTask).toLocalDate())) {
+                throw new VinceException("A repeating task cannot end before it starts!");
+            }
+            newTask.setRecurrence(recurrence);
+        }
+        append(newTask);
         return newTask;
     }
 
-    /**
-     * Extracts the command type from the input string.
-     * 
-     * @param input the raw input string
-     * @return the first word which represents the command type
-     */
-    private String extractCommandType(String input) {
-        return input.split(" ")[0];
-    }
-
     /**
      * Adds a generic task when no specific task type is recognized.
      * 
@@ -81,88 +276,356 @@ public class TaskList {
      */
     private Task addGenericTask(String input) {
         Task newTask = new Task(input);
-        tasks.add(newTask);
-        storage.save(tasks);
+        append(newTask);
         return newTask;
     }
 
+    /**
+     * Appends a task and publishes the new version.
+     *
+     * @param newTask the task to append
+     */
+    private void append(Task newTask) {
+        lockForUpdate();
+        try {
+            newTask.setSequence(nextSequence++);
+            commit(new Change("added: " + newTask, tasks, tasks.append(newTask),
+                    List.of(), List.of(newTask), null, null, null));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Persists the given version and makes it current.
+     * Must be called while holding the write lock.
+     *
+     * @param next the complete new task list
+     */
+    private void publish(PersistentList<Task> next) {
+        storage.save(next);
+        tasks = next;
+    }
+
+    /**
+     * Publishes the result of a mutation, updates the indexes and records the
+     * change for undo. Must be called while holding the write lock, after any
+     * in-place change to {@code change.changed} has been made.
+     *
+     * @param change the mutation to apply
+     */
+    private void commit(Change change) {
+        publish(change.after);
+        applyToIndex(change.before, change.after, change.removed, change.added, change.changed);
+        remember(undoHistory, change);
+        redoHistory.clear();
+    }
+
+    /**
+     * Updates the indexes after tasks were removed, added or changed in
+     * place, and queues the matching {@link TaskChange}s for the observers,
+     * delivering them at once unless a batch is open. Removed and added tasks
+     * are given in list order. Must be called while holding the write lock.
+     *
+     * @param before the list the tasks were removed from
+     * @param after the list the tasks were added to, or changed in
+     */
+    private void applyToIndex(PersistentList<Task> before, PersistentList<Task> after,
+            List<Task> removed, List<Task> added, Task changed) {
+        IndexUpdateEvent event = new IndexUpdateEvent();
+        event.begin();
+        boolean observed = !observers.isEmpty();
+        // Last first, so each position still holds once the ones after it are gone.
+        for (int i = removed.size() - 1; i >= 0; i--) {
+            Task task = removed.get(i);
+            index.remove(task);
+            if (observed) {
+                pendingChanges.add(TaskChange.removed(task, positionOf(before, task) - 1));
+            }
+        }
+        for (Task task : added) {
+            index.add(task);
+            if (observed) {
+                pendingChanges.add(TaskChange.added(task, positionOf(after, task) - 1));
+            }
+        }
+        if (changed != null) {
+            index.update(changed);
+            if (observed) {
+                pendingChanges.add(TaskChange.updated(changed, positionOf(after, changed) - 1));
+            }
+        }
+        commitIndexEvent(event, removed, added, changed);
+        version++;
+        if (batchDepth == 0) {
+            deliverChanges();
+        }
+    }
+
+    private void commitIndexEvent(IndexUpdateEvent event, List<Task> removed, List<Task> added, Task changed) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.removed = removed.size();
+            event.added = added.size();
+            event.changed = changed == null ? 0 : 1;
+            event.taskCount = tasks.size();
+            event.commit();
+        }
+    }
+
+    /**
+     * Hands the queued changes to every observer as one batch.
+     * Must be called while holding the write lock.
+     */
+    private void deliverChanges() {
+        if (pendingChanges.isEmpty()) {
+            return;
+        }
+        List<TaskChange> batch = List.copyOf(pendingChanges);
+        pendingChanges.clear();
+        for (TaskObserver observer : observers) {
+            observer.tasksChanged(batch);
+        }
+    }
+
+    /**
+     * Runs a group of mutations, such as one command, as a single update:
+     * the write lock is held throughout, and observers are told about all of
+     * its changes in one batch when it returns. If it fails part way, the
+     * changes it already made stand and are still delivered.
+     *
+     * @param mutations the mutations to run
+     * @param <T> the result type
+     * @return what {@code mutations} returned
+     */
+    public <T> T batch(Supplier<T> mutations) {
+        lockForUpdate();
+        batchDepth++;
+        try {
+            return mutations.get();
+        } finally {
+            if (--batchDepth == 0) {
+                deliverChanges();
+            }
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Registers an observer of every later change. The tasks already in the
+     * list are first delivered to it as one batch of additions, atomically
+     * with the registration, so it misses no change.
+     *
+     * @param observer the observer to add
+     */
+    public void addObserver(TaskObserver observer) {
+        lock.writeLock().lock();
+        try {
+            if (!tasks.isEmpty()) {
+                List<TaskChange> existing = new ArrayList<>(tasks.size());
+                for (Task task : tasks) {
+                    existing.add(TaskChange.added(task, existing.size()));
+                }
+                observer.tasksChanged(existing);
+            }
+            observers.add(observer);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Stops telling an observer about changes.
+     *
+     * @param observer the observer to remove
+     */
+    public void removeObserver(TaskObserver observer) {
+        observers.remove(observer);
+    }
+
+    /**
+     * Pushes a change onto a history, dropping the oldest entry beyond the depth limit.
+     */
+    private void remember(Deque<Change> history, Change change) {
+        history.push(change);
+        while (history.size() > historyDepth) {
+            history.removeLast();
+        }
+    }
+
+    /**
+     * Reverts the most recent change, restoring the previous version of the
+     * list and re-saving it.
+     *
+     * @return description of the change that was undone
+     * @throws VinceException if there is nothing to undo
+     */
+    public String undo() {
+        lockForUpdate();
+        try {
+            Change change = undoHistory.poll();
+            if (change == null) {
+                throw new VinceException("Nothing to undo!");
+            }
+            if (change.changed != null) {
+                change.stateBefore.applyTo(change.changed);
+            }
+            publish(change.before);
+            applyToIndex(change.after, change.before, change.added, change.removed, change.changed);
+            remember(redoHistory, change);
+            return change.description;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Re-applies the most recently undone change and re-saves the list.
+     *
+     * @return description of the change that was redone
+     * @throws VinceException if there is nothing to redo
+     */
+    public String redo() {
+        lockForUpdate();
+        try {
+            Change change = redoHistory.poll();
+            if (change == null) {
+                throw new VinceException("Nothing to redo!");
+            }
+            if (change.changed != null) {
+                change.stateAfter.applyTo(change.changed);
+            }
+            publish(change.after);
+            applyToIndex(change.before, change.after, change.removed, change.added, change.changed);
+            remember(undoHistory, change);
+            return change.description;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Limits how many changes can be undone. Older changes are forgotten.
+     *
+     * @param historyDepth maximum number of changes kept for undo
+     */
+    public void setHistoryDepth(int historyDepth) {
+        lock.writeLock().lock();
+        try {
+            this.historyDepth = historyDepth;
+            while (undoHistory.size() > historyDepth) {
+                undoHistory.removeLast();
+            }
+            while (redoHistory.size() > historyDepth) {
+                redoHistory.removeLast();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
     /**
      * Creates a task based on the specified task type.
      * 
-     * @param input the raw input string
+     * @param tokens the tokenized input line
      * @param taskType the type of task to create
      * @return the newly created task
      * @throws VinceException if the input format is invalid for the task type
      */
-    private Task createTaskByType(String input, TaskType taskType) throws VinceException {
+    private Task createTaskByType(CommandTokens tokens, TaskType taskType) throws VinceException {
         switch (taskType) {
             case DEADLINE:
-                return createDeadlineTask(input, taskType);
+                return createDeadlineTask(tokens);
             case EVENT:
-                return createEventTask(input, taskType);
+                return createEventTask(tokens);
             case TODO:
-                return createTodoTask(input, taskType);
+                return createTodoTask(tokens);
             default:
                 throw new VinceException("Unknown task type: " + taskType);
         }
     }
 
     /**
-     * Creates a deadline task from the input string.
+     * Creates a deadline task from the tokenized input.
      * 
-     * @param input the raw input string
-     * @param taskType the task type (should be DEADLINE)
+     * @param tokens the tokenized input line
      * @return the newly created deadline task
      * @throws VinceException if the input format is invalid
      */
-    private Task createDeadlineTask(String input, TaskType taskType) throws VinceException {
-        if (!input.contains(DEADLINE_SEPARATOR)) {
+    private Task createDeadlineTask(CommandTokens tokens) throws VinceException {
+        if (!tokens.has(Clause.BY)) {
             throw new VinceException("Deadline task must contain ' /by ' to specify the deadline!");
         }
         
-        String[] deadlineParts = input.split(DEADLINE_SEPARATOR);
-        String description = deadlineParts[0].substring(taskType.getPrefixLength());
-        String deadline = deadlineParts[1];
+        String description = tokens.slice(tokens.wordEnd(0), descriptionEnd(tokens, tokens.clauseStart(Clause.BY)));
+        String deadline = tokens.clauseValue(Clause.BY);
         
         return new Deadline(description, deadline);
     }
 
     /**
-     * Creates an event task from the input string.
+     * Creates an event task from the tokenized input.
      * 
-     * @param input the raw input string
-     * @param taskType the task type (should be EVENT)
+     * @param tokens the tokenized input line
      * @return the newly created event task
      * @throws VinceException if the input format is invalid
      */
-    private Task createEventTask(String input, TaskType taskType) throws VinceException {
-        if (!input.contains(EVENT_FROM_SEPARATOR) || !input.contains(EVENT_TO_SEPARATOR)) {
+    private Task createEventTask(CommandTokens tokens) throws VinceException {
+        if (!tokens.has(Clause.FROM) || !tokens.has(Clause.TO)) {
             throw new VinceException("Event task must contain ' /from ' and ' /to ' to specify the event time!");
         }
         
-        String[] eventParts = input.split(EVENT_SEPARATOR_PATTERN);
-        String description = eventParts[0].substring(taskType.getPrefixLength());
-        String startTime = eventParts[1];
-        String endTime = eventParts[2];
+        int times = Math.min(tokens.clauseStart(Clause.FROM), tokens.clauseStart(Clause.TO));
+        String description = tokens.slice(tokens.wordEnd(0), descriptionEnd(tokens, times));
+        String startTime = tokens.clauseValue(Clause.FROM);
+        String endTime = tokens.clauseValue(Clause.TO);
         
         return new Event(description, startTime, endTime);
     }
 
     /**
-     * Creates a todo task from the input string.
+     * Returns where the description of a deadline or event ends: at its
+     * date clause, or at a recurrence written before it.
+     */
+    private static int descriptionEnd(CommandTokens tokens, int dateClauseStart) {
+        int every = tokens.clauseStart(Clause.EVERY);
+        return every >= 0 && every < dateClauseStart ? every : dateClauseStart;
+    }
+
+    /**
+     * Creates a todo task from the tokenized input. Everything after the
+     * command word is the description, markers included.
      * 
-     * @param input the raw input string
-     * @param taskType the task type (should be TODO)
+     * @param tokens the tokenized input line
      * @return the newly created todo task
      * @throws VinceException if the input format is invalid
      */
-    private Task createTodoTask(String input, TaskType taskType) throws VinceException {
-        if (input.length() < taskType.getPrefixLength()) {
+    private Task createTodoTask(CommandTokens tokens) throws VinceException {
+        if (tokens.wordCount() < 2) {
             throw new VinceException("Todo task must start with 'todo ' and have a description!");
         }
         
-        String description = input.substring(taskType.getPrefixLength());
-        return new Todo(description);
+        return new Todo(tokens.rest(1));
+    }
+
+    /**
+     * Replaces the executor used for find, on and schedule scans,
+     * e.g. to pin sequential or parallel evaluation.
+     *
+     * @param queryExecutor executor to use from now on
+     */
+    public void setQueryExecutor(QueryExecutor queryExecutor) {
+        this.queryExecutor = queryExecutor;
+        queryCache.clear();
+    }
+
+    /**
+     * Changes how many list, find, on and schedule results are cached.
+     *
+     * @param capacity maximum number of cached results; 0 disables the cache
+     */
+    public void setQueryCacheCapacity(int capacity) {
+        queryCache.setCapacity(capacity);
     }
 
     /**
@@ -176,21 +639,62 @@ public class TaskList {
 
     /**
      * Builds preformatted numbered lines for all tasks in this list.
-     * Uses Java Streams for functional programming approach.
      * 
      * @return list of lines ready for display
      */
     public List<String> list() {
-        return IntStream.range(0, tasks.size())
-                .mapToObj(i -> (i + 1) + ". " + tasks.get(i))
-                .collect(Collectors.toList());
+        return queryCache.get(QueryCache.Kind.LIST, "", version, false, this::listAll);
+    }
+
+    private List<String> listAll() {
+        PersistentList<Task> tasks = this.tasks;
+        List<String> lines = new ArrayList<>(tasks.size());
+        tasks.forEach(task -> lines.add((lines.size() + 1) + ". " + task));
+        return lines;
+    }
+
+    /**
+     * Builds numbered lines for one page of the tasks in the given order.
+     * Lines keep each task's list number, so it can be used with mark or delete.
+     * Due and priority order are read from sorted views that are maintained on
+     * every mutation, and each task is numbered by an O(log n) descent of the
+     * list, so a page costs O(count log n) rather than a sort or a copy.
+     *
+     * @param sortKey order to list tasks in
+     * @param from 0-based rank of the first task to include
+     * @param count maximum number of tasks to include
+     * @return list of lines ready for display
+     */
+    public List<String> list(SortKey sortKey, int from, int count) {
+        return queryCache.get(QueryCache.Kind.LIST, sortKey + ":" + from + ":" + count, version, false,
+                () -> listPage(sortKey, from, count));
+    }
+
+    private List<String> listPage(SortKey sortKey, int from, int count) {
+        lock.readLock().lock();
+        try {
+            PersistentList<Task> tasks = this.tasks;
+            List<Task> page;
+            if (index.hasSortedView(sortKey)) {
+                page = index.sortedRange(sortKey, from, count);
+            } else {
+                page = tasks.subList(Math.min(from, tasks.size()), (int) Math.min((long) from + count, tasks.size()));
+            }
+            List<String> lines = new ArrayList<>(page.size());
+            for (Task task : page) {
+                lines.add(positionOf(tasks, task) + ". " + task);
+            }
+            return lines;
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     /**
      * Builds preformatted numbered lines for tasks whose description contains the
      * keyword.
      * Matching is case-insensitive and ignores leading/trailing spaces in keyword.
-     * Uses Java Streams for functional programming approach.
+     * Large lists are scanned in parallel by the {@link QueryExecutor}.
      * 
      * @param keyword search keyword
      * @return matching task lines
@@ -200,51 +704,337 @@ public class TaskList {
         if (key.isEmpty()) {
             return new ArrayList<>();
         }
-        
-        return IntStream.range(0, tasks.size())
-                .filter(i -> tasks.get(i).getDescription().toLowerCase().contains(key))
-                .mapToObj(i -> (i + 1) + ". " + tasks.get(i))
-                .collect(Collectors.toList());
+        return queryCache.get(QueryCache.Kind.FIND, key, version, false, () -> find(key));
+    }
+
+    private List<String> find(String key) {
+        return queryExecutor.filterMap(this.tasks,
+                task -> containsIgnoreCase(task.getDescription(), key),
+                (i, task) -> (i + 1) + ". " + task);
+    }
+
+    /**
+     * Returns whether {@code text} contains {@code key}, ignoring case,
+     * without building a lower-cased copy of every description scanned.
+     */
+    private static boolean containsIgnoreCase(String text, String key) {
+        for (int from = 0; from <= text.length() - key.length(); from++) {
+            if (text.regionMatches(true, from, key, 0, key.length())) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
      * Builds preformatted numbered lines for tasks that occur on the given date.
      * Deadlines are matched by their date; events by spanning the date range.
-     * Uses Java Streams for functional programming approach.
+     * Large lists are scanned in parallel by the {@link QueryExecutor}.
      * 
      * @param dateStr date string accepted by {@link DateTimeParser}
      * @return lines for tasks matching that date
      * @throws VinceException if the date string is invalid
      */
     public List<String> tasksOnDateLines(String dateStr) throws VinceException {
+        return queryCache.get(QueryCache.Kind.ON, normalizeDate(dateStr), version,
+                DateTimeParser.isRelative(dateStr), () -> tasksOn(dateStr));
+    }
+
+    private List<String> tasksOn(String dateStr) {
         LocalDate targetDate = DateTimeParser.parseDateTime(dateStr).toLocalDate();
         
-        return IntStream.range(0, tasks.size())
-                .filter(i -> isTaskOnDate(tasks.get(i), targetDate))
-                .mapToObj(i -> (i + 1) + ". " + tasks.get(i))
-                .collect(Collectors.toList());
+        return queryExecutor.filterMap(this.tasks,
+                task -> isTaskOnDate(task, targetDate),
+                (i, task) -> (i + 1) + ". " + task.occurrenceOn(targetDate));
     }
 
     /**
      * Checks if a task occurs on the given date.
      * Deadlines match if their date equals the target date.
      * Events match if the target date falls within their date range.
+     * Recurring tasks match if one of their occurrences does.
      * 
      * @param task the task to check
      * @param targetDate the date to match against
      * @return true if the task occurs on the target date
      */
     private boolean isTaskOnDate(Task task, LocalDate targetDate) {
-        if (task instanceof Deadline) {
-            LocalDateTime taskDate = ((Deadline) task).getBy();
-            return taskDate.toLocalDate().equals(targetDate);
-        } else if (task instanceof Event) {
-            Event event = (Event) task;
-            LocalDate eventStartDate = event.getFrom().toLocalDate();
-            LocalDate eventEndDate = event.getTo().toLocalDate();
-            return !targetDate.isBefore(eventStartDate) && !targetDate.isAfter(eventEndDate);
+        return task.occurrenceOn(targetDate) != null;
+    }
+
+    /**
+     * Builds numbered lines for the tasks matching a compiled filter query,
+     * using the most selective index the {@link QueryPlanner} finds.
+     *
+     * @param query the compiled query
+     * @return matching task lines in the query's sort order
+     */
+    public List<String> filter(Query query) {
+        lock.readLock().lock();
+        try {
+            PersistentList<Task> tasks = this.tasks;
+            List<Task> matches = QueryPlanner.plan(query, index, tasks).execute();
+            List<String> lines = new ArrayList<>(matches.size());
+            for (Task task : matches) {
+                lines.add(positionOf(tasks, task) + ". " + task);
+            }
+            return lines;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Describes how {@link #filter(Query)} would evaluate a query right now.
+     *
+     * @param query the compiled query
+     * @return plan description naming the chosen access path
+     */
+    public String explain(Query query) {
+        lock.readLock().lock();
+        try {
+            QueryPlan plan = QueryPlanner.plan(query, index, tasks);
+            return plan.explain();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Builds numbered lines for the open deadlines and events due soonest at
+     * or after {@code now}, nearest first. Tasks that do not repeat are read
+     * off the index in O(log n + count). A recurring series takes part with
+     * its next open occurrence, which depends on {@code now} and so cannot be
+     * indexed ahead of time: every one of the r series is stepped forward and
+     * the candidates sorted. Each line is numbered by an O(log n) descent of
+     * the list, so the whole call is O((count + r) log (n + r)) and never
+     * touches the tasks it does not show.
+     *
+     * @param now the current time
+     * @param count maximum number of tasks to include
+     * @return task lines in due order
+     */
+    public List<String> upcoming(LocalDateTime now, int count) {
+        lock.readLock().lock();
+        try {
+            PersistentList<Task> tasks = this.tasks;
+            List<DueItem> items = new ArrayList<>();
+            for (Task task : index.nextOpenDue(now, count)) {
+                items.add(new DueItem(task, TaskIndex.dueOf(task), task));
+            }
+            for (Task task : index.recurring()) {
+                LocalDateTime next = nextOpenOccurrence(task, now);
+                if (next != null) {
+                    items.add(new DueItem(task, next, task.occurrenceOn(next.toLocalDate())));
+                }
+            }
+            items.sort(Comparator.comparing((DueItem item) -> item.due)
+                    .thenComparingLong(item -> item.task.getSequence()));
+            List<String> lines = new ArrayList<>(Math.min(count, items.size()));
+            for (DueItem item : items.subList(0, Math.min(count, items.size()))) {
+                lines.add(positionOf(tasks, item.task) + ". " + item.shown);
+            }
+            return lines;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Builds numbered lines for the open deadlines due before {@code now},
+     * most overdue first. The k of them are read off the index in
+     * O(log n + k) and each is numbered by an O(log n) descent of the list,
+     * so the call is O(k log n) rather than a scan of every task. Missed
+     * occurrences of a recurring deadline are not reported; the series shows
+     * up in {@link #upcoming} at its next open occurrence instead.
+     *
+     * @param now the current time
+     * @return task lines in due order
+     */
+    public List<String> overdue(LocalDateTime now) {
+        lock.readLock().lock();
+        try {
+            PersistentList<Task> tasks = this.tasks;
+            List<String> lines = new ArrayList<>();
+            for (Task task : index.openDeadlinesDueBefore(now)) {
+                lines.add(positionOf(tasks, task) + ". " + task);
+            }
+            return lines;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts the open deadlines due before {@code now}, as listed by {@link #overdue}.
+     *
+     * @param now the current time
+     * @return number of overdue deadlines
+     */
+    public int countOverdue(LocalDateTime now) {
+        lock.readLock().lock();
+        try {
+            return index.openDeadlinesDueBefore(now).size();
+        } finally {
+            lock.readLock().unlock();
         }
-        return false;
+    }
+
+    /**
+     * Returns the start of a series' first occurrence at or after
+     * {@code notBefore} that has not been completed, or null if there is none.
+     */
+    private static LocalDateTime nextOpenOccurrence(Task task, LocalDateTime notBefore) {
+        LocalDateTime due = TaskIndex.dueOf(task);
+        if (due == null || task.isDone()) {
+            return null;
+        }
+        Recurrence recurrence = task.getRecurrence();
+        LocalDateTime next = recurrence.nextOccurrence(due, notBefore);
+        while (next != null && recurrence.isCompleted(next.toLocalDate())) {
+            next = recurrence.nextOccurrence(due, next.plusNanos(1));
+        }
+        return next;
+    }
+
+    /**
+     * Builds numbered lines for the events that overlap the given one, to
+     * warn about double bookings when it is added. Events that do not repeat
+     * are found in the index's interval tree in O(log n + k), and each of
+     * them is numbered by an O(log n) descent of the list, so a warning on
+     * add costs O(k log n) however long the list is. Each recurring event is
+     * checked for an occurrence that overlaps. A recurring event is compared
+     * by its first occurrence.
+     *
+     * @param task the task to check; anything but an event overlaps nothing
+     * @return lines for the overlapping events and occurrences, in start order
+     */
+    public List<String> eventsOverlapping(Task task) {
+        if (!(task instanceof Event)) {
+            return List.of();
+        }
+        Event event = (Event) task;
+        lock.readLock().lock();
+        try {
+            PersistentList<Task> tasks = this.tasks;
+            List<String> lines = new ArrayList<>();
+            for (EventSlot slot : eventSlots(event.getFrom(), event.getTo())) {
+                if (slot.series != event) {
+                    lines.add(positionOf(tasks, slot.series) + ". " + slot.shown);
+                }
+            }
+            return lines;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Builds a line for every pair of overlapping events in {@code [from, to)},
+     * including occurrences of recurring events. A sweep over the events in
+     * start order keeps the ones still running, and each task in a pair is
+     * numbered by an O(log n) descent of the list, so the cost is
+     * O(m log m + pairs log n) for the m events in the range rather than a
+     * comparison of every pair. Events that merely touch, one ending as the
+     * next starts, do not overlap.
+     *
+     * @param from inclusive start of the range
+     * @param to exclusive end of the range
+     * @return one line per overlapping pair, ordered by the later start
+     */
+    public List<String> conflicts(LocalDateTime from, LocalDateTime to) {
+        lock.readLock().lock();
+        try {
+            PersistentList<Task> tasks = this.tasks;
+            List<EventSlot> running = new ArrayList<>();
+            List<String> lines = new ArrayList<>();
+            for (EventSlot slot : eventSlots(from, to)) {
+                running.removeIf(other -> !other.end.isAfter(slot.start));
+                for (EventSlot other : running) {
+                    if (other.series != slot.series) {
+                        lines.add(positionOf(tasks, other.series) + ". " + other.shown + " overlaps "
+                                + positionOf(tasks, slot.series) + ". " + slot.shown);
+                    }
+                }
+                running.add(slot);
+            }
+            return lines;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Collects the events and occurrences of recurring events that overlap
+     * {@code [from, to)}, in start order. Must be called while holding the lock.
+     */
+    private List<EventSlot> eventSlots(LocalDateTime from, LocalDateTime to) {
+        List<EventSlot> slots = new ArrayList<>();
+        for (Task event : index.eventsOverlapping(from, to)) {
+            slots.add(new EventSlot(event, (Event) event));
+        }
+        for (Task series : index.recurring()) {
+            if (!(series instanceof Event)) {
+                continue;
+            }
+            Event event = (Event) series;
+            long spanDays = ChronoUnit.DAYS.between(event.getFrom().toLocalDate(), event.getTo().toLocalDate());
+            List<LocalDate> starts = series.getRecurrence().occurrencesBetween(event.getFrom().toLocalDate(),
+                    from.toLocalDate().minusDays(spanDays), to.toLocalDate());
+            for (LocalDate start : starts) {
+                Event occurrence = (Event) series.occurrenceOn(start);
+                if (occurrence != null && occurrence.getFrom().isBefore(to) && occurrence.getTo().isAfter(from)) {
+                    slots.add(new EventSlot(series, occurrence));
+                }
+            }
+        }
+        slots.sort(Comparator.comparing((EventSlot slot) -> slot.start)
+                .thenComparingLong(slot -> slot.series.getSequence()));
+        return slots;
+    }
+
+    /**
+     * An event, or one occurrence of a recurring event, with the task it belongs to.
+     */
+    private static class EventSlot {
+        private final Task series;
+        private final Event shown;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+
+        EventSlot(Task series, Event shown) {
+            this.series = series;
+            this.shown = shown;
+            this.start = shown.getFrom();
+            this.end = shown.getTo();
+        }
+    }
+
+    /**
+     * A task in the upcoming list, with the time it is next due and what to show for it.
+     */
+    private static class DueItem {
+        private final Task task;
+        private final LocalDateTime due;
+        private final Task shown;
+
+        DueItem(Task task, LocalDateTime due, Task shown) {
+            this.task = task;
+            this.due = due;
+            this.shown = shown;
+        }
+    }
+
+    /**
+     * Finds a task's 1-based position by descending the list's tree on its
+     * sequence number, which increases in list order, in O(log n).
+     */
+    private static int positionOf(PersistentList<Task> tasks, Task task) {
+        int index = tasks.indexOfKey(Task::getSequence, task.getSequence());
+        if (index < 0) {
+            throw new IllegalStateException("Indexed task is missing from the list: " + task);
+        }
+        return index + 1;
     }
 
     /**
@@ -267,14 +1057,26 @@ public class TaskList {
      * @throws VinceException if the date string is invalid
      */
     public List<String> getScheduleForDate(String dateStr) throws VinceException {
+        return queryCache.get(QueryCache.Kind.SCHEDULE, normalizeDate(dateStr), version,
+                DateTimeParser.isRelative(dateStr), () -> scheduleFor(dateStr));
+    }
+
+    /**
+     * Normalizes a date string for use as a cache key. Natural-language dates
+     * are parsed in lower case, so "Today" and "today" share an entry.
+     */
+    private static String normalizeDate(String dateStr) {
+        return dateStr == null ? "" : dateStr.trim().toLowerCase();
+    }
+
+    private List<String> scheduleFor(String dateStr) {
         LocalDate targetDate = DateTimeParser.parseDateTime(dateStr).toLocalDate();
         
         // Get all tasks that occur on this date
-        List<TaskWithTime> tasksWithTime = IntStream.range(0, tasks.size())
-                .filter(i -> isTaskOnDate(tasks.get(i), targetDate))
-                .mapToObj(i -> new TaskWithTime(tasks.get(i), i + 1, targetDate))
-                .sorted(Comparator.comparing(TaskWithTime::getTime))
-                .collect(Collectors.toList());
+        List<TaskWithTime> tasksWithTime = queryExecutor.filterMap(this.tasks,
+                task -> isTaskOnDate(task, targetDate),
+                (i, task) -> new TaskWithTime(task.occurrenceOn(targetDate), i + 1, targetDate));
+        tasksWithTime.sort(Comparator.comparing(TaskWithTime::getTime));
         
         if (tasksWithTime.isEmpty()) {
             return List.of("No tasks scheduled for this date.");
@@ -385,6 +1187,7 @@ public class TaskList {
      * @throws VinceException if index is invalid or out of bounds
      */
     public Task get(String index) {
+        List<Task> tasks = this.tasks;
         int taskIndex = Integer.parseInt(index) - 1;
         if (taskIndex < 0 || taskIndex >= tasks.size()) {
             throw new VinceException(
@@ -399,40 +1202,162 @@ public class TaskList {
      * Marks a task as done.
      * 
      * @param index 1-based index of the task
+     * @return the task that was marked
      * @throws VinceException if index is invalid or out of bounds
      */
-    public void mark(String index) {
-        int taskIndex = Integer.parseInt(index) - 1;
-        if (taskIndex < 0 || taskIndex >= tasks.size()) {
-            throw new VinceException(
-                    "Task index " + (taskIndex + 1) + " is out of range! You have " + tasks.size() + " tasks.");
+    public Task mark(String index) {
+        lockForUpdate();
+        try {
+            int taskIndex = Integer.parseInt(index) - 1;
+            if (taskIndex < 0 || taskIndex >= tasks.size()) {
+                throw new VinceException(
+                        "Task index " + (taskIndex + 1) + " is out of range! You have " + tasks.size() + " tasks.");
+            }
+            Task task = tasks.get(taskIndex);
+            assert task != null : "Task at valid index should not be null";
+            assert !task.isDone() : "Task should not already be marked as done";
+            TaskState before = TaskState.of(task);
+            task.mark();
+            assert task.isDone() : "Task should be marked as done after mark() call";
+            commit(new Change("marked: " + task, tasks, tasks, List.of(), List.of(),
+                    task, before, TaskState.of(task)));
+            return task;
+        } finally {
+            lock.writeLock().unlock();
         }
-        Task task = tasks.get(taskIndex);
-        assert task != null : "Task at valid index should not be null";
-        assert !task.isDone() : "Task should not already be marked as done";
-        task.mark();
-        assert task.isDone() : "Task should be marked as done after mark() call";
-        storage.save(tasks);
     }
 
     /**
      * Unmarks a task (set as not done).
      * 
      * @param index 1-based index of the task
+     * @return the task that was unmarked
      * @throws VinceException if index is invalid or out of bounds
      */
-    public void unmark(String index) {
-        int taskIndex = Integer.parseInt(index) - 1;
-        if (taskIndex < 0 || taskIndex >= tasks.size()) {
-            throw new VinceException(
-                    "Task index " + (taskIndex + 1) + " is out of range! You have " + tasks.size() + " tasks.");
+    public Task unmark(String index) {
+        lockForUpdate();
+        try {
+            int taskIndex = Integer.parseInt(index) - 1;
+            if (taskIndex < 0 || taskIndex >= tasks.size()) {
+                throw new VinceException(
+                        "Task index " + (taskIndex + 1) + " is out of range! You have " + tasks.size() + " tasks.");
+            }
+            Task task = tasks.get(taskIndex);
+            assert task != null : "Task at valid index should not be null";
+            assert task.isDone() : "Task should be marked as done before unmarking";
+            TaskState before = TaskState.of(task);
+            task.unmark();
+            assert !task.isDone() : "Task should not be marked as done after unmark() call";
+            commit(new Change("unmarked: " + task, tasks, tasks, List.of(), List.of(),
+                    task, before, TaskState.of(task)));
+            return task;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Marks one occurrence of a recurring task as done.
+     *
+     * @param index 1-based index of the recurring task
+     * @param dateStr a date the occurrence falls on, accepted by {@link DateTimeParser}
+     * @return the occurrence, now marked
+     * @throws VinceException if the task does not repeat, does not occur on
+     *     that date, or that occurrence is already done
+     */
+    public Task mark(String index, String dateStr) {
+        return updateOccurrence(index, dateStr, "marked: ", (recurrence, start) -> {
+            if (recurrence.isCompleted(start)) {
+                throw new VinceException("That occurrence is already marked as done!");
+            }
+            return recurrence.withCompleted(start);
+        });
+    }
+
+    /**
+     * Marks one occurrence of a recurring task as not done.
+     *
+     * @param index 1-based index of the recurring task
+     * @param dateStr a date the occurrence falls on, accepted by {@link DateTimeParser}
+     * @return the occurrence, now unmarked
+     * @throws VinceException if the task does not repeat, does not occur on
+     *     that date, or that occurrence is not done
+     */
+    public Task unmark(String index, String dateStr) {
+        return updateOccurrence(index, dateStr, "unmarked: ", (recurrence, start) -> {
+            if (!recurrence.isCompleted(start)) {
+                throw new VinceException("That occurrence is not marked as done yet!");
+            }
+            return recurrence.withoutCompleted(start);
+        });
+    }
+
+    /**
+     * Skips one occurrence of a recurring task, e.g. a standup on a holiday.
+     * The rest of the series is unchanged.
+     *
+     * @param index 1-based index of the recurring task
+     * @param dateStr a date the occurrence falls on, accepted by {@link DateTimeParser}
+     * @return the occurrence that was skipped
+     * @throws VinceException if the task does not repeat or does not occur on that date
+     */
+    public Task skipOccurrence(String index, String dateStr) {
+        return updateOccurrence(index, dateStr, "skipped: ", Recurrence::withException);
+    }
+
+    /**
+     * Applies a change to the recurrence of a series for the occurrence
+     * spanning the given date, keyed by that occurrence's start date.
+     */
+    private Task updateOccurrence(String index, String dateStr, String action,
+            BiFunction<Recurrence, LocalDate, Recurrence> update) {
+        LocalDate date = DateTimeParser.parseDateTime(dateStr).toLocalDate();
+        lockForUpdate();
+        try {
+            Task task = get(index);
+            if (!task.isRecurring()) {
+                throw new VinceException("Task " + index + " does not repeat, so it has no dated occurrences!");
+            }
+            Task occurrence = task.occurrenceOn(date);
+            if (occurrence == null) {
+                throw new VinceException("Task " + index + " does not occur on "
+                        + DateTimeParser.formatDate(date.atStartOfDay()) + "!");
+            }
+            LocalDate start = TaskIndex.dueOf(occurrence).toLocalDate();
+            TaskState before = TaskState.of(task);
+            task.setRecurrence(update.apply(task.getRecurrence(), start));
+            Task updated = task.occurrenceOn(date);
+            Task result = updated != null ? updated : occurrence;
+            commit(new Change(action + result, tasks, tasks, List.of(), List.of(),
+                    task, before, TaskState.of(task)));
+            return result;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Changes a task's priority and re-files it in the indexes. Changing the
+     * priority of a listed task through {@link Task#setPriority} directly
+     * bypasses the indexes and undo history.
+     *
+     * @param index 1-based index of the task
+     * @param priority the new priority
+     * @return the updated task
+     * @throws VinceException if index is invalid or out of bounds
+     */
+    public Task setPriority(String index, Priority priority) {
+        lockForUpdate();
+        try {
+            Task task = get(index);
+            TaskState before = TaskState.of(task);
+            task.setPriority(priority);
+            commit(new Change("changed priority of: " + task, tasks, tasks, List.of(), List.of(),
+                    task, before, TaskState.of(task)));
+            return task;
+        } finally {
+            lock.writeLock().unlock();
         }
-        Task task = tasks.get(taskIndex);
-        assert task != null : "Task at valid index should not be null";
-        assert task.isDone() : "Task should be marked as done before unmarking";
-        task.unmark();
-        assert !task.isDone() : "Task should not be marked as done after unmark() call";
-        storage.save(tasks);
     }
 
     /**
@@ -443,30 +1368,106 @@ public class TaskList {
      * @throws VinceException if index is invalid or out of bounds
      */
     public Task delete(String index) {
-        int taskIndex = Integer.parseInt(index) - 1;
-        if (taskIndex < 0 || taskIndex >= tasks.size()) {
-            throw new VinceException(
-                    "Task index " + (taskIndex + 1) + " is out of range! You have " + tasks.size() + " tasks.");
+        lockForUpdate();
+        try {
+            int taskIndex = Integer.parseInt(index) - 1;
+            if (taskIndex < 0 || taskIndex >= tasks.size()) {
+                throw new VinceException(
+                        "Task index " + (taskIndex + 1) + " is out of range! You have " + tasks.size() + " tasks.");
+            }
+            int originalSize = tasks.size();
+            Task removed = tasks.get(taskIndex);
+            PersistentList<Task> next = tasks.removeAt(taskIndex);
+            assert removed != null : "Removed task should not be null";
+            assert next.size() == originalSize - 1 : "Task list size should decrease by 1 after deletion";
+            commit(new Change("deleted: " + removed, tasks, next, List.of(removed), List.of(), null, null, null));
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
         }
-        int originalSize = tasks.size();
-        Task removed = tasks.remove(taskIndex);
-        assert removed != null : "Removed task should not be null";
-        assert tasks.size() == originalSize - 1 : "Task list size should decrease by 1 after deletion";
-        storage.save(tasks);
-        return removed;
     }
 
     public void deleteAll() {
-        // first remove all tasks stored in local variable
-        tasks.clear();
-        storage.save(tasks);
+        lockForUpdate();
+        try {
+            commit(new Change("deleted all " + tasks.size() + " tasks", tasks, PersistentList.empty(),
+                    tasks.flatView(), List.of(), null, null, null));
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
     
     /**
      * Returns all tasks for AI analysis.
+     * The returned list is the current immutable version of the list itself,
+     * so it is never copied and does not change when this task list is
+     * mutated afterwards. Iterate it; indexed access costs O(log n).
      * @return list of all tasks
      */
     public List<Task> getAllTasks() {
-        return new ArrayList<>(tasks);
+        return tasks;
+    }
+
+    /**
+     * The completion state, priority and recurrence of a task at one point in time.
+     */
+    private static class TaskState {
+        private final boolean isDone;
+        private final Priority priority;
+        private final Recurrence recurrence;
+
+        private TaskState(boolean isDone, Priority priority, Recurrence recurrence) {
+            this.isDone = isDone;
+            this.priority = priority;
+            this.recurrence = recurrence;
+        }
+
+        static TaskState of(Task task) {
+            return new TaskState(task.isDone(), task.getPriority(), task.getRecurrence());
+        }
+
+        void applyTo(Task task) {
+            if (task.isDone() != isDone) {
+                if (isDone) {
+                    task.mark();
+                } else {
+                    task.unmark();
+                }
+            }
+            if (task.getPriority() != priority) {
+                task.setPriority(priority);
+            }
+            if (task.getRecurrence() != recurrence) {
+                task.setRecurrence(recurrence);
+            }
+        }
+    }
+
+    /**
+     * One undoable mutation: the list versions before and after it, the tasks
+     * it added or removed, and the task it changed in place, if any, with that
+     * task's state on either side of the change.
+     */
+    private static class Change {
+        private final String description;
+        private final PersistentList<Task> before;
+        private final PersistentList<Task> after;
+        private final List<Task> removed;
+        private final List<Task> added;
+        private final Task changed;
+        private final TaskState stateBefore;
+        private final TaskState stateAfter;
+
+        Change(String description, PersistentList<Task> before, PersistentList<Task> after, List<Task> removed,
+                List<Task> added, Task changed, TaskState stateBefore, TaskState stateAfter) {
+            this.description = description;
+            this.before = before;
+            this.after = after;
+            this.removed = removed;
+            this.added = added;
+            this.changed = changed;
+            this.stateBefore = stateBefore;
+            this.stateAfter = stateAfter;
+        }
     }
 }
@@ -0,0 +1,21 @@
+package vince.storage;
+
+import java.util.List;
+
+/**
+ * Receives every change made to a {@link TaskList}, including the changes
+ * applied by undo and redo and by loading, as a feed of {@link TaskChange}s
+ * that an index, cache or view can apply incrementally. Callbacks run on the
+ * mutating thread while the list's write lock is held, so they must be quick
+ * and must not call back into the list.
+ */
+public interface TaskObserver {
+    /**
+     * The list changed. The changes made by one command, or by one
+     * {@link TaskList#batch} in general, arrive together, in the order they
+     * were made; a batch is never empty.
+     *
+     * @param changes the changes, in order
+     */
+    void tasksChanged(List<TaskChange> changes);
+}
@@ -1,5 +1,6 @@
 package vince.task;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import vince.exception.VinceException;
 import vince.util.DateTimeParser;
@@ -38,6 +39,21 @@ public class Deadline extends Task {
         this.by = by;
     }
 
+    /**
+     * Creates a deadline task with the given priority rather than a suggested one.
+     * @param description task description
+     * @param by LocalDateTime value of the deadline
+     * @param priority the task priority
+     * @throws VinceException if the deadline is null
+     */
+    public Deadline(String description, LocalDateTime by, Priority priority) throws VinceException {
+        super(description, priority);
+        if (by == null) {
+            throw new VinceException("Deadline date cannot be null!");
+        }
+        this.by = by;
+    }
+
     /**
      * Returns the deadline timestamp.
      * @return LocalDateTime deadline
@@ -54,8 +70,30 @@ public class Deadline extends Task {
         return DateTimeParser.formatDateTime(by);
     }
 
+    /**
+     * Returns this deadline if it is due on the given date. For a recurring
+     * deadline, returns a detached copy of the occurrence due that day, marked
+     * done if that occurrence was completed; changes to the copy are not saved.
+     */
+    @Override
+    public Task occurrenceOn(LocalDate date) {
+        Recurrence recurrence = this.recurrence;
+        if (recurrence == null) {
+            return by.toLocalDate().equals(date) ? this : null;
+        }
+        if (!recurrence.occursOn(by.toLocalDate(), date)) {
+            return null;
+        }
+        Deadline occurrence = new Deadline(description, date.atTime(by.toLocalTime()));
+        occurrence.priority = priority;
+        occurrence.recurrence = recurrence;
+        occurrence.isDone = isDone || recurrence.isCompleted(date);
+        return occurrence;
+    }
+
     @Override
-    public String toString() {
-        return "[D] " + super.toString() + " (by: " + DateTimeParser.formatDateTime(by) + ")";
+    protected String render() {
+        String repeat = recurrence != null ? " (" + recurrence + ")" : "";
+        return "[D] " + super.render() + " (by: " + DateTimeParser.formatDateTime(by) + ")" + repeat;
     }
 }
@@ -1,6 +1,9 @@
 package vince.task;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 import vince.exception.VinceException;
 import vince.util.DateTimeParser;
 
@@ -16,7 +19,7 @@ public class Event extends Task {
      * @param description task description
      * @param from start date/time accepted by {@link DateTimeParser}
      * @param to end date/time accepted by {@link DateTimeParser}
-     * @throws VinceException if inputs are invalid or parse fails
+     * @throws VinceException if inputs are invalid, parse fails or the event ends before it starts
      */
     public Event(String description, String from, String to) throws VinceException {
         super(description);
@@ -28,6 +31,7 @@ public class Event extends Task {
         }
         this.from = DateTimeParser.parseDateTime(from.trim());
         this.to = DateTimeParser.parseDateTime(to.trim());
+        requireOrdered(this.from, this.to);
     }
 
     /**
@@ -35,20 +39,45 @@ public class Event extends Task {
      * @param description task description
      * @param from start timestamp
      * @param to end timestamp
-     * @throws VinceException if any timestamp is null
+     * @throws VinceException if any timestamp is null or the event ends before it starts
      */
     public Event(String description, LocalDateTime from, LocalDateTime to) throws VinceException {
         super(description);
+        setTimes(from, to);
+    }
+
+    /**
+     * Creates an event with the given priority rather than a suggested one.
+     * @param description task description
+     * @param from start timestamp
+     * @param to end timestamp
+     * @param priority the task priority
+     * @throws VinceException if any timestamp is null or the event ends before it starts
+     */
+    public Event(String description, LocalDateTime from, LocalDateTime to, Priority priority) throws VinceException {
+        super(description, priority);
+        setTimes(from, to);
+    }
+
+    private void setTimes(LocalDateTime from, LocalDateTime to) throws VinceException {
         if (from == null) {
             throw new VinceException("Event start time cannot be null!");
         }
         if (to == null) {
             throw new VinceException("Event end time cannot be null!");
         }
+        requireOrdered(from, to);
         this.from = from;
         this.to = to;
     }
 
+    private static void requireOrdered(LocalDateTime from, LocalDateTime to) throws VinceException {
+        if (to.isBefore(from)) {
+            throw new VinceException("Event cannot end before it starts! It starts "
+                    + DateTimeParser.formatDateTime(from) + " but ends " + DateTimeParser.formatDateTime(to) + ".");
+        }
+    }
+
     /**
      * Returns the start timestamp.
      */
@@ -73,9 +102,37 @@ public class Event extends Task {
         return DateTimeParser.formatDateTime(to);
     }
 
+    /**
+     * Returns this event if it spans the given date. For a recurring event,
+     * returns a detached copy of the occurrence spanning that day, marked done
+     * if that occurrence was completed; changes to the copy are not saved.
+     */
+    @Override
+    public Task occurrenceOn(LocalDate date) {
+        Recurrence recurrence = this.recurrence;
+        LocalDate startDate = from.toLocalDate();
+        long spanDays = ChronoUnit.DAYS.between(startDate, to.toLocalDate());
+        if (recurrence == null) {
+            return !date.isBefore(startDate) && !date.isAfter(startDate.plusDays(spanDays)) ? this : null;
+        }
+        // A multi-day occurrence covers the date if it started at most spanDays before it.
+        List<LocalDate> starts = recurrence.occurrencesBetween(startDate, date.minusDays(spanDays), date);
+        if (starts.isEmpty()) {
+            return null;
+        }
+        LocalDate start = starts.get(starts.size() - 1);
+        Event occurrence = new Event(description, start.atTime(from.toLocalTime()),
+                start.plusDays(spanDays).atTime(to.toLocalTime()));
+        occurrence.priority = priority;
+        occurrence.recurrence = recurrence;
+        occurrence.isDone = isDone || recurrence.isCompleted(start);
+        return occurrence;
+    }
+
     @Override
-    public String toString() {
-        return "[E] " + super.toString() + " (from: " + DateTimeParser.formatDateTime(from) + " to: " + DateTimeParser.formatDateTime(to) + ")";
+    protected String render() {
+        String repeat = recurrence != null ? " (" + recurrence + ")" : "";
+        return "[E] " + super.render() + " (from: " + DateTimeParser.formatDateTime(from) + " to: " + DateTimeParser.formatDateTime(to) + ")" + repeat;
     }
 
 }
@@ -0,0 +1,299 @@
+package vince.task;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import vince.exception.VinceException;
+import vince.util.DateTimeParser;
+
+/**
+ * How a deadline or event repeats, e.g. {@code every 2 weeks until 31/12/2024}.
+ * A series is stored once; its occurrences are never materialized up front.
+ * Instead, the occurrences inside a date window are computed on demand by
+ * jumping straight to the first one in the window, so the cost of a lookup
+ * depends on the window, not on how long the series has been running.
+ * <p>
+ * Occurrences are identified by their start date. Skipped (exception) dates
+ * and completed occurrences are kept alongside the rule. Instances are
+ * immutable; the {@code with...} methods return updated copies.
+ */
+public final class Recurrence {
+    private static final Pattern SPEC_PATTERN = Pattern.compile(
+            "(?:(\\d+)\\s+)?(day|days|week|weeks|month|months|year|years)(?:\\s+until\\s+(.+))?",
+            Pattern.CASE_INSENSITIVE);
+
+    private final int interval;
+    private final ChronoUnit unit;
+    private final LocalDate until;
+    private final Set<LocalDate> exceptions;
+    private final Set<LocalDate> completed;
+
+    private Recurrence(int interval, ChronoUnit unit, LocalDate until,
+            Set<LocalDate> exceptions, Set<LocalDate> completed) {
+        this.interval = interval;
+        this.unit = unit;
+        this.until = until;
+        this.exceptions = exceptions;
+        this.completed = completed;
+    }
+
+    /**
+     * Parses the text after {@code /every}, such as {@code week} or
+     * {@code 2 days until next friday}.
+     *
+     * @param spec recurrence specification
+     * @return the recurrence
+     * @throws VinceException if the specification is not understood
+     */
+    public static Recurrence parse(String spec) throws VinceException {
+        Matcher matcher = SPEC_PATTERN.matcher(spec == null ? "" : spec.trim());
+        if (!matcher.matches()) {
+            throw new VinceException("Unknown repeat '" + spec
+                    + "'. Try '/every week', '/every 2 days' or '/every month until 31/12/2024'.");
+        }
+        int interval = matcher.group(1) == null ? 1 : Integer.parseInt(matcher.group(1));
+        if (interval < 1) {
+            throw new VinceException("A task must repeat at least every 1 " + matcher.group(2) + "!");
+        }
+        LocalDate until = matcher.group(3) == null ? null
+                : DateTimeParser.parseDateTime(matcher.group(3)).toLocalDate();
+        return new Recurrence(interval, parseUnit(matcher.group(2)), until, Set.of(), Set.of());
+    }
+
+    private static ChronoUnit parseUnit(String word) {
+        switch (word.toLowerCase()) {
+            case "day":
+            case "days":
+                return ChronoUnit.DAYS;
+            case "week":
+            case "weeks":
+                return ChronoUnit.WEEKS;
+            case "month":
+            case "months":
+                return ChronoUnit.MONTHS;
+            default:
+                return ChronoUnit.YEARS;
+        }
+    }
+
+    /**
+     * Returns the start dates of all occurrences in {@code [from, to]},
+     * skipping exception dates.
+     *
+     * @param anchor start date of the first occurrence
+     * @param from first date of the window
+     * @param to last date of the window
+     * @return occurrence start dates in ascending order
+     */
+    public List<LocalDate> occurrencesBetween(LocalDate anchor, LocalDate from, LocalDate to) {
+        List<LocalDate> dates = new ArrayList<>();
+        LocalDate last = until != null && until.isBefore(to) ? until : to;
+        long k = firstIndexOnOrAfter(anchor, from);
+        for (LocalDate date = nth(anchor, k); !date.isAfter(last); date = nth(anchor, ++k)) {
+            if (!exceptions.contains(date)) {
+                dates.add(date);
+            }
+        }
+        return dates;
+    }
+
+    /**
+     * Returns the first occurrence starting on or after the given date.
+     *
+     * @param anchor start date of the first occurrence
+     * @param from earliest date of interest
+     * @return occurrence start date, or null if the series has ended by then
+     */
+    public LocalDate firstOnOrAfter(LocalDate anchor, LocalDate from) {
+        for (long k = firstIndexOnOrAfter(anchor, from); ; k++) {
+            LocalDate date = nth(anchor, k);
+            if (until != null && date.isAfter(until)) {
+                return null;
+            }
+            if (!exceptions.contains(date)) {
+                return date;
+            }
+        }
+    }
+
+    /**
+     * Returns the start of the first occurrence at or after the given time.
+     * Every occurrence starts at the anchor's time of day.
+     *
+     * @param anchor start of the first occurrence
+     * @param notBefore earliest time of interest, or null for the first occurrence
+     * @return occurrence start, or null if the series has ended by then
+     */
+    public LocalDateTime nextOccurrence(LocalDateTime anchor, LocalDateTime notBefore) {
+        LocalDate anchorDate = anchor.toLocalDate();
+        LocalDate date = firstOnOrAfter(anchorDate, notBefore == null ? anchorDate : notBefore.toLocalDate());
+        if (date != null && notBefore != null && date.atTime(anchor.toLocalTime()).isBefore(notBefore)) {
+            date = firstOnOrAfter(anchorDate, date.plusDays(1));
+        }
+        return date == null ? null : date.atTime(anchor.toLocalTime());
+    }
+
+    /**
+     * Returns whether an occurrence starts on the given date.
+     *
+     * @param anchor start date of the first occurrence
+     * @param date date to check
+     * @return true if the series has a (non-skipped) occurrence starting then
+     */
+    public boolean occursOn(LocalDate anchor, LocalDate date) {
+        return date.equals(firstOnOrAfter(anchor, date));
+    }
+
+    /**
+     * Returns the last day an occurrence may start on.
+     *
+     * @return end date, or null if the series never ends
+     */
+    public LocalDate getUntil() {
+        return until;
+    }
+
+    /**
+     * Returns whether the occurrence starting on the given date has been marked as done.
+     *
+     * @param occurrence occurrence start date
+     * @return true if completed
+     */
+    public boolean isCompleted(LocalDate occurrence) {
+        return completed.contains(occurrence);
+    }
+
+    /**
+     * Returns a copy with the given occurrence marked as done.
+     */
+    public Recurrence withCompleted(LocalDate occurrence) {
+        return new Recurrence(interval, unit, until, exceptions, plus(completed, occurrence));
+    }
+
+    /**
+     * Returns a copy with the given occurrence marked as not done.
+     */
+    public Recurrence withoutCompleted(LocalDate occurrence) {
+        Set<LocalDate> remaining = new TreeSet<>(completed);
+        remaining.remove(occurrence);
+        return new Recurrence(interval, unit, until, exceptions, Set.copyOf(remaining));
+    }
+
+    /**
+     * Returns a copy that skips the occurrence starting on the given date.
+     */
+    public Recurrence withException(LocalDate occurrence) {
+        return new Recurrence(interval, unit, until, plus(exceptions, occurrence), completed);
+    }
+
+    /**
+     * Serializes the rule and its exception and completion dates for {@link vince.storage.Storage}.
+     *
+     * @return e.g. {@code 2 WEEKS until 2024-12-31 except 2024-12-10 done 2024-12-03,2024-12-17}
+     */
+    public String toStorageString() {
+        StringBuilder text = new StringBuilder().append(interval).append(' ').append(unit.name());
+        if (until != null) {
+            text.append(" until ").append(until);
+        }
+        if (!exceptions.isEmpty()) {
+            text.append(" except ").append(joinDates(exceptions));
+        }
+        if (!completed.isEmpty()) {
+            text.append(" done ").append(joinDates(completed));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Parses the output of {@link #toStorageString()}.
+     *
+     * @param text stored recurrence
+     * @return the recurrence
+     * @throws RuntimeException if the text is malformed
+     */
+    public static Recurrence fromStorageString(String text) {
+        String[] words = text.trim().split(" ");
+        int interval = Integer.parseInt(words[0]);
+        ChronoUnit unit = ChronoUnit.valueOf(words[1]);
+        LocalDate until = null;
+        Set<LocalDate> exceptions = Set.of();
+        Set<LocalDate> completed = Set.of();
+        for (int i = 2; i + 1 < words.length; i += 2) {
+            switch (words[i]) {
+                case "until":
+                    until = LocalDate.parse(words[i + 1]);
+                    break;
+                case "except":
+                    exceptions = parseDates(words[i + 1]);
+                    break;
+                case "done":
+                    completed = parseDates(words[i + 1]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown recurrence field: " + words[i]);
+            }
+        }
+        return new Recurrence(interval, unit, until, exceptions, completed);
+    }
+
+    /**
+     * Returns a short description such as {@code every 2 weeks until Dec 31 2024}.
+     */
+    @Override
+    public String toString() {
+        String unitName = unit.name().toLowerCase();
+        String text = interval == 1
+                ? "every " + unitName.substring(0, unitName.length() - 1)
+                : "every " + interval + " " + unitName;
+        if (until != null) {
+            text += " until " + DateTimeParser.formatDate(until.atStartOfDay());
+        }
+        return text;
+    }
+
+    /**
+     * Index of the first occurrence starting on or after {@code from}, found
+     * by arithmetic rather than by stepping through earlier occurrences.
+     */
+    private long firstIndexOnOrAfter(LocalDate anchor, LocalDate from) {
+        if (!from.isAfter(anchor)) {
+            return 0;
+        }
+        long k = unit.between(anchor, from) / interval;
+        // Month and year steps clamp to month ends, so the estimate may be one short.
+        while (nth(anchor, k).isBefore(from)) {
+            k++;
+        }
+        return k;
+    }
+
+    private LocalDate nth(LocalDate anchor, long k) {
+        return anchor.plus(k * interval, unit);
+    }
+
+    private static Set<LocalDate> plus(Set<LocalDate> dates, LocalDate date) {
+        Set<LocalDate> next = new TreeSet<>(dates);
+        next.add(date);
+        return Set.copyOf(next);
+    }
+
+    private static String joinDates(Set<LocalDate> dates) {
+        return new TreeSet<>(dates).stream().map(LocalDate::toString).collect(Collectors.joining(","));
+    }
+
+    private static Set<LocalDate> parseDates(String text) {
+        Set<LocalDate> dates = new TreeSet<>();
+        for (String date : text.split(",")) {
+            dates.add(LocalDate.parse(date));
+        }
+        return Set.copyOf(dates);
+    }
+}
@@ -1,5 +1,6 @@
 package vince.task;
 
+import java.time.LocalDate;
 import vince.exception.VinceException;
 
 /**
@@ -7,8 +8,17 @@ import vince.exception.VinceException;
  */
 public class Task {
     protected String description;
-    protected boolean isDone;
-    protected Priority priority;
+    // Volatile so state changes made under TaskList's write lock are seen by lock-free readers.
+    protected volatile boolean isDone;
+    protected volatile Priority priority;
+    // Bumped after every change that affects the display line.
+    private volatile int revision;
+    // Display line together with the revision it was rendered from.
+    private volatile RenderedLine rendered;
+    // Insertion order within the owning TaskList; 0 until the task is added to one.
+    private volatile long sequence;
+    // How the task repeats; null for a one-off task.
+    protected volatile Recurrence recurrence;
 
     /**
      * Constructs a task with the given description and auto-suggested priority.
@@ -49,6 +59,7 @@ public class Task {
     public void mark() {
         assert !this.isDone : "Task should not already be marked as done";
         this.isDone = true;
+        invalidateRendering();
         assert this.isDone : "Task should be marked as done after mark() call";
     }
 
@@ -56,6 +67,7 @@ public class Task {
     public void unmark() {
         assert this.isDone : "Task should be marked as done before unmarking";
         this.isDone = false;
+        invalidateRendering();
         assert !this.isDone : "Task should not be marked as done after unmark() call";
     }
 
@@ -89,15 +101,109 @@ public class Task {
      */
     public void setPriority(Priority priority) {
         this.priority = priority != null ? priority : Priority.NONE;
+        invalidateRendering();
         assert this.priority != null : "Priority should not be null after setting";
     }
 
     /**
-     * Returns a string with priority, completion indicator and description.
+     * Returns the insertion sequence number assigned by the owning task list.
+     * Sequence numbers increase in list order, so they identify a task's
+     * position without scanning the list.
+     * @return sequence number, or 0 if the task has not been added to a list
      */
-    public String toString() {
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Assigns the insertion sequence number. Called by the owning task list only.
+     * @param sequence sequence number greater than that of every earlier task
+     */
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    /**
+     * Returns how this task repeats.
+     * @return the recurrence, or null if the task does not repeat
+     */
+    public Recurrence getRecurrence() {
+        return recurrence;
+    }
+
+    /**
+     * Returns whether this task is a recurring series.
+     * @return true if the task repeats
+     */
+    public boolean isRecurring() {
+        return recurrence != null;
+    }
+
+    /**
+     * Replaces how this task repeats, e.g. after an occurrence was completed or skipped.
+     * @param recurrence the new recurrence, or null to make the task a one-off
+     */
+    public void setRecurrence(Recurrence recurrence) {
+        this.recurrence = recurrence;
+        invalidateRendering();
+    }
+
+    /**
+     * Returns the task as it occurs on the given date. Tasks without a date
+     * never occur on one.
+     * @param date the date to look at
+     * @return this task or one occurrence of its series, or null if nothing occurs on that date
+     */
+    public Task occurrenceOn(LocalDate date) {
+        return null;
+    }
+
+    /**
+     * Discards the cached display line. Every mutator that changes what
+     * {@link #render()} produces must call this after updating its fields.
+     */
+    protected void invalidateRendering() {
+        revision++;
+    }
+
+    /**
+     * Returns the display line for this task, formatting it only on the first
+     * call after a change.
+     */
+    @Override
+    public final String toString() {
+        // Read the revision before rendering: a line rendered concurrently with a
+        // mutation is then tagged with the older revision and never served again.
+        int current = revision;
+        RenderedLine cached = rendered;
+        if (cached != null && cached.revision == current) {
+            return cached.line;
+        }
+        String line = render();
+        rendered = new RenderedLine(current, line);
+        return line;
+    }
+
+    /**
+     * Builds a string with priority, completion indicator and description.
+     * Subclasses prepend their type tag and append their dates.
+     */
+    protected String render() {
         String statusIcon = isDone ? "[X] " : "[ ] ";
         String priorityIcon = priority != Priority.NONE ? priority.getEmoji() + " " : "";
         return priorityIcon + statusIcon + description;
     }
+
+    /**
+     * Immutable pairing of a rendered line with the revision it reflects.
+     */
+    private static class RenderedLine {
+        private final int revision;
+        private final String line;
+
+        RenderedLine(int revision, String line) {
+            this.revision = revision;
+            this.line = line;
+        }
+    }
 }
@@ -4,6 +4,9 @@ public enum TaskType {
     TODO("todo", 5),
     DEADLINE("deadline", 9),
     EVENT("event", 6);
+
+    // values() clones its array on every call
+    private static final TaskType[] VALUES = values();
     
     private final String command;
     private final int prefixLength;
@@ -22,11 +25,27 @@ public enum TaskType {
     }
     
     public static TaskType fromCommand(String command) {
-        for (TaskType type : values()) {
+        for (TaskType type : VALUES) {
             if (type.command.equals(command)) {
                 return type;
             }
         }
         return null;
     }
+
+    /**
+     * Returns the type of the given task. Plain tasks count as todos.
+     *
+     * @param task the task to classify
+     * @return the task's type
+     */
+    public static TaskType of(Task task) {
+        if (task instanceof Deadline) {
+            return DEADLINE;
+        }
+        if (task instanceof Event) {
+            return EVENT;
+        }
+        return TODO;
+    }
 }
@@ -15,7 +15,18 @@ public class Todo extends Task {
         super(description);
     }
 
-    public String toString() {
-        return "[T] " + super.toString();
+    /**
+     * Creates a to-do task with the given priority rather than a suggested one.
+     * @param description description of the task
+     * @param priority the task priority
+     * @throws VinceException if description is invalid
+     */
+    public Todo(String description, Priority priority) throws VinceException {
+        super(description, priority);
+    }
+
+    @Override
+    protected String render() {
+        return "[T] " + super.render();
     }
 }
@@ -1,7 +1,10 @@
 package vince.ui;
 
+import java.io.InputStream;
+import java.io.PrintStream;
 import java.util.Scanner;
 import java.util.List;
+import vince.command.CommandResult;
 import vince.task.Task;
 
 /**
@@ -18,31 +21,44 @@ public class Ui {
     private static final String DIVIDER_LINE = "____________________________________________________________";
     
     private Scanner scanner;
+    private final PrintStream out;
     
     /**
      * Creates a UI bound to standard input and output streams.
      */
     public Ui() {
-        this.scanner = new Scanner(System.in);
+        this(System.in, System.out);
+    }
+    
+    /**
+     * Creates a UI bound to the given input and output streams.
+     * Used by front ends that capture output instead of printing it to the console.
+     * 
+     * @param in stream commands are read from
+     * @param out stream all messages are written to
+     */
+    public Ui(InputStream in, PrintStream out) {
+        this.scanner = new Scanner(in);
+        this.out = out;
     }
     
     /** Prints the welcome banner. */
     public void showWelcome() {
         showLine();
-        System.out.println(WELCOME_MESSAGE);
-        System.out.println(HELP_MESSAGE);
-        System.out.println();
+        out.println(WELCOME_MESSAGE);
+        out.println(HELP_MESSAGE);
+        out.println();
         showLine();
-        System.out.println();
+        out.println();
     }
     
     /** Prints the goodbye banner and trailing divider. */
     public void showGoodbye() {
         showLine();
-        System.out.println(GOODBYE_MESSAGE);
-        System.out.println();
+        out.println(GOODBYE_MESSAGE);
+        out.println();
         showLine();
-        System.out.println();
+        out.println();
     }
     
     /**
@@ -59,7 +75,7 @@ public class Ui {
     
     /** Prints a horizontal divider line. */
     public void showLine() {
-        System.out.println(DIVIDER_LINE);
+        out.println(DIVIDER_LINE);
     }
     
     /**
@@ -68,39 +84,110 @@ public class Ui {
      */
     public void showError(String message) {
         showLine();
-        System.out.println("Oops! " + message);
+        out.println("Oops! " + message);
         showLine();
-        System.out.println();
+        out.println();
     }
     
     /** Prints an error for empty commands. */
     public void showEmptyCommandError() {
         showLine();
-        System.out.println(EMPTY_COMMAND_ERROR);
+        out.println(EMPTY_COMMAND_ERROR);
         showLine();
-        System.out.println();
+        out.println();
     }
     
     /** Prints an error for unknown commands. */
     public void showInvalidCommandError() {
         showLine();
-        System.out.println(INVALID_COMMAND_ERROR);
+        out.println(INVALID_COMMAND_ERROR);
         showLine();
-        System.out.println();
+        out.println();
     }
     
     /**
-     * Shows a confirmation that a task was added.
+     * Renders the outcome of a command on the console.
+     * @param result the structured result returned by the command
+     */
+    public void showResult(CommandResult result) {
+        switch (result.getKind()) {
+            case TASK_ADDED:
+                showTaskAdded(result.getTask(), result.getTaskCount(), result.getLines());
+                break;
+            case TASK_MARKED:
+                showTaskMarked(result.getTask());
+                break;
+            case TASK_UNMARKED:
+                showTaskUnmarked(result.getTask());
+                break;
+            case OCCURRENCE_SKIPPED:
+                showOccurrenceSkipped(result.getTask());
+                break;
+            case TASK_DELETED:
+                showTaskDeleted(result.getTask(), result.getTaskCount());
+                break;
+            case TASK_LIST:
+            case MATCHING_TASKS:
+                showTaskList(result.getLines());
+                break;
+            case TASKS_ON_DATE:
+                showTasksOnDate(result.getLabel(), result.getLines());
+                break;
+            case SCHEDULE:
+                showSchedule(result.getLabel(), result.getLines());
+                break;
+            case UPCOMING_TASKS:
+                showTaskLines("Coming up next:", "Nothing is due.", result.getLines());
+                break;
+            case OVERDUE_TASKS:
+                showTaskLines("These are past due:", "Nothing is overdue.", result.getLines());
+                break;
+            case CONFLICTS:
+                showTaskLines("Overlapping events, " + result.getLabel() + ":",
+                        "No overlapping events, " + result.getLabel() + ".", result.getLines());
+                break;
+            case HELP:
+                showHelp();
+                if (!result.getLines().isEmpty()) {
+                    showSuggestions(result.getLines());
+                }
+                break;
+            case STATS:
+                showStats(result.getTaskCount(), result.getLines());
+                break;
+            case UNDONE:
+                showChange("Undone", result.getLabel());
+                break;
+            case REDONE:
+                showChange("Redone", result.getLabel());
+                break;
+            case GOODBYE:
+                showGoodbye();
+                break;
+            default:
+                throw new IllegalStateException("Unhandled result kind: " + result.getKind());
+        }
+    }
+    
+    /**
+     * Shows a confirmation that a task was added, warning about any events it overlaps.
      * @param task the task added
      * @param taskCount new size of the task list
+     * @param overlapping lines of the events the task overlaps
      */
-    public void showTaskAdded(Task task, int taskCount) {
+    public void showTaskAdded(Task task, int taskCount, List<String> overlapping) {
         showLine();
-        System.out.println("Got it. I've added this task:");
-        System.out.println(task);
-        System.out.println("Now you have " + taskCount + " tasks in the list.");
+        out.println("Got it. I've added this task:");
+        out.println(task);
+        out.println("Now you have " + taskCount + " tasks in the list.");
+        if (!overlapping.isEmpty()) {
+            out.println("⚠️  It overlaps with:");
+            for (String line : overlapping) {
+                out.println(line);
+            }
+        }
         showLine();
-        System.out.println();
+        out.println();
     }
     
     /**
@@ -109,24 +196,61 @@ public class Ui {
      */
     public void showTaskMarked(Task task) {
         showLine();
-        System.out.println("Nice! I've marked this task as done:");
-        System.out.println(task);
+        out.println("Nice! I've marked this task as done:");
+        out.println(task);
         showLine();
-        System.out.println();
+        out.println();
     }
     
+    /**
+     * Shows a reminder that a deadline is due or an event is starting.
+     * Called from the reminder thread, so the block is printed in one write.
+     * @param occurrence the task or occurrence that is due
+     */
+    public void showReminder(Task occurrence) {
+        out.print(DIVIDER_LINE + System.lineSeparator()
+                + "⏰ Reminder! This is due now:" + System.lineSeparator()
+                + occurrence + System.lineSeparator()
+                + DIVIDER_LINE + System.lineSeparator() + System.lineSeparator());
+        out.flush();
+    }
+
+    /**
+     * Shows that a change was undone or redone.
+     * @param action "Undone" or "Redone"
+     * @param description what the change was
+     */
+    public void showChange(String action, String description) {
+        showLine();
+        out.println(action + " " + description);
+        showLine();
+        out.println();
+    }
+
     /**
      * Shows that a task was unmarked.
      * @param task the task that has been unmarked
      */
     public void showTaskUnmarked(Task task) {
         showLine();
-        System.out.println("OK, I've marked this task as not done yet:");
-        System.out.println(task);
+        out.println("OK, I've marked this task as not done yet:");
+        out.println(task);
         showLine();
-        System.out.println();
+        out.println();
     }
     
+    /**
+     * Shows that one occurrence of a recurring task was skipped.
+     * @param occurrence the occurrence that will no longer happen
+     */
+    public void showOccurrenceSkipped(Task occurrence) {
+        showLine();
+        out.println("OK, I've skipped this occurrence:");
+        out.println(occurrence);
+        showLine();
+        out.println();
+    }
+
     /**
      * Shows a confirmation that a task was deleted.
      * @param task the task removed
@@ -134,19 +258,19 @@ public class Ui {
      */
     public void showTaskDeleted(Task task, int taskCount) {
         showLine();
-        System.out.println("Noted. I've removed this task:");
-        System.out.println(task);
-        System.out.println("Now you have " + taskCount + " tasks in the list.");
+        out.println("Noted. I've removed this task:");
+        out.println(task);
+        out.println("Now you have " + taskCount + " tasks in the list.");
         showLine();
-        System.out.println();
+        out.println();
     }
     
     /** Prints an error that a date is required for this operation. */
     public void showDateRequiredError() {
         showLine();
-        System.out.println("Please specify a date! For instance, 'on <date>'");
+        out.println("Please specify a date! For instance, 'on <date>'");
         showLine();
-        System.out.println();
+        out.println();
     }
 
     /**
@@ -155,12 +279,30 @@ public class Ui {
      */
     public void showTaskList(List<String> lines) {
         showLine();
-        System.out.println("Here are the tasks in your list:");
+        out.println("Here are the tasks in your list:");
+        for (String line : lines) {
+            out.println(line);
+        }
+        showLine();
+        out.println();
+    }
+
+    /**
+     * Displays latency percentiles and counters recorded so far.
+     * @param taskCount current size of the task list
+     * @param lines preformatted metric lines
+     */
+    public void showStats(int taskCount, List<String> lines) {
+        showLine();
+        out.println("Performance stats with " + taskCount + " tasks:");
+        if (lines.isEmpty()) {
+            out.println("Nothing measured yet.");
+        }
         for (String line : lines) {
-            System.out.println(line);
+            out.println(line);
         }
         showLine();
-        System.out.println();
+        out.println();
     }
 
     /**
@@ -170,16 +312,37 @@ public class Ui {
      */
     public void showTasksOnDate(String dateLabel, List<String> lines) {
         showLine();
-        System.out.println("Tasks on " + dateLabel + ":");
+        out.println("Tasks on " + dateLabel + ":");
         if (lines.isEmpty()) {
-            System.out.println("No tasks found on this date.");
+            out.println("No tasks found on this date.");
         } else {
             for (String line : lines) {
-                System.out.println(line);
+                out.println(line);
             }
         }
         showLine();
-        System.out.println();
+        out.println();
+    }
+
+    /**
+     * Displays task lines under a heading, such as the tasks due next or the
+     * overlapping events, or a message if there are none.
+     * @param heading line shown above the lines
+     * @param emptyMessage line shown when there are none
+     * @param lines preformatted task lines
+     */
+    public void showTaskLines(String heading, String emptyMessage, List<String> lines) {
+        showLine();
+        if (lines.isEmpty()) {
+            out.println(emptyMessage);
+        } else {
+            out.println(heading);
+            for (String line : lines) {
+                out.println(line);
+            }
+        }
+        showLine();
+        out.println();
     }
 
     /**
@@ -189,13 +352,13 @@ public class Ui {
      */
     public void showSchedule(String dateLabel, List<String> scheduleLines) {
         showLine();
-        System.out.println("📅 Schedule for " + dateLabel + ":");
-        System.out.println();
+        out.println("📅 Schedule for " + dateLabel + ":");
+        out.println();
         for (String line : scheduleLines) {
-            System.out.println(line);
+            out.println(line);
         }
         showLine();
-        System.out.println();
+        out.println();
     }
     
     /**
@@ -203,35 +366,44 @@ public class Ui {
      */
     public void showHelp() {
         showLine();
-        System.out.println("🤖 Vince AI Assistant - Available Commands:");
-        System.out.println();
-        System.out.println("📝 Task Management:");
-        System.out.println("  • todo <description> - Add a simple task");
-        System.out.println("  • deadline <description> /by <date> - Add a task with deadline");
-        System.out.println("  • event <description> /from <start> /to <end> - Add a scheduled event");
-        System.out.println();
-        System.out.println("📋 Task Operations:");
-        System.out.println("  • list - Show all tasks");
-        System.out.println("  • mark <number> - Mark task as completed");
-        System.out.println("  • unmark <number> - Mark task as incomplete");
-        System.out.println("  • delete <number> - Remove a task");
-        System.out.println();
-        System.out.println("🔍 Smart Features:");
-        System.out.println("  • find <keyword> - Search tasks by keyword");
-        System.out.println("  • schedule <date> - View timeline for a specific date");
-        System.out.println("  • on <date> - List tasks on a specific date");
-        System.out.println();
-        System.out.println("🧠 Natural Language Support:");
-        System.out.println("  • Use 'today', 'tomorrow', 'next friday'");
-        System.out.println("  • Use '3pm', '1400', '2:30pm' for times");
-        System.out.println("  • Priority auto-detection from task content");
-        System.out.println();
-        System.out.println("💡 Examples:");
-        System.out.println("  • deadline Submit report /by tomorrow 5pm");
-        System.out.println("  • event Team meeting /from today 2pm /to today 3pm");
-        System.out.println("  • schedule next monday");
-        showLine();
-        System.out.println();
+        out.println("🤖 Vince AI Assistant - Available Commands:");
+        out.println();
+        out.println("📝 Task Management:");
+        out.println("  • todo <description> - Add a simple task");
+        out.println("  • deadline <description> /by <date> - Add a task with deadline");
+        out.println("  • event <description> /from <start> /to <end> - Add a scheduled event");
+        out.println("  • add /every week or /every 2 days until <date> to repeat a deadline or event");
+        out.println();
+        out.println("📋 Task Operations:");
+        out.println("  • list - Show all tasks");
+        out.println("  • list --sort due|priority|created [--page <n>] - Show tasks in order, a page at a time");
+        out.println("  • mark <number> [date] - Mark task (or one occurrence of a repeating task) as completed");
+        out.println("  • unmark <number> [date] - Mark task (or one occurrence) as incomplete");
+        out.println("  • skip <number> <date> - Skip one occurrence of a repeating task");
+        out.println("  • delete <number> - Remove a task");
+        out.println("  • undo / redo - Revert or re-apply your last change");
+        out.println();
+        out.println("🔍 Smart Features:");
+        out.println("  • find <keyword> - Search tasks by keyword");
+        out.println("  • filter <terms> - Combine conditions, e.g. type:deadline done:no due<next friday sort:due");
+        out.println("  • schedule <date> - View timeline for a specific date");
+        out.println("  • on <date> - List tasks on a specific date");
+        out.println("  • upcoming [n] - Show the next n open deadlines and events (default 5)");
+        out.println("  • overdue - Show open deadlines that are past due");
+        out.println("  • conflicts [<date> [/to <date>]] - Find overlapping events (default next 30 days)");
+        out.println("  • stats - Show p50/p99/max latency per command and stage");
+        out.println();
+        out.println("🧠 Natural Language Support:");
+        out.println("  • Use 'today', 'tomorrow', 'next friday'");
+        out.println("  • Use '3pm', '1400', '2:30pm' for times");
+        out.println("  • Priority auto-detection from task content");
+        out.println();
+        out.println("💡 Examples:");
+        out.println("  • deadline Submit report /by tomorrow 5pm");
+        out.println("  • event Team meeting /from today 2pm /to today 3pm");
+        out.println("  • schedule next monday");
+        showLine();
+        out.println();
     }
     
     /**
@@ -240,13 +412,13 @@ public class Ui {
      */
     public void showSuggestions(List<String> suggestions) {
         showLine();
-        System.out.println("🧠 AI Suggestions for You:");
-        System.out.println();
+        out.println("🧠 AI Suggestions for You:");
+        out.println();
         for (String suggestion : suggestions) {
-            System.out.println("  " + suggestion);
+            out.println("  " + suggestion);
         }
         showLine();
-        System.out.println();
+        out.println();
     }
     
     /** Closes the scanner backing this UI. */
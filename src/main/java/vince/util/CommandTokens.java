@@ -0,0 +1,313 @@
+package vince.util;
+
+import java.util.Arrays;
+
+/**
+ * A command line tokenized once, as offsets into the original text, and
+ * shared by {@link InputValidator}, {@link Parser} and
+ * {@link vince.storage.TaskList#addTask(CommandTokens)} so a line is scanned
+ * a single time and only the pieces that are kept get copied into strings.
+ * <p>
+ * Words are separated by runs of whitespace, as {@code split("\\s+")} on the
+ * trimmed line would separate them. A {@link Clause} marker counts only with
+ * a space on either side, e.g. {@code " /by "}, and only where it first
+ * occurs; its value runs from the marker to the next clause or the end of the
+ * line. For {@code deadline return book /by 02/12/2024 1700} the words are
+ * {@code deadline}, {@code return}, {@code book}, {@code /by}, {@code 02/12/2024}
+ * and {@code 1700}, and the value of {@link Clause#BY} is {@code 02/12/2024 1700}.
+ */
+public final class CommandTokens {
+
+    /**
+     * The clauses a command line may carry, each introduced by its marker.
+     */
+    public enum Clause {
+        BY(" /by "),
+        FROM(" /from "),
+        TO(" /to "),
+        EVERY(" /every ");
+
+        private final String marker;
+
+        Clause(String marker) {
+            this.marker = marker;
+        }
+
+        public String getMarker() {
+            return marker;
+        }
+    }
+
+    private static final Clause[] CLAUSES = Clause.values();
+
+    // Returned by command() instead of a copy of the first word when it is one of these.
+    private static final String[] COMMANDS = {
+        "list", "todo", "deadline", "event", "mark", "unmark", "delete", "find", "filter", "on", "schedule",
+        "skip", "undo", "redo", "stats", "upcoming", "overdue", "conflicts", "help", "bye"
+    };
+
+    private final CharSequence text;
+    private final int start;
+    private final int end;
+    private final int[] clauseStarts = new int[CLAUSES.length];
+    // Start and end offsets of each word, in pairs.
+    private int[] words = new int[16];
+    private int wordCount;
+
+    private CommandTokens(CharSequence text) {
+        this.text = text;
+        int from = 0;
+        int to = text.length();
+        while (from < to && isWhitespace(text.charAt(from))) {
+            from++;
+        }
+        while (to > from && isWhitespace(text.charAt(to - 1))) {
+            to--;
+        }
+        this.start = from;
+        this.end = to;
+        Arrays.fill(clauseStarts, -1);
+        scan();
+    }
+
+    /**
+     * Tokenizes a command line.
+     *
+     * @param text the raw line; it is not copied and must not change while the tokens are in use
+     * @return the tokens of the line
+     */
+    public static CommandTokens of(CharSequence text) {
+        return new CommandTokens(text);
+    }
+
+    /**
+     * Records word boundaries and clause markers in a single pass.
+     */
+    private void scan() {
+        int i = start;
+        while (i < end) {
+            char c = text.charAt(i);
+            if (isWhitespace(c)) {
+                if (c == ' ' && i + 1 < end && text.charAt(i + 1) == '/') {
+                    markClauseAt(i);
+                }
+                i++;
+                continue;
+            }
+            int wordStart = i;
+            while (i < end && !isWhitespace(text.charAt(i))) {
+                i++;
+            }
+            addWord(wordStart, i);
+        }
+    }
+
+    private void markClauseAt(int offset) {
+        for (Clause clause : CLAUSES) {
+            if (clauseStarts[clause.ordinal()] < 0 && regionMatches(offset, clause.marker, false)) {
+                clauseStarts[clause.ordinal()] = offset;
+                return;
+            }
+        }
+    }
+
+    private void addWord(int wordStart, int wordEnd) {
+        if (2 * wordCount == words.length) {
+            words = Arrays.copyOf(words, 2 * words.length);
+        }
+        words[2 * wordCount] = wordStart;
+        words[2 * wordCount + 1] = wordEnd;
+        wordCount++;
+    }
+
+    /** Matches {@code \s} in a regular expression. */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f' || c == '\u000B';
+    }
+
+    private boolean regionMatches(int offset, String other, boolean ignoreCase) {
+        if (offset < start || offset + other.length() > end) {
+            return false;
+        }
+        for (int i = 0; i < other.length(); i++) {
+            char a = text.charAt(offset + i);
+            char b = other.charAt(i);
+            if (a != b && !(ignoreCase && Character.toLowerCase(a) == Character.toLowerCase(b))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether the line holds nothing but whitespace.
+     *
+     * @return true if there are no words
+     */
+    public boolean isEmpty() {
+        return wordCount == 0;
+    }
+
+    public int wordCount() {
+        return wordCount;
+    }
+
+    public int wordStart(int index) {
+        return words[2 * checkWord(index)];
+    }
+
+    public int wordEnd(int index) {
+        return words[2 * checkWord(index) + 1];
+    }
+
+    /**
+     * Returns the offset just past the last non-whitespace character.
+     *
+     * @return the end of the trimmed line
+     */
+    public int end() {
+        return end;
+    }
+
+    private int checkWord(int index) {
+        if (index < 0 || index >= wordCount) {
+            throw new IndexOutOfBoundsException("Word " + index + " of " + wordCount);
+        }
+        return index;
+    }
+
+    /**
+     * Returns a word as a string.
+     *
+     * @param index position of the word, the command being 0
+     * @return the word, or an empty string if the line has fewer words
+     */
+    public String word(int index) {
+        return index < wordCount ? text.subSequence(wordStart(index), wordEnd(index)).toString() : "";
+    }
+
+    /**
+     * Compares a word with a string without copying it.
+     *
+     * @param index position of the word
+     * @param other the string to compare with
+     * @param ignoreCase whether case differences are ignored
+     * @return true if the line has such a word and it equals {@code other}
+     */
+    public boolean wordEquals(int index, String other, boolean ignoreCase) {
+        return index < wordCount && wordEnd(index) - wordStart(index) == other.length()
+                && regionMatches(wordStart(index), other, ignoreCase);
+    }
+
+    /**
+     * Returns whether a word is a decimal integer, as {@link Integer#parseInt(String)} accepts it.
+     *
+     * @param index position of the word
+     * @return true if the line has such a word and it parses
+     */
+    public boolean isInteger(int index) {
+        if (index >= wordCount) {
+            return false;
+        }
+        try {
+            Integer.parseInt(text, wordStart(index), wordEnd(index), 10);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns the command word, exactly as typed. A known command is returned
+     * as a shared constant rather than a copy, so it can be compared cheaply.
+     *
+     * @return the first word, or an empty string for an empty line
+     */
+    public String command() {
+        for (String command : COMMANDS) {
+            if (wordEquals(0, command, false)) {
+                return command;
+            }
+        }
+        return word(0);
+    }
+
+    /**
+     * Returns the line from a word to the end, e.g. the keyword of {@code find}.
+     *
+     * @param index position of the first word to include
+     * @return the rest of the line, or an empty string if the line has fewer words
+     */
+    public String rest(int index) {
+        return index < wordCount ? slice(wordStart(index), end) : "";
+    }
+
+    /**
+     * Returns whether the line carries a clause.
+     *
+     * @param clause the clause to look for
+     * @return true if its marker occurs
+     */
+    public boolean has(Clause clause) {
+        return clauseStarts[clause.ordinal()] >= 0;
+    }
+
+    /**
+     * Returns where a clause's marker starts.
+     *
+     * @param clause the clause to look for
+     * @return offset of the space that opens the marker, or -1 if it does not occur
+     */
+    public int clauseStart(Clause clause) {
+        return clauseStarts[clause.ordinal()];
+    }
+
+    /**
+     * Returns a clause's value: the text after its marker, up to the next
+     * clause or the end of the line, trimmed.
+     *
+     * @param clause the clause to read
+     * @return its value, or null if the line does not carry it
+     */
+    public String clauseValue(Clause clause) {
+        int clauseStart = clauseStarts[clause.ordinal()];
+        if (clauseStart < 0) {
+            return null;
+        }
+        int valueStart = clauseStart + clause.marker.length();
+        int valueEnd = end;
+        for (int other : clauseStarts) {
+            if (other > clauseStart && other < valueEnd) {
+                valueEnd = other;
+            }
+        }
+        return slice(valueStart, valueEnd);
+    }
+
+    /**
+     * Copies part of the line, without surrounding whitespace.
+     *
+     * @param from start offset, inclusive
+     * @param to end offset, exclusive
+     * @return the trimmed text between the offsets
+     */
+    public String slice(int from, int to) {
+        while (from < to && isWhitespace(text.charAt(from))) {
+            from++;
+        }
+        while (to > from && isWhitespace(text.charAt(to - 1))) {
+            to--;
+        }
+        return text.subSequence(from, to).toString();
+    }
+
+    /**
+     * Returns the trimmed line.
+     *
+     * @return the line without leading or trailing whitespace
+     */
+    @Override
+    public String toString() {
+        return text.subSequence(start, end).toString();
+    }
+}
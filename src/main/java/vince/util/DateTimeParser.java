@@ -9,6 +9,7 @@ import java.util.Locale;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import vince.exception.VinceException;
+import vince.metrics.DateParseEvent;
 
 /**
  * Utility for parsing and formatting dates/times used in tasks.
@@ -28,6 +29,23 @@ public class DateTimeParser {
      * @throws VinceException if parsing fails or input is blank
      */
     public static LocalDateTime parseDateTime(String dateTimeStr) throws VinceException {
+        DateParseEvent event = new DateParseEvent();
+        event.begin();
+        LocalDateTime result = null;
+        try {
+            result = parseWithStrategies(dateTimeStr);
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.form = result == null ? "invalid" : describeForm(dateTimeStr.trim());
+                event.inputLength = dateTimeStr == null ? 0 : dateTimeStr.length();
+                event.commit();
+            }
+        }
+    }
+
+    private static LocalDateTime parseWithStrategies(String dateTimeStr) throws VinceException {
         validateInput(dateTimeStr);
         
         String input = dateTimeStr.trim();
@@ -44,7 +62,42 @@ public class DateTimeParser {
         throw new VinceException("Unable to parse date/time: " + dateTimeStr + 
             ". Try formats like: 'tomorrow 5pm', '15/12/2024 1700', 'yyyy-mm-dd'");
     }
-    
+
+    /**
+     * Names the format a successfully parsed input was written in, for
+     * {@link DateParseEvent}. Only called while Flight Recorder is recording.
+     */
+    private static String describeForm(String input) {
+        if (DATE_TIME_PATTERN.matcher(input).matches()) {
+            return "dd/MM/yyyy HHmm";
+        } else if (DATE_PATTERN.matcher(input).matches()) {
+            return "dd/MM/yyyy";
+        } else if (TIME_PATTERN.matcher(input).matches()) {
+            return "HHmm";
+        } else if (input.length() == 10 && input.charAt(4) == '-') {
+            return "yyyy-MM-dd";
+        }
+        return "natural";
+    }
+
+    /**
+     * Returns whether a date string may mean a different date tomorrow, such
+     * as "today", "in 3 days" or a bare time. Only a full dd/MM/yyyy or
+     * yyyy-MM-dd date is known to be absolute.
+     *
+     * @param dateTimeStr input string
+     * @return false if the string names a fixed date
+     */
+    public static boolean isRelative(String dateTimeStr) {
+        if (dateTimeStr == null) {
+            return true;
+        }
+        String input = dateTimeStr.trim();
+        return !DATE_TIME_PATTERN.matcher(input).matches()
+                && !DATE_PATTERN.matcher(input).matches()
+                && !(input.length() == 10 && input.charAt(4) == '-');
+    }
+
     /**
      * Validates that the input string is not null or empty.
      * 
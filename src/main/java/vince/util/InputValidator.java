@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Pattern;
 import vince.exception.VinceException;
+import vince.util.CommandTokens.Clause;
 
 /**
  * AI-enhanced input validation and suggestion system.
@@ -21,9 +22,20 @@ public class InputValidator {
         {"unmark", "unmrk", "unm"},
         {"delete", "del", "delet", "remove", "rm"},
         {"find", "fnd", "search", "look"},
+        {"filter", "fliter", "filtr", "query"},
         {"schedule", "sched", "schedul", "timetable"},
-        {"bye", "exit", "quit", "close"}
+        {"bye", "exit", "quit", "close"},
+        {"undo", "udno", "unod"},
+        {"redo", "reod", "rdeo"},
+        {"skip", "skp", "sikp"},
+        {"stats", "stat", "statistics", "metrics"},
+        {"upcoming", "upcomming", "upcomin", "upcomng"},
+        {"overdue", "overdu", "ovredue", "overdeu"},
+        {"conflicts", "conflict", "clashes", "overlaps"}
     };
+
+    // Commands too short or too plain to have typos worth correcting
+    private static final String[] UNCORRECTED_COMMANDS = {"on", "help"};
     
     private static final Pattern DATE_PATTERN = Pattern.compile(
         "\\d{1,2}[/-]\\d{1,2}[/-]\\d{4}|\\d{4}[/-]\\d{1,2}[/-]\\d{1,2}|today|tomorrow|yesterday"
@@ -40,26 +52,54 @@ public class InputValidator {
      * @return validation result with suggestions
      */
     public static ValidationResult validate(String input) {
-        if (input == null || input.trim().isEmpty()) {
+        return validate(input == null ? null : CommandTokens.of(input));
+    }
+
+    /**
+     * Validates an already tokenized command line and suggests corrections.
+     *
+     * @param tokens the tokenized user input
+     * @return validation result with suggestions
+     */
+    public static ValidationResult validate(CommandTokens tokens) {
+        if (tokens == null || tokens.isEmpty()) {
             return new ValidationResult(false, "Command cannot be empty!", 
                 List.of("Try: 'list' to see all tasks", "'help' for available commands"));
         }
         
-        String trimmed = input.trim().toLowerCase();
-        String[] parts = trimmed.split("\\s+");
-        String command = parts[0];
-        
-        // Check for typos and suggest corrections
-        String correctedCommand = findCorrection(command);
-        if (correctedCommand != null && !correctedCommand.equals(command)) {
-            return new ValidationResult(false, 
-                String.format("Did you mean '%s'?", correctedCommand),
-                List.of(String.format("Try: '%s%s'", correctedCommand, 
-                    input.length() > command.length() ? input.substring(command.length()) : "")));
+        String command = findKnownCommand(tokens);
+        if (command == null) {
+            // Check for typos and suggest corrections
+            command = tokens.word(0).toLowerCase();
+            String correctedCommand = findCorrection(command);
+            if (correctedCommand != null && !correctedCommand.equals(command)) {
+                String rest = tokens.rest(1);
+                return new ValidationResult(false, 
+                    String.format("Did you mean '%s'?", correctedCommand),
+                    List.of(String.format("Try: '%s'", rest.isEmpty() ? correctedCommand : correctedCommand + " " + rest)));
+            }
         }
         
         // Validate specific command formats
-        return validateCommandFormat(parts, input);
+        return validateCommandFormat(command, tokens);
+    }
+    
+    /**
+     * Returns the known command the line starts with, in any case, without copying it.
+     * Known commands are never corrected, even when close to another one (e.g. undo and todo).
+     */
+    private static String findKnownCommand(CommandTokens tokens) {
+        for (String[] corrections : COMMAND_CORRECTIONS) {
+            if (tokens.wordEquals(0, corrections[0], true)) {
+                return corrections[0];
+            }
+        }
+        for (String command : UNCORRECTED_COMMANDS) {
+            if (tokens.wordEquals(0, command, true)) {
+                return command;
+            }
+        }
+        return null;
     }
     
     /**
@@ -85,13 +125,12 @@ public class InputValidator {
     /**
      * Validates command-specific format requirements.
      */
-    private static ValidationResult validateCommandFormat(String[] parts, String input) {
-        String command = parts[0];
+    private static ValidationResult validateCommandFormat(String command, CommandTokens tokens) {
         List<String> suggestions = new ArrayList<>();
         
         switch (command) {
             case "deadline":
-                if (!input.contains(" /by ")) {
+                if (!tokens.has(Clause.BY)) {
                     suggestions.add("deadline <description> /by <date>");
                     suggestions.add("Example: deadline Submit report /by 15/12/2024 1700");
                     return new ValidationResult(false, 
@@ -100,7 +139,7 @@ public class InputValidator {
                 break;
                 
             case "event":
-                if (!input.contains(" /from ") || !input.contains(" /to ")) {
+                if (!tokens.has(Clause.FROM) || !tokens.has(Clause.TO)) {
                     suggestions.add("event <description> /from <start> /to <end>");
                     suggestions.add("Example: event Team meeting /from 15/12/2024 1000 /to 15/12/2024 1100");
                     return new ValidationResult(false, 
@@ -111,15 +150,13 @@ public class InputValidator {
             case "mark":
             case "unmark":
             case "delete":
-                if (parts.length < 2) {
+                if (tokens.wordCount() < 2) {
                     suggestions.add(String.format("%s <task_number>", command));
                     suggestions.add("Example: " + command + " 1");
                     return new ValidationResult(false, 
                         String.format("Please specify which task to %s!", command), suggestions);
                 }
-                try {
-                    Integer.parseInt(parts[1]);
-                } catch (NumberFormatException e) {
+                if (!tokens.isInteger(1)) {
                     suggestions.add(String.format("%s <task_number>", command));
                     suggestions.add("Task number must be a positive integer");
                     return new ValidationResult(false, 
@@ -127,8 +164,23 @@ public class InputValidator {
                 }
                 break;
                 
+            case "skip":
+                if (tokens.wordCount() < 3) {
+                    suggestions.add("skip <task_number> <date>");
+                    suggestions.add("Example: skip 2 25/12/2024");
+                    return new ValidationResult(false,
+                        "Please specify the repeating task and the date to skip!", suggestions);
+                }
+                if (!tokens.isInteger(1)) {
+                    suggestions.add("skip <task_number> <date>");
+                    suggestions.add("Task number must be a positive integer");
+                    return new ValidationResult(false,
+                        "Task number must be a valid number!", suggestions);
+                }
+                break;
+
             case "find":
-                if (parts.length < 2) {
+                if (tokens.wordCount() < 2) {
                     suggestions.add("find <keyword>");
                     suggestions.add("Example: find meeting");
                     return new ValidationResult(false, 
@@ -138,7 +190,7 @@ public class InputValidator {
                 
             case "schedule":
             case "on":
-                if (parts.length < 2) {
+                if (tokens.wordCount() < 2) {
                     suggestions.add(command + " <date>");
                     suggestions.add("Example: " + command + " 15/12/2024");
                     suggestions.add("Example: " + command + " today");
@@ -153,27 +205,30 @@ public class InputValidator {
     
     /**
      * Calculates Levenshtein distance between two strings for fuzzy matching.
+     * Keeps only the previous and current rows of the distance matrix.
      */
     private static int levenshteinDistance(String s1, String s2) {
-        int[][] dp = new int[s1.length() + 1][s2.length() + 1];
+        int[] previous = new int[s2.length() + 1];
+        int[] current = new int[s2.length() + 1];
+        for (int j = 0; j <= s2.length(); j++) {
+            previous[j] = j;
+        }
         
-        for (int i = 0; i <= s1.length(); i++) {
-            for (int j = 0; j <= s2.length(); j++) {
-                if (i == 0) {
-                    dp[i][j] = j;
-                } else if (j == 0) {
-                    dp[i][j] = i;
-                } else {
-                    dp[i][j] = Math.min(Math.min(
-                        dp[i - 1][j] + 1,
-                        dp[i][j - 1] + 1),
-                        dp[i - 1][j - 1] + (s1.charAt(i - 1) == s2.charAt(j - 1) ? 0 : 1)
-                    );
-                }
+        for (int i = 1; i <= s1.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= s2.length(); j++) {
+                current[j] = Math.min(Math.min(
+                    previous[j] + 1,
+                    current[j - 1] + 1),
+                    previous[j - 1] + (s1.charAt(i - 1) == s2.charAt(j - 1) ? 0 : 1)
+                );
             }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
         }
         
-        return dp[s1.length()][s2.length()];
+        return previous[s2.length()];
     }
     
     /**
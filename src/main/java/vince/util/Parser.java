@@ -4,34 +4,71 @@ import vince.command.Command;
 import vince.command.ExitCommand;
 import vince.command.ListCommand;
 import vince.command.MarkCommand;
+import vince.command.SkipCommand;
 import vince.command.UnmarkCommand;
 import vince.command.DeleteCommand;
 import vince.command.OnDateCommand;
 import vince.command.AddCommand;
 import vince.command.FindCommand;
+import vince.command.FilterCommand;
 import vince.command.ScheduleCommand;
 import vince.command.HelpCommand;
+import vince.command.UndoCommand;
+import vince.command.RedoCommand;
+import vince.command.StatsCommand;
+import vince.command.UpcomingCommand;
+import vince.command.OverdueCommand;
+import vince.command.ConflictsCommand;
 import vince.exception.VinceException;
+import vince.metrics.LatencyHistogram;
+import vince.metrics.MetricsRegistry;
+import vince.query.SortKey;
 import vince.util.InputValidator;
 import vince.util.InputValidator.ValidationResult;
+import vince.util.CommandTokens.Clause;
 
 /**
  * Parses raw user input into executable {@link Command} instances.
+ * Each line is tokenized once into {@link CommandTokens}, which validation
+ * and, for adds, the task list then read instead of splitting it again.
  */
 public class Parser {
+    private static final LatencyHistogram PARSE_LATENCY = MetricsRegistry.global().histogram("stage.parse");
+    private static final LatencyHistogram VALIDATE_LATENCY = MetricsRegistry.global().histogram("stage.validate");
+
     /**
-     * Parses a command line into a {@link Command}.
+     * Parses a command line into a {@link Command}, recording the time taken
+     * under {@code stage.parse} (validation included) and {@code stage.validate}.
      * @param input raw input line
      * @return a concrete command instance
      * @throws VinceException if the command is not recognized
      */
     public static Command parse(String input) throws VinceException {
-        if (input == null || input.trim().isEmpty()) {
+        long start = System.nanoTime();
+        try {
+            if (input == null) {
+                return null;
+            }
+            CommandTokens tokens = CommandTokens.of(input);
+            Command command = parseCommand(tokens);
+            if (command != null) {
+                command.setArgsLength(tokens.wordCount() < 2 ? 0 : tokens.end() - tokens.wordEnd(0) - 1);
+            }
+            return command;
+        } finally {
+            PARSE_LATENCY.record(System.nanoTime() - start);
+        }
+    }
+
+    private static Command parseCommand(CommandTokens tokens) throws VinceException {
+        if (tokens.isEmpty()) {
             return null;
         }
         
         // AI-enhanced input validation
-        ValidationResult validation = InputValidator.validate(input);
+        long validateStart = System.nanoTime();
+        ValidationResult validation = InputValidator.validate(tokens);
+        VALIDATE_LATENCY.record(System.nanoTime() - validateStart);
         if (!validation.isValid()) {
             String errorMessage = validation.getMessage();
             if (validation.hasSuggestions()) {
@@ -41,11 +78,7 @@ public class Parser {
             throw new VinceException(errorMessage);
         }
         
-        String trimmed = input.trim();
-        assert trimmed != null && !trimmed.isEmpty() : "Trimmed input should not be null or empty";
-        String[] parts = trimmed.split(" ");
-        assert parts.length > 0 : "Split input should have at least one part";
-        String head = parts[0];
+        String head = tokens.command();
         assert head != null && !head.isEmpty() : "Command head should not be null or empty";
         switch (head) {
             case "bye":
@@ -53,31 +86,105 @@ public class Parser {
             case "help":
                 return new HelpCommand();
             case "list":
-                return new ListCommand();
+                return parseList(tokens);
             case "mark":
-                return new MarkCommand(parts.length > 1 ? parts[1] : "");
-            case "unmark":
-                return new UnmarkCommand(parts.length > 1 ? parts[1] : "");
-            case "delete":
-                return new DeleteCommand(parts.length > 1 ? parts[1] : "");
-            case "find": {
-                String keyword = trimmed.length() > 4 ? trimmed.substring(4).trim() : "";
-                return new FindCommand(keyword);
-            }
-            case "on": {
-                String dateStr = trimmed.length() > 3 ? trimmed.substring(3).trim() : "";
-                return new OnDateCommand(dateStr);
-            }
-            case "schedule": {
-                String dateStr = trimmed.length() > 9 ? trimmed.substring(9).trim() : "";
-                return new ScheduleCommand(dateStr);
+            case "unmark": {
+                String index = tokens.word(1);
+                String date = tokens.wordCount() > 2 ? tokens.rest(2) : null;
+                return head.equals("mark") ? new MarkCommand(index, date) : new UnmarkCommand(index, date);
             }
+            case "skip":
+                return new SkipCommand(tokens.word(1), tokens.rest(2));
+            case "delete":
+                return new DeleteCommand(tokens.word(1));
+            case "stats":
+                return new StatsCommand();
+            case "undo":
+                return new UndoCommand();
+            case "redo":
+                return new RedoCommand();
+            case "find":
+                return new FindCommand(tokens.rest(1));
+            case "filter":
+                return new FilterCommand(QueryParser.parse(tokens.rest(1)));
+            case "on":
+                return new OnDateCommand(tokens.rest(1));
+            case "schedule":
+                return new ScheduleCommand(tokens.rest(1));
+            case "upcoming":
+                return parseUpcoming(tokens);
+            case "overdue":
+                return new OverdueCommand();
+            case "conflicts":
+                if (tokens.has(Clause.TO)) {
+                    return new ConflictsCommand(tokens.slice(tokens.wordEnd(0), tokens.clauseStart(Clause.TO)),
+                            tokens.clauseValue(Clause.TO));
+                }
+                return new ConflictsCommand(tokens.rest(1), null);
             case "todo":
             case "deadline":
             case "event":
-                return new AddCommand(trimmed);
+                return new AddCommand(tokens);
             default:
                 throw new VinceException("I'm sorry, but I don't know what that means :-(");
         }
     }
+
+    /**
+     * Parses {@code upcoming [n]}.
+     * @param tokens the tokenized input, starting with "upcoming"
+     * @return the upcoming command
+     * @throws VinceException if the count is not a positive number
+     */
+    private static Command parseUpcoming(CommandTokens tokens) throws VinceException {
+        if (tokens.wordCount() < 2) {
+            return new UpcomingCommand(UpcomingCommand.DEFAULT_COUNT);
+        }
+        int count;
+        try {
+            count = Integer.parseInt(tokens.rest(1));
+        } catch (NumberFormatException e) {
+            count = -1;
+        }
+        if (count < 1) {
+            throw new VinceException("Count must be a positive number, not '" + tokens.rest(1) + "'.");
+        }
+        return new UpcomingCommand(count);
+    }
+
+    /**
+     * Parses {@code list [--sort created|due|priority] [--page <n>]}.
+     * @param tokens the tokenized input, starting with "list"
+     * @return the list command
+     * @throws VinceException if an option or its value is not recognized
+     */
+    private static Command parseList(CommandTokens tokens) throws VinceException {
+        SortKey sortKey = SortKey.CREATED;
+        int page = 0;
+        for (int i = 1; i < tokens.wordCount(); i++) {
+            String option = tokens.word(i);
+            String value = tokens.word(++i);
+            switch (option) {
+                case "--sort":
+                    sortKey = SortKey.fromName(value.toLowerCase());
+                    if (sortKey == null) {
+                        throw new VinceException("Unknown sort order '" + value + "'. Use created, due or priority.");
+                    }
+                    break;
+                case "--page":
+                    try {
+                        page = Integer.parseInt(value);
+                    } catch (NumberFormatException e) {
+                        page = -1;
+                    }
+                    if (page < 1) {
+                        throw new VinceException("Page must be a positive number, not '" + value + "'.");
+                    }
+                    break;
+                default:
+                    throw new VinceException("Unknown list option '" + option + "'. Use --sort or --page.");
+            }
+        }
+        return new ListCommand(sortKey, page);
+    }
 }
@@ -0,0 +1,167 @@
+package vince.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import vince.exception.VinceException;
+import vince.query.AndCondition;
+import vince.query.Comparison;
+import vince.query.Condition;
+import vince.query.DoneCondition;
+import vince.query.DueCondition;
+import vince.query.PriorityCondition;
+import vince.query.Query;
+import vince.query.SortKey;
+import vince.query.TextCondition;
+import vince.query.TypeCondition;
+import vince.task.Priority;
+import vince.task.TaskType;
+
+/**
+ * Compiles the arguments of a {@code filter} command into a {@link Query}.
+ * <p>
+ * A query is a list of terms that must all hold:
+ * {@code type:<todo|deadline|event>}, {@code done:<yes|no>},
+ * {@code priority<op><level>}, {@code due<op><date>}, {@code text:<phrase>},
+ * plus {@code sort:<created|due|priority>} and {@code limit:<n>}.
+ * {@code <op>} is one of {@code : = < <= > >=}. Dates and phrases may span
+ * several words ({@code due<next friday}); bare words outside a term are
+ * matched as text.
+ */
+public class QueryParser {
+    private static final Pattern TERM_PATTERN =
+            Pattern.compile("(type|done|priority|due|text|sort|limit)(<=|>=|<|>|:|=)(.*)", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * Parses filter arguments into a query.
+     *
+     * @param input everything after the {@code filter} keyword; may be empty
+     * @return the compiled query
+     * @throws VinceException if a term is malformed
+     */
+    public static Query parse(String input) throws VinceException {
+        List<String[]> terms = new ArrayList<>();
+        StringBuilder freeText = new StringBuilder();
+        String[] current = null;
+        for (String word : input.trim().split("\\s+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            Matcher matcher = TERM_PATTERN.matcher(word);
+            if (matcher.matches()) {
+                current = new String[] {matcher.group(1).toLowerCase(), matcher.group(2), matcher.group(3)};
+                terms.add(current);
+            } else if (current != null && (current[0].equals("due") || current[0].equals("text"))) {
+                current[2] = current[2].isEmpty() ? word : current[2] + " " + word;
+            } else {
+                freeText.append(freeText.length() == 0 ? "" : " ").append(word);
+                current = null;
+            }
+        }
+
+        List<Condition> conditions = new ArrayList<>();
+        SortKey sortKey = SortKey.CREATED;
+        int limit = Query.NO_LIMIT;
+        // All due terms are merged into one range so the due index can serve them together.
+        DueCondition due = null;
+        for (String[] term : terms) {
+            String key = term[0];
+            Comparison comparison = Comparison.fromSymbol(term[1]);
+            String value = term[2].trim();
+            if (value.isEmpty()) {
+                throw new VinceException(String.format("Filter term '%s%s' needs a value!", key, term[1]));
+            }
+            if (comparison != Comparison.EQUAL && !key.equals("priority") && !key.equals("due")) {
+                throw new VinceException(String.format("'%s' only supports ':', not '%s'!", key, term[1]));
+            }
+            switch (key) {
+                case "type":
+                    conditions.add(new TypeCondition(parseType(value)));
+                    break;
+                case "done":
+                    conditions.add(new DoneCondition(parseDone(value)));
+                    break;
+                case "priority":
+                    conditions.add(new PriorityCondition(comparison, parsePriority(value)));
+                    break;
+                case "due": {
+                    DueCondition condition = new DueCondition(comparison,
+                            DateTimeParser.parseDateTime(value).toLocalDate());
+                    due = due == null ? condition : due.and(condition);
+                    break;
+                }
+                case "text":
+                    conditions.add(new TextCondition(value));
+                    break;
+                case "sort":
+                    sortKey = parseSortKey(value);
+                    break;
+                case "limit":
+                    limit = parseLimit(value);
+                    break;
+                default:
+                    throw new VinceException("Unknown filter term: " + key);
+            }
+        }
+        if (due != null) {
+            conditions.add(due);
+        }
+        if (freeText.length() > 0) {
+            conditions.add(new TextCondition(freeText.toString()));
+        }
+        return new Query(new AndCondition(conditions), sortKey, limit);
+    }
+
+    private static TaskType parseType(String value) {
+        TaskType type = TaskType.fromCommand(value.toLowerCase());
+        if (type == null) {
+            throw new VinceException("Unknown task type '" + value + "'. Use todo, deadline or event.");
+        }
+        return type;
+    }
+
+    private static boolean parseDone(String value) {
+        switch (value.toLowerCase()) {
+            case "yes":
+            case "y":
+            case "true":
+                return true;
+            case "no":
+            case "n":
+            case "false":
+                return false;
+            default:
+                throw new VinceException("Unknown done value '" + value + "'. Use yes or no.");
+        }
+    }
+
+    private static Priority parsePriority(String value) {
+        Priority priority = Priority.fromString(value);
+        // fromString falls back to NONE for anything it does not recognize.
+        if (priority == Priority.NONE && !value.equalsIgnoreCase("none") && !value.equals("0")) {
+            throw new VinceException("Unknown priority '" + value + "'. Use high, med, low or none.");
+        }
+        return priority;
+    }
+
+    private static SortKey parseSortKey(String value) {
+        SortKey sortKey = SortKey.fromName(value.toLowerCase());
+        if (sortKey == null) {
+            throw new VinceException("Unknown sort order '" + value + "'. Use created, due or priority.");
+        }
+        return sortKey;
+    }
+
+    private static int parseLimit(String value) {
+        try {
+            int limit = Integer.parseInt(value);
+            if (limit > 0) {
+                return limit;
+            }
+        } catch (NumberFormatException e) {
+            // Fall through to the error below.
+        }
+        throw new VinceException("Limit must be a positive number, not '" + value + "'.");
+    }
+}
@@ -0,0 +1,137 @@
+package vince;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Assertions;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import vince.metrics.LatencyHistogram;
+import vince.storage.QueryExecutor;
+import vince.storage.Storage;
+import vince.storage.TaskList;
+import vince.task.Task;
+import vince.util.DateTimeParser;
+import vince.util.InputValidator;
+import vince.util.Parser;
+
+/**
+ * Bytes allocated per call on hot paths, measured after warm-up so the JIT
+ * has removed what escape analysis can. Budgets are the measured values
+ * plus about 50% headroom; a per-task allocation creeping back into a scan
+ * or a save blows through them by orders of magnitude. When a change lowers
+ * a measurement for good, lower its budget with it.
+ */
+public class AllocationBudgetTest {
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final int WARMUP = 5_000;
+    private static final int MEASURED = 500;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Parser.parse stays within its allocation budget")
+    void parse_budget() {
+        assertBudget("Parser.parse(list)", 384, () -> Parser.parse("list"));
+        assertBudget("Parser.parse(todo)", 384, () -> Parser.parse("todo read book"));
+        assertBudget("Parser.parse(deadline)", 384, () -> Parser.parse("deadline return book /by 02/12/2024 1700"));
+    }
+
+    @Test
+    @DisplayName("InputValidator.validate stays within its allocation budget")
+    void validate_budget() {
+        assertBudget("InputValidator.validate(list)", 320, () -> InputValidator.validate("list"));
+        assertBudget("InputValidator.validate(typo)", 1_536, () -> InputValidator.validate("lsit"));
+        assertBudget("InputValidator.validate(deadline)", 320,
+                () -> InputValidator.validate("deadline return book /by 02/12/2024 1700"));
+    }
+
+    @Test
+    @DisplayName("DateTimeParser.parseDateTime stays within its allocation budget")
+    void date_budget() {
+        assertBudget("DateTimeParser(natural)", 1_152, () -> DateTimeParser.parseDateTime("tomorrow 5pm"));
+        assertBudget("DateTimeParser(iso)", 1_792, () -> DateTimeParser.parseDateTime("2024-12-02"));
+        assertBudget("DateTimeParser(numeric)", 6_144, () -> DateTimeParser.parseDateTime("02/12/2024 1700"));
+    }
+
+    @Test
+    @DisplayName("TaskList.findTasks allocates per match, not per task scanned")
+    void find_budget() {
+        TaskList tasks = taskList(1_000);
+        // Sequential, so every allocation happens on the measuring thread.
+        tasks.setQueryExecutor(new QueryExecutor(Integer.MAX_VALUE));
+        // Uncached, so every call scans rather than returning the previous result.
+        tasks.setQueryCacheCapacity(0);
+        assertBudget("TaskList.findTasks(no match)", 640, () -> tasks.findTasks("zzz"));
+        assertBudget("TaskList.findTasks(one match)", 1_280, () -> tasks.findTasks("chapter 998"));
+    }
+
+    @Test
+    @DisplayName("TaskList.upcoming and overdue after a mutation allocate per row, not per task")
+    void due_queries_budget() {
+        // Saving is a no-op, so the measured mutations cost O(log n) and the
+        // queries after them would pay for any copy of the 20,000-task list,
+        // about 80 KB for the flat view.
+        TaskList tasks = new TaskList(new Storage(tempDir.resolve("unsaved.txt")) {
+            @Override
+            public void save(List<Task> all) {
+            }
+        });
+        tasks.setHistoryDepth(0);
+        tasks.addTask("deadline file taxes /by 02/12/2024 1700");
+        for (int i = 0; i < 20_000; i++) {
+            tasks.addTask(i % 5_000 == 0 ? "deadline return book " + i + " /by 02/12/2099 1700" : "todo read chapter " + i);
+        }
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 0, 0);
+        assertBudget("TaskList.upcoming+overdue(after add)", 5_760, () -> {
+            tasks.addTask("todo scratch");
+            tasks.upcoming(now, 3);
+            tasks.overdue(now);
+            tasks.delete(String.valueOf(tasks.size()));
+        });
+    }
+
+    @Test
+    @DisplayName("Storage.save allocates per file, not per task")
+    void save_budget() {
+        List<Task> all = taskList(1_000).getAllTasks();
+        Storage storage = new Storage(tempDir.resolve("save").resolve("vince.txt"));
+        assertBudget("Storage.save(1000 tasks)", 40_960, () -> storage.save(all));
+    }
+
+    @Test
+    @DisplayName("recording a latency allocates nothing")
+    void histogram_record_is_allocation_free() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        long[] value = {0};
+        assertBudget("LatencyHistogram.record", 0, () -> histogram.record(value[0]++));
+    }
+
+    private TaskList taskList(int size) {
+        TaskList tasks = new TaskList(new Storage(tempDir.resolve("vince.txt")));
+        tasks.setHistoryDepth(0);
+        for (int i = 0; i < size; i++) {
+            tasks.addTask(i % 2 == 0 ? "todo read chapter " + i : "deadline return book " + i + " /by 02/12/2024 1700");
+        }
+        return tasks;
+    }
+
+    private static void assertBudget(String operation, long budget, Runnable op) {
+        for (int i = 0; i < WARMUP; i++) {
+            op.run();
+        }
+        long threadId = Thread.currentThread().getId();
+        long before = THREADS.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED; i++) {
+            op.run();
+        }
+        long perOp = (THREADS.getThreadAllocatedBytes(threadId) - before) / MEASURED;
+        Assertions.assertTrue(perOp <= budget, operation + " allocated " + perOp + " bytes/op, over its budget of " + budget);
+    }
+}
@@ -0,0 +1,98 @@
+package vince;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Assertions;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import vince.exception.VinceException;
+import vince.storage.ColumnarTaskStore;
+import vince.storage.Storage;
+import vince.storage.TaskList;
+import vince.task.Deadline;
+import vince.task.Priority;
+import vince.task.Task;
+
+public class ColumnarTaskStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private TaskList tasks;
+
+    @BeforeEach
+    void setup() {
+        tasks = new TaskList(new Storage(tempDir.resolve("vince.txt")));
+        tasks.addTask("todo read book");
+        tasks.addTask("deadline return Book /by 15/12/2024 1800");
+        tasks.addTask("event project meeting /from 20/12/2024 1400 /to 22/12/2024 1600");
+        tasks.addTask("todo buy groceries");
+        tasks.mark("2");
+    }
+
+    @Test
+    @DisplayName("queries render the same lines as TaskList")
+    void queries_match_task_list() {
+        ColumnarTaskStore store = ColumnarTaskStore.of(tasks.getAllTasks());
+
+        Assertions.assertEquals(tasks.size(), store.size());
+        Assertions.assertEquals(tasks.list(), store.list());
+        Assertions.assertEquals(tasks.findTasks("BOOK"), store.findTasks("BOOK"));
+        Assertions.assertEquals(tasks.findTasks("  "), store.findTasks("  "));
+        Assertions.assertEquals(tasks.tasksOnDateLines("15/12/2024"), store.tasksOnDateLines("15/12/2024"));
+        Assertions.assertEquals(tasks.tasksOnDateLines("21/12/2024"), store.tasksOnDateLines("21/12/2024"));
+    }
+
+    @Test
+    @DisplayName("mark, unmark and delete keep columns aligned")
+    void mutations_keep_columns_aligned() {
+        ColumnarTaskStore store = ColumnarTaskStore.of(tasks.getAllTasks());
+
+        Task removed = store.delete(0);
+        Assertions.assertEquals("read book", removed.getDescription());
+        Assertions.assertTrue(store.get(0).isDone());
+        Assertions.assertEquals("return Book", store.get(0).getDescription());
+
+        store.unmark(0);
+        store.mark(2);
+        Assertions.assertFalse(store.get(0).isDone());
+        Assertions.assertTrue(store.get(2).isDone());
+        Assertions.assertEquals(Priority.HIGH, store.get(1).getPriority());
+        tasks.setPriority("3", Priority.LOW);
+        Assertions.assertEquals(Priority.LOW, ColumnarTaskStore.of(tasks.getAllTasks()).get(2).getPriority(),
+                "a stored priority is kept, not re-suggested from the description");
+
+        // Deleting most entries compacts the description arena
+        store.delete(0);
+        store.delete(0);
+        Assertions.assertEquals(1, store.size());
+        Assertions.assertEquals("1. [T] [X] buy groceries", store.list().get(0));
+
+        Assertions.assertThrows(VinceException.class, () -> store.add(new Deadline("submit",
+                LocalDateTime.of(2024, 12, 15, 18, 0, 0, 500_000_000), Priority.LOW)),
+                "a sub-second time is rejected rather than rounded");
+        Assertions.assertEquals(1, store.size());
+    }
+
+    @Test
+    @DisplayName("recurring tasks keep their rule, exceptions and completed occurrences")
+    void recurring_tasks_round_trip() {
+        tasks.addTask("event standup /from 16/12/2024 0930 /to 16/12/2024 0945 /every day");
+        tasks.skipOccurrence("5", "17/12/2024");
+        tasks.mark("5", "18/12/2024");
+        ColumnarTaskStore store = ColumnarTaskStore.of(tasks.getAllTasks());
+
+        Assertions.assertEquals(tasks.get("5").getRecurrence().toStorageString(),
+                store.get(4).getRecurrence().toStorageString());
+        Assertions.assertEquals(tasks.list(), store.list());
+        for (String date : new String[] {"16/12/2024", "17/12/2024", "18/12/2024"}) {
+            Assertions.assertEquals(tasks.tasksOnDateLines(date), store.tasksOnDateLines(date));
+        }
+        store.delete(0);
+        Assertions.assertTrue(store.get(3).isRecurring());
+    }
+}
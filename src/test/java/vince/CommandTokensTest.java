@@ -0,0 +1,61 @@
+package vince;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Assertions;
+
+import java.nio.file.Path;
+
+import vince.command.AddCommand;
+import vince.exception.VinceException;
+import vince.storage.Storage;
+import vince.storage.TaskList;
+import vince.task.Task;
+import vince.util.CommandTokens;
+import vince.util.CommandTokens.Clause;
+import vince.util.Parser;
+
+public class CommandTokensTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("one pass finds words and clauses as offsets into the line")
+    void tokenizes_words_and_clauses() {
+        String line = "  deadline  return book /by 02/12/2024 1700 /every week  ";
+        CommandTokens tokens = CommandTokens.of(line);
+
+        Assertions.assertEquals(8, tokens.wordCount());
+        Assertions.assertSame("deadline", tokens.command());
+        Assertions.assertEquals("return", tokens.word(1));
+        Assertions.assertEquals(line.indexOf("return"), tokens.wordStart(1));
+        Assertions.assertEquals("", tokens.word(8));
+        Assertions.assertEquals("02/12/2024 1700", tokens.clauseValue(Clause.BY));
+        Assertions.assertEquals("week", tokens.clauseValue(Clause.EVERY));
+        Assertions.assertFalse(tokens.has(Clause.FROM));
+        Assertions.assertEquals("deadline  return book /by 02/12/2024 1700 /every week", tokens.toString());
+        Assertions.assertTrue(CommandTokens.of("mark 12").isInteger(1));
+        Assertions.assertFalse(CommandTokens.of("mark one").isInteger(1));
+        Assertions.assertTrue(CommandTokens.of(" \t ").isEmpty());
+        Assertions.assertFalse(CommandTokens.of("deadline x /by").has(Clause.BY), "a marker needs a value after it");
+    }
+
+    @Test
+    @DisplayName("tasks built from tokens keep markers that belong to the description")
+    void adds_tasks_from_tokens() {
+        TaskList tasks = new TaskList(new Storage(tempDir.resolve("vince.txt")));
+
+        Task deadline = tasks.addTask("deadline walk /to school /by 02/12/2024 1700");
+        Task event = tasks.addTask("event  standup  /to 03/12/2024 0945 /from 03/12/2024 0930");
+        Task todo = ((AddCommand) Parser.parse("todo read /by the fire")).execute(tasks).getTask();
+
+        Assertions.assertEquals("[D] [ ] walk /to school (by: Dec 02 2024, 17:00)", deadline.toString());
+        Assertions.assertEquals("[E] [ ] standup (from: Dec 03 2024, 09:30 to: Dec 03 2024, 09:45)",
+                event.toString());
+        Assertions.assertEquals("read /by the fire", todo.getDescription());
+        Assertions.assertThrows(VinceException.class, () -> tasks.addTask("deadline /by 02/12/2024"));
+        Assertions.assertThrows(VinceException.class, () -> tasks.addTask("todo"));
+    }
+}
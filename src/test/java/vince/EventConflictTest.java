@@ -0,0 +1,117 @@
+package vince;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Assertions;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import vince.command.CommandResult;
+import vince.command.ConflictsCommand;
+import vince.exception.VinceException;
+import vince.query.IntervalTree;
+import vince.storage.Storage;
+import vince.storage.TaskList;
+import vince.task.Event;
+import vince.task.Task;
+import vince.util.Parser;
+
+public class EventConflictTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("interval tree overlap queries match a scan of every interval")
+    void interval_tree_matches_scan() {
+        Random random = new Random(11);
+        IntervalTree<Long> tree = new IntervalTree<>();
+        TreeMap<Long, long[]> expected = new TreeMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            long start = random.nextInt(100_000);
+            if (random.nextInt(4) == 0 && expected.containsKey(start)) {
+                tree.remove(start, 0);
+                expected.remove(start);
+            } else {
+                long end = start + random.nextInt(random.nextInt(10) == 0 ? 5_000 : 50);
+                tree.put(start, end, 0, start);
+                expected.put(start, new long[] {start, end});
+            }
+        }
+        Assertions.assertEquals(expected.size(), tree.size());
+        for (int i = 0; i < 200; i++) {
+            long from = random.nextInt(100_000);
+            long to = from + random.nextInt(300);
+            List<Long> scan = new ArrayList<>();
+            for (long[] interval : expected.values()) {
+                if (interval[0] < to && interval[1] > from) {
+                    scan.add(interval[0]);
+                }
+            }
+            Assertions.assertEquals(scan, tree.overlapping(from, to));
+        }
+    }
+
+    @Test
+    @DisplayName("adding an overlapping event warns, conflicts sweeps a range, and events cannot end before they start")
+    void detects_overlapping_events() {
+        TaskList tasks = new TaskList(new Storage(tempDir.resolve("tasks.txt")));
+        tasks.addTask("event standup /from 16/12/2024 0930 /to 16/12/2024 0945 /every day");
+        tasks.addTask("event design sync /from 16/12/2024 1000 /to 16/12/2024 1200");
+        tasks.addTask("deadline taxes /by 16/12/2024 1100");
+
+        CommandResult touching = Parser.parse("event lunch /from 16/12/2024 1200 /to 16/12/2024 1300").run(tasks);
+        Assertions.assertTrue(touching.getLines().isEmpty(), "ending as the next starts is not an overlap");
+        CommandResult clash = Parser.parse("event dentist /from 17/12/2024 0900 /to 17/12/2024 1130").run(tasks);
+        Assertions.assertEquals(List.of(
+                "1. [E] [ ] standup (from: Dec 17 2024, 09:30 to: Dec 17 2024, 09:45) (every day)"), clash.getLines());
+        CommandResult inside = Parser.parse("event chat /from 16/12/2024 1100 /to 16/12/2024 1115").run(tasks);
+        Assertions.assertEquals(List.of(
+                "2. [E] [ ] design sync (from: Dec 16 2024, 10:00 to: Dec 16 2024, 12:00)"), inside.getLines());
+
+        Assertions.assertEquals(List.of(
+                "2. [E] [ ] design sync (from: Dec 16 2024, 10:00 to: Dec 16 2024, 12:00) overlaps "
+                        + "6. [E] [ ] chat (from: Dec 16 2024, 11:00 to: Dec 16 2024, 11:15)",
+                "5. [E] [ ] dentist (from: Dec 17 2024, 09:00 to: Dec 17 2024, 11:30) overlaps "
+                        + "1. [E] [ ] standup (from: Dec 17 2024, 09:30 to: Dec 17 2024, 09:45) (every day)"),
+                tasks.conflicts(LocalDateTime.of(2024, 12, 16, 0, 0), LocalDateTime.of(2024, 12, 18, 0, 0)));
+        CommandResult oneDay = Parser.parse("conflicts 17/12/2024").run(tasks);
+        Assertions.assertEquals("Dec 17 2024", oneDay.getLabel());
+        Assertions.assertEquals(1, oneDay.getLines().size());
+        ConflictsCommand range = (ConflictsCommand) Parser.parse("conflicts 16/12/2024 /to 18/12/2024");
+        Assertions.assertEquals("Dec 16 2024 to Dec 18 2024", range.run(tasks).getLabel());
+        Assertions.assertThrows(VinceException.class, () -> Parser.parse("conflicts 18/12/2024 /to 16/12/2024").run(tasks));
+
+        tasks.delete("6");
+        tasks.undo();
+        tasks.undo();
+        Assertions.assertTrue(tasks.conflicts(LocalDateTime.of(2024, 12, 16, 0, 0),
+                LocalDateTime.of(2024, 12, 17, 0, 0)).isEmpty(), "the chat is gone after undoing its add");
+
+        VinceException backwards = Assertions.assertThrows(VinceException.class,
+                () -> tasks.addTask("event party /from 20/12/2024 2000 /to 20/12/2024 1800"));
+        Assertions.assertTrue(backwards.getMessage().contains("cannot end before it starts"));
+        Assertions.assertEquals(5, tasks.size());
+        Assertions.assertThrows(VinceException.class, () -> new Event("party",
+                LocalDateTime.of(2024, 12, 20, 20, 0), LocalDateTime.of(2024, 12, 20, 18, 0)));
+    }
+
+    @Test
+    @DisplayName("a saved event that ends before it starts is skipped on load")
+    void backwards_saved_event_is_skipped() throws Exception {
+        Path file = tempDir.resolve("backwards.txt");
+        Files.write(file, List.of(
+                "E | 0 | party | 2024-12-20T20:00:00 | 2024-12-20T18:00:00",
+                "E | 0 | lunch | 2024-12-20T12:00:00 | 2024-12-20T13:00:00"));
+        List<Task> loaded = new Storage(file).load();
+        Assertions.assertEquals(1, loaded.size());
+        Assertions.assertEquals("lunch", loaded.get(0).getDescription());
+    }
+}
@@ -0,0 +1,132 @@
+package vince;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Assertions;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import vince.exception.VinceException;
+import vince.query.Query;
+import vince.storage.Storage;
+import vince.storage.TaskList;
+import vince.task.Task;
+import vince.util.QueryParser;
+
+public class FilterQueryTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("filter combines terms, sorts and limits")
+    void filter_combines_terms() {
+        TaskList tasks = new TaskList(new Storage(tempDir.resolve("vince.txt")));
+        tasks.addTask("todo write report");
+        tasks.addTask("deadline submit report /by 15/12/2024 1800");
+        tasks.addTask("deadline urgent report fix /by 10/12/2024 0900");
+        tasks.addTask("deadline return book /by 11/12/2024 1200");
+        tasks.addTask("event report review /from 12/12/2024 1400 /to 12/12/2024 1500");
+        tasks.mark("4");
+
+        List<String> lines = tasks.filter(QueryParser.parse(
+                "type:deadline done:no priority>=med due<16/12/2024 text:report sort:due limit:20"));
+        Assertions.assertEquals(List.of(
+                "3. [D] 🔴 [ ] urgent report fix (by: Dec 10 2024, 09:00)",
+                "2. [D] 🟡 [ ] submit report (by: Dec 15 2024, 18:00)"), lines);
+
+        Assertions.assertEquals(1, tasks.filter(QueryParser.parse("report due:12/12/2024")).size());
+        Assertions.assertEquals(List.of("4. [D] [X] return book (by: Dec 11 2024, 12:00)"),
+                tasks.filter(QueryParser.parse("done:yes")));
+        Assertions.assertEquals(2, tasks.filter(QueryParser.parse("text:report sort:priority limit:2")).size());
+        Assertions.assertEquals(5, tasks.filter(QueryParser.parse("")).size());
+        Assertions.assertThrows(VinceException.class, () -> QueryParser.parse("priority>=soonish"));
+        Assertions.assertThrows(VinceException.class, () -> QueryParser.parse("type<deadline"));
+    }
+
+    @Test
+    @DisplayName("indexes follow mark, delete and deleteAll")
+    void indexes_follow_mutations() {
+        TaskList tasks = new TaskList(new Storage(tempDir.resolve("vince.txt")));
+        tasks.addTask("todo read book");
+        tasks.addTask("deadline return book /by 15/12/2024 1800");
+        tasks.addTask("todo buy groceries");
+        Query open = QueryParser.parse("done:no");
+
+        tasks.mark("1");
+        Assertions.assertEquals(List.of("2. [D] [ ] return book (by: Dec 15 2024, 18:00)", "3. [T] [ ] buy groceries"),
+                tasks.filter(open));
+        tasks.delete("2");
+        Assertions.assertEquals(List.of("2. [T] [ ] buy groceries"), tasks.filter(open));
+        Assertions.assertTrue(tasks.filter(QueryParser.parse("type:deadline")).isEmpty());
+        tasks.deleteAll();
+        Assertions.assertTrue(tasks.filter(open).isEmpty());
+    }
+
+    @Test
+    @DisplayName("planned queries match full scans")
+    void planned_queries_match_scans() throws IOException {
+        int count = 2_000;
+        LocalDate today = LocalDate.now();
+        String[] words = {"report", "read book", "team meeting", "buy groceries", "urgent fix", "maybe hobby"};
+        List<String> lines = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String description = words[i % words.length] + " " + i;
+            int done = i % 7 == 0 ? 1 : 0;
+            String due = today.plusDays(i % 397 - 200).atTime(9 + i % 8, 0).toString() + ":00";
+            if (i % 10 < 6) {
+                lines.add("T | " + done + " | " + description);
+            } else if (i % 10 < 9) {
+                lines.add("D | " + done + " | " + description + " | " + due);
+            } else {
+                lines.add("E | " + done + " | " + description + " | " + due + " | " + due);
+            }
+        }
+        Path file = tempDir.resolve("vince.txt");
+        Files.write(file, lines, StandardCharsets.UTF_8);
+        TaskList tasks = new TaskList(new Storage(file));
+
+        String[] queries = {
+            "type:deadline done:no priority>=med due<next friday text:report sort:due limit:20",
+            "type:event",
+            "due:today",
+            "due>=today due<tomorrow sort:priority",
+            "done:yes priority:high",
+            "priority>=low",
+            "text:meeting limit:50",
+            "text:report sort:due limit:10",
+        };
+        for (String text : queries) {
+            Query query = QueryParser.parse(text);
+            Assertions.assertEquals(scan(tasks.getAllTasks(), query), tasks.filter(query), text);
+        }
+        Assertions.assertTrue(tasks.explain(QueryParser.parse("due:today")).startsWith("due index"));
+        Assertions.assertTrue(tasks.explain(QueryParser.parse("text:meeting")).startsWith("full scan"));
+        Assertions.assertTrue(tasks.explain(QueryParser.parse("text:report sort:due limit:10")).startsWith("due sorted view"));
+    }
+
+    /**
+     * Reference evaluation: tests every task, then sorts and limits.
+     */
+    private static List<String> scan(List<Task> all, Query query) {
+        List<Integer> matches = new ArrayList<>();
+        for (int i = 0; i < all.size(); i++) {
+            if (query.getCondition().test(all.get(i))) {
+                matches.add(i);
+            }
+        }
+        matches.sort((a, b) -> query.getSortKey().getComparator().compare(all.get(a), all.get(b)));
+        List<String> lines = new ArrayList<>();
+        for (int i : matches.subList(0, Math.min(matches.size(), query.getLimit()))) {
+            lines.add((i + 1) + ". " + all.get(i));
+        }
+        return lines;
+    }
+}
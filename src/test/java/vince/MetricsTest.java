@@ -0,0 +1,147 @@
+package vince;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Assertions;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import vince.command.CommandResult;
+import vince.metrics.LatencyHistogram;
+import vince.metrics.MetricsRegistry;
+import vince.storage.Storage;
+import vince.storage.TaskList;
+import vince.util.Parser;
+
+public class MetricsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("histogram percentiles stay within bucket precision and concurrent records are not lost")
+    void histogram_is_accurate_and_lock_free() throws InterruptedException {
+        Random random = new Random(5);
+        LatencyHistogram histogram = new LatencyHistogram();
+        long[] values = new long[20_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.exp(8 + 3 * random.nextGaussian());
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+        for (double percentile : new double[] {50, 90, 99, 99.9}) {
+            long exact = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            long reported = histogram.getPercentile(percentile);
+            Assertions.assertTrue(reported >= exact && reported <= exact * 1.0625 + 1,
+                    "p" + percentile + ": exact " + exact + ", reported " + reported);
+        }
+        Assertions.assertEquals(values[values.length - 1], histogram.getMax());
+        Assertions.assertEquals(values[values.length - 1], histogram.getPercentile(100));
+
+        LatencyHistogram shared = new LatencyHistogram();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 25_000; i++) {
+                    shared.record(i);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assertions.assertEquals(100_000, shared.getCount());
+        Assertions.assertEquals(24_999, shared.getMax());
+    }
+
+    @Test
+    @DisplayName("commands, parsing and saves are measured and reported by stats and JMX")
+    void pipeline_is_instrumented() throws Exception {
+        MetricsRegistry metrics = MetricsRegistry.global();
+        long finds = metrics.getCount("command.find");
+        long parses = metrics.getCount("stage.parse");
+        long saves = metrics.getCount("storage.save");
+
+        TaskList tasks = new TaskList(new Storage(tempDir.resolve("vince.txt")));
+        Parser.parse("todo read book").run(tasks);
+        Parser.parse("find book").run(tasks);
+        Assertions.assertThrows(RuntimeException.class, () -> Parser.parse("delete 9").run(tasks));
+
+        Assertions.assertEquals(finds + 1, metrics.getCount("command.find"));
+        Assertions.assertEquals(parses + 3, metrics.getCount("stage.parse"));
+        Assertions.assertTrue(metrics.getCount("stage.validate") >= 3);
+        Assertions.assertEquals(saves + 1, metrics.getCount("storage.save"));
+        Assertions.assertTrue(metrics.getCounters().get("command.errors") >= 1);
+
+        CommandResult stats = Parser.parse("stats").run(tasks);
+        Assertions.assertEquals(CommandResult.Kind.STATS, stats.getKind());
+        Assertions.assertEquals(1, stats.getTaskCount());
+        List<String> lines = stats.getLines();
+        Assertions.assertTrue(lines.stream().anyMatch(line -> line.startsWith("command.find") && line.contains("p99=")),
+                String.join("\n", lines));
+
+        Assertions.assertTrue(MetricsRegistry.registerMBean());
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(MetricsRegistry.OBJECT_NAME);
+        String[] report = (String[]) server.getAttribute(name, "Report");
+        Assertions.assertTrue(Arrays.stream(report).anyMatch(line -> line.startsWith("storage.save")));
+        Object count = server.invoke(name, "getCount", new Object[] {"command.find"}, new String[] {"java.lang.String"});
+        Assertions.assertEquals(metrics.getCount("command.find"), count);
+    }
+
+    @Test
+    @DisplayName("flight recorder events carry command, storage, index and date details")
+    void flight_recorder_events_are_emitted() throws Exception {
+        Path file = tempDir.resolve("vince.jfr");
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable("vince.Command").withoutThreshold();
+            recording.enable("vince.Storage").withoutThreshold();
+            recording.enable("vince.IndexUpdate").withoutThreshold();
+            recording.enable("vince.DateParse").withoutThreshold();
+            recording.start();
+            TaskList tasks = new TaskList(new Storage(tempDir.resolve("vince.txt")));
+            Parser.parse("deadline pay fees /by 02/12/2024 1700").run(tasks);
+            Assertions.assertThrows(RuntimeException.class, () -> Parser.parse("delete 9").run(tasks));
+            recording.stop();
+            recording.dump(file);
+        }
+        events = RecordingFile.readAllEvents(file);
+
+        List<RecordedEvent> commands = ofType(events, "vince.Command");
+        Assertions.assertEquals(List.of("AddCommand", "DeleteCommand"),
+                commands.stream().map(e -> e.getString("command")).collect(Collectors.toList()));
+        Assertions.assertEquals(28, commands.get(0).getInt("argsLength"));
+        Assertions.assertEquals(1, commands.get(0).getInt("taskCount"));
+        Assertions.assertTrue(commands.get(1).getBoolean("failed"));
+
+        List<RecordedEvent> storage = ofType(events, "vince.Storage");
+        Assertions.assertEquals(List.of("load", "save"),
+                storage.stream().map(e -> e.getString("operation")).collect(Collectors.toList()));
+        Assertions.assertTrue(storage.get(1).getLong("bytes") > 0);
+        Assertions.assertEquals(1, storage.get(1).getInt("taskCount"));
+
+        Assertions.assertTrue(ofType(events, "vince.IndexUpdate").stream().anyMatch(e -> e.getInt("added") == 1));
+        Assertions.assertEquals(List.of("dd/MM/yyyy HHmm"), ofType(events, "vince.DateParse").stream()
+                .map(e -> e.getString("form")).distinct().collect(Collectors.toList()));
+    }
+
+    private static List<RecordedEvent> ofType(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(e -> e.getEventType().getName().equals(name))
+                .sorted((a, b) -> a.getStartTime().compareTo(b.getStartTime()))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,115 @@
+package vince;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Assertions;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import vince.storage.OffHeapTaskStore;
+import vince.storage.Storage;
+import vince.storage.TaskList;
+import vince.task.Task;
+
+public class OffHeapTaskStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private TaskList tasks;
+
+    @BeforeEach
+    void setup() {
+        tasks = new TaskList(new Storage(tempDir.resolve("vince.txt")));
+        tasks.addTask("todo read book");
+        tasks.addTask("deadline return Book /by 15/12/2024 1800");
+        tasks.addTask("event café meeting /from 20/12/2024 1400 /to 22/12/2024 1600");
+        tasks.addTask("todo buy groceries");
+        tasks.mark("2");
+    }
+
+    @Test
+    @DisplayName("queries render the same lines as TaskList")
+    void queries_match_task_list() throws IOException {
+        try (OffHeapTaskStore store = OffHeapTaskStore.inMemory()) {
+            tasks.getAllTasks().forEach(store::add);
+
+            Assertions.assertEquals(tasks.list(), store.list());
+            Assertions.assertEquals(tasks.findTasks("BOOK"), store.findTasks("BOOK"));
+            Assertions.assertEquals(tasks.findTasks("CAFÉ"), store.findTasks("CAFÉ"));
+            Assertions.assertEquals(tasks.tasksOnDateLines("15/12/2024"), store.tasksOnDateLines("15/12/2024"));
+            Assertions.assertEquals(tasks.tasksOnDateLines("21/12/2024"), store.tasksOnDateLines("21/12/2024"));
+        }
+    }
+
+    @Test
+    @DisplayName("file-backed arena persists marks and deletes across reopen")
+    void file_backed_arena_round_trip() throws IOException {
+        Path arena = tempDir.resolve("vince.arena");
+        try (OffHeapTaskStore store = OffHeapTaskStore.open(arena)) {
+            tasks.getAllTasks().forEach(store::add);
+            Task removed = store.delete(0);
+            Assertions.assertEquals("read book", removed.getDescription());
+            store.unmark(0);
+            store.mark(2);
+        }
+
+        try (OffHeapTaskStore reopened = OffHeapTaskStore.open(arena)) {
+            Assertions.assertEquals(3, reopened.size());
+            Assertions.assertFalse(reopened.get(0).isDone());
+            Assertions.assertTrue(reopened.get(2).isDone());
+
+            reopened.compact();
+            Assertions.assertEquals("3. [T] [X] buy groceries", reopened.list().get(2));
+            reopened.add(tasks.get("1"));
+            Assertions.assertEquals("read book", reopened.get(3).getDescription());
+        }
+    }
+
+    @Test
+    @DisplayName("deletes compact the arena once tombstones dominate, so churn does not grow it")
+    void churn_is_compacted() throws IOException {
+        Path arena = tempDir.resolve("churn.arena");
+        try (OffHeapTaskStore store = OffHeapTaskStore.open(arena)) {
+            tasks.getAllTasks().forEach(store::add);
+            // Almost 2 MB of records in all, about 28 times the initial arena.
+            for (int i = 0; i < 50_000; i++) {
+                store.add(tasks.get("3"));
+                store.delete(4);
+            }
+            Assertions.assertEquals(tasks.list(), store.list());
+        }
+        Assertions.assertEquals(64 * 1024, Files.size(arena));
+        try (OffHeapTaskStore reopened = OffHeapTaskStore.open(arena)) {
+            Assertions.assertEquals(tasks.list(), reopened.list());
+        }
+    }
+
+    @Test
+    @DisplayName("recurring tasks keep their rule, exceptions and completed occurrences across reopen")
+    void recurring_tasks_round_trip() throws IOException {
+        tasks.addTask("event standup /from 16/12/2024 0930 /to 16/12/2024 0945 /every day");
+        tasks.skipOccurrence("5", "17/12/2024");
+        tasks.mark("5", "18/12/2024");
+        Path arena = tempDir.resolve("recurring.arena");
+        try (OffHeapTaskStore store = OffHeapTaskStore.open(arena)) {
+            tasks.getAllTasks().forEach(store::add);
+            store.delete(0);
+        }
+
+        try (OffHeapTaskStore reopened = OffHeapTaskStore.open(arena)) {
+            reopened.compact();
+            Assertions.assertEquals(tasks.get("5").getRecurrence().toStorageString(),
+                    reopened.get(3).getRecurrence().toStorageString());
+            // The first task was deleted, so the standup is numbered 4 rather than 5.
+            Assertions.assertEquals(List.of(tasks.tasksOnDateLines("18/12/2024").get(0).replace("5. ", "4. ")),
+                    reopened.tasksOnDateLines("18/12/2024"));
+            Assertions.assertTrue(reopened.tasksOnDateLines("17/12/2024").isEmpty());
+        }
+    }
+}
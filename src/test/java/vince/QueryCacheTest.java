@@ -0,0 +1,120 @@
+package vince;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Assertions;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import vince.metrics.MetricsRegistry;
+import vince.storage.QueryCache;
+import vince.storage.QueryCache.Kind;
+import vince.storage.Storage;
+import vince.storage.TaskList;
+import vince.util.Parser;
+
+public class QueryCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("repeated queries hit until a mutation bumps the version")
+    void repeated_queries_hit_until_mutation() {
+        TaskList tasks = new TaskList(new Storage(tempDir.resolve("tasks.txt")));
+        tasks.addTask("todo read book");
+        tasks.addTask("deadline return book /by 15/12/2024 1800");
+        LongAdder hits = MetricsRegistry.global().counter("cache.hits");
+        LongAdder misses = MetricsRegistry.global().counter("cache.misses");
+
+        long missesBefore = misses.sum();
+        List<String> first = tasks.findTasks("BOOK");
+        long hitsBefore = hits.sum();
+        Assertions.assertSame(first, tasks.findTasks(" book "));
+        Assertions.assertSame(tasks.list(), tasks.list());
+        Assertions.assertEquals(2, hits.sum() - hitsBefore);
+        Assertions.assertEquals(2, misses.sum() - missesBefore);
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> first.add("3. stale"));
+        Assertions.assertSame(Parser.parse("list").run(tasks).getLines(), Parser.parse("list").run(tasks).getLines(),
+                "a cache hit reaches the command result without a copy");
+        Assertions.assertSame(first, Parser.parse("find book").run(tasks).getLines());
+
+        tasks.mark("1");
+        Assertions.assertEquals("1. [T] [X] read book", tasks.findTasks("book").get(0));
+        Assertions.assertEquals("1. [T] [X] read book", tasks.list().get(0));
+        tasks.undo();
+        Assertions.assertEquals("1. [T] [ ] read book", tasks.list().get(0));
+    }
+
+    @Test
+    @DisplayName("entries are evicted least recently used first and date-relative ones expire at midnight")
+    void evicts_lru_and_expires_relative_entries() {
+        MutableClock clock = new MutableClock(Instant.parse("2024-12-15T23:59:00Z"));
+        QueryCache cache = new QueryCache(2, clock);
+        List<String> computed = new ArrayList<>();
+
+        cache.get(Kind.FIND, "a", 1, false, () -> compute(computed, "a"));
+        cache.get(Kind.FIND, "b", 1, false, () -> compute(computed, "b"));
+        cache.get(Kind.FIND, "a", 1, false, () -> compute(computed, "a"));
+        cache.get(Kind.FIND, "c", 1, false, () -> compute(computed, "c"));
+        cache.get(Kind.FIND, "a", 1, false, () -> compute(computed, "a"));
+        cache.get(Kind.FIND, "b", 1, false, () -> compute(computed, "b"));
+        Assertions.assertEquals(List.of("a", "b", "c", "b"), computed);
+        Assertions.assertEquals(2, cache.size());
+
+        computed.clear();
+        cache.get(Kind.SCHEDULE, "today", 1, true, () -> compute(computed, "today"));
+        cache.get(Kind.SCHEDULE, "today", 1, true, () -> compute(computed, "today"));
+        clock.advance(Duration.ofMinutes(2));
+        cache.get(Kind.SCHEDULE, "today", 1, true, () -> compute(computed, "today"));
+        Assertions.assertEquals(List.of("today", "today"), computed);
+
+        computed.clear();
+        cache.get(Kind.LIST, "", 2, false, () -> compute(computed, "v2"));
+        cache.get(Kind.LIST, "", 1, false, () -> compute(computed, "v1"));
+        cache.get(Kind.LIST, "", 1, false, () -> compute(computed, "v1"));
+        Assertions.assertEquals(List.of("v2", "v1", "v1"), computed);
+        Assertions.assertEquals(1, cache.size());
+    }
+
+    private static List<String> compute(List<String> computed, String result) {
+        computed.add(result);
+        return List.of(result);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
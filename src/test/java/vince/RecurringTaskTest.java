@@ -0,0 +1,108 @@
+package vince;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Assertions;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import vince.exception.VinceException;
+import vince.storage.Storage;
+import vince.storage.TaskList;
+import vince.task.Recurrence;
+import vince.util.QueryParser;
+
+public class RecurringTaskTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("recurring deadline expands per date, marks and skips per occurrence, and survives reload")
+    void occurrences_are_expanded_marked_and_skipped() throws IOException {
+        Path file = tempDir.resolve("vince.txt");
+        TaskList tasks = new TaskList(new Storage(file));
+        tasks.addTask("deadline weekly timesheet /by 02/12/2024 1700 /every week until 30/12/2024");
+        tasks.addTask("event standup /from 03/12/2024 0930 /to 03/12/2024 0945 /every 3 days");
+
+        Assertions.assertEquals(List.of(
+                "1. [D] [ ] weekly timesheet (by: Dec 16 2024, 17:00) (every week until Dec 30 2024)"),
+                tasks.tasksOnDateLines("16/12/2024"));
+        Assertions.assertTrue(tasks.tasksOnDateLines("17/12/2024").isEmpty());
+        Assertions.assertTrue(tasks.tasksOnDateLines("06/01/2025").stream().noneMatch(line -> line.startsWith("1.")),
+                "series ended");
+        Assertions.assertEquals(List.of(
+                "2. [E] [ ] standup (from: Dec 06 2024, 09:30 to: Dec 06 2024, 09:45) (every 3 days)"),
+                tasks.tasksOnDateLines("06/12/2024"));
+
+        tasks.mark("1", "16/12/2024");
+        Assertions.assertEquals(List.of(
+                "1. [D] [X] weekly timesheet (by: Dec 16 2024, 17:00) (every week until Dec 30 2024)"),
+                tasks.tasksOnDateLines("16/12/2024"));
+        Assertions.assertEquals(List.of(
+                "1. [D] [ ] weekly timesheet (by: Dec 23 2024, 17:00) (every week until Dec 30 2024)"),
+                tasks.tasksOnDateLines("23/12/2024"));
+        Assertions.assertFalse(tasks.get("1").isDone(), "the series itself stays open");
+        Assertions.assertThrows(VinceException.class, () -> tasks.mark("1", "16/12/2024"));
+        Assertions.assertThrows(VinceException.class, () -> tasks.mark("1", "17/12/2024"));
+
+        tasks.skipOccurrence("2", "12/12/2024");
+        Assertions.assertTrue(tasks.tasksOnDateLines("12/12/2024").isEmpty());
+        Assertions.assertEquals(1, tasks.tasksOnDateLines("15/12/2024").size());
+
+        Assertions.assertEquals(2, Files.readAllLines(file).size(), "one line per series");
+        TaskList reloaded = new TaskList(new Storage(file));
+        Assertions.assertEquals(tasks.list(), reloaded.list());
+        Assertions.assertEquals(tasks.tasksOnDateLines("16/12/2024"), reloaded.tasksOnDateLines("16/12/2024"));
+        Assertions.assertTrue(reloaded.tasksOnDateLines("12/12/2024").isEmpty());
+
+        Assertions.assertEquals("skipped: [E] [ ] standup (from: Dec 12 2024, 09:30 to: Dec 12 2024, 09:45) (every 3 days)",
+                tasks.undo());
+        Assertions.assertEquals(1, tasks.tasksOnDateLines("12/12/2024").size());
+        tasks.undo();
+        Assertions.assertEquals(List.of(
+                "1. [D] [ ] weekly timesheet (by: Dec 16 2024, 17:00) (every week until Dec 30 2024)"),
+                tasks.tasksOnDateLines("16/12/2024"));
+
+        tasks.addTask("deadline once /by 20/12/2024 1200");
+        Assertions.assertEquals(List.of(
+                "1. [D] [ ] weekly timesheet (by: Dec 02 2024, 17:00) (every week until Dec 30 2024)",
+                "2. [E] [ ] standup (from: Dec 03 2024, 09:30 to: Dec 03 2024, 09:45) (every 3 days)"),
+                tasks.filter(QueryParser.parse("due>=15/12/2024 due<=16/12/2024")));
+        Assertions.assertEquals(List.of("3. [D] [ ] once (by: Dec 20 2024, 12:00)"),
+                tasks.filter(QueryParser.parse("due:20/12/2024 type:deadline")));
+    }
+
+    @Test
+    @DisplayName("invalid repeats are rejected")
+    void invalid_repeats_are_rejected() {
+        TaskList tasks = new TaskList(new Storage(tempDir.resolve("vince.txt")));
+        Assertions.assertThrows(VinceException.class, () -> tasks.addTask("todo read /every day"));
+        Assertions.assertThrows(VinceException.class, () -> tasks.addTask("deadline x /by 02/12/2024 /every fortnight"));
+        Assertions.assertThrows(VinceException.class,
+                () -> tasks.addTask("deadline x /by 02/12/2024 /every day until 01/12/2024"));
+        tasks.addTask("deadline once /by 02/12/2024 1700");
+        Assertions.assertThrows(VinceException.class, () -> tasks.mark("1", "02/12/2024"));
+        Assertions.assertEquals(0, tasks.getAllTasks().stream().filter(t -> t.isRecurring()).count());
+    }
+
+    @Test
+    @DisplayName("occurrence lookups are exact far into a series")
+    void lookups_are_exact_far_into_a_series() {
+        Recurrence daily = Recurrence.parse("day");
+        Recurrence monthly = Recurrence.parse("month");
+        LocalDate anchor = LocalDate.of(2000, 1, 31);
+        Assertions.assertEquals(LocalDate.of(2124, 2, 29), monthly.firstOnOrAfter(anchor, LocalDate.of(2124, 2, 1)));
+        Assertions.assertEquals(List.of(LocalDate.of(2024, 2, 29), LocalDate.of(2024, 3, 31)),
+                monthly.occurrencesBetween(anchor, LocalDate.of(2024, 2, 1), LocalDate.of(2024, 4, 29)));
+        Assertions.assertEquals(monthly.toStorageString(),
+                Recurrence.fromStorageString(monthly.toStorageString()).toStorageString());
+        Assertions.assertTrue(daily.occursOn(anchor, anchor.plusYears(1000)));
+        Assertions.assertFalse(Recurrence.parse("2 weeks").occursOn(anchor, anchor.plusYears(1000)));
+    }
+}
@@ -0,0 +1,153 @@
+package vince;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Assertions;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import vince.metrics.MetricsRegistry;
+import vince.reminder.ReminderScheduler;
+import vince.reminder.TimingWheel;
+import vince.reminder.TimingWheel.Timeout;
+import vince.storage.Storage;
+import vince.storage.TaskList;
+
+public class ReminderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("timing wheel fires every timeout exactly at its tick, across cascades and long jumps")
+    void wheel_fires_on_time() {
+        Random random = new Random(11);
+        TimingWheel<Long> wheel = new TimingWheel<>(1_000);
+        List<Timeout<Long>> live = new ArrayList<>();
+        int cancelled = 0;
+        for (int i = 0; i < 20_000; i++) {
+            long delay = random.nextInt(4) == 0 ? random.nextInt(50_000_000) : random.nextInt(70_000);
+            live.add(wheel.schedule(1_000 + delay, 1_000 + delay));
+            if (random.nextInt(5) == 0) {
+                Assertions.assertTrue(wheel.cancel(live.remove(random.nextInt(live.size()))));
+                cancelled++;
+            }
+        }
+        Assertions.assertEquals(20_000 - cancelled, wheel.size());
+
+        List<Long> fired = new ArrayList<>();
+        long now = 1_000;
+        while (wheel.size() > 0) {
+            now += random.nextInt(3) == 0 ? random.nextInt(5_000_000) : random.nextInt(300);
+            long tick = now;
+            wheel.advanceTo(tick, expiry -> {
+                Assertions.assertTrue(expiry <= tick, "fired early");
+                Assertions.assertTrue(fired.isEmpty() || fired.get(fired.size() - 1) <= expiry, "out of order");
+                fired.add(expiry);
+            });
+        }
+        Assertions.assertEquals(live.size(), fired.size());
+        Assertions.assertTrue(live.stream().noneMatch(Timeout::isPending));
+    }
+
+    @Test
+    @DisplayName("reminders follow add, mark, delete and recurring occurrences")
+    void scheduler_follows_task_changes() {
+        LocalDateTime start = LocalDateTime.of(2024, 12, 2, 8, 0);
+        AtomicLong clock = new AtomicLong(start.toInstant(ZoneOffset.UTC).toEpochMilli());
+        List<String> reminded = new ArrayList<>();
+        ReminderScheduler reminders = new ReminderScheduler(task -> reminded.add(task.toString()),
+                clock::get, 1000, ZoneOffset.UTC);
+
+        TaskList tasks = new TaskList(new Storage(tempDir.resolve("vince.txt")));
+        tasks.addTask("deadline submit form /by 01/12/2024 1700");
+        tasks.addTask("deadline pay fees /by 02/12/2024 0900");
+        reminders.watch(tasks);
+        tasks.addTask("event standup /from 02/12/2024 0930 /to 02/12/2024 0945 /every day");
+        tasks.addTask("deadline renew pass /by 02/12/2024 1000");
+        tasks.addTask("deadline return laptop /by 02/12/2024 1100");
+        reminders.poll();
+        Assertions.assertEquals(4, reminders.size(), "past deadlines are not reminded of");
+
+        clock.set(start.plusHours(1).toInstant(ZoneOffset.UTC).toEpochMilli());
+        reminders.poll();
+        Assertions.assertEquals(List.of("[D] [ ] pay fees (by: Dec 02 2024, 09:00)"), reminded);
+
+        tasks.mark("4");
+        tasks.delete("5");
+        tasks.mark("3", "03/12/2024");
+        reminders.poll();
+        Assertions.assertEquals(1, reminders.size());
+        clock.set(start.plusDays(2).toInstant(ZoneOffset.UTC).toEpochMilli());
+        reminders.poll();
+        Assertions.assertEquals(List.of("[D] [ ] pay fees (by: Dec 02 2024, 09:00)",
+                "[E] [ ] standup (from: Dec 02 2024, 09:30 to: Dec 02 2024, 09:45) (every day)"), reminded);
+        Assertions.assertEquals(1, reminders.size(), "the Dec 04 standup is next");
+
+        tasks.undo();
+        reminders.poll();
+        clock.set(start.plusDays(3).toInstant(ZoneOffset.UTC).toEpochMilli());
+        reminders.poll();
+        Assertions.assertEquals(List.of(
+                "[E] [ ] standup (from: Dec 04 2024, 09:30 to: Dec 04 2024, 09:45) (every day)"),
+                reminded.subList(2, reminded.size()), "the missed Dec 03 standup is not reminded of late");
+        reminders.close();
+    }
+
+    @Test
+    @DisplayName("a failing listener is counted and does not stop the other reminders")
+    void failing_listener_is_counted() {
+        LocalDateTime start = LocalDateTime.of(2024, 12, 2, 8, 0);
+        AtomicLong clock = new AtomicLong(start.toInstant(ZoneOffset.UTC).toEpochMilli());
+        List<String> reminded = new ArrayList<>();
+        ReminderScheduler reminders = new ReminderScheduler(task -> {
+            if (task.getDescription().equals("pay fees")) {
+                throw new IllegalStateException("display closed");
+            }
+            reminded.add(task.getDescription());
+        }, clock::get, 1000, ZoneOffset.UTC);
+        LongAdder errors = MetricsRegistry.global().counter("reminder.errors");
+
+        TaskList tasks = new TaskList(new Storage(tempDir.resolve("vince.txt")));
+        reminders.watch(tasks);
+        tasks.addTask("deadline pay fees /by 02/12/2024 0900");
+        tasks.addTask("deadline renew pass /by 02/12/2024 0900");
+        reminders.poll();
+        long errorsBefore = errors.sum();
+        clock.set(start.plusHours(1).toInstant(ZoneOffset.UTC).toEpochMilli());
+        reminders.poll();
+
+        Assertions.assertEquals(List.of("renew pass"), reminded);
+        Assertions.assertEquals(1, errors.sum() - errorsBefore);
+        Assertions.assertEquals(0, reminders.size());
+        reminders.close();
+    }
+
+    @Test
+    @DisplayName("cancelled reminders never fire and the rest fire once")
+    void cancelled_timeouts_never_fire() {
+        Random random = new Random(3);
+        TimingWheel<Integer> wheel = new TimingWheel<>(0);
+        List<Timeout<Integer>> timeouts = new ArrayList<>(10_000);
+        for (int i = 0; i < 10_000; i++) {
+            timeouts.add(wheel.schedule(i, 1 + random.nextInt(365 * 24 * 3600)));
+        }
+        for (int i = 0; i < 10_000; i += 2) {
+            Assertions.assertTrue(wheel.cancel(timeouts.get(i)));
+        }
+        List<Integer> fired = new ArrayList<>();
+        wheel.advanceTo(365L * 24 * 3600, fired::add);
+
+        Assertions.assertEquals(5_000, fired.size());
+        Assertions.assertTrue(fired.stream().allMatch(value -> value % 2 == 1));
+        Assertions.assertEquals(0, wheel.size());
+    }
+}
@@ -0,0 +1,80 @@
+package vince;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Assertions;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import vince.command.ListCommand;
+import vince.query.OrderStatisticTree;
+import vince.query.SortKey;
+import vince.storage.Storage;
+import vince.storage.TaskList;
+import vince.task.Priority;
+import vince.util.Parser;
+
+public class SortedListTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("sorted views follow add, setPriority and delete")
+    void sorted_views_follow_mutations() {
+        TaskList tasks = new TaskList(new Storage(tempDir.resolve("vince.txt")));
+        tasks.addTask("todo read book");
+        tasks.addTask("deadline return book /by 15/12/2024 1800");
+        tasks.addTask("event team meeting /from 12/12/2024 1400 /to 12/12/2024 1500");
+        tasks.addTask("deadline submit report /by 10/12/2024 0900");
+
+        Assertions.assertEquals(List.of(
+                "4. [D] 🟡 [ ] submit report (by: Dec 10 2024, 09:00)",
+                "3. [E] 🔴 [ ] team meeting (from: Dec 12 2024, 14:00 to: Dec 12 2024, 15:00)",
+                "2. [D] [ ] return book (by: Dec 15 2024, 18:00)",
+                "1. [T] [ ] read book"), tasks.list(SortKey.DUE, 0, 10));
+
+        tasks.setPriority("1", Priority.HIGH);
+        Assertions.assertEquals(List.of("1. [T] 🔴 [ ] read book",
+                "3. [E] 🔴 [ ] team meeting (from: Dec 12 2024, 14:00 to: Dec 12 2024, 15:00)"),
+                tasks.list(SortKey.PRIORITY, 0, 2));
+
+        tasks.delete("3");
+        Assertions.assertEquals(List.of("3. [D] 🟡 [ ] submit report (by: Dec 10 2024, 09:00)"),
+                tasks.list(SortKey.PRIORITY, 1, 1));
+        Assertions.assertEquals(List.of("3. [D] 🟡 [ ] submit report (by: Dec 10 2024, 09:00)"),
+                tasks.list(SortKey.CREATED, 2, 5));
+
+        ListCommand command = (ListCommand) Parser.parse("list --sort due --page 2");
+        Assertions.assertEquals(SortKey.DUE, command.getSortKey());
+        Assertions.assertTrue(command.execute(tasks).getLines().isEmpty());
+    }
+
+    @Test
+    @DisplayName("order-statistic tree pages match a sorted map")
+    void tree_pages_match_sorted_map() {
+        Random random = new Random(7);
+        OrderStatisticTree<Long> tree = new OrderStatisticTree<>();
+        TreeMap<Long, Long> expected = new TreeMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            long key = random.nextInt(5_000);
+            if (random.nextInt(4) == 0) {
+                tree.remove(key, 0);
+                expected.remove(key);
+            } else {
+                tree.put(key, 0, key);
+                expected.put(key, key);
+            }
+        }
+        Assertions.assertEquals(expected.size(), tree.size());
+        List<Long> all = new ArrayList<>(expected.values());
+        for (int from : new int[] {0, 1, all.size() / 2, all.size() - 3, all.size()}) {
+            Assertions.assertEquals(all.subList(from, Math.min(all.size(), from + 20)), tree.range(from, 20));
+        }
+    }
+}
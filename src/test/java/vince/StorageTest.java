@@ -0,0 +1,114 @@
+package vince;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Assertions;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import vince.storage.Storage;
+import vince.storage.TaskList;
+import vince.task.Deadline;
+import vince.task.Event;
+import vince.task.Task;
+
+public class StorageTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("parallel load keeps file order and skips bad lines")
+    void load_large_file_in_order() throws IOException {
+        Path file = tempDir.resolve("vince.txt");
+        List<String> lines = new ArrayList<>();
+        int expected = 0;
+        for (int i = 0; i < 30_000; i++) {
+            if (i % 97 == 0) {
+                lines.add("D | 0 | broken " + i + " | not-a-date");
+            } else if (i % 3 == 0) {
+                lines.add("E | 1 | event " + i + " | 2024-12-20T14:00:00 | 2024-12-20T16:00:00");
+                expected++;
+            } else if (i % 3 == 1) {
+                lines.add("D | 0 | deadline " + i + " | 2024-12-15T18:00:00");
+                expected++;
+            } else {
+                lines.add("T | 0 | todo " + i);
+                expected++;
+            }
+            if (i % 1000 == 0) {
+                lines.add("");
+            }
+        }
+        Files.write(file, lines, StandardCharsets.UTF_8);
+        Assertions.assertTrue(Files.size(file) > 1024 * 1024, "file should be large enough to be split");
+
+        List<Task> tasks = new Storage(file).load();
+
+        Assertions.assertEquals(expected, tasks.size());
+        Assertions.assertEquals("deadline 1", tasks.get(0).getDescription());
+        Assertions.assertEquals("todo 29999", tasks.get(tasks.size() - 1).getDescription());
+        int previous = 0;
+        for (Task task : tasks) {
+            String description = task.getDescription();
+            int number = Integer.parseInt(description.substring(description.indexOf(' ') + 1));
+            Assertions.assertTrue(number > previous, "tasks must keep file order");
+            previous = number;
+        }
+        Assertions.assertTrue(tasks.get(2) instanceof Event && tasks.get(2).isDone());
+        Assertions.assertTrue(tasks.get(3) instanceof Deadline);
+    }
+
+    @Test
+    @DisplayName("saved tasks load back identically")
+    void save_then_load_round_trip() {
+        Path file = tempDir.resolve("data").resolve("vince.txt");
+        Storage storage = new Storage(file);
+        List<Task> original = List.of(
+                new Deadline("return book", LocalDateTime.of(2024, 12, 15, 18, 0)),
+                new Task("plain task"));
+        original.get(1).mark();
+        storage.save(original);
+
+        List<Task> loaded = storage.load();
+        Assertions.assertEquals(original.size(), loaded.size());
+        Assertions.assertEquals(original.get(0).toString(), loaded.get(0).toString());
+        Assertions.assertEquals("plain task", loaded.get(1).getDescription());
+        Assertions.assertTrue(loaded.get(1).isDone());
+    }
+
+    @Test
+    @DisplayName("background load reports progress in order and holds changes until it finishes")
+    void background_load_reports_progress() throws IOException {
+        Path file = tempDir.resolve("vince.txt");
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 25_000; i++) {
+            lines.add("T | 0 | todo with a description long enough to fill a megabyte " + i);
+        }
+        Files.write(file, lines, StandardCharsets.UTF_8);
+
+        List<long[]> progress = new ArrayList<>();
+        TaskList tasks = TaskList.loadInBackground(new Storage(file),
+                (chunk, bytesRead, totalBytes) -> progress.add(new long[] {chunk.size(), bytesRead, totalBytes}));
+        tasks.addTask("todo after load");
+
+        Assertions.assertTrue(tasks.isLoaded());
+        Assertions.assertEquals(25_001, tasks.size());
+        Assertions.assertEquals("after load", tasks.get("25001").getDescription());
+        Assertions.assertEquals(25_001, Files.readAllLines(file).size(), "nothing was saved over");
+        Assertions.assertTrue(progress.size() > 1, "a 1.7 MB file loads in several steps");
+        Assertions.assertEquals(25_000, progress.stream().mapToLong(step -> step[0]).sum());
+        for (int i = 1; i < progress.size(); i++) {
+            Assertions.assertTrue(progress.get(i)[1] > progress.get(i - 1)[1]);
+        }
+        long[] last = progress.get(progress.size() - 1);
+        Assertions.assertEquals(last[2], last[1]);
+    }
+}
@@ -6,11 +6,22 @@ import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Assertions;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
+import vince.storage.PersistentList;
+import vince.storage.QueryExecutor;
+import vince.storage.Storage;
+import vince.storage.TaskChange;
 import vince.storage.TaskList;
+import vince.task.Priority;
 import vince.task.Task;
+import vince.util.Parser;
 
 public class TaskListTest {
 
@@ -54,4 +65,135 @@ public class TaskListTest {
         Assertions.assertEquals(1, lines20.size());
         Assertions.assertTrue(lines20.get(0).contains("project meeting"));
     }
+
+    @Test
+    @DisplayName("getAllTasks returns a stable snapshot unaffected by later mutations")
+    void get_all_tasks_is_snapshot() {
+        tasks.addTask("todo read book");
+        List<Task> snapshot = tasks.getAllTasks();
+        Assertions.assertInstanceOf(PersistentList.class, snapshot, "the snapshot is the list version, not a copy");
+
+        tasks.addTask("todo write essay");
+        tasks.delete("1");
+
+        Assertions.assertEquals(1, snapshot.size());
+        Assertions.assertEquals("read book", snapshot.get(0).getDescription());
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> snapshot.add(snapshot.get(0)));
+        Assertions.assertEquals(1, tasks.size());
+    }
+
+    @Test
+    @DisplayName("cached task lines are refreshed by mark, unmark and setPriority")
+    void rendered_line_tracks_mutations() {
+        Task task = tasks.addTask("todo read book");
+        Assertions.assertEquals("[T] [ ] read book", task.toString());
+        Assertions.assertSame(task.toString(), task.toString());
+
+        tasks.mark("1");
+        Assertions.assertEquals("1. [T] [X] read book", tasks.list().get(0));
+
+        task.setPriority(Priority.HIGH);
+        Assertions.assertEquals("[T] " + Priority.HIGH.getEmoji() + " [X] read book", task.toString());
+
+        tasks.unmark("1");
+        Assertions.assertTrue(task.toString().endsWith("[ ] read book"));
+    }
+
+    @Test
+    @DisplayName("parallel and sequential scans return identical, ordered results")
+    void parallel_scans_match_sequential() throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            lines.add(i % 2 == 0
+                    ? "D | 0 | report " + i + " | 2024-12-" + (10 + i % 10) + "T" + (10 + i % 12) + ":00:00"
+                    : "E | 0 | meeting " + i + " | 2024-12-15T09:00:00 | 2024-12-16T10:00:00");
+        }
+        Path file = tempDir.resolve("vince.txt");
+        Files.write(file, lines, StandardCharsets.UTF_8);
+        TaskList large = new TaskList(new Storage(file));
+
+        large.setQueryExecutor(new QueryExecutor(Integer.MAX_VALUE));
+        List<String> sequentialFind = large.findTasks("report 1");
+        List<String> sequentialOn = large.tasksOnDateLines("15/12/2024");
+        List<String> sequentialSchedule = large.getScheduleForDate("15/12/2024");
+
+        large.setQueryExecutor(new QueryExecutor(0));
+        Assertions.assertEquals(sequentialFind, large.findTasks("report 1"));
+        Assertions.assertEquals(sequentialOn, large.tasksOnDateLines("15/12/2024"));
+        Assertions.assertEquals(sequentialSchedule, large.getScheduleForDate("15/12/2024"));
+        Assertions.assertTrue(sequentialOn.get(0).startsWith("2. "));
+    }
+
+    @Test
+    @DisplayName("observers get one batch per command, with positions that replay the list")
+    void observers_receive_batched_positional_changes() {
+        TaskList observed = new TaskList(new Storage(tempDir.resolve("observed.txt")));
+        observed.addTask("todo read book");
+        List<List<TaskChange>> batches = new ArrayList<>();
+        List<Task> mirror = new ArrayList<>();
+        observed.addObserver(changes -> {
+            batches.add(changes);
+            for (TaskChange change : changes) {
+                switch (change.getKind()) {
+                    case ADDED:
+                        mirror.add(change.getPosition(), change.getTask());
+                        break;
+                    case REMOVED:
+                        Assertions.assertSame(change.getTask(), mirror.remove(change.getPosition()));
+                        break;
+                    default:
+                        Assertions.assertSame(change.getTask(), mirror.get(change.getPosition()));
+                }
+            }
+        });
+
+        for (String command : List.of("todo buy milk", "deadline return book /by 15/12/2024 1800", "mark 2",
+                "delete 1", "todo write essay", "undo", "undo", "redo")) {
+            Parser.parse(command).run(observed);
+            Assertions.assertEquals(observed.getAllTasks(), mirror, command);
+        }
+        observed.batch(() -> {
+            observed.deleteAll();
+            return observed.addTask("todo start over");
+        });
+        Assertions.assertEquals(observed.getAllTasks(), mirror);
+        observed.undo();
+        Assertions.assertEquals(observed.getAllTasks(), mirror);
+
+        Assertions.assertEquals(11, batches.size(), "the initial replay, one per command, one per batch and undo");
+        Assertions.assertEquals(TaskChange.Kind.UPDATED, batches.get(3).get(0).getKind());
+        Assertions.assertEquals(3, batches.get(9).size(), "deleteAll of two tasks and an add in one batch");
+    }
+
+    @Test
+    @DisplayName("upcoming and overdue read open deadlines and events off the index in due order")
+    void upcoming_and_overdue() {
+        tasks.addTask("deadline pay rent /by 01/12/2024 0900");
+        tasks.addTask("event demo day /from 20/12/2024 1000 /to 20/12/2024 1700");
+        tasks.addTask("todo read book");
+        tasks.addTask("deadline return book /by 15/12/2024 1800");
+        tasks.addTask("deadline file taxes /by 10/12/2024 1200");
+        tasks.addTask("deadline weekly timesheet /by 02/12/2024 1700 /every week");
+        LocalDateTime now = LocalDateTime.of(2024, 12, 11, 12, 0);
+
+        Assertions.assertEquals(List.of(
+                "4. [D] [ ] return book (by: Dec 15 2024, 18:00)",
+                "6. [D] [ ] weekly timesheet (by: Dec 16 2024, 17:00) (every week)"), tasks.upcoming(now, 2));
+        Assertions.assertEquals(List.of(
+                "1. [D] [ ] pay rent (by: Dec 01 2024, 09:00)",
+                "5. [D] [ ] file taxes (by: Dec 10 2024, 12:00)"), tasks.overdue(now));
+        Assertions.assertEquals(2, tasks.countOverdue(now));
+
+        tasks.mark("1");
+        tasks.mark("4");
+        Assertions.assertEquals(List.of("5. [D] [ ] file taxes (by: Dec 10 2024, 12:00)"), tasks.overdue(now));
+        Assertions.assertEquals(List.of(
+                "6. [D] [ ] weekly timesheet (by: Dec 16 2024, 17:00) (every week)",
+                "2. [E] [ ] demo day (from: Dec 20 2024, 10:00 to: Dec 20 2024, 17:00)"), tasks.upcoming(now, 2));
+        tasks.undo();
+        tasks.delete("5");
+        Assertions.assertTrue(tasks.overdue(now).isEmpty());
+        Assertions.assertEquals(List.of("4. [D] [ ] return book (by: Dec 15 2024, 18:00)"), tasks.upcoming(now, 1));
+        Assertions.assertEquals(3, tasks.upcoming(now, 10).size());
+    }
 }
@@ -0,0 +1,90 @@
+package vince;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Assertions;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import vince.storage.Storage;
+import vince.storage.TaskChange;
+import vince.storage.TaskList;
+import vince.task.Task;
+
+public class TaskTableModelTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("applying the change feed keeps the table equal to the task list")
+    void apply_follows_change_feed() {
+        TaskList tasks = new TaskList(new Storage(tempDir.resolve("tasks.txt")));
+        tasks.addTask("todo read book");
+        List<List<TaskChange>> feed = new ArrayList<>();
+        tasks.addObserver(feed::add);
+        ObservableList<Task> rows = FXCollections.observableArrayList();
+        TaskTableModel model = new TaskTableModel(rows);
+
+        Assertions.assertFalse(replay(feed, model), "the existing tasks arrive as adds at the end");
+        Assertions.assertEquals(tasks.getAllTasks(), rows);
+
+        tasks.addTask("deadline return book /by 15/12/2024 1800");
+        tasks.addTask("event meeting /from 16/12/2024 1000 /to 16/12/2024 1100");
+        tasks.addTask("todo water plants");
+        tasks.mark("2");
+        Assertions.assertFalse(replay(feed, model));
+        Assertions.assertEquals(tasks.getAllTasks(), rows);
+        Assertions.assertTrue(rows.get(1).toString().contains("[X]"));
+
+        Task removed = tasks.delete("2");
+        Assertions.assertTrue(replay(feed, model), "the tasks after a middle delete are renumbered");
+        Assertions.assertEquals(tasks.getAllTasks(), rows);
+        tasks.undo();
+        Assertions.assertTrue(replay(feed, model), "undoing a middle delete renumbers the tasks after it");
+        Assertions.assertEquals(tasks.getAllTasks(), rows);
+        Assertions.assertEquals(removed, rows.get(1));
+
+        tasks.deleteAll();
+        Assertions.assertFalse(replay(feed, model), "nothing is left to renumber");
+        Assertions.assertTrue(rows.isEmpty());
+        tasks.undo();
+        replay(feed, model);
+        Assertions.assertEquals(tasks.getAllTasks(), rows);
+    }
+
+    @Test
+    @DisplayName("tasks are numbered by their position in the list")
+    void numbers_tasks_by_position() {
+        TaskList tasks = new TaskList(new Storage(tempDir.resolve("tasks.txt")));
+        for (int i = 0; i < 50; i++) {
+            tasks.addTask("todo task " + i);
+        }
+        TaskTableModel model = new TaskTableModel(FXCollections.observableArrayList());
+        tasks.addObserver(model::apply);
+        Task removed = tasks.delete("17");
+        tasks.delete("30");
+
+        List<Task> all = tasks.getAllTasks();
+        for (int i = 0; i < all.size(); i++) {
+            Assertions.assertEquals(i + 1, model.numberOf(all.get(i)));
+        }
+        Assertions.assertEquals(0, model.numberOf(removed));
+        tasks.undo();
+        Assertions.assertEquals(30, model.numberOf(tasks.get("30")));
+    }
+
+    private static boolean replay(List<List<TaskChange>> feed, TaskTableModel model) {
+        boolean shifted = false;
+        for (List<TaskChange> batch : feed) {
+            shifted |= model.apply(batch);
+        }
+        feed.clear();
+        return shifted;
+    }
+}
@@ -0,0 +1,110 @@
+package vince;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Assertions;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import vince.exception.VinceException;
+import vince.storage.PersistentList;
+import vince.storage.Storage;
+import vince.storage.TaskList;
+import vince.util.Parser;
+import vince.util.QueryParser;
+
+public class UndoRedoTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Storage storage;
+    private TaskList tasks;
+
+    @BeforeEach
+    void setup() {
+        storage = new Storage(tempDir.resolve("vince.txt"));
+        tasks = new TaskList(storage);
+        tasks.addTask("todo read book");
+        tasks.addTask("deadline return book /by 15/12/2024 1800");
+        tasks.addTask("todo buy groceries");
+    }
+
+    @Test
+    @DisplayName("undo and redo restore list, task state, indexes and storage")
+    void undo_redo_round_trip() {
+        List<String> original = tasks.list();
+        tasks.mark("2");
+        tasks.delete("1");
+        tasks.deleteAll();
+
+        Assertions.assertEquals("deleted all 2 tasks", tasks.undo());
+        Assertions.assertEquals("deleted: [T] [ ] read book", tasks.undo());
+        Assertions.assertTrue(tasks.undo().startsWith("marked: "));
+        Assertions.assertEquals(original, tasks.list());
+        Assertions.assertEquals(3, new TaskList(storage).size(), "undo should re-save the restored version");
+        Assertions.assertEquals(2, tasks.filter(QueryParser.parse("done:no type:todo")).size());
+
+        Assertions.assertTrue(tasks.redo().startsWith("marked: "));
+        Assertions.assertEquals("2. [D] [X] return book (by: Dec 15 2024, 18:00)", tasks.list().get(1));
+        Assertions.assertEquals(List.of("2. [D] [X] return book (by: Dec 15 2024, 18:00)"),
+                tasks.filter(QueryParser.parse("done:yes")));
+
+        tasks.addTask("todo write essay");
+        Assertions.assertThrows(VinceException.class, tasks::redo, "a new change clears the redo history");
+        Assertions.assertEquals("Undone added: [T] [ ] write essay",
+                "Undone " + Parser.parse("undo").execute(tasks).getLabel());
+    }
+
+    @Test
+    @DisplayName("history depth is bounded")
+    void history_depth_is_bounded() {
+        tasks.setHistoryDepth(2);
+        tasks.delete("1");
+        tasks.delete("1");
+        tasks.delete("1");
+        tasks.undo();
+        tasks.undo();
+        Assertions.assertThrows(VinceException.class, tasks::undo);
+        Assertions.assertEquals(List.of("1. [D] [ ] return book (by: Dec 15 2024, 18:00)", "2. [T] [ ] buy groceries"),
+                tasks.list());
+    }
+
+    @Test
+    @DisplayName("persistent list versions share structure and stay unchanged")
+    void persistent_list_versions() {
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            values.add(i);
+        }
+        PersistentList<Integer> base = PersistentList.of(values);
+
+        PersistentList<Integer> version = base;
+        for (int i = 0; i < 200; i++) {
+            version = version.removeAt((i * 7919) % version.size()).append(-i);
+        }
+
+        Assertions.assertEquals(1_000, base.size());
+        Assertions.assertEquals(values, base);
+        Assertions.assertEquals(1_000, version.size());
+        Assertions.assertEquals(Integer.valueOf(-199), version.get(version.size() - 1));
+        Assertions.assertEquals(new ArrayList<>(version), version.flatView());
+        List<Integer> walked = new ArrayList<>();
+        version.forEach(walked::add);
+        Assertions.assertEquals(version.flatView(), walked);
+
+        PersistentList<Integer> thinned = base;
+        for (int i = 0; i < 100; i++) {
+            thinned = thinned.removeAt((i * 7919) % thinned.size());
+        }
+        for (int i = 0; i < thinned.size(); i++) {
+            Assertions.assertEquals(i, thinned.indexOfKey(Integer::longValue, thinned.get(i)));
+        }
+        Assertions.assertEquals(-1, thinned.indexOfKey(Integer::longValue, 1_000));
+        Assertions.assertEquals(-1, thinned.indexOfKey(Integer::longValue, 0), "the first removal took 0");
+    }
+}
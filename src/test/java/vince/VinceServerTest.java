@@ -0,0 +1,137 @@
+package vince;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Assertions;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import vince.server.VinceServer;
+import vince.storage.Storage;
+import vince.storage.TaskList;
+
+public class VinceServerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private TaskList tasks;
+    private VinceServer server;
+
+    @BeforeEach
+    void setup() throws IOException {
+        tasks = new TaskList(new Storage(tempDir.resolve("vince.txt")));
+        server = new VinceServer(tasks, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        server.start();
+    }
+
+    @AfterEach
+    void teardown() throws IOException {
+        server.close();
+    }
+
+    @Test
+    @DisplayName("responses are framed and commands go through the normal parser")
+    void single_client_round_trip() throws IOException {
+        try (Client client = new Client(server.getPort())) {
+            List<String> added = client.send("todo read book");
+            Assertions.assertTrue(added.contains("Got it. I've added this task:"));
+            Assertions.assertTrue(added.contains("Now you have 1 tasks in the list."));
+
+            List<String> listed = client.send("list");
+            Assertions.assertTrue(listed.contains("1. [T] [ ] read book"));
+
+            List<String> error = client.send("mark 5");
+            Assertions.assertTrue(error.stream().anyMatch(line -> line.startsWith("Oops!")));
+
+            List<String> bye = client.send("bye");
+            Assertions.assertTrue(bye.contains("Bye. Hope to see you again soon!"));
+        }
+    }
+
+    @Test
+    @DisplayName("concurrent clients see every mutation exactly once")
+    void concurrent_clients_see_every_mutation() throws Exception {
+        int clients = 4;
+        int requestsPerClient = 20;
+        int addsPerClient = 5;
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        List<Future<?>> results = new ArrayList<>();
+
+        for (int c = 0; c < clients; c++) {
+            int clientId = c;
+            results.add(pool.submit(() -> {
+                try (Client client = new Client(server.getPort())) {
+                    for (int i = 0; i < requestsPerClient; i++) {
+                        String request = i % (requestsPerClient / addsPerClient) == 0
+                                ? "todo report " + clientId + "-" + i
+                                : (i % 2 == 0 ? "list" : "find report");
+                        List<String> response = client.send(request);
+                        Assertions.assertFalse(response.isEmpty());
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> result : results) {
+            result.get();
+        }
+        pool.shutdown();
+
+        Assertions.assertEquals(clients * addsPerClient, tasks.size());
+    }
+
+    @Test
+    @DisplayName("lines starting with a dot are escaped, so they cannot end a response early")
+    void dot_lines_are_escaped() throws IOException {
+        StringWriter written = new StringWriter();
+        VinceServer.writeResponse(written, "first\n.\n..two\n\nlast\n");
+        Assertions.assertEquals("first\n..\n...two\n\nlast\n.\n", written.toString());
+        BufferedReader in = new BufferedReader(new StringReader(written + "next\n.\n"));
+        Assertions.assertEquals(List.of("first", ".", "..two", "", "last"), VinceServer.readResponse(in));
+        Assertions.assertEquals(List.of("next"), VinceServer.readResponse(in));
+    }
+
+    /**
+     * Minimal blocking client for the line protocol.
+     */
+    private static class Client implements AutoCloseable {
+        private final Socket socket;
+        private final BufferedReader in;
+        private final PrintWriter out;
+
+        Client(int port) throws IOException {
+            socket = new Socket(InetAddress.getLoopbackAddress(), port);
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+        }
+
+        List<String> send(String request) throws IOException {
+            out.println(request);
+            return VinceServer.readResponse(in);
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+}